@@ -0,0 +1,110 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against the stored baseline.
+ *
+ * A benchmark regresses when it is slower (or, in throughput mode, lower) than the baseline by
+ * more than the threshold and the gap exceeds the combined error of both measurements.
+ * Exits with status 1 when any benchmark regresses, so the check can gate a build.
+ *
+ * Usage: {@code java -cp benchmarks.jar com.infiniterecipebook.benchmarks.BaselineComparator
+ * baseline.json results.json [thresholdPercent]}
+ */
+public final class BaselineComparator {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <results.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = (args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT) / 100.0;
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-80s %16s %16s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "Verdict");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %16s %16s %9s  %s%n", entry.getKey(), "-", now.format(), "-", "NEW");
+                continue;
+            }
+            double change = (now.score - before.score) / before.score;
+            double worsening = now.higherIsBetter ? -change : change;
+            boolean significant = Math.abs(now.score - before.score) > now.error + before.error;
+            String verdict;
+            if (worsening > threshold && significant) {
+                verdict = "REGRESSION";
+                regressions.add(entry.getKey());
+            } else if (worsening < -threshold && significant) {
+                verdict = "IMPROVED";
+            } else {
+                verdict = "ok";
+            }
+            System.out.printf("%-80s %16s %16s %+8.1f%%  %s%n",
+                    entry.getKey(), before.format(), now.format(), change * 100, verdict);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-80s %16s %16s %9s  %s%n", key, baseline.get(key).format(), "-", "-", "MISSING");
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.printf("%n%d benchmark(s) regressed by more than %.0f%%%n", regressions.size(), threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            JsonNode metric = run.get("primaryMetric");
+            String mode = run.get("mode").asText();
+            results.put(key(run), new Result(
+                    metric.get("score").asDouble(),
+                    metric.path("scoreError").asDouble(0),
+                    metric.get("scoreUnit").asText(),
+                    "thrpt".equals(mode)));
+        }
+        return results;
+    }
+
+    private static String key(JsonNode run) {
+        String benchmark = run.get("benchmark").asText().replace("com.infiniterecipebook.benchmarks.", "");
+        JsonNode params = run.get("params");
+        if (params == null || params.isEmpty()) {
+            return benchmark;
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            sorted.put(param.getKey(), param.getValue().asText());
+        }
+        return benchmark + sorted;
+    }
+
+    private record Result(double score, double error, String unit, boolean higherIsBetter) {
+        String format() {
+            return String.format("%.3f %s", score, unit);
+        }
+    }
+}
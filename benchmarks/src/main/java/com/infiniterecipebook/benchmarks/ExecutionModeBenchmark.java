@@ -0,0 +1,90 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.infiniterecipebook.services.execution.FanOutExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One burst of concurrent generate fan-outs, each a blocking call to a stub generator backend,
+ * on virtual threads against the fixed platform pool used when virtual threads are off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ExecutionModeBenchmark {
+
+    /** Platform pool size, the default of {@code recipe-book.execution.fan-out-pool-size}. */
+    private static final int PLATFORM_THREADS = 16;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"64", "512"})
+    private int concurrentCalls;
+
+    @Param({"5"})
+    private int backendLatencyMillis;
+
+    private FanOutExecutor executor;
+    private StubGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(mode) ? FanOutExecutor.virtualThreads()
+                : FanOutExecutor.platformThreads(PLATFORM_THREADS);
+        generator = new StubGenerator(backendLatencyMillis);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Benchmark
+    public int fanOut() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Integer>[] calls = new CompletableFuture[concurrentCalls];
+        for (int i = 0; i < concurrentCalls; i++) {
+            int request = i;
+            calls[i] = executor.submit(() -> generator.generate(request));
+        }
+        int total = 0;
+        for (CompletableFuture<Integer> call : calls) {
+            total += call.join();
+        }
+        return total;
+    }
+
+    /**
+     * Stands in for a remote generator: blocks for a fixed latency, as a socket read would.
+     */
+    static final class StubGenerator {
+        private final long latencyMillis;
+
+        StubGenerator(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        int generate(int request) throws InterruptedException {
+            Thread.sleep(latencyMillis);
+            return request & 7;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.infiniterecipebook.services.matching.IngredientNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of user-typed ingredient names to ingredient ids through {@code normalizedName}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class IngredientResolutionBenchmark {
+
+    private static final int NAMES = 1024;
+
+    private IngredientNameIndex index;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        SyntheticCorpus corpus = SyntheticCorpus.generate(5_000, 0, SyntheticCorpus.DEFAULT_SEED);
+        index = IngredientNameIndex.of(corpus.ingredients());
+        names = corpus.userInputNames(NAMES, new Random(SyntheticCorpus.DEFAULT_SEED));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAMES)
+    public void normalize(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(IngredientNameIndex.normalize(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAMES)
+    public void resolve(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(index.resolve(name));
+        }
+    }
+}
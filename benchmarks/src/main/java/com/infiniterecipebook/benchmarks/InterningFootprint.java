@@ -0,0 +1,108 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.services.dictionary.RecipeDictionaries;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the heap held by live recipe graphs with and without unit and tag interning.
+ *
+ * Each recipe has {@value #LINES_PER_RECIPE} ingredient lines with a unit drawn from
+ * {@value #DISTINCT_UNITS} units and {@value #TAGS_PER_RECIPE} tags drawn from
+ * {@value #DISTINCT_TAGS}. Every unit and tag is built as a fresh {@code String}, as the JDBC
+ * driver returns them. Heap is {@code totalMemory - freeMemory} after repeated {@code System.gc()}
+ * calls, so run it with a fixed heap and the serial collector to get stable numbers.
+ *
+ * Usage: {@code java -Xms4g -Xmx4g -XX:+UseSerialGC -cp benchmarks.jar
+ * com.infiniterecipebook.benchmarks.InterningFootprint [recipes]}
+ */
+public final class InterningFootprint {
+
+    private static final int DEFAULT_RECIPES = 100_000;
+    private static final int LINES_PER_RECIPE = 9;
+    private static final int TAGS_PER_RECIPE = 4;
+    private static final int DISTINCT_UNITS = 40;
+    private static final int DISTINCT_TAGS = 300;
+    private static final int DISTINCT_INGREDIENTS = 2_000;
+
+    private InterningFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int recipes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECIPES;
+        List<Ingredient> ingredients = new ArrayList<>(DISTINCT_INGREDIENTS);
+        for (long id = 1; id <= DISTINCT_INGREDIENTS; id++) {
+            ingredients.add(Ingredient.builder().id(id).name("ingredient " + id).normalizedName("ingredient " + id)
+                    .category(IngredientCategory.OTHER).build());
+        }
+
+        long plain = measure(recipes, ingredients, null);
+        long interned = measure(recipes, ingredients, new RecipeDictionaries(new RecipeBookProperties()));
+
+        System.out.printf("JVM: %s %s, max heap %d MB%n", System.getProperty("java.vm.name"),
+                System.getProperty("java.runtime.version"), Runtime.getRuntime().maxMemory() >> 20);
+        System.out.printf("%-32s %14s %16s%n", "Variant", "Heap", "Bytes per recipe");
+        print("Before (one String per value)", plain, recipes);
+        print("After (interned)", interned, recipes);
+        print("Saved", plain - interned, recipes);
+    }
+
+    /**
+     * Builds the recipes, interning them when dictionaries are given, and returns the heap they retain.
+     */
+    private static long measure(int count, List<Ingredient> ingredients, RecipeDictionaries dictionaries) {
+        long before = usedHeap();
+        Random random = new Random(SyntheticCorpus.DEFAULT_SEED);
+        List<Recipe> recipes = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Recipe recipe = Recipe.builder()
+                    .id(id)
+                    .name("Recipe " + id)
+                    .mealType(MealType.values()[random.nextInt(MealType.values().length)])
+                    .servings(2 + random.nextInt(4))
+                    .tags(new ArrayList<>(TAGS_PER_RECIPE))
+                    .build();
+            for (int t = 0; t < TAGS_PER_RECIPE; t++) {
+                recipe.getTags().add("tag-" + random.nextInt(DISTINCT_TAGS));
+            }
+            for (int l = 0; l < LINES_PER_RECIPE; l++) {
+                recipe.addIngredient(RecipeIngredient.builder()
+                        .ingredient(ingredients.get(random.nextInt(ingredients.size())))
+                        .quantity(BigDecimal.valueOf(1 + random.nextInt(500), 1))
+                        .unit("unit-" + random.nextInt(DISTINCT_UNITS))
+                        .isRequired(true)
+                        .build());
+            }
+            if (dictionaries != null) {
+                dictionaries.intern(recipe);
+            }
+            recipes.add(recipe);
+        }
+        long retained = usedHeap() - before;
+        if (recipes.size() != count) {
+            throw new IllegalStateException("Recipes were collected before measuring");
+        }
+        return retained;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void print(String variant, long bytes, int recipes) {
+        System.out.printf("%-32s %11.1f MB %,16d%n", variant, bytes / 1e6, bytes / recipes);
+    }
+}
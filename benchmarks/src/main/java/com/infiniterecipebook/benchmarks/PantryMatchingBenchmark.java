@@ -0,0 +1,73 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.services.quantity.Pantry;
+import com.infiniterecipebook.services.quantity.PantryMatcher;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quantity-aware matching of one recipe against a pantry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PantryMatchingBenchmark {
+
+    private static final int RECIPES = 1024;
+
+    @Param({"10", "40"})
+    public int pantrySize;
+
+    private PantryMatcher pantryMatcher;
+    private RecipeQuantities[] recipes;
+    private Pantry pantry;
+    private byte[] statuses;
+
+    @Setup
+    public void setUp() {
+        SyntheticCorpus corpus = SyntheticCorpus.generate(2_000, RECIPES, SyntheticCorpus.DEFAULT_SEED);
+        UnitDictionary unitDictionary = new UnitDictionary();
+        QuantityEngine quantityEngine = new QuantityEngine(unitDictionary);
+        pantryMatcher = new PantryMatcher(unitDictionary);
+
+        recipes = corpus.recipes().stream().map(quantityEngine::compile).toArray(RecipeQuantities[]::new);
+        Random random = new Random(SyntheticCorpus.DEFAULT_SEED);
+        Pantry.Builder builder = Pantry.builder(unitDictionary);
+        for (int i = 0; i < pantrySize; i++) {
+            Ingredient ingredient = corpus.sampleIngredient(random);
+            builder.add(ingredient.getId(), BigDecimal.valueOf(random.nextInt(1000)), "g");
+        }
+        pantry = builder.build();
+        statuses = new byte[32];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPES)
+    public void matchRecipe(Blackhole blackhole) {
+        for (RecipeQuantities recipe : recipes) {
+            blackhole.consume(pantryMatcher.match(recipe, pantry, 4, statuses));
+        }
+    }
+}
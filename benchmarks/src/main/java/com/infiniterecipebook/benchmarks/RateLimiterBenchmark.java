@@ -0,0 +1,59 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.services.limiting.ClientRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limit check from 8 threads, spread over many clients or all on one client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    private int clients;
+
+    private ClientRateLimiter rateLimiter;
+    private String[] clientIds;
+
+    @Setup
+    public void setUp() {
+        RecipeBookProperties properties = new RecipeBookProperties();
+        // Generous limits so the benchmark measures admitted checks, not rejections
+        properties.getRateLimit().setLimits(List.of(
+                new RecipeBookProperties.RateLimit.Limit(1_000_000_000, Duration.ofMinutes(1)),
+                new RecipeBookProperties.RateLimit.Limit(1_000_000_000, Duration.ofHours(1))));
+        rateLimiter = new ClientRateLimiter(properties);
+        clientIds = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public ClientRateLimiter.Decision tryConsume() {
+        return rateLimiter.tryConsume(clientIds[ThreadLocalRandom.current().nextInt(clientIds.length)]);
+    }
+}
@@ -0,0 +1,48 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.services.RecipeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a fully loaded recipe graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class RecipeMappingBenchmark {
+
+    private static final int RECIPES = 256;
+
+    private final RecipeMapper recipeMapper = new RecipeMapper();
+    private Recipe[] recipes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        recipes = SyntheticCorpus.generate(2_000, RECIPES, SyntheticCorpus.DEFAULT_SEED)
+                .recipes().toArray(Recipe[]::new);
+    }
+
+    @Benchmark
+    public RecipeDto toDto() {
+        Recipe recipe = recipes[next];
+        next = (next + 1) % RECIPES;
+        return recipeMapper.toDto(recipe);
+    }
+}
@@ -0,0 +1,92 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipeIngredientDto;
+import com.infiniterecipebook.dto.RecipeResponse;
+import com.infiniterecipebook.enums.RecipeSource;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.services.RecipeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of generate responses as JSON, CBOR and Smile, using the same Jackson setup
+ * Spring Boot applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class RecipeResponseSerializationBenchmark {
+
+    @Param({"5", "20"})
+    public int recipesPerResponse;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+    private RecipeResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        RecipeMapper recipeMapper = new RecipeMapper();
+        List<RecipeDto> recipes = new ArrayList<>(recipesPerResponse);
+        List<Recipe> corpus = SyntheticCorpus.generate(2_000, recipesPerResponse, SyntheticCorpus.DEFAULT_SEED)
+                .recipes();
+        for (int i = 0; i < recipesPerResponse; i++) {
+            RecipeDto dto = recipeMapper.toDto(corpus.get(i));
+            List<RecipeIngredientDto> ingredients = dto.getIngredients();
+            for (int line = 0; line < ingredients.size(); line++) {
+                ingredients.get(line).setIsAvailable(line % 3 != 0);
+            }
+            dto.setConfidence(0.67);
+            recipes.add(dto);
+        }
+        response = RecipeResponse.builder()
+                .recipes(recipes)
+                .metadata(RecipeResponse.Metadata.builder()
+                        .totalRecipes(recipes.size())
+                        .generationTime(0.012)
+                        .source(RecipeSource.CATALOG)
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,302 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static com.infiniterecipebook.enums.IngredientCategory.*;
+
+/**
+ * Deterministic synthetic recipe corpus built on the application's entity model.
+ *
+ * Ingredient popularity follows a Zipf distribution, like real recipe collections where salt
+ * and onions appear everywhere and most ingredients are rare. The same seed always produces
+ * the same corpus, so results are comparable across commits.
+ */
+public final class SyntheticCorpus {
+
+    /** Seed used by every benchmark unless a benchmark varies it on purpose. */
+    public static final long DEFAULT_SEED = 0x5EED_2024L;
+
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private static final String[] BASE_NAMES = {
+            "salt", "onion", "garlic", "olive oil", "butter", "egg", "flour", "sugar", "milk", "black pepper",
+            "tomato", "chicken breast", "rice", "carrot", "potato", "lemon", "parsley", "cheddar", "basil", "honey",
+            "ginger", "soy sauce", "bell pepper", "mushroom", "spinach", "cumin", "paprika", "cinnamon", "yogurt",
+            "cream", "beef", "pork", "salmon", "shrimp", "tofu", "chickpea", "lentil", "quinoa", "oat", "almond",
+            "walnut", "apple", "banana", "blueberry", "strawberry", "coconut milk", "vanilla", "cocoa", "broccoli",
+            "zucchini", "cucumber", "avocado", "lime", "cilantro", "thyme", "rosemary", "oregano", "chili", "leek",
+            "celery", "pasta", "bread", "bacon", "feta", "parmesan", "mozzarella", "corn", "pea", "cabbage", "kale"
+    };
+
+    /** Category of each entry of {@link #BASE_NAMES}, at the same position. */
+    private static final IngredientCategory[] BASE_CATEGORIES = {
+            SEASONING, VEGETABLE, VEGETABLE, COOKING_OIL, DAIRY, PROTEIN, BAKING_INGREDIENT, SWEETENER, DAIRY, SEASONING,
+            VEGETABLE, PROTEIN, GRAIN, VEGETABLE, VEGETABLE, FRUIT, SEASONING, DAIRY, SEASONING, SWEETENER,
+            SEASONING, SEASONING, VEGETABLE, VEGETABLE, VEGETABLE, SEASONING, SEASONING, SEASONING, DAIRY,
+            DAIRY, PROTEIN, PROTEIN, PROTEIN, PROTEIN, PROTEIN, PROTEIN, PROTEIN, GRAIN, GRAIN, PROTEIN,
+            PROTEIN, FRUIT, FRUIT, FRUIT, FRUIT, OTHER, BAKING_INGREDIENT, BAKING_INGREDIENT, VEGETABLE,
+            VEGETABLE, VEGETABLE, FRUIT, FRUIT, SEASONING, SEASONING, SEASONING, SEASONING, SEASONING, VEGETABLE,
+            VEGETABLE, GRAIN, GRAIN, PROTEIN, DAIRY, DAIRY, DAIRY, VEGETABLE, VEGETABLE, VEGETABLE, VEGETABLE
+    };
+
+    private static final String[] MODIFIERS = {
+            "", "fresh", "dried", "smoked", "organic", "ground", "frozen", "roasted", "wild", "baby", "red", "green"
+    };
+
+    private static final String[] UNITS = {
+            "g", "kg", "ml", "l", "cup", "cups", "tbsp", "tsp", "tablespoon", "teaspoon", "piece", "pieces",
+            "clove", "cloves", "slice", "pinch", "oz", "lb", "can", "bunch", "sprig", "whole", "large", "handful"
+    };
+
+    private static final String[] TAGS = {
+            "quick", "easy", "healthy", "vegetarian", "vegan", "gluten-free", "dairy-free", "low-carb", "high-protein",
+            "comfort-food", "one-pot", "meal-prep", "kid-friendly", "spicy", "budget", "weeknight", "holiday",
+            "italian", "mexican", "indian", "thai", "japanese", "french", "mediterranean", "middle-eastern"
+    };
+
+    private static final int[] MEAL_TYPE_WEIGHTS = {20, 25, 35, 10, 10};
+
+    private static final String[] STEP_VERBS = {
+            "Chop", "Dice", "Whisk", "Simmer", "Roast", "Saute", "Fold in", "Season", "Bake", "Stir", "Marinate", "Grill"
+    };
+
+    private final List<Ingredient> ingredients;
+    private final List<Recipe> recipes;
+    private final double[] cumulativePopularity;
+
+    private SyntheticCorpus(List<Ingredient> ingredients, List<Recipe> recipes, double[] cumulativePopularity) {
+        this.ingredients = ingredients;
+        this.recipes = recipes;
+        this.cumulativePopularity = cumulativePopularity;
+    }
+
+    /**
+     * Generates a corpus.
+     * @param ingredientCount number of distinct ingredients
+     * @param recipeCount number of recipes
+     * @param seed random seed
+     * @return the corpus, with ids assigned as if persisted
+     */
+    public static SyntheticCorpus generate(int ingredientCount, int recipeCount, long seed) {
+        return generate(ingredientCount, recipeCount, seed, true);
+    }
+
+    /**
+     * Generates a corpus meant to be saved through the application's repositories.
+     * The entities are the same as {@link #generate(int, int, long)} would produce, but without ids.
+     * @param ingredientCount number of distinct ingredients
+     * @param recipeCount number of recipes
+     * @param seed random seed
+     * @return the corpus, with every id left null
+     */
+    public static SyntheticCorpus unsaved(int ingredientCount, int recipeCount, long seed) {
+        return generate(ingredientCount, recipeCount, seed, false);
+    }
+
+    private static SyntheticCorpus generate(int ingredientCount, int recipeCount, long seed, boolean assignIds) {
+        Random random = new Random(seed);
+        List<Ingredient> ingredients = new ArrayList<>(ingredientCount);
+        for (int i = 0; i < ingredientCount; i++) {
+            String name = ingredientName(i);
+            ingredients.add(Ingredient.builder()
+                    .id(assignIds ? i + 1L : null)
+                    .name(capitalize(name))
+                    .normalizedName(name)
+                    .category(BASE_CATEGORIES[i % BASE_CATEGORIES.length])
+                    .commonUnits(List.of(UNITS[i % UNITS.length], UNITS[(i + 7) % UNITS.length]))
+                    .isCommon(i < 50)
+                    .build());
+        }
+
+        SyntheticCorpus corpus = new SyntheticCorpus(ingredients, new ArrayList<>(recipeCount),
+                zipfDistribution(ingredientCount));
+        for (int r = 0; r < recipeCount; r++) {
+            corpus.recipes.add(corpus.recipe(r + 1L, assignIds, random));
+        }
+        return corpus;
+    }
+
+    /**
+     * Returns the ingredients, in id order.
+     */
+    public List<Ingredient> ingredients() {
+        return ingredients;
+    }
+
+    /**
+     * Returns the recipes, in id order.
+     */
+    public List<Recipe> recipes() {
+        return recipes;
+    }
+
+    /**
+     * Samples an ingredient following the corpus popularity distribution.
+     */
+    public Ingredient sampleIngredient(Random random) {
+        return ingredients.get(sampleIndex(random));
+    }
+
+    /**
+     * Returns names the way users type them: mostly known ingredients in varied case and
+     * number, plus about one in ten unknown names.
+     * @param count number of names
+     * @param random random source
+     * @return the names
+     */
+    public String[] userInputNames(int count, Random random) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            int variant = random.nextInt(10);
+            String name = sampleIngredient(random).getNormalizedName();
+            names[i] = switch (variant) {
+                case 0 -> "unknown item " + random.nextInt(100_000);
+                case 1, 2 -> name.toUpperCase(Locale.ROOT);
+                case 3, 4 -> name + "s";
+                case 5 -> "  " + capitalize(name) + ",";
+                default -> name;
+            };
+        }
+        return names;
+    }
+
+    /**
+     * Returns the cumulative Zipf distribution over {@code size} ranks, rank 0 being the most likely.
+     */
+    public static double[] zipfDistribution(int size) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Samples a rank from a distribution built by {@link #zipfDistribution(int)}.
+     */
+    public static int sampleRank(double[] cumulative, Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+
+    private int sampleIndex(Random random) {
+        return sampleRank(cumulativePopularity, random);
+    }
+
+    private Recipe recipe(long number, boolean assignId, Random random) {
+        Recipe recipe = Recipe.builder()
+                .id(assignId ? number : null)
+                .name("Synthetic Recipe " + number)
+                .description("A generated recipe used for benchmarking, with a description of typical length "
+                        + "that mentions a few ingredients and how long it takes to prepare.")
+                .mealType(mealType(random))
+                .cookingTimeMinutes(10 + random.nextInt(111))
+                .difficulty(Difficulty.values()[random.nextInt(Difficulty.values().length)])
+                .servings(1 + random.nextInt(6))
+                .nutritionalInfo(NutritionalInfo.builder()
+                        .calories(150 + random.nextInt(800))
+                        .protein(random.nextInt(60))
+                        .carbs(random.nextInt(120))
+                        .fat(random.nextInt(50))
+                        .build())
+                .tags(tags(random))
+                .createdAt(CREATED_AT)
+                .build();
+
+        int lineCount = 6 + random.nextInt(9);
+        int[] used = new int[lineCount];
+        int lines = 0;
+        while (lines < lineCount) {
+            int index = sampleIndex(random);
+            if (contains(used, lines, index)) {
+                continue;
+            }
+            used[lines++] = index;
+            recipe.addIngredient(RecipeIngredient.builder()
+                    .ingredient(ingredients.get(index))
+                    .quantity(BigDecimal.valueOf(1 + random.nextInt(2000), 2))
+                    .unit(UNITS[random.nextInt(UNITS.length)])
+                    .isRequired(random.nextInt(100) < 85)
+                    .stepOrder(lines)
+                    .build());
+        }
+
+        int steps = 4 + random.nextInt(7);
+        for (int step = 1; step <= steps; step++) {
+            recipe.addInstruction(RecipeInstruction.builder()
+                    .stepNumber(step)
+                    .stepOrder(step)
+                    .description(STEP_VERBS[random.nextInt(STEP_VERBS.length)] + " the "
+                            + recipe.getIngredients().get(step % lineCount).getIngredient().getNormalizedName()
+                            + " for about " + (1 + random.nextInt(20)) + " minutes, stirring occasionally.")
+                    .build());
+        }
+        return recipe;
+    }
+
+    private static MealType mealType(Random random) {
+        int pick = random.nextInt(100);
+        for (int i = 0; i < MEAL_TYPE_WEIGHTS.length; i++) {
+            pick -= MEAL_TYPE_WEIGHTS[i];
+            if (pick < 0) {
+                return MealType.values()[i];
+            }
+        }
+        return MealType.DINNER;
+    }
+
+    private static List<String> tags(Random random) {
+        int count = 2 + random.nextInt(4);
+        List<String> tags = new ArrayList<>(count);
+        while (tags.size() < count) {
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            if (!tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    private static String ingredientName(int index) {
+        String base = BASE_NAMES[index % BASE_NAMES.length];
+        int round = index / BASE_NAMES.length;
+        String modifier = MODIFIERS[round % MODIFIERS.length];
+        String name = modifier.isEmpty() ? base : modifier + " " + base;
+        int generation = round / MODIFIERS.length;
+        return generation == 0 ? name : name + " " + generation;
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.infiniterecipebook.benchmarks;
+
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.services.dictionary.InternDictionary;
+import com.infiniterecipebook.services.matching.CandidateFilter;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+import com.infiniterecipebook.services.matching.RecipeScorer;
+import com.infiniterecipebook.services.matching.ScoredRecipe;
+import com.infiniterecipebook.services.quantity.Pantry;
+import com.infiniterecipebook.services.quantity.PantryMatcher;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Candidate retrieval and top-K scoring over the in-memory recipe index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TopKScoringBenchmark {
+
+    private static final int PANTRY_SIZE = 12;
+    private static final int LIMIT = 5;
+
+    @Param({"10000", "100000"})
+    public int corpusSize;
+
+    private RecipeScorer recipeScorer;
+    private RecipeMatchIndex index;
+    private Pantry pantry;
+    private CandidateFilter dinnerFilter;
+
+    @Setup
+    public void setUp() {
+        SyntheticCorpus corpus = SyntheticCorpus.generate(5_000, corpusSize, SyntheticCorpus.DEFAULT_SEED);
+        UnitDictionary unitDictionary = new UnitDictionary();
+        recipeScorer = new RecipeScorer(new PantryMatcher(unitDictionary));
+
+        RecipeMatchIndex.Builder builder = RecipeMatchIndex.builder(new QuantityEngine(unitDictionary),
+                new InternDictionary("tag", 1024));
+        for (Recipe recipe : corpus.recipes()) {
+            builder.add(recipe);
+        }
+        index = builder.build();
+
+        Random random = new Random(SyntheticCorpus.DEFAULT_SEED);
+        Pantry.Builder pantryBuilder = Pantry.builder(unitDictionary);
+        for (int i = 0; i < PANTRY_SIZE; i++) {
+            pantryBuilder.add(corpus.sampleIngredient(random).getId(), BigDecimal.valueOf(500), "g");
+        }
+        pantry = pantryBuilder.build();
+        dinnerFilter = new CandidateFilter(MealType.DINNER, 60, null, new int[0]);
+    }
+
+    @Benchmark
+    public List<ScoredRecipe> unfiltered() {
+        return recipeScorer.topK(index, pantry, CandidateFilter.none(), 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<ScoredRecipe> dinnerUnderAnHour() {
+        return recipeScorer.topK(index, pantry, dinnerFilter, 2, LIMIT);
+    }
+}
@@ -0,0 +1,40 @@
+package com.infiniterecipebook.benchmarks.loadtest;
+
+/**
+ * The REST endpoints exercised by the load test, keyed by the name used in {@code --mix}.
+ */
+public enum Endpoint {
+    GENERATE("generate", "POST /recipes/generate"),
+    RECIPE("recipe", "GET /recipes/{id}"),
+    COMMON("common", "GET /ingredients/common"),
+    VALIDATE("validate", "POST /ingredients/validate");
+
+    private final String key;
+    private final String route;
+
+    Endpoint(String key, String route) {
+        this.key = key;
+        this.route = route;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String route() {
+        return route;
+    }
+
+    /**
+     * Looks an endpoint up by its {@code --mix} key.
+     * @throws IllegalArgumentException when the key is unknown
+     */
+    public static Endpoint ofKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + key + "', expected one of generate, recipe, common, validate");
+    }
+}
@@ -0,0 +1,109 @@
+package com.infiniterecipebook.benchmarks.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records per-endpoint latencies and outcomes of one client thread.
+ *
+ * Every latency is kept, so percentiles are exact rather than bucketed. At a few thousand
+ * requests per second for a few minutes that is a handful of megabytes. Each thread records
+ * into its own instance and the instances are merged once the run is over, so recording never
+ * contends.
+ */
+public final class LatencyRecorder {
+
+    private final Map<Endpoint, Series> series = new EnumMap<>(Endpoint.class);
+
+    /**
+     * Records one completed request.
+     * @param endpoint the endpoint
+     * @param latencyNanos the latency; in open loop mode measured from the intended start
+     * @param status the HTTP status, or 0 when no response arrived
+     * @param succeeded whether the outcome was the expected one
+     */
+    public void record(Endpoint endpoint, long latencyNanos, int status, boolean succeeded) {
+        series.computeIfAbsent(endpoint, e -> new Series()).add(latencyNanos, status, succeeded);
+    }
+
+    /**
+     * Adds everything another recorder has seen to this one.
+     */
+    public void merge(LatencyRecorder other) {
+        other.series.forEach((endpoint, theirs) -> series.computeIfAbsent(endpoint, e -> new Series()).addAll(theirs));
+    }
+
+    /**
+     * Summarizes the recorded requests of each endpoint.
+     * @param seconds the measured duration, used to compute throughput
+     * @return the statistics, in endpoint order
+     */
+    public Map<Endpoint, EndpointStats> summarize(double seconds) {
+        Map<Endpoint, EndpointStats> summary = new EnumMap<>(Endpoint.class);
+        series.forEach((endpoint, recorded) -> summary.put(endpoint, recorded.summarize(seconds)));
+        return summary;
+    }
+
+    /**
+     * Latency and outcome statistics of one endpoint; latencies are in milliseconds.
+     */
+    public record EndpointStats(long count, long errors, double throughput, double errorRate,
+                                double p50, double p90, double p99, double p999, double max,
+                                Map<Integer, Long> statuses) {
+    }
+
+    private static final class Series {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        void add(long latencyNanos, int status, boolean succeeded) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!succeeded) {
+                errors++;
+            }
+            statuses.merge(status, 1L, Long::sum);
+        }
+
+        void addAll(Series other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(size + other.size, latencies.length * 2));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            errors += other.errors;
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+
+        EndpointStats summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(size, errors,
+                    size / seconds,
+                    size == 0 ? 0 : (double) errors / size,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    size == 0 ? 0 : millis(sorted[size - 1]),
+                    new TreeMap<>(statuses));
+        }
+
+        /** Nearest-rank percentile. */
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return millis(sorted[Math.max(0, rank - 1)]);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
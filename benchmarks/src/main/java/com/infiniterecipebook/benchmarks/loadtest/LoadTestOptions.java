@@ -0,0 +1,106 @@
+package com.infiniterecipebook.benchmarks.loadtest;
+
+import com.infiniterecipebook.benchmarks.SyntheticCorpus;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of {@link LoadTestRunner}.
+ *
+ * Options are given as {@code --name=value}. Anything the harness does not recognize, such as
+ * {@code --spring.datasource.url=...}, is handed to the application on startup.
+ *
+ * @param duration how long requests are measured
+ * @param warmup how long requests are sent, but not measured, before the measurement starts
+ * @param concurrency number of client threads
+ * @param rate target requests per second across all threads, 0 for closed loop
+ * @param ingredients number of seeded ingredients
+ * @param recipes number of seeded recipes
+ * @param seed seed of the corpus and the request stream
+ * @param missRate share of recipe lookups that ask for an id that does not exist
+ * @param mix relative weight of each endpoint
+ * @param output where the JSON report is written
+ * @param applicationArgs arguments passed through to the application
+ */
+public record LoadTestOptions(Duration duration, Duration warmup, int concurrency, double rate,
+                              int ingredients, int recipes, long seed, double missRate,
+                              Map<Endpoint, Integer> mix, Path output, List<String> applicationArgs) {
+
+    static final String DEFAULT_MIX = "generate=50,recipe=30,common=10,validate=10";
+
+    /**
+     * Parses command line arguments, falling back to defaults for anything not given.
+     * @param args the arguments
+     * @return the options
+     * @throws IllegalArgumentException when a value cannot be parsed
+     */
+    public static LoadTestOptions parse(String[] args) {
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(15);
+        int concurrency = 16;
+        double rate = 0;
+        int ingredients = 2_000;
+        int recipes = 10_000;
+        long seed = SyntheticCorpus.DEFAULT_SEED;
+        double missRate = 0.02;
+        String mix = DEFAULT_MIX;
+        Path output = Path.of("benchmarks", "results", "loadtest.json");
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "rate" -> rate = Double.parseDouble(value);
+                case "ingredients" -> ingredients = Integer.parseInt(value);
+                case "recipes" -> recipes = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "miss-rate" -> missRate = Double.parseDouble(value);
+                case "mix" -> mix = value;
+                case "output" -> output = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (concurrency < 1 || recipes < 1 || ingredients < 1 || rate < 0 || duration.isZero()) {
+            throw new IllegalArgumentException("concurrency, recipes, ingredients and duration must be positive");
+        }
+        return new LoadTestOptions(duration, warmup, concurrency, rate, ingredients, recipes, seed, missRate,
+                parseMix(mix), output, List.copyOf(applicationArgs));
+    }
+
+    /**
+     * Whether requests are sent on a fixed schedule rather than back to back.
+     */
+    public boolean openLoop() {
+        return rate > 0;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight in --mix but got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.ofKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix must give at least one endpoint a positive weight");
+        }
+        return weights;
+    }
+}
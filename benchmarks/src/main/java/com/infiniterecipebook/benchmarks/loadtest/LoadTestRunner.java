@@ -0,0 +1,266 @@
+package com.infiniterecipebook.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.InfiniteRecipeBookApplication;
+import com.infiniterecipebook.benchmarks.SyntheticCorpus;
+import com.infiniterecipebook.models.CommonIngredient;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.repositories.CommonIngredientRepository;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.RecipeFingerprinter;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application, seeds it with a synthetic corpus and drives its REST API with a
+ * realistic request mix, then reports per-endpoint throughput, error rate and latency
+ * percentiles.
+ *
+ * By default the application runs on an in-memory H2 database ({@code test} profile) on a
+ * random port, in this JVM. Pass {@code --spring.profiles.active=default} and datasource
+ * properties to run against a local PostgreSQL instead.
+ *
+ * Two load models are supported. Closed loop ({@code --rate=0}, the default) has every
+ * client thread send its next request as soon as the previous one returns, which finds the
+ * saturation throughput. Open loop ({@code --rate=N}) schedules requests at a fixed rate and
+ * measures each latency from the time the request was due, not from when a thread got round
+ * to sending it, so a stall shows up in the percentiles instead of silently lowering the load.
+ */
+public final class LoadTestRunner {
+
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final int COMMON_INGREDIENT_COUNT = 50;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext context = start(options)) {
+            SyntheticCorpus corpus = SyntheticCorpus.unsaved(options.ingredients(), options.recipes(), options.seed());
+            long[] recipeIds = seed(context, corpus, options.seed());
+
+            Environment environment = context.getEnvironment();
+            String baseUrl = "http://localhost:" + environment.getProperty("local.server.port")
+                    + environment.getProperty("server.servlet.context-path", "");
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+            System.out.printf("Driving %s for %ds after %ds warm-up, %d threads, %s%n", baseUrl,
+                    options.duration().toSeconds(), options.warmup().toSeconds(), options.concurrency(),
+                    options.openLoop() ? "open loop at " + options.rate() + " req/s" : "closed loop");
+            LatencyRecorder recorded = drive(options, baseUrl, corpus, recipeIds, objectMapper);
+            Map<Endpoint, LatencyRecorder.EndpointStats> summary =
+                    recorded.summarize(options.duration().toNanos() / 1e9);
+
+            print(summary);
+            write(options, summary, objectMapper);
+        }
+    }
+
+    /**
+     * Starts the application. The harness settings are applied as system properties, which
+     * take precedence over the application's configuration files but not over arguments
+     * passed on the command line.
+     */
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("spring.profiles.active", "test");
+        defaults.put("server.port", "0");
+        defaults.put("recipe-book.tiering.enabled", "false");
+        defaults.put("spring.jpa.show-sql", "false");
+        defaults.put("logging.level.com.infiniterecipebook", "WARN");
+        defaults.put("logging.level.org.springframework.web", "WARN");
+        defaults.put("logging.level.org.hibernate.SQL", "WARN");
+        defaults.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        defaults.forEach((key, value) -> {
+            if (System.getProperty(key) == null) {
+                System.setProperty(key, value);
+            }
+        });
+        return new SpringApplicationBuilder(InfiniteRecipeBookApplication.class)
+                .run(options.applicationArgs().toArray(String[]::new));
+    }
+
+    /**
+     * Saves the corpus through the application's repositories and rebuilds the in-memory indexes.
+     * @return the recipe ids, most read first
+     */
+    private static long[] seed(ConfigurableApplicationContext context, SyntheticCorpus corpus, long seed) {
+        long start = System.nanoTime();
+        IngredientRepository ingredientRepository = context.getBean(IngredientRepository.class);
+        RecipeRepository recipeRepository = context.getBean(RecipeRepository.class);
+        RecipeFingerprinter fingerprinter = context.getBean(RecipeFingerprinter.class);
+
+        ingredientRepository.saveAll(corpus.ingredients());
+        List<CommonIngredient> common = new ArrayList<>();
+        for (int i = 0; i < Math.min(COMMON_INGREDIENT_COUNT, corpus.ingredients().size()); i++) {
+            Ingredient ingredient = corpus.ingredients().get(i);
+            common.add(CommonIngredient.builder().ingredient(ingredient).popularityScore(COMMON_INGREDIENT_COUNT - i).build());
+        }
+        context.getBean(CommonIngredientRepository.class).saveAll(common);
+
+        List<Recipe> recipes = corpus.recipes();
+        for (int from = 0; from < recipes.size(); from += SEED_BATCH_SIZE) {
+            List<Recipe> batch = recipes.subList(from, Math.min(from + SEED_BATCH_SIZE, recipes.size()));
+            batch.forEach(recipe -> recipe.setContentFingerprint(fingerprinter.fingerprint(recipe)));
+            recipeRepository.saveAll(batch);
+        }
+
+        context.getBean(IngredientResolver.class).refresh();
+        context.getBean(RecipeIndexService.class).rebuild();
+        System.out.printf("Seeded %d ingredients and %d recipes in %.1fs%n", corpus.ingredients().size(),
+                recipes.size(), (System.nanoTime() - start) / 1e9);
+
+        // Shuffle so that read popularity is independent of insertion order.
+        long[] ids = recipes.stream().mapToLong(Recipe::getId).toArray();
+        Random random = new Random(seed);
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private static LatencyRecorder drive(LoadTestOptions options, String baseUrl, SyntheticCorpus corpus,
+                                         long[] recipeIds, ObjectMapper objectMapper) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        double[] recipePopularity = SyntheticCorpus.zipfDistribution(recipeIds.length);
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        long intervalNanos = options.openLoop() ? (long) (1e9 / options.rate()) : 0;
+        AtomicLong ticket = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.concurrency());
+        List<Future<LatencyRecorder>> workers = new ArrayList<>();
+        for (int t = 0; t < options.concurrency(); t++) {
+            WorkloadGenerator workload = new WorkloadGenerator(corpus, recipeIds, recipePopularity,
+                    options.missRate(), options.mix(), objectMapper, options.seed() + t);
+            workers.add(executor.submit(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                while (true) {
+                    long due;
+                    if (options.openLoop()) {
+                        due = start + ticket.getAndIncrement() * intervalNanos;
+                        if (due >= end) {
+                            break;
+                        }
+                        for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    } else {
+                        due = System.nanoTime();
+                        if (due >= end) {
+                            break;
+                        }
+                    }
+                    WorkloadRequest request = workload.next();
+                    int status = send(client, baseUrl, request);
+                    if (due >= measureFrom) {
+                        recorder.record(request.endpoint(), System.nanoTime() - due, status, request.succeeded(status));
+                    }
+                }
+                return recorder;
+            }));
+        }
+
+        LatencyRecorder merged = new LatencyRecorder();
+        for (Future<LatencyRecorder> worker : workers) {
+            merged.merge(worker.get());
+        }
+        executor.shutdown();
+        return merged;
+    }
+
+    /**
+     * Sends a request and drains the response.
+     * @return the HTTP status, or 0 when the request failed without a response
+     */
+    private static int send(HttpClient client, String baseUrl, WorkloadRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (request.body() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(request.method(), HttpRequest.BodyPublishers.ofString(request.body()));
+        } else {
+            builder.method(request.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            return client.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static void print(Map<Endpoint, LatencyRecorder.EndpointStats> summary) {
+        System.out.printf("%n%-28s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        summary.forEach((endpoint, stats) -> System.out.printf("%-28s %9d %9.1f %6.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint.route(), stats.count(), stats.throughput(), stats.errorRate() * 100,
+                stats.p50(), stats.p90(), stats.p99(), stats.p999(), stats.max()));
+    }
+
+    private static void write(LoadTestOptions options, Map<Endpoint, LatencyRecorder.EndpointStats> summary,
+                              ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("durationSeconds", options.duration().toSeconds());
+        settings.put("warmupSeconds", options.warmup().toSeconds());
+        settings.put("concurrency", options.concurrency());
+        settings.put("rate", options.rate());
+        settings.put("ingredients", options.ingredients());
+        settings.put("recipes", options.recipes());
+        settings.put("seed", options.seed());
+        settings.put("missRate", options.missRate());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((endpoint, weight) -> mix.put(endpoint.key(), weight));
+        settings.put("mix", mix);
+        settings.put("applicationArgs", options.applicationArgs());
+        report.put("options", settings);
+        report.put("jdkVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        summary.forEach((endpoint, stats) -> endpoints.put(endpoint.key(), stats));
+        report.put("endpoints", endpoints);
+
+        if (options.output().getParent() != null) {
+            Files.createDirectories(options.output().getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.output().toFile(), report);
+        System.out.println("\nWrote " + options.output());
+    }
+}
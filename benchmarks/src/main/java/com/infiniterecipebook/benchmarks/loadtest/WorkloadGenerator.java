@@ -0,0 +1,161 @@
+package com.infiniterecipebook.benchmarks.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.benchmarks.SyntheticCorpus;
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.IngredientValidationRequest;
+import com.infiniterecipebook.dto.RecipePreferencesDto;
+import com.infiniterecipebook.dto.RecipeRequest;
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.MealType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Produces a stream of REST requests that looks like real client traffic.
+ *
+ * Endpoints are picked according to the configured mix. Generate and validate bodies use the
+ * names users type (varied case, plurals, some unknown names) drawn from the corpus popularity
+ * distribution. Recipe lookups follow a Zipf distribution over the seeded ids, so a few recipes
+ * are hot and most are rarely read, and a small share asks for ids that do not exist.
+ *
+ * Instances are not thread safe; give each client thread its own.
+ */
+public final class WorkloadGenerator {
+
+    private static final String[] UNITS = {"g", "cup", "tbsp", "piece", "ml", "pinch"};
+    private static final String[] RESTRICTIONS = {"vegetarian", "gluten-free", "dairy-free", "vegan"};
+
+    private final SyntheticCorpus corpus;
+    private final long[] recipeIdsByPopularity;
+    private final double[] recipePopularity;
+    private final long missingRecipeId;
+    private final double missRate;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final ObjectMapper objectMapper;
+    private final Random random;
+
+    /**
+     * @param corpus the seeded corpus
+     * @param recipeIdsByPopularity the seeded recipe ids, most read first
+     * @param recipePopularity the distribution returned by {@link SyntheticCorpus#zipfDistribution(int)}
+     *                         for the number of recipe ids; shared between generators
+     * @param missRate share of recipe lookups that ask for a missing id
+     * @param mix relative weight of each endpoint
+     * @param objectMapper serializes request bodies
+     * @param seed seed of this generator's request stream
+     */
+    public WorkloadGenerator(SyntheticCorpus corpus, long[] recipeIdsByPopularity, double[] recipePopularity,
+                             double missRate, Map<Endpoint, Integer> mix, ObjectMapper objectMapper, long seed) {
+        this.corpus = corpus;
+        this.recipeIdsByPopularity = recipeIdsByPopularity;
+        this.recipePopularity = recipePopularity;
+        this.missingRecipeId = maxOf(recipeIdsByPopularity) + 1_000_000;
+        this.missRate = missRate;
+        this.endpoints = mix.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.objectMapper = objectMapper;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns the next request of the stream.
+     */
+    public WorkloadRequest next() {
+        Endpoint endpoint = pickEndpoint();
+        return switch (endpoint) {
+            case GENERATE -> WorkloadRequest.post(endpoint, "/recipes/generate", json(generateRequest()));
+            case RECIPE -> recipeLookup();
+            case COMMON -> WorkloadRequest.get(endpoint, "/ingredients/common", false);
+            case VALIDATE -> WorkloadRequest.post(endpoint, "/ingredients/validate", json(validationRequest()));
+        };
+    }
+
+    private Endpoint pickEndpoint() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < endpoints.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private WorkloadRequest recipeLookup() {
+        if (random.nextDouble() < missRate) {
+            return WorkloadRequest.get(Endpoint.RECIPE, "/recipes/" + (missingRecipeId + random.nextInt(1_000)), true);
+        }
+        long id = recipeIdsByPopularity[SyntheticCorpus.sampleRank(recipePopularity, random)];
+        return WorkloadRequest.get(Endpoint.RECIPE, "/recipes/" + id, false);
+    }
+
+    private RecipeRequest generateRequest() {
+        RecipeRequest.RecipeRequestBuilder request = RecipeRequest.builder()
+                .ingredients(ingredientInputs(3 + random.nextInt(10), true));
+        if (random.nextInt(10) < 7) {
+            request.mealType(MealType.values()[random.nextInt(MealType.values().length)]);
+        }
+        if (random.nextBoolean()) {
+            RecipePreferencesDto.RecipePreferencesDtoBuilder preferences = RecipePreferencesDto.builder()
+                    .servings(1 + random.nextInt(6));
+            if (random.nextInt(3) == 0) {
+                preferences.maxCookingTime(20 + random.nextInt(60));
+            }
+            if (random.nextInt(4) == 0) {
+                preferences.difficulty(Difficulty.values()[random.nextInt(Difficulty.values().length)]);
+            }
+            if (random.nextInt(5) == 0) {
+                preferences.dietaryRestrictions(List.of(RESTRICTIONS[random.nextInt(RESTRICTIONS.length)]));
+            }
+            request.preferences(preferences.build());
+        }
+        return request.build();
+    }
+
+    private IngredientValidationRequest validationRequest() {
+        return IngredientValidationRequest.builder()
+                .ingredients(ingredientInputs(1 + random.nextInt(8), false))
+                .build();
+    }
+
+    private List<IngredientInputDto> ingredientInputs(int count, boolean withQuantities) {
+        String[] names = corpus.userInputNames(count, random);
+        List<IngredientInputDto> inputs = new ArrayList<>(count);
+        for (String name : names) {
+            IngredientInputDto.IngredientInputDtoBuilder input = IngredientInputDto.builder().name(name);
+            if (withQuantities && random.nextInt(4) > 0) {
+                input.quantity(BigDecimal.valueOf(1 + random.nextInt(500)))
+                        .unit(UNITS[random.nextInt(UNITS.length)]);
+            }
+            inputs.add(input.build());
+        }
+        return inputs;
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize request body", e);
+        }
+    }
+
+    private static long maxOf(long[] values) {
+        long max = 0;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
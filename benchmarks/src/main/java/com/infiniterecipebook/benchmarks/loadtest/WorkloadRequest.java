@@ -0,0 +1,28 @@
+package com.infiniterecipebook.benchmarks.loadtest;
+
+/**
+ * One request of the synthetic workload.
+ *
+ * @param endpoint the endpoint it exercises
+ * @param method the HTTP method
+ * @param path the path below the API base URL
+ * @param body the JSON body, null for GET
+ * @param expectNotFound whether the request deliberately asks for something that does not exist
+ */
+public record WorkloadRequest(Endpoint endpoint, String method, String path, String body, boolean expectNotFound) {
+
+    static WorkloadRequest get(Endpoint endpoint, String path, boolean expectNotFound) {
+        return new WorkloadRequest(endpoint, "GET", path, null, expectNotFound);
+    }
+
+    static WorkloadRequest post(Endpoint endpoint, String path, String body) {
+        return new WorkloadRequest(endpoint, "POST", path, body, false);
+    }
+
+    /**
+     * Whether a response status counts as the expected outcome of this request.
+     */
+    public boolean succeeded(int status) {
+        return expectNotFound ? status == 404 : status >= 200 && status < 300;
+    }
+}
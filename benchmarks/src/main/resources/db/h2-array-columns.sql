@@ -0,0 +1,14 @@
+-- Copy of src/test/resources/db/h2-array-columns.sql for the load-test harness, which runs
+-- the application on H2 with the test profile. Keep the two files in sync.
+-- H2 cannot parse the PostgreSQL TEXT[]/VARCHAR[] column definitions used by the entities,
+-- so the tables owning array columns are pre-created here with H2's ARRAY syntax.
+-- Hibernate (ddl-auto: update) adds every remaining column from the entity mappings.
+CREATE TABLE IF NOT EXISTS ingredients (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    common_units VARCHAR ARRAY
+);
+
+CREATE TABLE IF NOT EXISTS recipes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tags VARCHAR ARRAY
+);
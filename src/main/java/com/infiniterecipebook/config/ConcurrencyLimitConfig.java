@@ -0,0 +1,44 @@
+package com.infiniterecipebook.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.services.limiting.AdaptiveConcurrencyLimiter;
+import com.infiniterecipebook.services.limiting.ClientRateLimiter;
+import com.infiniterecipebook.services.limiting.ConcurrencyLimitFilter;
+import com.infiniterecipebook.services.limiting.RateLimitFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the rate limiting and load shedding filters in front of the API.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Runs first: rejecting a client over its budget is the cheapest outcome of all.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ClientRateLimiter rateLimiter,
+                                                                  ObjectMapper objectMapper,
+                                                                  RecipeBookProperties properties) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimiter, objectMapper, properties.getRateLimit()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    /**
+     * Runs before the SQL profiling filter, so rejected requests are never sampled.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                                ObjectMapper objectMapper,
+                                                                                RecipeBookProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, objectMapper, properties.getConcurrencyLimit().getRetryAfter()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,65 @@
+package com.infiniterecipebook.config;
+
+import com.infiniterecipebook.services.execution.ConcurrencyLimitedDataSource;
+import com.infiniterecipebook.services.execution.FanOutExecutor;
+import com.infiniterecipebook.services.execution.PinnedThreadMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Chooses between platform and virtual threads for blocking work.
+ *
+ * {@code spring.threads.virtual.enabled} switches Tomcat request handling and scheduled jobs
+ * to virtual threads. The beans here follow the same switch. Fan-out tasks then get one
+ * virtual thread each, connections are bounded in front of the pool, and pinned carriers are
+ * reported.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FanOutExecutor virtualFanOutExecutor() {
+        return FanOutExecutor.virtualThreads();
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public FanOutExecutor platformFanOutExecutor(RecipeBookProperties properties) {
+        return FanOutExecutor.platformThreads(properties.getExecution().getFanOutPoolSize());
+    }
+
+    /**
+     * Bounds open connections once request concurrency is no longer capped by the servlet thread pool.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            ObjectProvider<RecipeBookProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    RecipeBookProperties.Execution execution = properties.getObject().getExecution();
+                    return new ConcurrencyLimitedDataSource(dataSource, execution.getMaxDatabaseConcurrency(),
+                            execution.getDatabaseAcquireTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(prefix = "recipe-book.execution", name = "pinning-diagnostics", matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(RecipeBookProperties properties) {
+        return new PinnedThreadMonitor(properties.getExecution().getPinnedThreshold());
+    }
+}
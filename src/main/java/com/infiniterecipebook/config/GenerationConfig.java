@@ -0,0 +1,22 @@
+package com.infiniterecipebook.config;
+
+import com.infiniterecipebook.services.generation.RecipeGenerator;
+import com.infiniterecipebook.services.generation.StubRecipeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the local stub generator unless another {@link RecipeGenerator} bean is declared.
+ */
+@Configuration
+public class GenerationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RecipeGenerator.class)
+    public RecipeGenerator stubRecipeGenerator(RecipeBookProperties properties) {
+        RecipeBookProperties.Generation generation = properties.getGeneration();
+        return new StubRecipeGenerator(generation.getStubLatency(), generation.getStubSlowLatency(),
+                generation.getStubSlowCallRate());
+    }
+}
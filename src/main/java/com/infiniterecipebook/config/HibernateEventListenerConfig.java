@@ -0,0 +1,49 @@
+package com.infiniterecipebook.config;
+
+import com.infiniterecipebook.services.IngredientUsageListener;
+import com.infiniterecipebook.services.changes.ChangeEventListener;
+import com.infiniterecipebook.services.dictionary.RecipeInterningListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers Spring-managed Hibernate event listeners with the session factory.
+ *
+ * Nothing references this configuration, so it stays eager when lazy initialization is on;
+ * otherwise writes would run without the listeners.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class HibernateEventListenerConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final IngredientUsageListener ingredientUsageListener;
+    private final RecipeInterningListener recipeInterningListener;
+    private final ChangeEventListener changeEventListener;
+
+    @Bean
+    static LazyInitializationExcludeFilter hibernateEventListenerConfigExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(HibernateEventListenerConfig.class);
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, ingredientUsageListener);
+        registry.appendListeners(EventType.POST_DELETE, ingredientUsageListener);
+        registry.appendListeners(EventType.POST_UPDATE, ingredientUsageListener);
+        registry.appendListeners(EventType.POST_LOAD, recipeInterningListener);
+        registry.appendListeners(EventType.POST_INSERT, changeEventListener);
+        registry.appendListeners(EventType.POST_DELETE, changeEventListener);
+        registry.appendListeners(EventType.POST_UPDATE, changeEventListener);
+    }
+}
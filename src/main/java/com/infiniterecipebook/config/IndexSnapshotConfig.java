@@ -0,0 +1,30 @@
+package com.infiniterecipebook.config;
+
+import com.infiniterecipebook.services.dictionary.RecipeDictionaries;
+import com.infiniterecipebook.services.matching.IndexSnapshotService;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables index snapshots when {@code recipe-book.snapshot.enabled} is set.
+ */
+@Configuration
+public class IndexSnapshotConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "recipe-book.snapshot", name = "enabled", havingValue = "true")
+    public IndexSnapshotService indexSnapshotService(IngredientResolver ingredientResolver,
+                                                     RecipeIndexService recipeIndexService,
+                                                     RecipeDictionaries recipeDictionaries,
+                                                     UnitDictionary unitDictionary,
+                                                     QuantityEngine quantityEngine,
+                                                     RecipeBookProperties properties) {
+        return new IndexSnapshotService(ingredientResolver, recipeIndexService, recipeDictionaries, unitDictionary,
+                quantityEngine, properties);
+    }
+}
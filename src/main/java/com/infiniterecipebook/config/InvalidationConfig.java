@@ -0,0 +1,67 @@
+package com.infiniterecipebook.config;
+
+import com.infiniterecipebook.services.changes.ChangeEventStream;
+import com.infiniterecipebook.services.changes.InProcessInvalidationBus;
+import com.infiniterecipebook.services.changes.InvalidationBus;
+import com.infiniterecipebook.services.changes.InvalidationPublisher;
+import com.infiniterecipebook.services.changes.InvalidationSubscriber;
+import com.infiniterecipebook.services.changes.PostgresInvalidationBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * Connects the nodes of a deployment through the bus chosen by {@code recipe-book.invalidation.bus}.
+ */
+@Configuration
+public class InvalidationConfig {
+
+    private static final String BUS_ENABLED = "'${recipe-book.invalidation.bus:none}' != 'none'";
+
+    private String nodeId;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "recipe-book.invalidation", name = "bus", havingValue = "postgres")
+    public InvalidationBus postgresInvalidationBus(DataSource dataSource, DataSourceProperties dataSourceProperties,
+                                                   RecipeBookProperties properties) {
+        RecipeBookProperties.Invalidation invalidation = properties.getInvalidation();
+        return new PostgresInvalidationBus(dataSource, dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+                invalidation.getChannel(), invalidation.getPollTimeout(), invalidation.getReconnectDelay());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "recipe-book.invalidation", name = "bus", havingValue = "in-process")
+    public InvalidationBus inProcessInvalidationBus() {
+        return new InProcessInvalidationBus(new InProcessInvalidationBus.Network());
+    }
+
+    @Bean
+    @ConditionalOnExpression(BUS_ENABLED)
+    public InvalidationPublisher invalidationPublisher(InvalidationBus bus, RecipeBookProperties properties) {
+        return new InvalidationPublisher(bus, nodeId(properties), properties.getInvalidation().getMaxPending());
+    }
+
+    @Bean
+    @ConditionalOnExpression(BUS_ENABLED)
+    public InvalidationSubscriber invalidationSubscriber(InvalidationBus bus, ChangeEventStream changeEventStream,
+                                                         RecipeBookProperties properties) {
+        return new InvalidationSubscriber(bus, changeEventStream, nodeId(properties));
+    }
+
+    private synchronized String nodeId(RecipeBookProperties properties) {
+        if (nodeId == null) {
+            String configured = properties.getInvalidation().getNodeId();
+            if (configured.indexOf('|') >= 0) {
+                throw new IllegalArgumentException("recipe-book.invalidation.node-id must not contain '|'");
+            }
+            nodeId = configured.isEmpty() ? UUID.randomUUID().toString() : configured;
+        }
+        return nodeId;
+    }
+}
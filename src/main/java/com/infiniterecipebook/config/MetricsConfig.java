@@ -0,0 +1,52 @@
+package com.infiniterecipebook.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.infiniterecipebook.services.metrics.GenerationMetrics;
+import com.infiniterecipebook.services.metrics.TimedCborHttpMessageConverter;
+import com.infiniterecipebook.services.metrics.TimedJsonHttpMessageConverter;
+import com.infiniterecipebook.services.metrics.TimedSmileHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Metrics wiring that cannot live on the instrumented components themselves.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces Spring Boot's JSON converter with one that times generate response serialization.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   GenerationMetrics generationMetrics) {
+        return new TimedJsonHttpMessageConverter(objectMapper, generationMetrics);
+    }
+
+    /**
+     * Replaces Spring MVC's CBOR converter. It takes the place of the default one, after JSON, so
+     * clients that accept anything still get JSON.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jacksonObjectMapperBuilder, GenerationMetrics generationMetrics) {
+        ObjectMapper cborMapper = jacksonObjectMapperBuilder.factory(new CBORFactory()).build();
+        return new TimedCborHttpMessageConverter(cborMapper, generationMetrics);
+    }
+
+    /**
+     * Replaces Spring MVC's Smile converter, in the same place after JSON.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jacksonObjectMapperBuilder, GenerationMetrics generationMetrics) {
+        ObjectMapper smileMapper = jacksonObjectMapperBuilder.factory(new SmileFactory()).build();
+        return new TimedSmileHttpMessageConverter(smileMapper, generationMetrics);
+    }
+}
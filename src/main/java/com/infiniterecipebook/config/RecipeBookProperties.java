@@ -0,0 +1,377 @@
+package com.infiniterecipebook.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application specific settings bound from the {@code recipe-book} prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "recipe-book")
+@Data
+public class RecipeBookProperties {
+
+    private Fingerprint fingerprint = new Fingerprint();
+
+    private Tiering tiering = new Tiering();
+
+    private Interning interning = new Interning();
+
+    private Matching matching = new Matching();
+
+    private Ingredients ingredients = new Ingredients();
+
+    private SqlProfiling sqlProfiling = new SqlProfiling();
+
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private Execution execution = new Execution();
+
+    private Generation generation = new Generation();
+
+    private Snapshot snapshot = new Snapshot();
+
+    private Changes changes = new Changes();
+
+    private Invalidation invalidation = new Invalidation();
+
+    private WarmUp warmUp = new WarmUp();
+
+    private Planning planning = new Planning();
+
+    /**
+     * Content fingerprint deduplication settings.
+     */
+    @Data
+    public static class Fingerprint {
+        /** Whether to fingerprint existing recipes on startup. */
+        private boolean backfillOnStartup = false;
+
+        /** Number of recipes fingerprinted per transaction during the backfill. */
+        private int backfillBatchSize = 500;
+    }
+
+    /**
+     * Hot/cold tiering settings.
+     */
+    @Data
+    public static class Tiering {
+        /** Whether the scheduled archiver moves cold recipes out of the hot tables. */
+        private boolean enabled = true;
+
+        /** How long a recipe may go unread before it is archived. */
+        private Duration archiveAfter = Duration.ofDays(30);
+
+        /** Delay between archiver runs. */
+        private Duration archiveInterval = Duration.ofHours(1);
+
+        /** Delay between flushes of buffered access counts to the database. */
+        private Duration accessFlushInterval = Duration.ofSeconds(30);
+
+        /** Number of recipes archived per transaction. */
+        private int batchSize = 200;
+    }
+
+    /**
+     * Unit and tag dictionary settings.
+     */
+    @Data
+    public static class Interning {
+        /** Maximum number of distinct units interned; further units are kept as loaded. */
+        private int maxUnits = 4096;
+
+        /** Maximum number of distinct tags interned; further tags are kept as loaded. */
+        private int maxTags = 16384;
+    }
+
+    /**
+     * Recipe matching settings for the generate endpoint.
+     */
+    @Data
+    public static class Matching {
+        /** Maximum number of recipes returned per generate request. */
+        private int maxResults = 5;
+
+        /** Delay between checks for a stale recipe index. */
+        private Duration refreshInterval = Duration.ofMinutes(1);
+
+        /** Number of recipes loaded per transaction while building the index. */
+        private int rebuildBatchSize = 500;
+
+        /** Time budget of a generate request that does not send a timeout header. */
+        private Duration defaultTimeout = Duration.ofSeconds(2);
+
+        /** Upper bound on the time budget a client may ask for. */
+        private Duration maxTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Ingredient reference endpoint settings.
+     */
+    @Data
+    public static class Ingredients {
+        /** Maximum number of entries returned by the common ingredients endpoint. */
+        private int commonLimit = 50;
+
+        /** How long the common ingredient list is served from memory before it is reloaded. */
+        private Duration commonCacheTtl = Duration.ofMinutes(5);
+
+        /** Maximum number of suggestions returned per unrecognized ingredient. */
+        private int maxSuggestions = 3;
+    }
+
+    /**
+     * Sampled SQL profiling settings.
+     */
+    @Data
+    public static class SqlProfiling {
+        /** Whether statements of sampled requests are profiled at all. */
+        private boolean enabled = true;
+
+        /** Share of HTTP requests profiled, between 0 and 1. */
+        private double sampleRate = 0.01;
+
+        /** Executions of one statement shape within a request at which it is reported as a likely N+1. */
+        private int repeatThreshold = 5;
+
+        /** Maximum number of distinct statement shapes tracked; further shapes are counted together. */
+        private int maxShapes = 500;
+
+        /** Number of shapes returned by the actuator endpoint. */
+        private int reportSize = 20;
+    }
+
+    /**
+     * Adaptive concurrency limiting and load shedding settings.
+     */
+    @Data
+    public static class ConcurrencyLimit {
+        /** Whether limited endpoints are admitted through the concurrency limiter. */
+        private boolean enabled = true;
+
+        /** Limit used until latency samples move it. */
+        private int initialLimit = 20;
+
+        /** Lowest value the limit may shrink to. */
+        private int minLimit = 4;
+
+        /** Highest value the limit may grow to. */
+        private int maxLimit = 200;
+
+        /** Generate latency above which the limit is decreased. */
+        private Duration latencyTarget = Duration.ofMillis(500);
+
+        /** Factor applied to the limit on each decrease. */
+        private double backoffRatio = 0.9;
+
+        /** Share of the limit only the priority lane may use. */
+        private double priorityReserve = 0.2;
+
+        /** Value of the Retry-After header on rejected requests. */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Per-client rate limiting settings.
+     */
+    @Data
+    public static class RateLimit {
+        /** Whether API requests are rate limited per client. */
+        private boolean enabled = true;
+
+        /** Limits applied together; a request must fit within every one of them. */
+        private List<Limit> limits = new ArrayList<>(List.of(
+                new Limit(10, Duration.ofMinutes(1)), new Limit(100, Duration.ofHours(1))));
+
+        /** Header carrying a client identity, such as an API key; blank to identify clients by address. */
+        private String clientIdHeader = "";
+
+        /** Whether the first X-Forwarded-For entry identifies the client; only safe behind a trusted proxy. */
+        private boolean trustForwardedFor = false;
+
+        /** Maximum number of clients tracked; further clients share one bucket until idle ones are evicted. */
+        private int maxClients = 100_000;
+
+        /** Delay between sweeps evicting the buckets of idle clients. */
+        private Duration evictionInterval = Duration.ofMinutes(1);
+
+        /**
+         * A number of requests allowed per window.
+         */
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Limit {
+            private int requests;
+            private Duration window;
+        }
+    }
+
+    /**
+     * Threading settings; virtual threads are switched on with {@code spring.threads.virtual.enabled}.
+     */
+    @Data
+    public static class Execution {
+        /** Platform threads running fan-out tasks when virtual threads are off. */
+        private int fanOutPoolSize = 16;
+
+        /** Connections open at once in virtual thread mode; keep at or below the connection pool size. */
+        private int maxDatabaseConcurrency = 10;
+
+        /** How long a virtual thread waits for a database connection permit before failing. */
+        private Duration databaseAcquireTimeout = Duration.ofSeconds(5);
+
+        /** Whether to report virtual threads pinned to their carrier in virtual thread mode. */
+        private boolean pinningDiagnostics = true;
+
+        /** Shortest pinning reported by the pinning diagnostics. */
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+    }
+
+    /**
+     * Recipe generator fan-out and hedging settings.
+     */
+    @Data
+    public static class Generation {
+        /** Whether generate requests also call the recipe generator. */
+        private boolean enabled = false;
+
+        /** Generator calls started per request, each asking for a different variant. */
+        private int candidates = 3;
+
+        /** Hedge delay used until enough calls have been timed. */
+        private Duration initialHedgeDelay = Duration.ofMillis(200);
+
+        /** Lower bound of the hedge delay, so a fast generator is not hedged on jitter. */
+        private Duration minHedgeDelay = Duration.ofMillis(10);
+
+        /** Latency percentile of recent calls after which a call is hedged. */
+        private double hedgePercentile = 0.95;
+
+        /** Extra attempts allowed per candidate, whether the call was slow or failed. */
+        private int maxHedges = 1;
+
+        /** Confidence given to generated recipes when ranking them against stored ones. */
+        private double generatedConfidence = 0.9;
+
+        /** Typical latency of the local stub generator. */
+        private Duration stubLatency = Duration.ofMillis(50);
+
+        /** Latency of the stub generator's slow calls. */
+        private Duration stubSlowLatency = Duration.ofMillis(500);
+
+        /** Share of stub generator calls that take the slow latency. */
+        private double stubSlowCallRate = 0.05;
+    }
+
+    /**
+     * Index snapshot settings.
+     */
+    @Data
+    public static class Snapshot {
+        /** Whether to restore the indexes from the snapshot file at startup and write it periodically. */
+        private boolean enabled = false;
+
+        /** Snapshot file; keep it on a volume that survives redeploys. */
+        private String path = "data/recipe-index.snapshot";
+
+        /** Delay between snapshot writes; unchanged indexes are not written again. */
+        private Duration interval = Duration.ofMinutes(15);
+
+        /** How far before the snapshot time to read changes from, to allow for clock skew between nodes. */
+        private Duration catchUpOverlap = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Change event stream settings.
+     */
+    @Data
+    public static class Changes {
+        /** Delay between deliveries of pending changes to the in-memory indexes. */
+        private Duration applyInterval = Duration.ofMillis(100);
+
+        /** Changes kept pending before they are dropped and the indexes rebuilt instead. */
+        private int maxPending = 100_000;
+    }
+
+    /**
+     * Cross-node invalidation settings.
+     */
+    @Data
+    public static class Invalidation {
+        /** Transport for changes between nodes: none, in-process (tests) or postgres (LISTEN/NOTIFY). */
+        private String bus = "none";
+
+        /** Identifies this node in messages; a random id when empty. */
+        private String nodeId = "";
+
+        /** Delay between sends of buffered changes to the other nodes. */
+        private Duration flushInterval = Duration.ofMillis(50);
+
+        /** Changed entities buffered before the other nodes are asked to resync instead. */
+        private int maxPending = 10_000;
+
+        /** PostgreSQL notification channel shared by the nodes. */
+        private String channel = "recipe_book_invalidation";
+
+        /** Longest wait for a notification before the listener checks whether it should stop. */
+        private Duration pollTimeout = Duration.ofMillis(500);
+
+        /** Delay before reconnecting after the listening connection is lost. */
+        private Duration reconnectDelay = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Warm-up settings.
+     */
+    @Data
+    public static class WarmUp {
+        /** Whether to replay a workload before the application reports ready. */
+        private boolean enabled = true;
+
+        /** JSON lines file of recorded requests; a synthetic workload is used when empty. */
+        private String requestsFile = "";
+
+        /** Longest time the warm-up may delay readiness. */
+        private Duration timeBudget = Duration.ofSeconds(30);
+
+        /** Requests replayed at most, cycling through the workload. */
+        private int maxRequests = 20_000;
+
+        /** Distinct requests in the synthetic workload. */
+        private int syntheticRequests = 500;
+
+        /** Threads replaying requests. */
+        private int concurrency = 2;
+    }
+
+    /**
+     * Meal plan settings.
+     */
+    @Data
+    public static class Planning {
+        /** Time the solver may search before returning the best plan found. */
+        private Duration timeBudget = Duration.ofMillis(250);
+
+        /** Best matching recipes per meal type the solver chooses from. */
+        private int candidatesPerMeal = 50;
+
+        /** Local search restarts at most, spread over the workers. */
+        private int maxRestarts = 64;
+
+        /** Fork-join workers searching in parallel; the number of processors when 0. */
+        private int parallelism = 0;
+
+        /** Weight of missing the nutrition targets against pantry coverage in the plan score. */
+        private double nutritionWeight = 1.0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.infiniterecipebook.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as access count flushing and recipe archival.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
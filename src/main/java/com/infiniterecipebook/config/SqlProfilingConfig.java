@@ -0,0 +1,59 @@
+package com.infiniterecipebook.config;
+
+import com.infiniterecipebook.services.profiling.ProfilingDataSource;
+import com.infiniterecipebook.services.profiling.SqlProfileControlEndpoint;
+import com.infiniterecipebook.services.profiling.SqlProfileEndpoint;
+import com.infiniterecipebook.services.profiling.SqlProfiler;
+import com.infiniterecipebook.services.profiling.SqlProfilingFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the sampled SQL profiler: the request filter choosing which requests are profiled,
+ * the DataSource wrapper timing their statements, the read-only actuator endpoint reporting
+ * them and the JMX endpoint changing the sample rate.
+ */
+@Configuration
+public class SqlProfilingConfig {
+
+    /**
+     * Wraps the application DataSource; static so it does not force early initialization of this class.
+     */
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource, sqlProfiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(SqlProfiler sqlProfiler) {
+        FilterRegistrationBean<SqlProfilingFilter> registration =
+                new FilterRegistrationBean<>(new SqlProfilingFilter(sqlProfiler));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public SqlProfileEndpoint sqlProfileEndpoint(SqlProfiler sqlProfiler, RecipeBookProperties properties) {
+        return new SqlProfileEndpoint(sqlProfiler, properties.getSqlProfiling().getReportSize());
+    }
+
+    @Bean
+    public SqlProfileControlEndpoint sqlProfileControlEndpoint(SqlProfileEndpoint sqlProfileEndpoint,
+                                                               SqlProfiler sqlProfiler) {
+        return new SqlProfileControlEndpoint(sqlProfileEndpoint, sqlProfiler);
+    }
+}
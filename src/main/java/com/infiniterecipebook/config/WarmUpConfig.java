@@ -0,0 +1,34 @@
+package com.infiniterecipebook.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.services.IngredientService;
+import com.infiniterecipebook.services.RecipeAccessTracker;
+import com.infiniterecipebook.services.RecipeGenerationService;
+import com.infiniterecipebook.services.RecipeService;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.warmup.WarmUpRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs the warm-up before readiness unless {@code recipe-book.warm-up.enabled} is false.
+ */
+@Configuration
+public class WarmUpConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "recipe-book.warm-up", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public WarmUpRunner warmUpRunner(RecipeGenerationService recipeGenerationService,
+                                     RecipeService recipeService,
+                                     IngredientService ingredientService,
+                                     IngredientResolver ingredientResolver,
+                                     RecipeIndexService recipeIndexService,
+                                     RecipeAccessTracker recipeAccessTracker,
+                                     ObjectMapper objectMapper,
+                                     RecipeBookProperties properties) {
+        return new WarmUpRunner(recipeGenerationService, recipeService, ingredientService, ingredientResolver,
+                recipeIndexService, recipeAccessTracker, objectMapper, properties);
+    }
+}
@@ -0,0 +1,52 @@
+package com.infiniterecipebook.controllers;
+
+import com.infiniterecipebook.dto.CommonIngredientsResponse;
+import com.infiniterecipebook.dto.IngredientValidationRequest;
+import com.infiniterecipebook.dto.IngredientValidationResponse;
+import com.infiniterecipebook.services.IngredientService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST endpoints for ingredient reference data.
+ */
+@RestController
+@RequestMapping("/ingredients")
+@Validated
+@RequiredArgsConstructor
+@Tag(name = "Ingredients")
+public class IngredientController {
+
+    private final IngredientService ingredientService;
+
+    /**
+     * Returns common household ingredients for reference.
+     * @return the common ingredients, most popular first
+     */
+    @GetMapping("/common")
+    @Operation(summary = "Get common ingredients")
+    public ResponseEntity<CommonIngredientsResponse> getCommonIngredients() {
+        return ResponseEntity.ok(ingredientService.getCommonIngredients());
+    }
+
+    /**
+     * Validates and normalizes ingredient names.
+     * @param request the ingredient names to validate
+     * @return one validation result per ingredient
+     */
+    @PostMapping("/validate")
+    @Operation(summary = "Validate and normalize ingredient names")
+    public ResponseEntity<IngredientValidationResponse> validateIngredients(
+            @Valid @RequestBody IngredientValidationRequest request) {
+        return ResponseEntity.ok(ingredientService.validateIngredients(request));
+    }
+}
@@ -0,0 +1,106 @@
+package com.infiniterecipebook.controllers;
+
+import com.infiniterecipebook.dto.MealPlanRequest;
+import com.infiniterecipebook.dto.MealPlanResponse;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipeRequest;
+import com.infiniterecipebook.dto.RecipeResponse;
+import com.infiniterecipebook.services.MealPlanService;
+import com.infiniterecipebook.services.RecipeGenerationService;
+import com.infiniterecipebook.services.RecipeService;
+import com.infiniterecipebook.services.metrics.GenerationMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * REST endpoints for recipes.
+ */
+@RestController
+@RequestMapping("/recipes")
+@Validated
+@RequiredArgsConstructor
+@Tag(name = "Recipes")
+public class RecipeController {
+
+    private static final int MAX_SERVINGS = 100;
+
+    /** Request header giving the client's time budget for a generate call, in milliseconds. */
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final RecipeService recipeService;
+    private final RecipeGenerationService recipeGenerationService;
+    private final MealPlanService mealPlanService;
+
+    /**
+     * Returns the stored recipes that best match the supplied ingredients and preferences.
+     * @param request the available ingredients and preferences
+     * @param timeoutMillis how long the client waits for the response, in milliseconds; the configured default when absent
+     * @param servletRequest the current request, tagged with the meal type for the serialization metrics
+     * @return the matching recipes and generation metadata
+     */
+    @PostMapping("/generate")
+    @Operation(summary = "Generate recipes from available ingredients")
+    public ResponseEntity<RecipeResponse> generateRecipes(@Valid @RequestBody RecipeRequest request,
+                                                          @RequestHeader(name = TIMEOUT_HEADER, required = false)
+                                                          @Positive Long timeoutMillis,
+                                                          HttpServletRequest servletRequest) {
+        if (request.getMealType() != null) {
+            servletRequest.setAttribute(GenerationMetrics.MEAL_TYPE_ATTRIBUTE, request.getMealType());
+        }
+        Duration timeout = timeoutMillis != null ? Duration.ofMillis(timeoutMillis) : null;
+        return ResponseEntity.ok(recipeGenerationService.generate(request, timeout));
+    }
+
+    /**
+     * Plans one stored recipe per requested meal, balancing pantry coverage against nutrition targets.
+     * @param request the available ingredients, meals to plan, nutrition targets and preferences
+     * @return the planned meals and their nutrition totals
+     */
+    @PostMapping("/plan")
+    @Operation(summary = "Plan meals from available ingredients and nutrition targets")
+    public ResponseEntity<MealPlanResponse> planMeals(@Valid @RequestBody MealPlanRequest request) {
+        return ResponseEntity.ok(mealPlanService.plan(request));
+    }
+
+    /**
+     * Returns a recipe by id, whether it is stored in the hot tables or the archive.
+     * @param id the recipe id
+     * @return the recipe
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get recipe by id")
+    public ResponseEntity<RecipeDto> getRecipe(@PathVariable @Positive Long id) {
+        return ResponseEntity.ok(recipeService.getRecipe(id));
+    }
+
+    /**
+     * Returns a recipe with its ingredient quantities scaled to a number of servings.
+     * @param id the recipe id
+     * @param servings the number of servings to scale to
+     * @return the scaled recipe
+     */
+    @GetMapping("/{id}/scaled")
+    @Operation(summary = "Get recipe scaled to a number of servings")
+    public ResponseEntity<RecipeDto> getScaledRecipe(@PathVariable @Positive Long id,
+                                                     @RequestParam @Min(1) @Max(MAX_SERVINGS) int servings) {
+        return ResponseEntity.ok(recipeService.getScaledRecipe(id, servings));
+    }
+}
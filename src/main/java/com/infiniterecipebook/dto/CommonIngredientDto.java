@@ -0,0 +1,23 @@
+package com.infiniterecipebook.dto;
+
+import com.infiniterecipebook.enums.IngredientCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A common household ingredient offered to clients for reference.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommonIngredientDto {
+    private Long id;
+    private String name;
+    private IngredientCategory category;
+    private List<String> commonUnits;
+}
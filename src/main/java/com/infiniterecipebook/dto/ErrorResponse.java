@@ -0,0 +1,43 @@
+package com.infiniterecipebook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Standard error body: {@code {"error": {"code", "message", "details"}}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorResponse {
+
+    private ErrorDetail error;
+
+    /**
+     * Creates an error response.
+     * @param code machine readable error code
+     * @param message human readable message
+     * @param details optional structured details, may be null
+     * @return the error response
+     */
+    public static ErrorResponse of(String code, String message, Map<String, Object> details) {
+        return new ErrorResponse(ErrorDetail.builder().code(code).message(message).details(details).build());
+    }
+
+    /**
+     * Body of the error object.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErrorDetail {
+        private String code;
+        private String message;
+        private Map<String, Object> details;
+    }
+}
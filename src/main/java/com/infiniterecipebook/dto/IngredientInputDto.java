@@ -0,0 +1,31 @@
+package com.infiniterecipebook.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * An ingredient supplied by the client, as free-form name with an optional quantity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientInputDto {
+
+    @NotBlank(message = "Ingredient name is required")
+    @Size(max = 255, message = "Ingredient name cannot exceed 255 characters")
+    private String name;
+
+    @PositiveOrZero(message = "Quantity cannot be negative")
+    private BigDecimal quantity;
+
+    @Size(max = 50, message = "Unit cannot exceed 50 characters")
+    private String unit;
+}
@@ -0,0 +1,25 @@
+package com.infiniterecipebook.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body of {@code POST /ingredients/validate}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientValidationRequest {
+
+    @NotEmpty(message = "At least one ingredient is required")
+    @Size(max = 100, message = "At most 100 ingredients can be validated at once")
+    private List<@Valid IngredientInputDto> ingredients;
+}
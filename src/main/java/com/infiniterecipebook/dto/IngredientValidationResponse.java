@@ -0,0 +1,19 @@
+package com.infiniterecipebook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response body of {@code POST /ingredients/validate}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientValidationResponse {
+    private List<ValidatedIngredientDto> validatedIngredients;
+}
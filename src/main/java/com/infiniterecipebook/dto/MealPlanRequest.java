@@ -0,0 +1,49 @@
+package com.infiniterecipebook.dto;
+
+import com.infiniterecipebook.enums.MealType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body of {@code POST /recipes/plan}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanRequest {
+
+    @NotEmpty(message = "At least one ingredient is required")
+    @Size(max = 100, message = "At most 100 ingredients are accepted")
+    private List<@Valid IngredientInputDto> ingredients;
+
+    /** The meals to plan, one recipe each, such as breakfast, lunch and dinner. */
+    @NotEmpty(message = "At least one meal is required")
+    @Size(max = 21, message = "At most 21 meals are accepted")
+    private List<@NotNull(message = "Meal type is required") MealType> meals;
+
+    /**
+     * Days the plan covers. Defaults to the largest number of meals of one type, so seven
+     * breakfasts, lunches and dinners make a seven-day plan.
+     */
+    @Positive(message = "Days must be positive")
+    @Max(value = 21, message = "A plan covers at most 21 days")
+    private Integer days;
+
+    /** Nutrition to aim for per day; fields left out are not targeted. */
+    @Valid
+    private NutritionalInfoDto targets;
+
+    @Valid
+    private RecipePreferencesDto preferences;
+}
@@ -0,0 +1,52 @@
+package com.infiniterecipebook.dto;
+
+import com.infiniterecipebook.enums.MealType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response body of {@code POST /recipes/plan}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanResponse {
+    private List<PlannedMeal> meals;
+    /** Nutrition totals of the planned recipes, one serving each. */
+    private NutritionalInfoDto totals;
+    private Metadata metadata;
+
+    /**
+     * A meal of the plan, in request order.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlannedMeal {
+        private MealType mealType;
+        /** The recipe chosen for the meal, null when no stored recipe fits it. */
+        private RecipeDto recipe;
+    }
+
+    /**
+     * Information about how the plan was produced.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Metadata {
+        /** Mean confidence of the planned meals, empty meals counting 0. */
+        private double coverage;
+        /** Wall-clock planning time in seconds. */
+        private double generationTime;
+        /** True when the time budget expired and the plan is the best found before it. */
+        private boolean partial;
+    }
+}
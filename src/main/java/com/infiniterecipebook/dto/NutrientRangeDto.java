@@ -0,0 +1,23 @@
+package com.infiniterecipebook.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inclusive bounds on one nutrient per serving; either bound may be omitted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutrientRangeDto {
+
+    @PositiveOrZero(message = "Minimum cannot be negative")
+    private Integer min;
+
+    @PositiveOrZero(message = "Maximum cannot be negative")
+    private Integer max;
+}
@@ -0,0 +1,20 @@
+package com.infiniterecipebook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * API representation of a recipe's nutritional information.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionalInfoDto {
+    private Integer calories;
+    private Integer protein;
+    private Integer carbs;
+    private Integer fat;
+}
@@ -0,0 +1,39 @@
+package com.infiniterecipebook.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.MealType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * API representation of a stored recipe, as returned by {@code GET /recipes/{id}}
+ * and, with a confidence, within generate responses.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeDto {
+    private Long id;
+    private String name;
+    private String description;
+    private MealType mealType;
+    private Integer cookingTime;
+    private Difficulty difficulty;
+    private Integer servings;
+    private List<RecipeIngredientDto> ingredients;
+    private List<RecipeInstructionDto> instructions;
+    private NutritionalInfoDto nutritionalInfo;
+    private List<String> tags;
+    private LocalDateTime createdAt;
+
+    /** How well the recipe matches the supplied ingredients, between 0 and 1; generate responses only. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double confidence;
+}
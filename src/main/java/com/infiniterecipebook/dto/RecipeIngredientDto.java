@@ -0,0 +1,27 @@
+package com.infiniterecipebook.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * API representation of an ingredient line within a recipe.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeIngredientDto {
+    private String name;
+    private BigDecimal quantity;
+    private String unit;
+    private Boolean isRequired;
+
+    /** Whether the supplied ingredients cover this line; generate responses only. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean isAvailable;
+}
@@ -0,0 +1,18 @@
+package com.infiniterecipebook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * API representation of a single cooking step.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeInstructionDto {
+    private Integer step;
+    private String description;
+}
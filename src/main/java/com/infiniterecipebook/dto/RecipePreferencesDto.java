@@ -0,0 +1,39 @@
+package com.infiniterecipebook.dto;
+
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.Nutrient;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional constraints on the recipes returned by {@code POST /recipes/generate}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipePreferencesDto {
+
+    @Positive(message = "Maximum cooking time must be positive")
+    private Integer maxCookingTime;
+
+    private Difficulty difficulty;
+
+    @Min(value = 1, message = "Servings must be at least 1")
+    @Max(value = 100, message = "Servings cannot exceed 100")
+    private Integer servings;
+
+    private List<String> dietaryRestrictions;
+
+    /** Bounds on the nutrition per serving, such as at most 500 calories and at least 30 g of protein. */
+    private Map<Nutrient, @Valid NutrientRangeDto> nutrition;
+}
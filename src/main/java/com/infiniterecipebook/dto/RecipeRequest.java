@@ -0,0 +1,31 @@
+package com.infiniterecipebook.dto;
+
+import com.infiniterecipebook.enums.MealType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body of {@code POST /recipes/generate}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeRequest {
+
+    @NotEmpty(message = "At least one ingredient is required")
+    @Size(max = 100, message = "At most 100 ingredients are accepted")
+    private List<@Valid IngredientInputDto> ingredients;
+
+    private MealType mealType;
+
+    @Valid
+    private RecipePreferencesDto preferences;
+}
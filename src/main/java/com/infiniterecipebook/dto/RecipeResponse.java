@@ -0,0 +1,37 @@
+package com.infiniterecipebook.dto;
+
+import com.infiniterecipebook.enums.RecipeSource;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response body of {@code POST /recipes/generate}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeResponse {
+    private List<RecipeDto> recipes;
+    private Metadata metadata;
+
+    /**
+     * Information about how the response was produced.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Metadata {
+        private int totalRecipes;
+        /** Wall-clock generation time in seconds. */
+        private double generationTime;
+        private RecipeSource source;
+        /** True when the deadline expired and the recipes are the best found before it, not over all candidates. */
+        private boolean partial;
+    }
+}
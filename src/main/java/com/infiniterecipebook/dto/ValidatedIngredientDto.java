@@ -0,0 +1,27 @@
+package com.infiniterecipebook.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.infiniterecipebook.enums.IngredientCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The outcome of validating one client supplied ingredient name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ValidatedIngredientDto {
+    private String originalName;
+    /** The catalogue name when valid, otherwise the normalized input. */
+    private String normalizedName;
+    private Boolean isValid;
+    private List<String> suggestions;
+    private IngredientCategory category;
+}
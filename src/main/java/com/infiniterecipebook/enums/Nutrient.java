@@ -0,0 +1,16 @@
+package com.infiniterecipebook.enums;
+
+/**
+ * Enum representing the nutrients tracked per recipe serving, in the order of
+ * {@link com.infiniterecipebook.models.NutritionalInfo}.
+ * Calories are in kcal, sodium in mg and the other nutrients in grams.
+ */
+public enum Nutrient {
+    CALORIES,
+    PROTEIN,
+    CARBS,
+    FAT,
+    FIBER,
+    SUGAR,
+    SODIUM
+}
@@ -0,0 +1,10 @@
+package com.infiniterecipebook.enums;
+
+/**
+ * Enum representing where the recipes of a generate response came from.
+ */
+public enum RecipeSource {
+    CATALOG,
+    LLM,
+    MOCK
+}
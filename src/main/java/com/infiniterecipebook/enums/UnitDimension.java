@@ -0,0 +1,13 @@
+package com.infiniterecipebook.enums;
+
+/**
+ * Enum representing the physical dimension of a measurement unit.
+ * Units of the same dimension can be converted into each other, except OTHER units
+ * (cloves, slices, cans, ...) which only convert to themselves.
+ */
+public enum UnitDimension {
+    MASS,
+    VOLUME,
+    COUNT,
+    OTHER
+}
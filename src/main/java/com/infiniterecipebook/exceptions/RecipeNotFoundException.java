@@ -0,0 +1,17 @@
+package com.infiniterecipebook.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a recipe id resolves to neither a hot nor an archived recipe.
+ */
+@Getter
+public class RecipeNotFoundException extends RuntimeException {
+
+    private final Long recipeId;
+
+    public RecipeNotFoundException(Long recipeId) {
+        super("Recipe not found: " + recipeId);
+        this.recipeId = recipeId;
+    }
+}
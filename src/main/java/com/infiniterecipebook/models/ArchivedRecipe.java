@@ -0,0 +1,64 @@
+package com.infiniterecipebook.models;
+
+import com.infiniterecipebook.enums.MealType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold-tier copy of a recipe that has not been read for a while.
+ * The whole recipe graph is stored as a single gzip-compressed JSON payload, keyed by the
+ * original recipe id so existing links keep resolving after archival.
+ */
+@Entity
+@Table(name = "archived_recipes", indexes = {
+    @Index(name = "idx_archived_recipes_content_fingerprint", columnList = "content_fingerprint", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedRecipe {
+
+    @Id
+    @NotNull(message = "Recipe id is required")
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @NotBlank(message = "Recipe name is required")
+    @Size(max = 255, message = "Recipe name cannot exceed 255 characters")
+    @Column(nullable = false, length = 255)
+    private String name;
+
+    @NotNull(message = "Meal type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "meal_type", nullable = false)
+    private MealType mealType;
+
+    @Size(max = 64, message = "Content fingerprint cannot exceed 64 characters")
+    @Column(name = "content_fingerprint", length = 64)
+    private String contentFingerprint;
+
+    @NotNull(message = "Payload is required")
+    @Column(nullable = false, length = 1_048_576)
+    @ToString.Exclude
+    private byte[] payload;
+
+    @Column(name = "access_count")
+    @Builder.Default
+    private Long accessCount = 0L;
+
+    @Column(name = "last_accessed_at")
+    private LocalDateTime lastAccessedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
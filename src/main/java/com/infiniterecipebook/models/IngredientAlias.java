@@ -0,0 +1,50 @@
+package com.infiniterecipebook.models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Another surface form of an ingredient's name, such as a translation or a regional variant.
+ * Aliases are matched in normalized form, like ingredient names, and never shadow a name.
+ */
+@Entity
+@Table(name = "ingredient_aliases", indexes = {
+    @Index(name = "idx_ingredient_aliases_ingredient_id", columnList = "ingredient_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Ingredient id is required")
+    @Column(name = "ingredient_id", nullable = false)
+    private Long ingredientId;
+
+    @NotBlank(message = "Alias is required")
+    @Size(max = 100, message = "Alias must not exceed 100 characters")
+    @Column(nullable = false, length = 100)
+    private String alias;
+
+    /** BCP 47 language tag of the alias, such as "fr" or "es-MX"; null when it is not tied to a language. */
+    @Size(max = 16, message = "Language must not exceed 16 characters")
+    @Column(length = 16)
+    private String language;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,74 @@
+package com.infiniterecipebook.models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Nutrient vector of a single ingredient, per 100 g.
+ * Calories are in kcal, sodium in mg and the other nutrients in grams; a null nutrient is unknown.
+ * Densities convert recipe lines measured by volume or by the piece into grams.
+ */
+@Entity
+@Table(name = "ingredient_nutrition")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientNutrition {
+
+    @Id
+    @NotNull(message = "Ingredient id is required")
+    @Column(name = "ingredient_id")
+    private Long ingredientId;
+
+    @PositiveOrZero(message = "Calories cannot be negative")
+    @Column(precision = 10, scale = 3)
+    private BigDecimal calories;
+
+    @PositiveOrZero(message = "Protein cannot be negative")
+    @Column(precision = 10, scale = 3)
+    private BigDecimal protein;
+
+    @PositiveOrZero(message = "Carbs cannot be negative")
+    @Column(precision = 10, scale = 3)
+    private BigDecimal carbs;
+
+    @PositiveOrZero(message = "Fat cannot be negative")
+    @Column(precision = 10, scale = 3)
+    private BigDecimal fat;
+
+    @PositiveOrZero(message = "Fiber cannot be negative")
+    @Column(precision = 10, scale = 3)
+    private BigDecimal fiber;
+
+    @PositiveOrZero(message = "Sugar cannot be negative")
+    @Column(precision = 10, scale = 3)
+    private BigDecimal sugar;
+
+    @PositiveOrZero(message = "Sodium cannot be negative")
+    @Column(precision = 10, scale = 3)
+    private BigDecimal sodium;
+
+    /** Grams per millilitre, for lines measured by volume; null when unknown. */
+    @PositiveOrZero(message = "Grams per millilitre cannot be negative")
+    @Column(name = "grams_per_ml", precision = 10, scale = 4)
+    private BigDecimal gramsPerMl;
+
+    /** Grams per piece, for lines counted in pieces, cloves, cans and the like; null when unknown. */
+    @PositiveOrZero(message = "Grams per piece cannot be negative")
+    @Column(name = "grams_per_piece", precision = 10, scale = 3)
+    private BigDecimal gramsPerPiece;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,80 @@
+package com.infiniterecipebook.models;
+
+import com.infiniterecipebook.enums.MealType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maintained usage aggregates for a single ingredient.
+ * Counts are updated incrementally as recipe_ingredients rows are inserted or deleted,
+ * so popularity lookups never have to traverse the junction table.
+ */
+@Entity
+@Table(name = "ingredient_usage_stats", indexes = {
+    @Index(name = "idx_ingredient_usage_stats_recipe_count", columnList = "recipe_count")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientUsageStats {
+
+    @Id
+    @NotNull(message = "Ingredient id is required")
+    @Column(name = "ingredient_id")
+    private Long ingredientId;
+
+    @Column(name = "recipe_count", nullable = false)
+    @Builder.Default
+    private Long recipeCount = 0L;
+
+    @Column(name = "required_count", nullable = false)
+    @Builder.Default
+    private Long requiredCount = 0L;
+
+    @Column(name = "breakfast_count", nullable = false)
+    @Builder.Default
+    private Long breakfastCount = 0L;
+
+    @Column(name = "lunch_count", nullable = false)
+    @Builder.Default
+    private Long lunchCount = 0L;
+
+    @Column(name = "dinner_count", nullable = false)
+    @Builder.Default
+    private Long dinnerCount = 0L;
+
+    @Column(name = "snack_count", nullable = false)
+    @Builder.Default
+    private Long snackCount = 0L;
+
+    @Column(name = "dessert_count", nullable = false)
+    @Builder.Default
+    private Long dessertCount = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Returns the number of recipe usages for the given meal type.
+     * @param mealType the meal type to look up
+     * @return the usage count for that meal type
+     */
+    public long getMealTypeCount(MealType mealType) {
+        return switch (mealType) {
+            case BREAKFAST -> breakfastCount;
+            case LUNCH -> lunchCount;
+            case DINNER -> dinnerCount;
+            case SNACK -> snackCount;
+            case DESSERT -> dessertCount;
+        };
+    }
+}
@@ -23,7 +23,10 @@ import java.util.List;
  * Contains all recipe metadata, ingredients, and instructions.
  */
 @Entity
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = {
+    @Index(name = "idx_recipes_content_fingerprint", columnList = "content_fingerprint", unique = true),
+    @Index(name = "idx_recipes_last_accessed_at", columnList = "last_accessed_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -72,6 +75,25 @@ public class Recipe {
     @Column(columnDefinition = "TEXT[]")
     private List<String> tags;
     
+    /**
+     * Canonical hash of the recipe's ingredients and instructions, used to detect
+     * generated recipes that only differ by name. See RecipeFingerprinter.
+     */
+    @Size(max = 64, message = "Content fingerprint cannot exceed 64 characters")
+    @Column(name = "content_fingerprint", length = 64)
+    private String contentFingerprint;
+    
+    /**
+     * Read statistics used for hot/cold tiering. Updated in batches by RecipeAccessTracker,
+     * so they lag reads by up to one flush interval.
+     */
+    @Column(name = "access_count")
+    @Builder.Default
+    private Long accessCount = 0L;
+    
+    @Column(name = "last_accessed_at")
+    private LocalDateTime lastAccessedAt;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,34 @@
+package com.infiniterecipebook.repositories;
+
+import com.infiniterecipebook.models.ArchivedRecipe;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for cold-tier archived recipes.
+ */
+@Repository
+public interface ArchivedRecipeRepository extends JpaRepository<ArchivedRecipe, Long> {
+
+    /**
+     * Finds the archived recipe with the given content fingerprint.
+     */
+    Optional<ArchivedRecipe> findByContentFingerprint(String contentFingerprint);
+
+    /**
+     * Adds buffered reads to an archived recipe's access statistics.
+     * @return the number of rows updated, 0 when the recipe is not archived
+     */
+    @Modifying
+    @Query("UPDATE ArchivedRecipe a SET a.accessCount = COALESCE(a.accessCount, 0) + :count, a.lastAccessedAt = :accessedAt "
+            + "WHERE a.recipeId = :recipeId")
+    int recordAccess(@Param("recipeId") Long recipeId,
+                     @Param("count") long count,
+                     @Param("accessedAt") LocalDateTime accessedAt);
+}
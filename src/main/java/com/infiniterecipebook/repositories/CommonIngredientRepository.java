@@ -0,0 +1,23 @@
+package com.infiniterecipebook.repositories;
+
+import com.infiniterecipebook.models.CommonIngredient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the curated common ingredient list.
+ */
+@Repository
+public interface CommonIngredientRepository extends JpaRepository<CommonIngredient, Long> {
+
+    /**
+     * Returns the common ingredients with their ingredient, most popular first.
+     */
+    @Query("SELECT c FROM CommonIngredient c JOIN FETCH c.ingredient "
+            + "ORDER BY c.popularityScore DESC, c.id")
+    List<CommonIngredient> findAllWithIngredientByPopularity(Pageable pageable);
+}
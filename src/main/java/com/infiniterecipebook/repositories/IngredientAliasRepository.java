@@ -0,0 +1,21 @@
+package com.infiniterecipebook.repositories;
+
+import com.infiniterecipebook.models.IngredientAlias;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for ingredient name aliases.
+ */
+@Repository
+public interface IngredientAliasRepository extends JpaRepository<IngredientAlias, Long> {
+
+    /**
+     * Returns every alias, oldest first, so that the first alias written wins a shared surface form.
+     */
+    @Query("SELECT a FROM IngredientAlias a ORDER BY a.id")
+    List<IngredientAlias> findAllInOrder();
+}
@@ -0,0 +1,23 @@
+package com.infiniterecipebook.repositories;
+
+import com.infiniterecipebook.models.IngredientNutrition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for per-ingredient nutrient vectors.
+ */
+@Repository
+public interface IngredientNutritionRepository extends JpaRepository<IngredientNutrition, Long> {
+
+    /**
+     * Returns ids of ingredients whose nutrient vector was written at or after the given time, in ascending order.
+     */
+    @Query("SELECT n.ingredientId FROM IngredientNutrition n WHERE n.updatedAt >= :since ORDER BY n.ingredientId")
+    List<Long> findIngredientIdsChangedSince(@Param("since") LocalDateTime since);
+}
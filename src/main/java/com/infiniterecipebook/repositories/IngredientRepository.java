@@ -0,0 +1,35 @@
+package com.infiniterecipebook.repositories;
+
+import com.infiniterecipebook.models.Ingredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for ingredient entities.
+ */
+@Repository
+public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
+
+    /**
+     * Finds an ingredient by its normalized name.
+     */
+    Optional<Ingredient> findByNormalizedName(String normalizedName);
+
+    /**
+     * Returns ingredients created or updated at or after the given time, in id order.
+     */
+    @Query("SELECT i FROM Ingredient i WHERE i.updatedAt >= :since OR i.createdAt >= :since ORDER BY i.id")
+    List<Ingredient> findChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Returns every ingredient id in ascending order.
+     */
+    @Query("SELECT i.id FROM Ingredient i ORDER BY i.id")
+    List<Long> findAllIds();
+}
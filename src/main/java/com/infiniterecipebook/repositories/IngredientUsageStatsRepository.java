@@ -0,0 +1,57 @@
+package com.infiniterecipebook.repositories;
+
+import com.infiniterecipebook.models.IngredientUsageStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for maintained per-ingredient usage aggregates.
+ */
+@Repository
+public interface IngredientUsageStatsRepository extends JpaRepository<IngredientUsageStats, Long> {
+
+    /**
+     * Adds the given deltas to an existing aggregate row in a single statement.
+     * @return the number of rows updated, 0 when the ingredient has no aggregate row yet
+     */
+    @Modifying
+    @Query("UPDATE IngredientUsageStats s SET "
+            + "s.recipeCount = s.recipeCount + :recipes, "
+            + "s.requiredCount = s.requiredCount + :required, "
+            + "s.breakfastCount = s.breakfastCount + :breakfast, "
+            + "s.lunchCount = s.lunchCount + :lunch, "
+            + "s.dinnerCount = s.dinnerCount + :dinner, "
+            + "s.snackCount = s.snackCount + :snack, "
+            + "s.dessertCount = s.dessertCount + :dessert, "
+            + "s.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE s.ingredientId = :ingredientId")
+    int applyDelta(@Param("ingredientId") Long ingredientId,
+                   @Param("recipes") long recipes,
+                   @Param("required") long required,
+                   @Param("breakfast") long breakfast,
+                   @Param("lunch") long lunch,
+                   @Param("dinner") long dinner,
+                   @Param("snack") long snack,
+                   @Param("dessert") long dessert);
+
+    /**
+     * Returns the most used ingredients, ordered by recipe count.
+     */
+    List<IngredientUsageStats> findAllByOrderByRecipeCountDesc(Pageable pageable);
+
+    /**
+     * Recomputes usage counts from the junction table, grouped by ingredient and meal type.
+     * Each row is [ingredientId, mealType, usageCount, requiredCount].
+     */
+    @Query("SELECT ri.ingredient.id, r.mealType, COUNT(ri), "
+            + "SUM(CASE WHEN ri.isRequired = true THEN 1 ELSE 0 END) "
+            + "FROM RecipeIngredient ri JOIN ri.recipe r "
+            + "GROUP BY ri.ingredient.id, r.mealType")
+    List<Object[]> aggregateUsageByMealType();
+}
@@ -0,0 +1,101 @@
+package com.infiniterecipebook.repositories;
+
+import com.infiniterecipebook.models.Recipe;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for recipe entities.
+ */
+@Repository
+public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+
+    /**
+     * Finds a recipe with its ingredients fetched in the same query.
+     * Instructions stay lazy, since fetching two bags at once is not supported.
+     */
+    @Query("SELECT DISTINCT r FROM Recipe r LEFT JOIN FETCH r.ingredients ri LEFT JOIN FETCH ri.ingredient "
+            + "WHERE r.id = :id")
+    Optional<Recipe> findWithIngredientsById(@Param("id") Long id);
+
+    /**
+     * Finds recipes with their ingredients fetched in the same query, in id order.
+     */
+    @Query("SELECT DISTINCT r FROM Recipe r LEFT JOIN FETCH r.ingredients ri LEFT JOIN FETCH ri.ingredient "
+            + "WHERE r.id IN :ids ORDER BY r.id")
+    List<Recipe> findWithIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns recipe ids in ascending order, starting after the given id.
+     */
+    @Query("SELECT r.id FROM Recipe r WHERE r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Returns ids of recipes created or updated at or after the given time, in ascending order.
+     */
+    @Query("SELECT r.id FROM Recipe r WHERE r.updatedAt >= :since OR r.createdAt >= :since ORDER BY r.id")
+    List<Long> findIdsChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Finds the recipe with the given content fingerprint.
+     */
+    Optional<Recipe> findByContentFingerprint(String contentFingerprint);
+
+    /**
+     * Checks whether a recipe with the given content fingerprint exists.
+     */
+    boolean existsByContentFingerprint(String contentFingerprint);
+
+    /**
+     * Returns recipes without a content fingerprint, in id order, starting after the given id.
+     */
+    @Query("SELECT r FROM Recipe r WHERE r.contentFingerprint IS NULL AND r.id > :afterId ORDER BY r.id")
+    List<Recipe> findWithoutFingerprint(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Returns ids of recipes neither read nor, if never read, created since the cutoff.
+     */
+    @Query("SELECT r.id FROM Recipe r WHERE r.lastAccessedAt < :cutoff "
+            + "OR (r.lastAccessedAt IS NULL AND r.createdAt < :cutoff) ORDER BY r.id")
+    List<Long> findColdRecipeIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Inserts a recipe row under its existing id, such as a recipe restored from the archive.
+     * Tags, ingredients and instructions are not written; attach them to the loaded entity.
+     * @return the number of rows inserted
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO recipes (id, name, description, meal_type, cooking_time_minutes, "
+            + "difficulty, servings, nutritional_calories, nutritional_protein, nutritional_carbs, nutritional_fat, "
+            + "nutritional_fiber, nutritional_sugar, nutritional_sodium, content_fingerprint, access_count, "
+            + "last_accessed_at, created_at, updated_at) VALUES (:#{#recipe.id}, :#{#recipe.name}, "
+            + ":#{#recipe.description}, :#{#recipe.mealType.name()}, :#{#recipe.cookingTimeMinutes}, "
+            + ":#{#recipe.difficulty?.name()}, :#{#recipe.servings}, :#{#recipe.nutritionalInfo?.calories}, "
+            + ":#{#recipe.nutritionalInfo?.protein}, :#{#recipe.nutritionalInfo?.carbs}, "
+            + ":#{#recipe.nutritionalInfo?.fat}, :#{#recipe.nutritionalInfo?.fiber}, "
+            + ":#{#recipe.nutritionalInfo?.sugar}, :#{#recipe.nutritionalInfo?.sodium}, "
+            + ":#{#recipe.contentFingerprint}, :#{#recipe.accessCount}, :#{#recipe.lastAccessedAt}, "
+            + ":#{#recipe.createdAt}, :#{#recipe.updatedAt})")
+    int insertWithId(@Param("recipe") Recipe recipe);
+
+    /**
+     * Adds buffered reads to a recipe's access statistics without touching updated_at.
+     * @return the number of rows updated, 0 when the recipe is not in the hot tables
+     */
+    @Modifying
+    @Query("UPDATE Recipe r SET r.accessCount = COALESCE(r.accessCount, 0) + :count, r.lastAccessedAt = :accessedAt "
+            + "WHERE r.id = :recipeId")
+    int recordAccess(@Param("recipeId") Long recipeId,
+                     @Param("count") long count,
+                     @Param("accessedAt") LocalDateTime accessedAt);
+}
@@ -0,0 +1,212 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.dto.CommonIngredientDto;
+import com.infiniterecipebook.dto.CommonIngredientsResponse;
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.IngredientValidationRequest;
+import com.infiniterecipebook.dto.IngredientValidationResponse;
+import com.infiniterecipebook.dto.ValidatedIngredientDto;
+import com.infiniterecipebook.models.CommonIngredient;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.repositories.CommonIngredientRepository;
+import com.infiniterecipebook.services.changes.ChangeConsumer;
+import com.infiniterecipebook.services.changes.ChangeEvent;
+import com.infiniterecipebook.services.changes.EntityChange;
+import com.infiniterecipebook.services.matching.IngredientNameIndex;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the ingredient reference endpoints.
+ *
+ * The common ingredient list changes rarely and is read on every client start, so it is
+ * kept in memory for {@code recipe-book.ingredients.common-cache-ttl}, or until a change to an
+ * ingredient or common ingredient, on this node or another, arrives through the change stream. Validation answers
+ * from the in-memory {@link IngredientNameIndex} and never touches the database.
+ *
+ * A validation request is resolved as a batch: every name is first looked up exactly, names the
+ * index's Bloom filter proves unknown word by word are rejected without suggestions, and only the
+ * remaining distinct names are suggested for, in one scan of the catalogue.
+ */
+@Service
+@RequiredArgsConstructor
+public class IngredientService implements MeterBinder, ChangeConsumer {
+
+    private final CommonIngredientRepository commonIngredientRepository;
+    private final IngredientResolver ingredientResolver;
+    private final RecipeBookProperties properties;
+
+    private final LongAdder commonHits = new LongAdder();
+    private final LongAdder commonMisses = new LongAdder();
+    private final LongAdder exactValidations = new LongAdder();
+    private final LongAdder rejectedValidations = new LongAdder();
+    private final LongAdder suggestedValidations = new LongAdder();
+
+    private volatile CachedList commonIngredients;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", commonHits, LongAdder::sum)
+                .tag("cache", "common-ingredients")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", commonMisses, LongAdder::sum)
+                .tag("cache", "common-ingredients")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("ingredient.validations", exactValidations, LongAdder::sum)
+                .description("Validated names by how they were answered")
+                .tag("path", "exact")
+                .register(registry);
+        FunctionCounter.builder("ingredient.validations", rejectedValidations, LongAdder::sum)
+                .description("Validated names by how they were answered")
+                .tag("path", "rejected")
+                .register(registry);
+        FunctionCounter.builder("ingredient.validations", suggestedValidations, LongAdder::sum)
+                .description("Validated names by how they were answered")
+                .tag("path", "suggested")
+                .register(registry);
+    }
+
+    /**
+     * Returns the common ingredients, most popular first.
+     * @return the common ingredient list
+     */
+    @Transactional(readOnly = true)
+    public CommonIngredientsResponse getCommonIngredients() {
+        CachedList cached = commonIngredients;
+        Instant now = Instant.now();
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            commonHits.increment();
+        } else {
+            commonMisses.increment();
+            cached = new CachedList(loadCommonIngredients(),
+                    now.plus(properties.getIngredients().getCommonCacheTtl()));
+            commonIngredients = cached;
+        }
+        return CommonIngredientsResponse.builder().ingredients(cached.ingredients()).build();
+    }
+
+    /**
+     * Drops the cached common ingredient list so the next request reloads it.
+     */
+    public void evictCommonIngredients() {
+        commonIngredients = null;
+    }
+
+    @Override
+    public String name() {
+        return "common-ingredients";
+    }
+
+    @Override
+    public void apply(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            EntityChange.ChangedEntity entity = event.change().entity();
+            if (entity == EntityChange.ChangedEntity.COMMON_INGREDIENT
+                    || entity == EntityChange.ChangedEntity.INGREDIENT) {
+                evictCommonIngredients();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void resync() {
+        evictCommonIngredients();
+    }
+
+    /**
+     * Checks client supplied names against the ingredient catalogue.
+     * @param request the names to check
+     * @return one result per supplied ingredient, in request order
+     */
+    public IngredientValidationResponse validateIngredients(IngredientValidationRequest request) {
+        IngredientNameIndex index = ingredientResolver.current();
+        List<IngredientInputDto> inputs = request.getIngredients();
+        String[] normalized = new String[inputs.size()];
+        IngredientNameIndex.Entry[] entries = new IngredientNameIndex.Entry[inputs.size()];
+
+        // Exact hits are final; each distinct miss is suggested for once
+        Map<String, Integer> missPositions = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (int i = 0; i < normalized.length; i++) {
+            normalized[i] = IngredientNameIndex.normalize(inputs.get(i).getName());
+            long ingredientId = index.resolveNormalized(normalized[i]);
+            entries[i] = ingredientId == IngredientNameIndex.NOT_FOUND ? null : index.entry(ingredientId);
+            if (entries[i] == null && missPositions.putIfAbsent(normalized[i], misses.size()) == null) {
+                misses.add(normalized[i]);
+            }
+        }
+        List<List<IngredientNameIndex.Entry>> suggestions =
+                index.suggestAll(misses, properties.getIngredients().getMaxSuggestions());
+
+        List<ValidatedIngredientDto> results = new ArrayList<>(inputs.size());
+        for (int i = 0; i < normalized.length; i++) {
+            String name = inputs.get(i).getName();
+            if (entries[i] != null) {
+                exactValidations.increment();
+                results.add(valid(name, entries[i]));
+            } else {
+                List<IngredientNameIndex.Entry> suggested = suggestions.get(missPositions.get(normalized[i]));
+                (suggested.isEmpty() ? rejectedValidations : suggestedValidations).increment();
+                results.add(invalid(name, normalized[i], suggested));
+            }
+        }
+        return IngredientValidationResponse.builder().validatedIngredients(results).build();
+    }
+
+    private static ValidatedIngredientDto valid(String name, IngredientNameIndex.Entry entry) {
+        return ValidatedIngredientDto.builder()
+                .originalName(name)
+                .normalizedName(entry.normalizedName())
+                .isValid(true)
+                .suggestions(List.of(entry.normalizedName()))
+                .category(entry.category())
+                .build();
+    }
+
+    private static ValidatedIngredientDto invalid(String name, String normalized,
+                                                  List<IngredientNameIndex.Entry> suggestions) {
+        return ValidatedIngredientDto.builder()
+                .originalName(name)
+                .normalizedName(normalized)
+                .isValid(false)
+                .suggestions(suggestions.stream().map(IngredientNameIndex.Entry::normalizedName).toList())
+                .build();
+    }
+
+    private List<CommonIngredientDto> loadCommonIngredients() {
+        PageRequest page = PageRequest.of(0, properties.getIngredients().getCommonLimit());
+        return commonIngredientRepository.findAllWithIngredientByPopularity(page).stream()
+                .map(CommonIngredient::getIngredient)
+                .map(IngredientService::toDto)
+                .toList();
+    }
+
+    private static CommonIngredientDto toDto(Ingredient ingredient) {
+        return CommonIngredientDto.builder()
+                .id(ingredient.getId())
+                .name(ingredient.getName())
+                .category(ingredient.getCategory())
+                .commonUnits(ingredient.getCommonUnits() != null ? List.copyOf(ingredient.getCommonUnits()) : List.of())
+                .build();
+    }
+
+    private record CachedList(List<CommonIngredientDto> ingredients, Instant expiresAt) {
+    }
+}
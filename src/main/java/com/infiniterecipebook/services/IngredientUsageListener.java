@@ -0,0 +1,152 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.FlushMode;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hibernate event listener feeding recipe_ingredients inserts, deletes and updates
+ * into {@link IngredientUsageService}.
+ *
+ * Deletes read the recipe and ingredient from Hibernate's loaded state rather than the
+ * entity, because the helper methods on {@link Recipe} and {@link Ingredient} null out
+ * the back references before orphan removal runs.
+ *
+ * A recipe's meal type is likewise read from its loaded state, which Hibernate advances when
+ * the recipe row is updated. A change of meal type moves every line in the table at that point
+ * of the flush from the old type to the new one: lines written earlier in the flush were
+ * counted under the old type, and lines deleted later are counted under the new one.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngredientUsageListener
+        implements PostInsertEventListener, PostDeleteEventListener, PostUpdateEventListener {
+
+    private static final String RECIPE_PROPERTY = "recipe";
+    private static final String INGREDIENT_PROPERTY = "ingredient";
+    private static final String REQUIRED_PROPERTY = "isRequired";
+    private static final String MEAL_TYPE_PROPERTY = "mealType";
+
+    /** Reads the lines of a recipe as scalars, so nothing is loaded into the flushing session. */
+    private static final String LINES_QUERY =
+            "SELECT ingredient_id, is_required FROM recipe_ingredients WHERE recipe_id = :recipeId";
+
+    private final IngredientUsageService ingredientUsageService;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof RecipeIngredient) {
+            record(event.getSession(), event.getPersister(), event.getState(), 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof RecipeIngredient && event.getDeletedState() != null) {
+            record(event.getSession(), event.getPersister(), event.getDeletedState(), -1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // Without the old state (e.g. updates of detached instances) the change cannot be
+        // attributed; IngredientUsageService#rebuild repairs any resulting drift.
+        if (event.getOldState() == null) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        if (event.getEntity() instanceof Recipe recipe) {
+            MealType oldMealType = (MealType) valueOf(persister, event.getOldState(), MEAL_TYPE_PROPERTY);
+            MealType newMealType = (MealType) valueOf(persister, event.getState(), MEAL_TYPE_PROPERTY);
+            if (oldMealType != newMealType) {
+                moveLines(event.getSession(), recipe.getId(), oldMealType, newMealType);
+            }
+            return;
+        }
+        if (!(event.getEntity() instanceof RecipeIngredient)
+                || sameUsage(persister, event.getOldState(), event.getState())) {
+            return;
+        }
+        record(event.getSession(), persister, event.getOldState(), -1);
+        record(event.getSession(), persister, event.getState(), 1);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(EventSource session, EntityPersister persister, Object[] state, int sign) {
+        Ingredient ingredient = (Ingredient) valueOf(persister, state, INGREDIENT_PROPERTY);
+        if (ingredient == null) {
+            return;
+        }
+        Recipe recipe = (Recipe) valueOf(persister, state, RECIPE_PROPERTY);
+        boolean required = Boolean.TRUE.equals(valueOf(persister, state, REQUIRED_PROPERTY));
+        ingredientUsageService.recordUsage(ingredient.getId(), loadedMealType(session, recipe), required, sign);
+    }
+
+    /**
+     * Moves the usage of every line of a recipe from one meal type to another.
+     */
+    private void moveLines(EventSource session, Long recipeId, MealType from, MealType to) {
+        List<Object[]> lines = session.createNativeQuery(LINES_QUERY, Object[].class)
+                .setParameter("recipeId", recipeId)
+                .setHibernateFlushMode(FlushMode.MANUAL)
+                .getResultList();
+        for (Object[] line : lines) {
+            Long ingredientId = ((Number) line[0]).longValue();
+            boolean required = Boolean.TRUE.equals(line[1]);
+            ingredientUsageService.recordUsage(ingredientId, from, required, -1);
+            ingredientUsageService.recordUsage(ingredientId, to, required, 1);
+        }
+    }
+
+    /**
+     * Returns the meal type of a recipe as last written to the database in this session,
+     * falling back to the entity when the session does not track it.
+     */
+    private static MealType loadedMealType(EventSource session, Recipe recipe) {
+        if (recipe == null) {
+            return null;
+        }
+        EntityEntry entry = session.getPersistenceContextInternal().getEntry(recipe);
+        if (entry == null || entry.getLoadedState() == null) {
+            return recipe.getMealType();
+        }
+        return (MealType) entry.getLoadedValue(MEAL_TYPE_PROPERTY);
+    }
+
+    private boolean sameUsage(EntityPersister persister, Object[] oldState, Object[] newState) {
+        return valueOf(persister, oldState, RECIPE_PROPERTY) == valueOf(persister, newState, RECIPE_PROPERTY)
+                && valueOf(persister, oldState, INGREDIENT_PROPERTY) == valueOf(persister, newState, INGREDIENT_PROPERTY)
+                && Objects.equals(valueOf(persister, oldState, REQUIRED_PROPERTY),
+                        valueOf(persister, newState, REQUIRED_PROPERTY));
+    }
+
+    private static Object valueOf(EntityPersister persister, Object[] state, String property) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property)) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+}
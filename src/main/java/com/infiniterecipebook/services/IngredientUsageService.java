@@ -0,0 +1,207 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.IngredientUsageStats;
+import com.infiniterecipebook.repositories.IngredientUsageStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains per-ingredient usage aggregates.
+ *
+ * Deltas recorded during a transaction are buffered and applied in a separate transaction
+ * once the surrounding one commits, so rolled back writes never touch the counters and
+ * each ingredient costs a single UPDATE per commit regardless of how many rows changed.
+ */
+@Service
+@Slf4j
+public class IngredientUsageService {
+
+    private static final int MEAL_TYPE_COUNT = MealType.values().length;
+
+    private final IngredientUsageStatsRepository usageStatsRepository;
+    private final TransactionTemplate requiresNewTemplate;
+
+    public IngredientUsageService(IngredientUsageStatsRepository usageStatsRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.usageStatsRepository = usageStatsRepository;
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records one recipe usage being added (sign 1) or removed (sign -1) for an ingredient.
+     * @param ingredientId the ingredient id
+     * @param mealType the meal type of the owning recipe, may be null
+     * @param required whether the usage is marked as required
+     * @param sign 1 for an insert, -1 for a delete
+     */
+    public void recordUsage(Long ingredientId, MealType mealType, boolean required, int sign) {
+        if (ingredientId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingDeltas().computeIfAbsent(ingredientId, id -> new UsageDelta()).add(mealType, required, sign);
+        } else {
+            UsageDelta delta = new UsageDelta();
+            delta.add(mealType, required, sign);
+            applyDeltas(Map.of(ingredientId, delta));
+        }
+    }
+
+    /**
+     * Returns the usage aggregates for an ingredient.
+     * @param ingredientId the ingredient id
+     * @return the aggregates, empty when the ingredient has never been used
+     */
+    public Optional<IngredientUsageStats> getStats(Long ingredientId) {
+        return usageStatsRepository.findById(ingredientId);
+    }
+
+    /**
+     * Returns the most used ingredients, ordered by recipe count.
+     * @param limit the maximum number of entries to return
+     * @return the top ingredients by usage
+     */
+    public List<IngredientUsageStats> getMostUsed(int limit) {
+        return usageStatsRepository.findAllByOrderByRecipeCountDesc(PageRequest.of(0, limit));
+    }
+
+    /**
+     * Recomputes every aggregate from the junction table.
+     * Intended for initial seeding and for repairing drift, not for the request path.
+     * @return the number of ingredients with aggregates after the rebuild
+     */
+    public int rebuild() {
+        return requiresNewTemplate.execute(status -> {
+            Map<Long, IngredientUsageStats> rebuilt = new HashMap<>();
+            for (Object[] row : usageStatsRepository.aggregateUsageByMealType()) {
+                Long ingredientId = (Long) row[0];
+                MealType mealType = (MealType) row[1];
+                long usages = ((Number) row[2]).longValue();
+                long required = ((Number) row[3]).longValue();
+
+                IngredientUsageStats stats = rebuilt.computeIfAbsent(ingredientId,
+                        id -> IngredientUsageStats.builder().ingredientId(id).build());
+                stats.setRecipeCount(stats.getRecipeCount() + usages);
+                stats.setRequiredCount(stats.getRequiredCount() + required);
+                addMealTypeCount(stats, mealType, usages);
+            }
+            usageStatsRepository.deleteAllInBatch();
+            usageStatsRepository.saveAll(rebuilt.values());
+            log.info("Rebuilt usage aggregates for {} ingredients", rebuilt.size());
+            return rebuilt.size();
+        });
+    }
+
+    private Map<Long, UsageDelta> pendingDeltas() {
+        @SuppressWarnings("unchecked")
+        Map<Long, UsageDelta> pending = (Map<Long, UsageDelta>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, UsageDelta> deltas = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyDeltas(deltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(IngredientUsageService.this);
+                }
+            });
+            pending = deltas;
+        }
+        return pending;
+    }
+
+    private void applyDeltas(Map<Long, UsageDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            requiresNewTemplate.executeWithoutResult(status -> deltas.forEach(this::applyDelta));
+        } catch (DataIntegrityViolationException e) {
+            // Another transaction created one of the rows concurrently; the whole batch
+            // rolled back, so replaying it now hits the UPDATE path instead.
+            log.debug("Retrying usage aggregate update after concurrent insert", e);
+            requiresNewTemplate.executeWithoutResult(status -> deltas.forEach(this::applyDelta));
+        }
+    }
+
+    private void applyDelta(Long ingredientId, UsageDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        long[] meals = delta.mealTypeCounts;
+        int updated = usageStatsRepository.applyDelta(ingredientId, delta.recipes, delta.required,
+                meals[MealType.BREAKFAST.ordinal()], meals[MealType.LUNCH.ordinal()],
+                meals[MealType.DINNER.ordinal()], meals[MealType.SNACK.ordinal()],
+                meals[MealType.DESSERT.ordinal()]);
+        if (updated == 0) {
+            IngredientUsageStats stats = IngredientUsageStats.builder()
+                    .ingredientId(ingredientId)
+                    .recipeCount(Math.max(0, delta.recipes))
+                    .requiredCount(Math.max(0, delta.required))
+                    .build();
+            for (MealType mealType : MealType.values()) {
+                addMealTypeCount(stats, mealType, Math.max(0, meals[mealType.ordinal()]));
+            }
+            usageStatsRepository.saveAndFlush(stats);
+        }
+    }
+
+    private static void addMealTypeCount(IngredientUsageStats stats, MealType mealType, long count) {
+        switch (mealType) {
+            case BREAKFAST -> stats.setBreakfastCount(stats.getBreakfastCount() + count);
+            case LUNCH -> stats.setLunchCount(stats.getLunchCount() + count);
+            case DINNER -> stats.setDinnerCount(stats.getDinnerCount() + count);
+            case SNACK -> stats.setSnackCount(stats.getSnackCount() + count);
+            case DESSERT -> stats.setDessertCount(stats.getDessertCount() + count);
+        }
+    }
+
+    /**
+     * Net change to one ingredient's aggregates within a single transaction.
+     */
+    private static final class UsageDelta {
+        private long recipes;
+        private long required;
+        private final long[] mealTypeCounts = new long[MEAL_TYPE_COUNT];
+
+        void add(MealType mealType, boolean isRequired, int sign) {
+            recipes += sign;
+            if (isRequired) {
+                required += sign;
+            }
+            if (mealType != null) {
+                mealTypeCounts[mealType.ordinal()] += sign;
+            }
+        }
+
+        boolean isEmpty() {
+            if (recipes != 0 || required != 0) {
+                return false;
+            }
+            for (long count : mealTypeCounts) {
+                if (count != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
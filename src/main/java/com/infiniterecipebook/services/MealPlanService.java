@@ -0,0 +1,286 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.MealPlanRequest;
+import com.infiniterecipebook.dto.MealPlanResponse;
+import com.infiniterecipebook.dto.NutrientRangeDto;
+import com.infiniterecipebook.dto.NutritionalInfoDto;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipePreferencesDto;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.dictionary.RecipeDictionaries;
+import com.infiniterecipebook.services.matching.CandidateFilter;
+import com.infiniterecipebook.services.matching.Deadline;
+import com.infiniterecipebook.services.matching.IngredientNameIndex;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.NutritionRange;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+import com.infiniterecipebook.services.matching.RecipeScorer;
+import com.infiniterecipebook.services.matching.ScoredRecipe;
+import com.infiniterecipebook.services.matching.ScoringStats;
+import com.infiniterecipebook.services.planning.MealPlanSolver;
+import com.infiniterecipebook.services.planning.PlanProblem;
+import com.infiniterecipebook.services.planning.PlanSolution;
+import com.infiniterecipebook.services.quantity.Pantry;
+import com.infiniterecipebook.services.quantity.PantryMatcher;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plans several meals at once from a pantry and nutrition targets.
+ *
+ * For every meal type of the plan the best matching recipes are taken from the in-memory index,
+ * under the request's cooking time, difficulty and dietary constraints. Their confidence and
+ * nutrition per serving are copied into a {@link PlanProblem}, which {@link MealPlanSolver}
+ * optimizes within the configured time budget. The targets are daily, so they are multiplied
+ * by the number of days the plan covers before being compared with the plan totals. Only the
+ * chosen recipes are loaded from the database.
+ */
+@Service
+public class MealPlanService {
+
+    private final IngredientResolver ingredientResolver;
+    private final RecipeIndexService recipeIndexService;
+    private final RecipeScorer recipeScorer;
+    private final MealPlanSolver mealPlanSolver;
+    private final RecipeRepository recipeRepository;
+    private final QuantityEngine quantityEngine;
+    private final PantryMatcher pantryMatcher;
+    private final UnitDictionary unitDictionary;
+    private final RecipeDictionaries recipeDictionaries;
+    private final RecipeMapper recipeMapper;
+    private final RecipeAccessTracker recipeAccessTracker;
+    private final RecipeBookProperties.Planning settings;
+    private final TransactionTemplate readOnlyTemplate;
+
+    public MealPlanService(IngredientResolver ingredientResolver,
+                           RecipeIndexService recipeIndexService,
+                           RecipeScorer recipeScorer,
+                           MealPlanSolver mealPlanSolver,
+                           RecipeRepository recipeRepository,
+                           QuantityEngine quantityEngine,
+                           PantryMatcher pantryMatcher,
+                           UnitDictionary unitDictionary,
+                           RecipeDictionaries recipeDictionaries,
+                           RecipeMapper recipeMapper,
+                           RecipeAccessTracker recipeAccessTracker,
+                           RecipeBookProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.ingredientResolver = ingredientResolver;
+        this.recipeIndexService = recipeIndexService;
+        this.recipeScorer = recipeScorer;
+        this.mealPlanSolver = mealPlanSolver;
+        this.recipeRepository = recipeRepository;
+        this.quantityEngine = quantityEngine;
+        this.pantryMatcher = pantryMatcher;
+        this.unitDictionary = unitDictionary;
+        this.recipeDictionaries = recipeDictionaries;
+        this.recipeMapper = recipeMapper;
+        this.recipeAccessTracker = recipeAccessTracker;
+        this.settings = properties.getPlanning();
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns the best plan found within the time budget.
+     * @param request the available ingredients, meals to plan, nutrition targets and preferences
+     * @return one recipe per meal where one fits, in request order, with the plan's nutrition totals
+     */
+    public MealPlanResponse plan(MealPlanRequest request) {
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.after(settings.getTimeBudget());
+        RecipePreferencesDto preferences = request.getPreferences() != null
+                ? request.getPreferences() : new RecipePreferencesDto();
+        int servings = preferences.getServings() != null ? preferences.getServings() : 0;
+        Pantry pantry = toPantry(request.getIngredients());
+        int[] tagIds = CandidateFilter.encodeTags(preferences.getDietaryRestrictions(), recipeDictionaries.tags());
+        List<NutritionRange> nutrition = toNutritionRanges(preferences.getNutrition());
+
+        // Candidates are shared by the meals of one type, so a recipe is planned at most once
+        RecipeMatchIndex index = recipeIndexService.current();
+        Map<MealType, int[]> optionsByType = new EnumMap<>(MealType.class);
+        List<ScoredRecipe> candidates = new ArrayList<>();
+        ScoringStats stats = new ScoringStats();
+        boolean[] partial = new boolean[1];
+        for (MealType mealType : request.getMeals()) {
+            optionsByType.computeIfAbsent(mealType, type -> {
+                CandidateFilter filter = new CandidateFilter(type, preferences.getMaxCookingTime(),
+                        preferences.getDifficulty(), tagIds, nutrition);
+                List<ScoredRecipe> scored = recipeScorer.topK(index, pantry, filter, servings,
+                        settings.getCandidatesPerMeal(), stats, deadline);
+                partial[0] |= stats.partial();
+                int[] options = new int[scored.size()];
+                for (int i = 0; i < options.length; i++) {
+                    options[i] = candidates.size();
+                    candidates.add(scored.get(i));
+                }
+                return options;
+            });
+        }
+        int[][] options = request.getMeals().stream().map(optionsByType::get).toArray(int[][]::new);
+        PlanProblem problem = toProblem(index, options, candidates, request.getTargets(), days(request));
+
+        PlanSolution solution = mealPlanSolver.solve(problem, deadline);
+        List<MealPlanResponse.PlannedMeal> meals = hydrate(index, request.getMeals(), solution.choices(),
+                candidates, pantry, servings);
+
+        double coverage = 0;
+        for (int candidate : solution.choices()) {
+            coverage += candidate >= 0 ? candidates.get(candidate).score() : 0;
+        }
+        return MealPlanResponse.builder()
+                .meals(meals)
+                .totals(toNutritionalInfo(problem.totals(solution.choices())))
+                .metadata(MealPlanResponse.Metadata.builder()
+                        .coverage(Math.round(coverage / options.length * 100) / 100.0)
+                        .generationTime(Math.round((System.nanoTime() - start) / 1_000_000.0) / 1_000.0)
+                        .partial(partial[0] || solution.partial())
+                        .build())
+                .build();
+    }
+
+    private Pantry toPantry(List<IngredientInputDto> ingredients) {
+        IngredientNameIndex names = ingredientResolver.current();
+        Pantry.Builder pantry = Pantry.builder(unitDictionary);
+        for (IngredientInputDto ingredient : ingredients) {
+            long ingredientId = names.resolve(ingredient.getName());
+            if (ingredientId != IngredientNameIndex.NOT_FOUND) {
+                pantry.add(ingredientId, ingredient.getQuantity(), ingredient.getUnit());
+            }
+        }
+        return pantry.build();
+    }
+
+    /**
+     * Returns the days the plan covers: as requested, else the largest number of meals of one type.
+     */
+    private static int days(MealPlanRequest request) {
+        if (request.getDays() != null) {
+            return request.getDays();
+        }
+        Map<MealType, Integer> mealsByType = new EnumMap<>(MealType.class);
+        int days = 1;
+        for (MealType mealType : request.getMeals()) {
+            days = Math.max(days, mealsByType.merge(mealType, 1, Integer::sum));
+        }
+        return days;
+    }
+
+    /**
+     * Copies the candidates' confidence and nutrition into primitive arrays; unknown nutrients count as 0.
+     * The daily targets are scaled to the whole plan.
+     */
+    private PlanProblem toProblem(RecipeMatchIndex index, int[][] options, List<ScoredRecipe> candidates,
+                                  NutritionalInfoDto targets, int days) {
+        Nutrient[] nutrients = Nutrient.values();
+        double[] coverage = new double[candidates.size()];
+        int[] nutrition = new int[candidates.size() * nutrients.length];
+        for (int c = 0; c < coverage.length; c++) {
+            ScoredRecipe candidate = candidates.get(c);
+            coverage[c] = candidate.score();
+            for (Nutrient nutrient : nutrients) {
+                nutrition[c * nutrients.length + nutrient.ordinal()] =
+                        Math.max(0, index.nutrient(candidate.slot(), nutrient));
+            }
+        }
+        double[] goals = new double[nutrients.length];
+        if (targets != null) {
+            goals[Nutrient.CALORIES.ordinal()] = days * positive(targets.getCalories());
+            goals[Nutrient.PROTEIN.ordinal()] = days * positive(targets.getProtein());
+            goals[Nutrient.CARBS.ordinal()] = days * positive(targets.getCarbs());
+            goals[Nutrient.FAT.ordinal()] = days * positive(targets.getFat());
+        }
+        return new PlanProblem(options, coverage, nutrition, goals, settings.getNutritionWeight());
+    }
+
+    /**
+     * Loads the chosen recipes in one query and maps them in meal order. A recipe deleted since
+     * the index was read leaves its meal empty.
+     */
+    private List<MealPlanResponse.PlannedMeal> hydrate(RecipeMatchIndex index, List<MealType> mealTypes,
+                                                       int[] choices, List<ScoredRecipe> candidates, Pantry pantry,
+                                                       int servings) {
+        List<Long> ids = Arrays.stream(choices).filter(candidate -> candidate >= 0)
+                .mapToObj(candidate -> candidates.get(candidate).recipeId())
+                .toList();
+        Map<Long, RecipeDto> recipesById = new HashMap<>();
+        readOnlyTemplate.executeWithoutResult(status -> {
+            for (Recipe recipe : recipeRepository.findWithIngredientsByIdIn(ids)) {
+                recipesById.put(recipe.getId(), toMatchedDto(recipe, pantry, servings));
+            }
+        });
+        List<MealPlanResponse.PlannedMeal> meals = new ArrayList<>(choices.length);
+        for (int meal = 0; meal < choices.length; meal++) {
+            RecipeDto recipe = null;
+            if (choices[meal] >= 0) {
+                ScoredRecipe candidate = candidates.get(choices[meal]);
+                recipe = recipesById.get(candidate.recipeId());
+                if (recipe != null) {
+                    recipe.setConfidence(Math.round(candidate.score() * 100) / 100.0);
+                    recipeMapper.applyIndexedNutrition(recipe, index, candidate.slot());
+                    recipeAccessTracker.recordAccess(candidate.recipeId());
+                }
+            }
+            meals.add(MealPlanResponse.PlannedMeal.builder().mealType(mealTypes.get(meal)).recipe(recipe).build());
+        }
+        return meals;
+    }
+
+    private RecipeDto toMatchedDto(Recipe recipe, Pantry pantry, int servings) {
+        RecipeQuantities quantities = quantityEngine.compile(recipe);
+        int target = servings > 0 ? servings : quantities.servings();
+        byte[] statuses = new byte[quantities.size()];
+        pantryMatcher.match(quantities, pantry, target, statuses);
+
+        RecipeDto dto = recipeMapper.toDto(recipe);
+        if (servings > 0) {
+            long[] scaled = new long[quantities.size()];
+            quantityEngine.scale(quantities, servings, scaled);
+            recipeMapper.applyScaledQuantities(dto, scaled, servings);
+        }
+        recipeMapper.applyAvailability(dto, statuses);
+        return dto;
+    }
+
+    private static List<NutritionRange> toNutritionRanges(Map<Nutrient, NutrientRangeDto> nutrition) {
+        List<NutritionRange> ranges = new ArrayList<>();
+        if (nutrition != null) {
+            nutrition.forEach((nutrient, range) -> {
+                if (nutrient != null && range != null) {
+                    ranges.add(NutritionRange.of(nutrient, range.getMin(), range.getMax()));
+                }
+            });
+        }
+        return ranges;
+    }
+
+    private static NutritionalInfoDto toNutritionalInfo(double[] totals) {
+        return NutritionalInfoDto.builder()
+                .calories((int) Math.round(totals[Nutrient.CALORIES.ordinal()]))
+                .protein((int) Math.round(totals[Nutrient.PROTEIN.ordinal()]))
+                .carbs((int) Math.round(totals[Nutrient.CARBS.ordinal()]))
+                .fat((int) Math.round(totals[Nutrient.FAT.ordinal()]))
+                .build();
+    }
+
+    private static double positive(Integer value) {
+        return value != null && value > 0 ? value : 0;
+    }
+}
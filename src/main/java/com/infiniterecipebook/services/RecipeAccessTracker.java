@@ -0,0 +1,112 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.repositories.ArchivedRecipeRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cheap in-memory read counter for recipes.
+ *
+ * Reads only bump a striped counter; the totals are written to the hot or archive table
+ * in one batch per flush interval. Counts are a tiering heuristic, so an increment racing
+ * with a flush may occasionally be dropped. Reads made inside {@link #untracked(Runnable)},
+ * such as the warm-up replay, are not counted.
+ */
+@Component
+@Slf4j
+public class RecipeAccessTracker implements MeterBinder {
+
+    private static final ThreadLocal<Boolean> UNTRACKED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Map<Long, LongAdder> pendingAccesses = new ConcurrentHashMap<>();
+
+    private final RecipeRepository recipeRepository;
+    private final ArchivedRecipeRepository archivedRecipeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecipeAccessTracker(RecipeRepository recipeRepository,
+                               ArchivedRecipeRepository archivedRecipeRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.archivedRecipeRepository = archivedRecipeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recipe.access.pending", pendingAccesses, Map::size)
+                .description("Recipes with read counts buffered for the next flush")
+                .register(registry);
+    }
+
+    /**
+     * Records a read of the given recipe.
+     * @param recipeId the recipe id
+     */
+    public void recordAccess(Long recipeId) {
+        if (UNTRACKED.get()) {
+            return;
+        }
+        pendingAccesses.computeIfAbsent(recipeId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns whether reads on the current thread are recorded.
+     */
+    public boolean isTracking() {
+        return !UNTRACKED.get();
+    }
+
+    /**
+     * Runs an action on the current thread without recording the recipe reads it makes.
+     * @param action the action
+     */
+    public void untracked(Runnable action) {
+        boolean outer = UNTRACKED.get();
+        UNTRACKED.set(Boolean.TRUE);
+        try {
+            action.run();
+        } finally {
+            UNTRACKED.set(outer);
+        }
+    }
+
+    /**
+     * Writes buffered access counts to the database.
+     * @return the number of recipes whose statistics were updated
+     */
+    @Scheduled(fixedDelayString = "${recipe-book.tiering.access-flush-interval:PT30S}")
+    public int flush() {
+        if (pendingAccesses.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = 0;
+            for (Long recipeId : pendingAccesses.keySet()) {
+                LongAdder adder = pendingAccesses.remove(recipeId);
+                long count = adder != null ? adder.sum() : 0;
+                if (count == 0) {
+                    continue;
+                }
+                int hot = recipeRepository.recordAccess(recipeId, count, now);
+                rows += hot > 0 ? hot : archivedRecipeRepository.recordAccess(recipeId, count, now);
+            }
+            return rows;
+        });
+        log.debug("Flushed access counts for {} recipes", updated);
+        return updated != null ? updated : 0;
+    }
+}
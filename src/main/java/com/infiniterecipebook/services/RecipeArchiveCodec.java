@@ -0,0 +1,151 @@
+package com.infiniterecipebook.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.models.ArchivedRecipe;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+import com.infiniterecipebook.services.dictionary.RecipeDictionaries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Converts recipe graphs to and from the compressed archive representation.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeArchiveCodec {
+
+    private final ObjectMapper objectMapper;
+    private final RecipeDictionaries recipeDictionaries;
+
+    /**
+     * Builds an archive row for a recipe.
+     * @param recipe the recipe, with ingredients and instructions loaded or loadable
+     * @param archivedAt the archival timestamp
+     * @return the archive row, not yet persisted
+     */
+    public ArchivedRecipe encode(Recipe recipe, LocalDateTime archivedAt) {
+        List<IngredientLine> ingredients = recipe.getIngredients().stream()
+                .map(ri -> {
+                    Ingredient ingredient = ri.getIngredient();
+                    return new IngredientLine(ingredient.getId(), ingredient.getName(), ingredient.getNormalizedName(),
+                            ingredient.getCategory(), ri.getQuantity(), ri.getUnit(), ri.getIsRequired(),
+                            ri.getStepOrder());
+                })
+                .toList();
+        List<InstructionLine> instructions = recipe.getInstructions().stream()
+                .map(step -> new InstructionLine(step.getStepNumber(), step.getStepOrder(), step.getDescription()))
+                .toList();
+        Payload payload = new Payload(recipe.getDescription(), recipe.getCookingTimeMinutes(),
+                recipe.getDifficulty(), recipe.getServings(), recipe.getNutritionalInfo(), recipe.getTags(),
+                recipe.getCreatedAt(), recipe.getUpdatedAt(), ingredients, instructions);
+
+        return ArchivedRecipe.builder()
+                .recipeId(recipe.getId())
+                .name(recipe.getName())
+                .mealType(recipe.getMealType())
+                .contentFingerprint(recipe.getContentFingerprint())
+                .payload(compress(payload))
+                .accessCount(recipe.getAccessCount())
+                .lastAccessedAt(recipe.getLastAccessedAt())
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    /**
+     * Rebuilds a detached recipe graph from an archive row.
+     * The result is read-only: it is not attached to any persistence context.
+     * @param archived the archive row
+     * @return the recipe as it was when archived
+     */
+    public Recipe decode(ArchivedRecipe archived) {
+        Payload payload = decompress(archived.getPayload());
+        Recipe recipe = Recipe.builder()
+                .id(archived.getRecipeId())
+                .name(archived.getName())
+                .mealType(archived.getMealType())
+                .contentFingerprint(archived.getContentFingerprint())
+                .description(payload.description())
+                .cookingTimeMinutes(payload.cookingTimeMinutes())
+                .difficulty(payload.difficulty())
+                .servings(payload.servings())
+                .nutritionalInfo(payload.nutritionalInfo())
+                .tags(payload.tags())
+                .createdAt(payload.createdAt())
+                .updatedAt(payload.updatedAt())
+                .accessCount(archived.getAccessCount())
+                .lastAccessedAt(archived.getLastAccessedAt())
+                .build();
+        for (IngredientLine line : payload.ingredients()) {
+            Ingredient ingredient = Ingredient.builder()
+                    .id(line.ingredientId())
+                    .name(line.name())
+                    .normalizedName(line.normalizedName())
+                    .category(line.category())
+                    .build();
+            recipe.addIngredient(RecipeIngredient.builder()
+                    .ingredient(ingredient)
+                    .quantity(line.quantity())
+                    .unit(line.unit())
+                    .isRequired(line.required())
+                    .stepOrder(line.stepOrder())
+                    .build());
+        }
+        for (InstructionLine line : payload.instructions()) {
+            recipe.addInstruction(RecipeInstruction.builder()
+                    .stepNumber(line.stepNumber())
+                    .stepOrder(line.stepOrder())
+                    .description(line.description())
+                    .build());
+        }
+        recipeDictionaries.intern(recipe);
+        return recipe;
+    }
+
+    private byte[] compress(Payload payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode archived recipe", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Payload decompress(byte[] compressed) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return objectMapper.readValue(gzip, Payload.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode archived recipe", e);
+        }
+    }
+
+    record Payload(String description, Integer cookingTimeMinutes, Difficulty difficulty, Integer servings,
+                   NutritionalInfo nutritionalInfo, List<String> tags, LocalDateTime createdAt,
+                   LocalDateTime updatedAt, List<IngredientLine> ingredients, List<InstructionLine> instructions) {
+    }
+
+    record IngredientLine(Long ingredientId, String name, String normalizedName, IngredientCategory category,
+                          BigDecimal quantity, String unit, Boolean required, Integer stepOrder) {
+    }
+
+    record InstructionLine(Integer stepNumber, Integer stepOrder, String description) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+import com.infiniterecipebook.repositories.ArchivedRecipeRepository;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves recipes that have not been read recently from the hot recipe tables into the
+ * compressed archive, and restores them from there when they are used again.
+ *
+ * Archiving deletes the hot rows (and their recipe_ingredients and recipe_instructions), so
+ * ingredient usage aggregates and the match index describe the hot corpus only. Restoring
+ * inserts them again under the original recipe id, so both pick the recipe up again.
+ */
+@Service
+@Slf4j
+public class RecipeArchiveService {
+
+    private final RecipeRepository recipeRepository;
+    private final ArchivedRecipeRepository archivedRecipeRepository;
+    private final IngredientRepository ingredientRepository;
+    private final RecipeArchiveCodec recipeArchiveCodec;
+    private final RecipeAccessTracker recipeAccessTracker;
+    private final RecipeBookProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNewTemplate;
+
+    public RecipeArchiveService(RecipeRepository recipeRepository,
+                                ArchivedRecipeRepository archivedRecipeRepository,
+                                IngredientRepository ingredientRepository,
+                                RecipeArchiveCodec recipeArchiveCodec,
+                                RecipeAccessTracker recipeAccessTracker,
+                                RecipeBookProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.archivedRecipeRepository = archivedRecipeRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.recipeArchiveCodec = recipeArchiveCodec;
+        this.recipeAccessTracker = recipeAccessTracker;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Scheduled entry point for the archiver.
+     */
+    @Scheduled(fixedDelayString = "${recipe-book.tiering.archive-interval:PT1H}",
+            initialDelayString = "${recipe-book.tiering.archive-interval:PT1H}")
+    public void scheduledArchive() {
+        if (properties.getTiering().isEnabled()) {
+            archiveColdRecipes();
+        }
+    }
+
+    /**
+     * Archives every recipe not read within the configured archive-after period.
+     * @return the number of recipes archived
+     */
+    public int archiveColdRecipes() {
+        // Make sure reads buffered since the last flush count towards recency
+        recipeAccessTracker.flush();
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTiering().getArchiveAfter());
+        int batchSize = properties.getTiering().getBatchSize();
+
+        int archived = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff, batchSize));
+            archived += batch != null ? batch : 0;
+            if (batch == null || batch < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} recipes not read since {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Loads an archived recipe without restoring it.
+     * @param recipeId the original recipe id
+     * @return the detached recipe, empty when no archived recipe has that id
+     */
+    public Optional<Recipe> findArchived(Long recipeId) {
+        return archivedRecipeRepository.findById(recipeId).map(recipeArchiveCodec::decode);
+    }
+
+    /**
+     * Moves an archived recipe back into the hot tables under its original id.
+     *
+     * The restore runs in its own transaction, so a caller in a read-only transaction can read
+     * the recipe from the hot tables once it returns. The restore counts as a read, so the
+     * recipe is not archived again by the next run. Lines whose ingredient has been deleted
+     * since are dropped.
+     * @param recipeId the original recipe id
+     * @return whether the hot tables now hold the recipe
+     */
+    public boolean restore(Long recipeId) {
+        try {
+            Boolean restored = requiresNewTemplate.execute(status -> archivedRecipeRepository.findById(recipeId)
+                    .map(archived -> {
+                        insert(recipeArchiveCodec.decode(archived));
+                        archivedRecipeRepository.delete(archived);
+                        return true;
+                    })
+                    .orElse(false));
+            if (Boolean.TRUE.equals(restored)) {
+                log.debug("Restored recipe {} from the archive", recipeId);
+                return true;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another request restored it first
+            log.debug("Recipe {} was restored concurrently", recipeId);
+        }
+        return recipeRepository.existsById(recipeId);
+    }
+
+    /**
+     * Restores the archived recipe with the given content fingerprint, if there is one.
+     * @param contentFingerprint the fingerprint to look up
+     * @return whether the hot tables now hold a recipe restored with that fingerprint
+     */
+    public boolean restoreByFingerprint(String contentFingerprint) {
+        return archivedRecipeRepository.findByContentFingerprint(contentFingerprint)
+                .map(archived -> restore(archived.getRecipeId()))
+                .orElse(false);
+    }
+
+    private void insert(Recipe archived) {
+        LocalDateTime now = LocalDateTime.now();
+        archived.setLastAccessedAt(now);
+        archived.setUpdatedAt(now);
+        recipeRepository.insertWithId(archived);
+
+        Recipe recipe = recipeRepository.findById(archived.getId()).orElseThrow();
+        recipe.setTags(archived.getTags() != null ? new ArrayList<>(archived.getTags()) : null);
+        Map<Long, Ingredient> ingredients = ingredientRepository.findAllById(archived.getIngredients().stream()
+                        .map(line -> line.getIngredient().getId())
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+        for (RecipeIngredient line : archived.getIngredients()) {
+            Ingredient ingredient = ingredients.get(line.getIngredient().getId());
+            if (ingredient != null) {
+                recipe.addIngredient(RecipeIngredient.builder()
+                        .ingredient(ingredient)
+                        .quantity(line.getQuantity())
+                        .unit(line.getUnit())
+                        .isRequired(line.getIsRequired())
+                        .stepOrder(line.getStepOrder())
+                        .build());
+            }
+        }
+        for (RecipeInstruction step : archived.getInstructions()) {
+            recipe.addInstruction(RecipeInstruction.builder()
+                    .stepNumber(step.getStepNumber())
+                    .stepOrder(step.getStepOrder())
+                    .description(step.getDescription())
+                    .build());
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        // Archived rows leave the hot table, so every batch reads the first page again
+        List<Long> recipeIds = recipeRepository.findColdRecipeIds(cutoff, PageRequest.of(0, batchSize));
+        LocalDateTime now = LocalDateTime.now();
+        for (Long recipeId : recipeIds) {
+            recipeRepository.findWithIngredientsById(recipeId).ifPresent(recipe -> {
+                archivedRecipeRepository.save(recipeArchiveCodec.encode(recipe, now));
+                recipeRepository.delete(recipe);
+            });
+        }
+        return recipeIds.size();
+    }
+}
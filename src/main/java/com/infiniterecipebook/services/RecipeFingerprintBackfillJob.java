@@ -0,0 +1,102 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Assigns content fingerprints to recipes stored before deduplication existed.
+ *
+ * Recipes are processed in id order, one batch per transaction. When a recipe's fingerprint
+ * is already taken by an earlier recipe it is left without one and reported as a duplicate,
+ * since the unique index cannot hold both.
+ */
+@Component
+@Slf4j
+public class RecipeFingerprintBackfillJob implements ApplicationRunner {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeFingerprinter recipeFingerprinter;
+    private final RecipeBookProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecipeFingerprintBackfillJob(RecipeRepository recipeRepository,
+                                        RecipeFingerprinter recipeFingerprinter,
+                                        RecipeBookProperties properties,
+                                        PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.recipeFingerprinter = recipeFingerprinter;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.getFingerprint().isBackfillOnStartup()) {
+            backfill();
+        }
+    }
+
+    /**
+     * Fingerprints every recipe that does not have a fingerprint yet.
+     * @return how many recipes were fingerprinted and how many were duplicates
+     */
+    public BackfillResult backfill() {
+        int batchSize = properties.getFingerprint().getBackfillBatchSize();
+        long cursor = 0L;
+        int fingerprinted = 0;
+        int duplicates = 0;
+
+        while (true) {
+            BatchOutcome outcome = processBatch(cursor, batchSize);
+            fingerprinted += outcome.fingerprinted();
+            duplicates += outcome.duplicates();
+            if (outcome.processed() < batchSize) {
+                break;
+            }
+            cursor = outcome.lastId();
+        }
+        log.info("Fingerprint backfill complete: {} fingerprinted, {} duplicates", fingerprinted, duplicates);
+        return new BackfillResult(fingerprinted, duplicates);
+    }
+
+    private BatchOutcome processBatch(long afterId, int batchSize) {
+        return transactionTemplate.execute(status -> {
+            List<Recipe> batch = recipeRepository.findWithoutFingerprint(afterId, PageRequest.of(0, batchSize));
+            int fingerprinted = 0;
+            int duplicates = 0;
+            long lastId = afterId;
+            for (Recipe recipe : batch) {
+                lastId = recipe.getId();
+                String fingerprint = recipeFingerprinter.fingerprint(recipe);
+                // The query auto-flushes fingerprints assigned earlier in this batch
+                if (recipeRepository.existsByContentFingerprint(fingerprint)) {
+                    log.warn("Recipe {} duplicates an existing recipe, leaving it without a fingerprint", recipe.getId());
+                    duplicates++;
+                } else {
+                    recipe.setContentFingerprint(fingerprint);
+                    fingerprinted++;
+                }
+            }
+            return new BatchOutcome(batch.size(), lastId, fingerprinted, duplicates);
+        });
+    }
+
+    /**
+     * Totals for a completed backfill run.
+     */
+    public record BackfillResult(int fingerprinted, int duplicates) {
+    }
+
+    private record BatchOutcome(int processed, long lastId, int fingerprinted, int duplicates) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Computes a canonical content fingerprint for a recipe.
+ *
+ * The fingerprint covers the ingredient set (sorted by ingredient id, with normalized quantity,
+ * unit and required flag) and the instruction text in step order. Name, description, tags and
+ * other metadata are deliberately excluded so renamed copies of the same recipe collide.
+ */
+@Component
+public class RecipeFingerprinter {
+
+    /** Bumped whenever the canonical form changes, so old and new fingerprints never mix. */
+    static final String VERSION = "v1";
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final char RECORD_SEPARATOR = '\u001e';
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<RecipeInstruction> STEP_ORDER = Comparator
+            .comparing(RecipeInstruction::getStepOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(RecipeInstruction::getStepNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * Computes the fingerprint of a recipe.
+     * @param recipe the recipe, with ingredients and instructions initialized
+     * @return a 64 character lowercase hex SHA-256 digest
+     */
+    public String fingerprint(Recipe recipe) {
+        StringBuilder canonical = new StringBuilder(256).append(VERSION).append(RECORD_SEPARATOR);
+
+        List<String> ingredients = recipe.getIngredients().stream()
+                .map(RecipeFingerprinter::canonicalIngredient)
+                .sorted()
+                .toList();
+        for (String ingredient : ingredients) {
+            canonical.append(ingredient).append(RECORD_SEPARATOR);
+        }
+        canonical.append(RECORD_SEPARATOR);
+
+        recipe.getInstructions().stream()
+                .sorted(STEP_ORDER)
+                .map(instruction -> normalizeText(instruction.getDescription()))
+                .filter(text -> !text.isEmpty())
+                .forEach(text -> canonical.append(text).append(RECORD_SEPARATOR));
+
+        return HexFormat.of().formatHex(sha256().digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String canonicalIngredient(RecipeIngredient recipeIngredient) {
+        return ingredientKey(recipeIngredient.getIngredient())
+                + FIELD_SEPARATOR + normalizeQuantity(recipeIngredient.getQuantity())
+                + FIELD_SEPARATOR + normalizeText(recipeIngredient.getUnit())
+                + FIELD_SEPARATOR + (Boolean.FALSE.equals(recipeIngredient.getIsRequired()) ? "optional" : "required");
+    }
+
+    /**
+     * Zero-padded ids keep lexicographic order equal to numeric order; ingredients that have not
+     * been persisted yet fall back to their normalized name.
+     */
+    private static String ingredientKey(Ingredient ingredient) {
+        if (ingredient == null) {
+            return "";
+        }
+        if (ingredient.getId() != null) {
+            return String.format("%019d", ingredient.getId());
+        }
+        String name = ingredient.getNormalizedName() != null ? ingredient.getNormalizedName() : ingredient.getName();
+        return "~" + normalizeText(name);
+    }
+
+    private static String normalizeQuantity(BigDecimal quantity) {
+        return quantity == null ? "" : quantity.stripTrailingZeros().toPlainString();
+    }
+
+    static String normalizeText(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.NutrientRangeDto;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipePreferencesDto;
+import com.infiniterecipebook.dto.RecipeRequest;
+import com.infiniterecipebook.dto.RecipeResponse;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.enums.RecipeSource;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.dictionary.RecipeDictionaries;
+import com.infiniterecipebook.services.generation.GenerationFanOut;
+import com.infiniterecipebook.services.generation.GenerationPrompt;
+import com.infiniterecipebook.services.matching.CandidateFilter;
+import com.infiniterecipebook.services.matching.Deadline;
+import com.infiniterecipebook.services.matching.IngredientNameIndex;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.NutritionRange;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+import com.infiniterecipebook.services.matching.RecipeScorer;
+import com.infiniterecipebook.services.matching.ScoredRecipe;
+import com.infiniterecipebook.services.matching.ScoringStats;
+import com.infiniterecipebook.services.metrics.GenerationMetrics;
+import com.infiniterecipebook.services.quantity.Pantry;
+import com.infiniterecipebook.services.quantity.PantryMatcher;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Produces recipe suggestions for a set of available ingredients.
+ *
+ * The pipeline resolves ingredient names, scores candidates from the in-memory recipe index,
+ * then hydrates only the top results from the database. Each stage is timed through
+ * {@link GenerationMetrics} and stops early once the request's {@link Deadline} has expired.
+ *
+ * When generation is enabled, generator calls start right after validation and run while the
+ * stored recipes are scored and hydrated. Generated recipes that arrive before the deadline are
+ * ranked together with the stored ones. Only hydration runs in a transaction, so no connection
+ * is held while waiting on the generator.
+ */
+@Service
+@Slf4j
+public class RecipeGenerationService {
+
+    private final IngredientResolver ingredientResolver;
+    private final RecipeIndexService recipeIndexService;
+    private final RecipeScorer recipeScorer;
+    private final RecipeRepository recipeRepository;
+    private final QuantityEngine quantityEngine;
+    private final PantryMatcher pantryMatcher;
+    private final UnitDictionary unitDictionary;
+    private final RecipeDictionaries recipeDictionaries;
+    private final RecipeMapper recipeMapper;
+    private final RecipeAccessTracker recipeAccessTracker;
+    private final RecipeBookProperties properties;
+    private final GenerationMetrics generationMetrics;
+    private final GenerationFanOut generationFanOut;
+    private final TransactionTemplate readOnlyTemplate;
+
+    public RecipeGenerationService(IngredientResolver ingredientResolver,
+                                   RecipeIndexService recipeIndexService,
+                                   RecipeScorer recipeScorer,
+                                   RecipeRepository recipeRepository,
+                                   QuantityEngine quantityEngine,
+                                   PantryMatcher pantryMatcher,
+                                   UnitDictionary unitDictionary,
+                                   RecipeDictionaries recipeDictionaries,
+                                   RecipeMapper recipeMapper,
+                                   RecipeAccessTracker recipeAccessTracker,
+                                   RecipeBookProperties properties,
+                                   GenerationMetrics generationMetrics,
+                                   GenerationFanOut generationFanOut,
+                                   PlatformTransactionManager transactionManager) {
+        this.ingredientResolver = ingredientResolver;
+        this.recipeIndexService = recipeIndexService;
+        this.recipeScorer = recipeScorer;
+        this.recipeRepository = recipeRepository;
+        this.quantityEngine = quantityEngine;
+        this.pantryMatcher = pantryMatcher;
+        this.unitDictionary = unitDictionary;
+        this.recipeDictionaries = recipeDictionaries;
+        this.recipeMapper = recipeMapper;
+        this.recipeAccessTracker = recipeAccessTracker;
+        this.properties = properties;
+        this.generationMetrics = generationMetrics;
+        this.generationFanOut = generationFanOut;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns the stored recipes that best match the request, within the default time budget.
+     * @param request the available ingredients and preferences
+     * @return the matching recipes, best first, with availability per ingredient line
+     */
+    public RecipeResponse generate(RecipeRequest request) {
+        return generate(request, null);
+    }
+
+    /**
+     * Returns the stored recipes that best match the request, with generated ones when enabled.
+     *
+     * The time budget becomes a deadline checked between and within stages. When it expires
+     * the response carries the best recipes found so far and {@code metadata.partial} is set.
+     * Generated recipes still pending at the deadline are dropped the same way.
+     * @param request the available ingredients and preferences
+     * @param timeout the client's time budget, null for the configured default; capped at the configured maximum
+     * @return the matching recipes, best first, with availability per ingredient line
+     */
+    public RecipeResponse generate(RecipeRequest request, Duration timeout) {
+        return generate(request, timeout, properties.getGeneration().isEnabled());
+    }
+
+    /**
+     * Returns the stored recipes that best match the request without ever calling the generator,
+     * whether or not generation is enabled, such as for requests replayed by the warm-up.
+     * @param request the available ingredients and preferences
+     * @return the matching recipes, best first, with availability per ingredient line
+     */
+    public RecipeResponse generateFromCatalog(RecipeRequest request) {
+        return generate(request, null, false);
+    }
+
+    private RecipeResponse generate(RecipeRequest request, Duration timeout, boolean generation) {
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.after(budget(timeout));
+        generationMetrics.started();
+        try {
+            MealType mealType = request.getMealType();
+            RecipePreferencesDto preferences = request.getPreferences() != null
+                    ? request.getPreferences() : new RecipePreferencesDto();
+            int servings = preferences.getServings() != null ? preferences.getServings() : 0;
+
+            Pantry pantry = toPantry(request.getIngredients());
+            CandidateFilter filter = toFilter(request, preferences);
+            long validated = System.nanoTime();
+            generationMetrics.record(GenerationMetrics.Stage.VALIDATION, mealType, validated - start);
+
+            GenerationFanOut.PendingGeneration generating = null;
+            if (generation && !deadline.isExpired()) {
+                generating = generationFanOut.start(new GenerationPrompt(
+                        request.getIngredients(), mealType, preferences, 0));
+            }
+
+            GenerationMetrics.Stage partialStage = null;
+            RecipeMatchIndex index = recipeIndexService.current();
+            List<ScoredRecipe> scored = List.of();
+            if (deadline.isExpired()) {
+                partialStage = GenerationMetrics.Stage.VALIDATION;
+            } else {
+                ScoringStats stats = new ScoringStats();
+                scored = recipeScorer.topK(index, pantry, filter, servings,
+                        properties.getMatching().getMaxResults(), stats, deadline);
+                generationMetrics.record(mealType, stats);
+                if (stats.partial()) {
+                    partialStage = GenerationMetrics.Stage.SCORING;
+                }
+            }
+
+            long hydrationStart = System.nanoTime();
+            List<ScoredRecipe> selected = scored;
+            Hydrated hydrated = readOnlyTemplate.execute(
+                    status -> hydrate(index, selected, pantry, servings, deadline));
+            generationMetrics.record(GenerationMetrics.Stage.HYDRATION, mealType, System.nanoTime() - hydrationStart);
+            if (hydrated.partial() && partialStage == null) {
+                partialStage = GenerationMetrics.Stage.HYDRATION;
+            }
+
+            List<RecipeDto> recipes = hydrated.recipes();
+            RecipeSource source = RecipeSource.CATALOG;
+            if (generating != null) {
+                long generationStart = System.nanoTime();
+                GenerationFanOut.Outcome outcome = generating.await(deadline);
+                generationMetrics.record(GenerationMetrics.Stage.GENERATION, mealType,
+                        System.nanoTime() - generationStart);
+                if (!outcome.complete() && partialStage == null) {
+                    partialStage = GenerationMetrics.Stage.GENERATION;
+                }
+                List<RecipeDto> merged = merge(recipes, outcome.recipes());
+                if (containsAny(merged, outcome.recipes())) {
+                    source = generationFanOut.source();
+                }
+                recipes = merged;
+            }
+            // Serving a stored recipe is a read, so recipes only reached through generate stay hot
+            for (RecipeDto recipe : recipes) {
+                if (recipe.getId() != null) {
+                    recipeAccessTracker.recordAccess(recipe.getId());
+                }
+            }
+            if (partialStage != null) {
+                generationMetrics.recordPartial(partialStage);
+                log.debug("Generate deadline expired during {}, returning {} recipes", partialStage, recipes.size());
+            }
+
+            return RecipeResponse.builder()
+                    .recipes(recipes)
+                    .metadata(RecipeResponse.Metadata.builder()
+                            .totalRecipes(recipes.size())
+                            .generationTime(Math.round((System.nanoTime() - start) / 1_000_000.0) / 1_000.0)
+                            .source(source)
+                            .partial(partialStage != null)
+                            .build())
+                    .build();
+        } finally {
+            generationMetrics.finished();
+        }
+    }
+
+    private Duration budget(Duration requested) {
+        RecipeBookProperties.Matching matching = properties.getMatching();
+        if (requested == null) {
+            return matching.getDefaultTimeout();
+        }
+        return requested.compareTo(matching.getMaxTimeout()) > 0 ? matching.getMaxTimeout() : requested;
+    }
+
+    private Pantry toPantry(List<IngredientInputDto> ingredients) {
+        IngredientNameIndex names = ingredientResolver.current();
+        Pantry.Builder pantry = Pantry.builder(unitDictionary);
+        int unknown = 0;
+        for (IngredientInputDto ingredient : ingredients) {
+            long ingredientId = names.resolve(ingredient.getName());
+            if (ingredientId == IngredientNameIndex.NOT_FOUND) {
+                log.debug("Ignoring unknown ingredient '{}'", ingredient.getName());
+                unknown++;
+                continue;
+            }
+            pantry.add(ingredientId, ingredient.getQuantity(), ingredient.getUnit());
+        }
+        generationMetrics.recordIngredients(ingredients.size() - unknown, unknown);
+        return pantry.build();
+    }
+
+    private CandidateFilter toFilter(RecipeRequest request, RecipePreferencesDto preferences) {
+        int[] tagIds = CandidateFilter.encodeTags(preferences.getDietaryRestrictions(), recipeDictionaries.tags());
+        return new CandidateFilter(request.getMealType(), preferences.getMaxCookingTime(),
+                preferences.getDifficulty(), tagIds, toNutritionRanges(preferences.getNutrition()));
+    }
+
+    private static List<NutritionRange> toNutritionRanges(Map<Nutrient, NutrientRangeDto> nutrition) {
+        List<NutritionRange> ranges = new ArrayList<>();
+        if (nutrition != null) {
+            nutrition.forEach((nutrient, range) -> {
+                if (nutrient != null && range != null) {
+                    ranges.add(NutritionRange.of(nutrient, range.getMin(), range.getMax()));
+                }
+            });
+        }
+        return ranges;
+    }
+
+    /**
+     * Loads the selected recipes in one query and maps them best first. The deadline is checked
+     * before the query and between recipes, so an expired request maps no more than one recipe.
+     */
+    private Hydrated hydrate(RecipeMatchIndex index, List<ScoredRecipe> scored, Pantry pantry, int servings,
+                             Deadline deadline) {
+        if (scored.isEmpty()) {
+            return new Hydrated(List.of(), false);
+        }
+        if (deadline.isExpired()) {
+            return new Hydrated(List.of(), true);
+        }
+        Map<Long, Recipe> recipesById = new HashMap<>();
+        for (Recipe recipe : recipeRepository.findWithIngredientsByIdIn(
+                scored.stream().map(ScoredRecipe::recipeId).toList())) {
+            recipesById.put(recipe.getId(), recipe);
+        }
+        List<RecipeDto> dtos = new ArrayList<>(scored.size());
+        for (ScoredRecipe candidate : scored) {
+            if (!dtos.isEmpty() && deadline.isExpired()) {
+                return new Hydrated(dtos, true);
+            }
+            // Recipes archived or deleted since the index was built are skipped.
+            Recipe recipe = recipesById.get(candidate.recipeId());
+            if (recipe != null) {
+                RecipeDto dto = toMatchedDto(recipe, pantry, servings, candidate.score());
+                recipeMapper.applyIndexedNutrition(dto, index, candidate.slot());
+                dtos.add(dto);
+            }
+        }
+        return new Hydrated(dtos, false);
+    }
+
+    /**
+     * Ranks generated recipes together with the stored ones by confidence, stored recipes first on
+     * ties. Generated recipes named like a stored or an earlier generated recipe are dropped.
+     */
+    private List<RecipeDto> merge(List<RecipeDto> stored, List<RecipeDto> generated) {
+        if (generated.isEmpty()) {
+            return stored;
+        }
+        Set<String> names = new HashSet<>();
+        for (RecipeDto recipe : stored) {
+            names.add(nameKey(recipe));
+        }
+        double confidence = properties.getGeneration().getGeneratedConfidence();
+        List<RecipeDto> merged = new ArrayList<>(stored);
+        for (RecipeDto recipe : generated) {
+            if (names.add(nameKey(recipe))) {
+                recipe.setConfidence(confidence);
+                merged.add(recipe);
+            }
+        }
+        // Stable sort keeps stored recipes, added first, ahead of generated ones on equal confidence
+        merged.sort(Comparator.comparing(RecipeDto::getConfidence,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        int limit = properties.getMatching().getMaxResults();
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    private static boolean containsAny(List<RecipeDto> recipes, List<RecipeDto> candidates) {
+        for (RecipeDto recipe : recipes) {
+            for (RecipeDto candidate : candidates) {
+                if (recipe == candidate) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String nameKey(RecipeDto recipe) {
+        return recipe.getName() != null ? recipe.getName().trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private RecipeDto toMatchedDto(Recipe recipe, Pantry pantry, int servings, double confidence) {
+        RecipeQuantities quantities = quantityEngine.compile(recipe);
+        int target = servings > 0 ? servings : quantities.servings();
+        byte[] statuses = new byte[quantities.size()];
+        pantryMatcher.match(quantities, pantry, target, statuses);
+
+        RecipeDto dto = recipeMapper.toDto(recipe);
+        if (servings > 0) {
+            long[] scaled = new long[quantities.size()];
+            quantityEngine.scale(quantities, servings, scaled);
+            recipeMapper.applyScaledQuantities(dto, scaled, servings);
+        }
+        recipeMapper.applyAvailability(dto, statuses);
+        dto.setConfidence(Math.round(confidence * 100) / 100.0);
+        return dto;
+    }
+
+    /**
+     * Recipes mapped by the hydration stage, and whether the deadline stopped it early.
+     */
+    private record Hydrated(List<RecipeDto> recipes, boolean partial) {
+    }
+}
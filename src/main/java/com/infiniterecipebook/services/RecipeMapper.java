@@ -0,0 +1,143 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.dto.NutritionalInfoDto;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipeIngredientDto;
+import com.infiniterecipebook.dto.RecipeInstructionDto;
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+import com.infiniterecipebook.services.quantity.FixedPoint;
+import com.infiniterecipebook.services.quantity.PantryMatcher;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps recipe entities to their API representation.
+ */
+@Component
+public class RecipeMapper {
+
+    /**
+     * Converts a recipe entity into a DTO.
+     * @param recipe the recipe, with ingredients and instructions loaded or loadable
+     * @return the recipe DTO
+     */
+    public RecipeDto toDto(Recipe recipe) {
+        return RecipeDto.builder()
+                .id(recipe.getId())
+                .name(recipe.getName())
+                .description(recipe.getDescription())
+                .mealType(recipe.getMealType())
+                .cookingTime(recipe.getCookingTimeMinutes())
+                .difficulty(recipe.getDifficulty())
+                .servings(recipe.getServings())
+                .ingredients(toIngredientDtos(recipe.getIngredients()))
+                .instructions(toInstructionDtos(recipe.getInstructions()))
+                .nutritionalInfo(toNutritionalInfoDto(recipe.getNutritionalInfo()))
+                .tags(recipe.getTags() != null ? List.copyOf(recipe.getTags()) : List.of())
+                .createdAt(recipe.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Replaces the ingredient quantities of a mapped recipe with scaled ones.
+     * Lines without a quantity keep none.
+     * @param dto a DTO produced by {@link #toDto(Recipe)}
+     * @param scaled fixed-point amounts in ingredient order, as produced by {@link QuantityEngine#scale}
+     * @param servings the servings the amounts were scaled to
+     */
+    public void applyScaledQuantities(RecipeDto dto, long[] scaled, int servings) {
+        dto.setServings(servings);
+        List<RecipeIngredientDto> ingredients = dto.getIngredients();
+        for (int i = 0; i < ingredients.size(); i++) {
+            if (ingredients.get(i).getQuantity() != null) {
+                ingredients.get(i).setQuantity(FixedPoint.toBigDecimal(scaled[i]));
+            }
+        }
+    }
+
+    /**
+     * Marks the ingredient lines of a mapped recipe as available or not.
+     * @param dto a DTO produced by {@link #toDto(Recipe)}
+     * @param statuses match statuses in ingredient order, as produced by {@link PantryMatcher#match}
+     */
+    public void applyAvailability(RecipeDto dto, byte[] statuses) {
+        List<RecipeIngredientDto> ingredients = dto.getIngredients();
+        for (int i = 0; i < ingredients.size(); i++) {
+            ingredients.get(i).setIsAvailable(
+                    statuses[i] == PantryMatcher.AVAILABLE || statuses[i] == PantryMatcher.PRESENT_UNMEASURED);
+        }
+    }
+
+    /**
+     * Replaces the nutrition of a mapped recipe with the values per serving held by its index slot.
+     * Nutrition filters and meal plan totals read the index, so the response shows the values a
+     * recipe was selected with, not stored columns that may predate a nutrient vector change.
+     * @param dto a DTO produced by {@link #toDto(Recipe)}
+     * @param index the index the recipe was found in
+     * @param slot the recipe's slot in that index
+     */
+    public void applyIndexedNutrition(RecipeDto dto, RecipeMatchIndex index, int slot) {
+        Integer calories = known(index.nutrient(slot, Nutrient.CALORIES));
+        Integer protein = known(index.nutrient(slot, Nutrient.PROTEIN));
+        Integer carbs = known(index.nutrient(slot, Nutrient.CARBS));
+        Integer fat = known(index.nutrient(slot, Nutrient.FAT));
+        if (calories == null && protein == null && carbs == null && fat == null) {
+            dto.setNutritionalInfo(null);
+            return;
+        }
+        dto.setNutritionalInfo(NutritionalInfoDto.builder()
+                .calories(calories)
+                .protein(protein)
+                .carbs(carbs)
+                .fat(fat)
+                .build());
+    }
+
+    private static Integer known(int value) {
+        return value != RecipeMatchIndex.UNKNOWN_NUTRIENT ? value : null;
+    }
+
+    private static List<RecipeIngredientDto> toIngredientDtos(List<RecipeIngredient> ingredients) {
+        List<RecipeIngredientDto> dtos = new ArrayList<>(ingredients.size());
+        for (RecipeIngredient ingredient : ingredients) {
+            dtos.add(RecipeIngredientDto.builder()
+                    .name(ingredient.getIngredient() != null ? ingredient.getIngredient().getName() : null)
+                    .quantity(ingredient.getQuantity())
+                    .unit(ingredient.getUnit())
+                    .isRequired(ingredient.getIsRequired())
+                    .build());
+        }
+        return dtos;
+    }
+
+    private static List<RecipeInstructionDto> toInstructionDtos(List<RecipeInstruction> instructions) {
+        List<RecipeInstructionDto> dtos = new ArrayList<>(instructions.size());
+        for (RecipeInstruction instruction : instructions) {
+            dtos.add(RecipeInstructionDto.builder()
+                    .step(instruction.getStepNumber())
+                    .description(instruction.getDescription())
+                    .build());
+        }
+        return dtos;
+    }
+
+    private static NutritionalInfoDto toNutritionalInfoDto(NutritionalInfo nutritionalInfo) {
+        if (nutritionalInfo == null) {
+            return null;
+        }
+        return NutritionalInfoDto.builder()
+                .calories(nutritionalInfo.getCalories())
+                .protein(nutritionalInfo.getProtein())
+                .carbs(nutritionalInfo.getCarbs())
+                .fat(nutritionalInfo.getFat())
+                .build();
+    }
+}
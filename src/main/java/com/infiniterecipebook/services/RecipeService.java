@@ -0,0 +1,148 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.exceptions.RecipeNotFoundException;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+import com.infiniterecipebook.services.nutrition.NutritionService;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Service handling recipe persistence and lookup.
+ */
+@Service
+@Slf4j
+public class RecipeService {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeFingerprinter recipeFingerprinter;
+    private final RecipeArchiveService recipeArchiveService;
+    private final RecipeAccessTracker recipeAccessTracker;
+    private final RecipeMapper recipeMapper;
+    private final RecipeIndexService recipeIndexService;
+    private final QuantityEngine quantityEngine;
+    private final NutritionService nutritionService;
+    private final TransactionTemplate requiresNewTemplate;
+
+    public RecipeService(RecipeRepository recipeRepository,
+                         RecipeFingerprinter recipeFingerprinter,
+                         RecipeArchiveService recipeArchiveService,
+                         RecipeAccessTracker recipeAccessTracker,
+                         RecipeMapper recipeMapper,
+                         RecipeIndexService recipeIndexService,
+                         QuantityEngine quantityEngine,
+                         NutritionService nutritionService,
+                         PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.recipeFingerprinter = recipeFingerprinter;
+        this.recipeArchiveService = recipeArchiveService;
+        this.recipeAccessTracker = recipeAccessTracker;
+        this.recipeMapper = recipeMapper;
+        this.recipeIndexService = recipeIndexService;
+        this.quantityEngine = quantityEngine;
+        this.nutritionService = nutritionService;
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns a recipe by id, restoring it from the archive when it is no longer in the hot tables.
+     * @param id the recipe id
+     * @return the recipe DTO
+     * @throws RecipeNotFoundException when neither tier has the recipe
+     */
+    @Transactional(readOnly = true)
+    public RecipeDto getRecipe(Long id) {
+        return toDto(loadRecipe(id));
+    }
+
+    /**
+     * Returns a recipe with every ingredient quantity scaled to the given number of servings.
+     * @param id the recipe id
+     * @param servings the target number of servings
+     * @return the scaled recipe DTO
+     * @throws RecipeNotFoundException when neither tier has the recipe
+     */
+    @Transactional(readOnly = true)
+    public RecipeDto getScaledRecipe(Long id, int servings) {
+        Recipe recipe = loadRecipe(id);
+        RecipeQuantities quantities = quantityEngine.compile(recipe);
+        long[] scaled = new long[quantities.size()];
+        quantityEngine.scale(quantities, servings, scaled);
+
+        RecipeDto dto = toDto(recipe);
+        recipeMapper.applyScaledQuantities(dto, scaled, servings);
+        return dto;
+    }
+
+    /**
+     * Maps a recipe, with the nutrition the match index filters it by when it is indexed.
+     * Archived recipes, and recipes saved since the index was last updated, keep their stored nutrition.
+     */
+    private RecipeDto toDto(Recipe recipe) {
+        RecipeDto dto = recipeMapper.toDto(recipe);
+        RecipeMatchIndex index = recipeIndexService.current();
+        int slot = index.slotOf(recipe.getId());
+        if (slot >= 0) {
+            recipeMapper.applyIndexedNutrition(dto, index, slot);
+        }
+        return dto;
+    }
+
+    private Recipe loadRecipe(Long id) {
+        Recipe recipe = recipeRepository.findWithIngredientsById(id)
+                .or(() -> loadArchived(id))
+                .orElseThrow(() -> new RecipeNotFoundException(id));
+        recipeAccessTracker.recordAccess(id);
+        return recipe;
+    }
+
+    private Optional<Recipe> loadArchived(Long id) {
+        // Untracked reads, such as the warm-up replay, do not move recipes between tiers
+        if (recipeAccessTracker.isTracking() && recipeArchiveService.restore(id)) {
+            return recipeRepository.findWithIngredientsById(id);
+        }
+        return recipeArchiveService.findArchived(id);
+    }
+
+    /**
+     * Saves a new recipe unless one with identical content is already stored, in either tier.
+     * An archived recipe with identical content is restored to the hot tables and returned.
+     *
+     * The insert runs in its own transaction so that losing a race on the unique
+     * fingerprint index does not poison the caller's transaction. The stored nutrition is
+     * recomputed from the ingredients' nutrient vectors where they give it.
+     * @param recipe the recipe to store, with ingredients and instructions attached
+     * @return the stored recipe, or the existing recipe with the same content fingerprint
+     */
+    public Recipe saveRecipe(Recipe recipe) {
+        String fingerprint = recipeFingerprinter.fingerprint(recipe);
+        recipe.setContentFingerprint(fingerprint);
+
+        Optional<Recipe> existing = recipeRepository.findByContentFingerprint(fingerprint)
+                .or(() -> recipeArchiveService.restoreByFingerprint(fingerprint)
+                        ? recipeRepository.findByContentFingerprint(fingerprint) : Optional.empty());
+        if (existing.isPresent()) {
+            log.debug("Recipe '{}' duplicates recipe {}", recipe.getName(), existing.get().getId());
+            return existing.get();
+        }
+        nutritionService.applyTo(recipe);
+        try {
+            return requiresNewTemplate.execute(status -> recipeRepository.save(recipe));
+        } catch (DataIntegrityViolationException e) {
+            return recipeRepository.findByContentFingerprint(fingerprint).orElseThrow(() -> e);
+        }
+    }
+}
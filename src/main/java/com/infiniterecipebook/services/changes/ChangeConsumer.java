@@ -0,0 +1,29 @@
+package com.infiniterecipebook.services.changes;
+
+import java.util.List;
+
+/**
+ * An in-memory structure kept up to date from the {@link ChangeEventStream}.
+ *
+ * Declare implementations as beans and the stream delivers every batch to them in sequence
+ * order, from a single thread. Implementations build the updated structure off to the side and
+ * publish it with one reference swap, so readers never lock and never see a half-applied batch.
+ */
+public interface ChangeConsumer {
+
+    /**
+     * Returns the name used in metrics and logs.
+     */
+    String name();
+
+    /**
+     * Applies a batch of committed changes. A batch may hold several changes to the same entity.
+     * @param events the changes, in sequence order
+     */
+    void apply(List<ChangeEvent> events);
+
+    /**
+     * Rebuilds the structure from the database, after changes were dropped or failed to apply.
+     */
+    void resync();
+}
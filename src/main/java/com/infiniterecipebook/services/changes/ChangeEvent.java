@@ -0,0 +1,11 @@
+package com.infiniterecipebook.services.changes;
+
+/**
+ * An {@link EntityChange} with its position in the stream.
+ *
+ * @param sequence position in the stream, strictly increasing in publication order
+ * @param publishedAtNanos {@link System#nanoTime()} when the change was published
+ * @param change the change
+ */
+public record ChangeEvent(long sequence, long publishedAtNanos, EntityChange change) {
+}
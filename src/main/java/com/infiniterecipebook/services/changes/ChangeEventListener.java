@@ -0,0 +1,135 @@
+package com.infiniterecipebook.services.changes;
+
+import com.infiniterecipebook.models.CommonIngredient;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.IngredientAlias;
+import com.infiniterecipebook.models.IngredientNutrition;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate event listener turning recipe, recipe line, ingredient, common ingredient,
+ * ingredient nutrition and ingredient alias writes into {@link EntityChange}s.
+ *
+ * Changes made in a transaction are buffered and published once it commits, so rolled back
+ * writes never reach the stream. When an invalidation bus is configured they are also sent to
+ * the other nodes. Bulk JPQL updates bypass entity events and are not published;
+ * the access counters are the only ones, and no index reads them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeEventListener implements PostInsertEventListener, PostDeleteEventListener, PostUpdateEventListener {
+
+    private static final String RECIPE_PROPERTY = "recipe";
+
+    private final ChangeEventStream changeEventStream;
+    private final ObjectProvider<InvalidationPublisher> invalidationPublisher;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getEntity(), event.getId(), event.getPersister(), event.getState(), EntityChange.Operation.UPSERT);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getEntity(), event.getId(), event.getPersister(), event.getState(), EntityChange.Operation.UPSERT);
+        if (event.getEntity() instanceof RecipeIngredient && event.getOldState() != null) {
+            // A line moved to another recipe changes the old one too
+            record(event.getEntity(), event.getId(), event.getPersister(), event.getOldState(),
+                    EntityChange.Operation.UPSERT);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getEntity(), event.getId(), event.getPersister(), event.getDeletedState(),
+                EntityChange.Operation.DELETE);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(Object entity, Object id, EntityPersister persister, Object[] state,
+                        EntityChange.Operation operation) {
+        EntityChange change = null;
+        if (entity instanceof Recipe && id instanceof Long recipeId) {
+            change = new EntityChange(EntityChange.ChangedEntity.RECIPE, recipeId, operation);
+        } else if (entity instanceof Ingredient && id instanceof Long ingredientId) {
+            change = new EntityChange(EntityChange.ChangedEntity.INGREDIENT, ingredientId, operation);
+        } else if (entity instanceof CommonIngredient && id instanceof Long commonId) {
+            change = new EntityChange(EntityChange.ChangedEntity.COMMON_INGREDIENT, commonId, operation);
+        } else if (entity instanceof IngredientNutrition && id instanceof Long ingredientId) {
+            change = new EntityChange(EntityChange.ChangedEntity.INGREDIENT_NUTRITION, ingredientId, operation);
+        } else if (entity instanceof IngredientAlias && id instanceof Long aliasId) {
+            change = new EntityChange(EntityChange.ChangedEntity.INGREDIENT_ALIAS, aliasId, operation);
+        } else if (entity instanceof RecipeIngredient && state != null) {
+            // Read the recipe from the state: the entity's back reference is cleared before orphan removal
+            if (valueOf(persister, state) instanceof Recipe recipe && recipe.getId() != null) {
+                change = new EntityChange(EntityChange.ChangedEntity.RECIPE, recipe.getId(),
+                        EntityChange.Operation.UPSERT);
+            }
+        }
+        if (change == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingChanges().add(change);
+        } else {
+            publish(List.of(change));
+        }
+    }
+
+    private void publish(List<EntityChange> changes) {
+        changeEventStream.publish(changes);
+        invalidationPublisher.ifAvailable(publisher -> publisher.send(changes));
+    }
+
+    private List<EntityChange> pendingChanges() {
+        @SuppressWarnings("unchecked")
+        List<EntityChange> pending = (List<EntityChange>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<EntityChange> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeEventListener.this);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+
+    private static Object valueOf(EntityPersister persister, Object[] state) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(RECIPE_PROPERTY)) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+}
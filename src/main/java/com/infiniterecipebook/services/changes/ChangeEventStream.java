@@ -0,0 +1,184 @@
+package com.infiniterecipebook.services.changes;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ordered stream of committed entity changes, delivered in batches to every {@link ChangeConsumer}.
+ *
+ * Publishing stamps each change with the next sequence number and appends it to a pending list
+ * under a short lock, so the sequence order is the publication order. A scheduled drain hands
+ * everything pending to the consumers as one batch, which coalesces bursts of writes into one
+ * index swap. When more than {@code max-pending} changes pile up, the pending changes are
+ * dropped and every consumer resyncs from the database instead.
+ *
+ * Lag is exported per consumer as {@code recipe.changes.lag}, the number of published changes
+ * not applied yet, and {@code recipe.changes.apply.delay}, the time from publishing the oldest
+ * change of a batch to the end of its apply.
+ */
+@Component
+@Slf4j
+public class ChangeEventStream implements MeterBinder {
+
+    private final List<ChangeConsumer> consumers;
+    private final int maxPending;
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicLongArray applied;
+
+    private List<ChangeEvent> pending = new ArrayList<>();
+    private boolean overflowed;
+    private volatile long lastSequence;
+
+    private Timer applyDelay;
+    private Counter published;
+    private Counter resyncs;
+
+    public ChangeEventStream(List<ChangeConsumer> consumers, RecipeBookProperties properties) {
+        this.consumers = List.copyOf(consumers);
+        this.maxPending = properties.getChanges().getMaxPending();
+        this.applied = new AtomicLongArray(this.consumers.size());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < consumers.size(); i++) {
+            int consumer = i;
+            Gauge.builder("recipe.changes.lag", this, stream -> stream.lag(consumer))
+                    .description("Published changes not yet applied by the consumer")
+                    .tag("consumer", consumers.get(i).name())
+                    .register(registry);
+        }
+        applyDelay = Timer.builder("recipe.changes.apply.delay")
+                .description("Time from publishing the oldest change of a batch to the end of its apply")
+                .register(registry);
+        published = Counter.builder("recipe.changes.published")
+                .description("Entity changes published")
+                .register(registry);
+        resyncs = Counter.builder("recipe.changes.resyncs")
+                .description("Consumer rebuilds after changes were dropped or failed to apply")
+                .register(registry);
+    }
+
+    /**
+     * Publishes the changes of one committed transaction, keeping them contiguous in the stream.
+     * @param changes the changes, in the order they were made
+     */
+    public void publish(List<EntityChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        publishLock.lock();
+        try {
+            if (!overflowed && pending.size() + changes.size() > maxPending) {
+                log.warn("More than {} changes pending, dropping them and resyncing consumers", maxPending);
+                overflowed = true;
+                pending = new ArrayList<>();
+            }
+            long sequence = lastSequence;
+            for (EntityChange change : changes) {
+                if (!overflowed) {
+                    pending.add(new ChangeEvent(++sequence, now, change));
+                } else {
+                    ++sequence;
+                }
+            }
+            lastSequence = sequence;
+        } finally {
+            publishLock.unlock();
+        }
+        if (published != null) {
+            published.increment(changes.size());
+        }
+    }
+
+    /**
+     * Drops the pending changes and has every consumer resync at the next drain. Used when
+     * changes may have been missed, such as after losing the connection to other nodes.
+     */
+    public void requestResync() {
+        publishLock.lock();
+        try {
+            overflowed = true;
+            pending = new ArrayList<>();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Delivers every pending change to the consumers. Runs on a schedule; callers that need their
+     * own writes applied, such as tests, may call it directly.
+     */
+    @Scheduled(fixedDelayString = "${recipe-book.changes.apply-interval:PT0.1S}")
+    public void drain() {
+        drainLock.lock();
+        try {
+            List<ChangeEvent> batch;
+            boolean resync;
+            long upTo;
+            publishLock.lock();
+            try {
+                batch = pending;
+                pending = new ArrayList<>();
+                resync = overflowed;
+                overflowed = false;
+                upTo = lastSequence;
+            } finally {
+                publishLock.unlock();
+            }
+            if (batch.isEmpty() && !resync) {
+                return;
+            }
+            for (int i = 0; i < consumers.size(); i++) {
+                deliver(consumers.get(i), batch, resync);
+                applied.set(i, upTo);
+            }
+            if (applyDelay != null && !batch.isEmpty()) {
+                applyDelay.record(System.nanoTime() - batch.get(0).publishedAtNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the sequence number of the last published change, 0 before the first.
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    long lag(int consumer) {
+        return lastSequence - applied.get(consumer);
+    }
+
+    private void deliver(ChangeConsumer consumer, List<ChangeEvent> batch, boolean resync) {
+        if (!resync) {
+            try {
+                consumer.apply(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Consumer {} failed to apply {} changes, resyncing", consumer.name(), batch.size(), e);
+            }
+        }
+        if (resyncs != null) {
+            resyncs.increment();
+        }
+        consumer.resync();
+    }
+}
@@ -0,0 +1,33 @@
+package com.infiniterecipebook.services.changes;
+
+/**
+ * A committed change to one entity, as consumers of the {@link ChangeEventStream} see it.
+ *
+ * Changes to a recipe's ingredient lines are reported as an {@link Operation#UPSERT} of the
+ * recipe, since every in-memory structure over recipes is keyed by recipe.
+ *
+ * @param entity the kind of entity changed
+ * @param id the entity id
+ * @param operation whether the entity was written or deleted
+ */
+public record EntityChange(ChangedEntity entity, long id, Operation operation) {
+
+    /**
+     * Entities whose changes are published.
+     */
+    public enum ChangedEntity {
+        RECIPE,
+        INGREDIENT,
+        COMMON_INGREDIENT,
+        INGREDIENT_NUTRITION,
+        INGREDIENT_ALIAS
+    }
+
+    /**
+     * Kinds of change. Consumers should treat an upsert of a row that no longer exists as a delete.
+     */
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+}
@@ -0,0 +1,63 @@
+package com.infiniterecipebook.services.changes;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Invalidation bus delivering messages within one JVM, standing in for the database transport.
+ *
+ * Buses created on the same {@link Network} reach each other, so tests can run several nodes
+ * side by side. Messages are delivered synchronously on the sending thread.
+ */
+public class InProcessInvalidationBus implements InvalidationBus {
+
+    private final Network network;
+    private final int maxPayloadLength;
+    private volatile Listener listener;
+
+    public InProcessInvalidationBus(Network network) {
+        this(network, Integer.MAX_VALUE);
+    }
+
+    public InProcessInvalidationBus(Network network, int maxPayloadLength) {
+        this.network = network;
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    @Override
+    public void send(String payload) {
+        if (payload.length() > maxPayloadLength) {
+            throw new IllegalArgumentException("Payload of " + payload.length() + " characters exceeds " + maxPayloadLength);
+        }
+        for (InProcessInvalidationBus bus : network.buses) {
+            Listener target = bus.listener;
+            if (target != null) {
+                target.onMessage(payload);
+            }
+        }
+    }
+
+    @Override
+    public void listen(Listener listener) {
+        this.listener = listener;
+        network.buses.add(this);
+    }
+
+    @Override
+    public void close() {
+        network.buses.remove(this);
+        listener = null;
+    }
+
+    @Override
+    public int maxPayloadLength() {
+        return maxPayloadLength;
+    }
+
+    /**
+     * A set of buses that deliver to each other.
+     */
+    public static class Network {
+        private final List<InProcessInvalidationBus> buses = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,51 @@
+package com.infiniterecipebook.services.changes;
+
+/**
+ * Transport carrying invalidation messages between the nodes of a deployment.
+ *
+ * Messages are opaque text produced by {@link InvalidationMessages}. Every listening node,
+ * the sender included, receives each message; receivers skip their own. Delivery is best
+ * effort, so a transport that may have lost messages reports it through
+ * {@link Listener#onGap()} and the receiver resyncs.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Sends one message to every listening node.
+     * @param payload the message, at most {@link #maxPayloadLength()} characters
+     */
+    void send(String payload);
+
+    /**
+     * Starts delivering messages to the listener. Called once.
+     * @param listener receives the messages
+     */
+    void listen(Listener listener);
+
+    /**
+     * Stops delivering messages and releases the transport's resources.
+     */
+    void close();
+
+    /**
+     * Returns the longest payload the transport accepts.
+     */
+    int maxPayloadLength();
+
+    /**
+     * Receives messages from the bus.
+     */
+    interface Listener {
+
+        /**
+         * Called for every message, on a thread owned by the bus.
+         * @param payload the message
+         */
+        void onMessage(String payload);
+
+        /**
+         * Called when messages may have been lost, such as after reconnecting.
+         */
+        void onGap();
+    }
+}
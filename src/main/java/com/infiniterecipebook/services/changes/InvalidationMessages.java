@@ -0,0 +1,131 @@
+package com.infiniterecipebook.services.changes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Text encoding of invalidation messages.
+ *
+ * A message is the sending node's id, a {@code |}, then comma-separated changes written as the
+ * entity letter ({@code R}ecipe, {@code I}ngredient, {@code C}ommon ingredient, ingredient
+ * {@code N}utrition), {@code +} for an upsert or {@code -} for a delete, and the id:
+ * {@code node-1|R+12,R-40,I+7}. A {@code *} in
+ * place of the changes asks every other node to resync. A batch too long for the transport is
+ * split into several messages.
+ */
+public final class InvalidationMessages {
+
+    private static final char SEPARATOR = '|';
+    private static final String RESYNC = "*";
+
+    private InvalidationMessages() {
+    }
+
+    /**
+     * A decoded message.
+     * @param nodeId the sending node
+     * @param resync whether the sender asks for a resync instead of listing changes
+     * @param changes the changes, empty for a resync
+     */
+    public record Message(String nodeId, boolean resync, List<EntityChange> changes) {
+    }
+
+    /**
+     * Encodes changes into as few messages as fit the length limit.
+     * @param nodeId the sending node
+     * @param changes the changes, in order
+     * @param maxLength the longest message the transport accepts
+     * @return the messages, empty when there are no changes
+     */
+    public static List<String> encode(String nodeId, Collection<EntityChange> changes, int maxLength) {
+        String prefix = nodeId + SEPARATOR;
+        List<String> messages = new ArrayList<>();
+        StringBuilder message = new StringBuilder(prefix);
+        for (EntityChange change : changes) {
+            String token = token(change);
+            boolean first = message.length() == prefix.length();
+            if (!first && message.length() + 1 + token.length() > maxLength) {
+                messages.add(message.toString());
+                message.setLength(prefix.length());
+                first = true;
+            }
+            if (!first) {
+                message.append(',');
+            }
+            message.append(token);
+        }
+        if (message.length() > prefix.length()) {
+            messages.add(message.toString());
+        }
+        return messages;
+    }
+
+    /**
+     * Encodes a resync request.
+     * @param nodeId the sending node
+     * @return the message
+     */
+    public static String encodeResync(String nodeId) {
+        return nodeId + SEPARATOR + RESYNC;
+    }
+
+    /**
+     * Decodes a message.
+     * @param payload the message text
+     * @return the decoded message
+     * @throws IllegalArgumentException if the text is not a message
+     */
+    public static Message decode(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == payload.length() - 1) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+        }
+        String nodeId = payload.substring(0, separator);
+        String body = payload.substring(separator + 1);
+        if (body.equals(RESYNC)) {
+            return new Message(nodeId, true, List.of());
+        }
+        List<EntityChange> changes = new ArrayList<>();
+        for (String token : body.split(",")) {
+            changes.add(parse(token));
+        }
+        return new Message(nodeId, false, changes);
+    }
+
+    private static String token(EntityChange change) {
+        char entity = switch (change.entity()) {
+            case RECIPE -> 'R';
+            case INGREDIENT -> 'I';
+            case COMMON_INGREDIENT -> 'C';
+            case INGREDIENT_NUTRITION -> 'N';
+            case INGREDIENT_ALIAS -> 'A';
+        };
+        char operation = change.operation() == EntityChange.Operation.DELETE ? '-' : '+';
+        return "" + entity + operation + change.id();
+    }
+
+    private static EntityChange parse(String token) {
+        if (token.length() < 3) {
+            throw new IllegalArgumentException("Malformed change: " + token);
+        }
+        EntityChange.ChangedEntity entity = switch (token.charAt(0)) {
+            case 'R' -> EntityChange.ChangedEntity.RECIPE;
+            case 'I' -> EntityChange.ChangedEntity.INGREDIENT;
+            case 'C' -> EntityChange.ChangedEntity.COMMON_INGREDIENT;
+            case 'N' -> EntityChange.ChangedEntity.INGREDIENT_NUTRITION;
+            case 'A' -> EntityChange.ChangedEntity.INGREDIENT_ALIAS;
+            default -> throw new IllegalArgumentException("Unknown entity in change: " + token);
+        };
+        EntityChange.Operation operation = switch (token.charAt(1)) {
+            case '+' -> EntityChange.Operation.UPSERT;
+            case '-' -> EntityChange.Operation.DELETE;
+            default -> throw new IllegalArgumentException("Unknown operation in change: " + token);
+        };
+        try {
+            return new EntityChange(entity, Long.parseLong(token, 2, token.length(), 10), operation);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed id in change: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.infiniterecipebook.services.changes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends this node's committed changes to the other nodes over the {@link InvalidationBus}.
+ *
+ * Changes are buffered and sent on a short schedule, coalesced so that repeated writes to one
+ * entity travel once, and packed into as few messages as the transport allows. When more than
+ * {@code max-pending} entities pile up or a send fails, the buffer is dropped and the other
+ * nodes are asked to resync instead.
+ */
+@Slf4j
+public class InvalidationPublisher implements MeterBinder {
+
+    private final InvalidationBus bus;
+    private final String nodeId;
+    private final int maxPending;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Map<EntityKey, EntityChange.Operation> pending = new LinkedHashMap<>();
+    private boolean overflowed;
+
+    private Counter sent;
+
+    public InvalidationPublisher(InvalidationBus bus, String nodeId, int maxPending) {
+        this.bus = bus;
+        this.nodeId = nodeId;
+        this.maxPending = maxPending;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        sent = Counter.builder("recipe.invalidation.messages")
+                .description("Invalidation messages exchanged with other nodes")
+                .tag("direction", "sent")
+                .register(registry);
+    }
+
+    /**
+     * Queues the changes of one committed transaction for the next send.
+     * @param changes the changes
+     */
+    public void send(List<EntityChange> changes) {
+        lock.lock();
+        try {
+            if (overflowed) {
+                return;
+            }
+            for (EntityChange change : changes) {
+                pending.put(new EntityKey(change.entity(), change.id()), change.operation());
+            }
+            if (pending.size() > maxPending) {
+                log.warn("More than {} invalidations pending, asking other nodes to resync", maxPending);
+                overflowed = true;
+                pending = new LinkedHashMap<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the queued changes. Runs on a schedule; tests may call it directly.
+     */
+    @Scheduled(fixedDelayString = "${recipe-book.invalidation.flush-interval:PT0.05S}")
+    public void flush() {
+        Map<EntityKey, EntityChange.Operation> batch;
+        boolean resync;
+        lock.lock();
+        try {
+            batch = pending;
+            resync = overflowed;
+            pending = new LinkedHashMap<>();
+            overflowed = false;
+        } finally {
+            lock.unlock();
+        }
+        if (batch.isEmpty() && !resync) {
+            return;
+        }
+        List<String> messages = resync
+                ? List.of(InvalidationMessages.encodeResync(nodeId))
+                : InvalidationMessages.encode(nodeId, toChanges(batch), bus.maxPayloadLength());
+        try {
+            for (String message : messages) {
+                bus.send(message);
+                if (sent != null) {
+                    sent.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to send {} invalidations, asking other nodes to resync at the next flush",
+                    batch.size(), e);
+            lock.lock();
+            try {
+                overflowed = true;
+                pending = new LinkedHashMap<>();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static List<EntityChange> toChanges(Map<EntityKey, EntityChange.Operation> batch) {
+        return batch.entrySet().stream()
+                .map(entry -> new EntityChange(entry.getKey().entity(), entry.getKey().id(), entry.getValue()))
+                .toList();
+    }
+
+    private record EntityKey(EntityChange.ChangedEntity entity, long id) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.infiniterecipebook.services.changes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Feeds changes made on other nodes into this node's {@link ChangeEventStream}.
+ *
+ * Remote changes go through the same stream as local ones, so they are applied by the same
+ * consumers with the same batching. A resync request from another node, or a gap in the
+ * transport, makes every consumer rebuild from the database.
+ */
+@Slf4j
+public class InvalidationSubscriber implements SmartLifecycle, MeterBinder, InvalidationBus.Listener {
+
+    private final InvalidationBus bus;
+    private final ChangeEventStream changeEventStream;
+    private final String nodeId;
+
+    private volatile boolean running;
+    private Counter received;
+
+    public InvalidationSubscriber(InvalidationBus bus, ChangeEventStream changeEventStream, String nodeId) {
+        this.bus = bus;
+        this.changeEventStream = changeEventStream;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        received = Counter.builder("recipe.invalidation.messages")
+                .description("Invalidation messages exchanged with other nodes")
+                .tag("direction", "received")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        bus.listen(this);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        bus.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void onMessage(String payload) {
+        InvalidationMessages.Message message;
+        try {
+            message = InvalidationMessages.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (message.nodeId().equals(nodeId)) {
+            return;
+        }
+        if (received != null) {
+            received.increment();
+        }
+        if (message.resync()) {
+            log.info("Node {} asked for a resync", message.nodeId());
+            changeEventStream.requestResync();
+        } else {
+            changeEventStream.publish(message.changes());
+        }
+    }
+
+    @Override
+    public void onGap() {
+        changeEventStream.requestResync();
+    }
+}
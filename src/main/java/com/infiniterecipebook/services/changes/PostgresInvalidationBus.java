@@ -0,0 +1,133 @@
+package com.infiniterecipebook.services.changes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Invalidation bus over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ *
+ * Messages are sent with {@code pg_notify} on a pooled connection. Listening holds a dedicated
+ * connection outside the pool, polled by a daemon thread that blocks until a notification
+ * arrives or the poll timeout passes. Notifications sent while that connection is down are
+ * lost, so a reconnect is reported as a gap.
+ */
+@Slf4j
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    /** NOTIFY payloads must be shorter than 8000 bytes; messages are ASCII. */
+    private static final int MAX_PAYLOAD_LENGTH = 7_999;
+
+    private final DataSource dataSource;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresInvalidationBus(DataSource dataSource, String url, String username, String password,
+                                   String channel, Duration pollTimeout, Duration reconnectDelay) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void send(String payload) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not send invalidation message", e);
+        }
+    }
+
+    @Override
+    public synchronized void listen(Listener listener) {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("invalidation-listener")
+                .daemon()
+                .start(() -> poll(listener));
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public int maxPayloadLength() {
+        return MAX_PAYLOAD_LENGTH;
+    }
+
+    private void poll(Listener listener) {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    log.info("Reconnected to invalidation channel {}", channel);
+                    listener.onGap();
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        deliver(listener, notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost invalidation channel {}, reconnecting in {}: {}", channel, reconnectDelay,
+                        e.getMessage());
+            }
+            reconnecting = true;
+            try {
+                Thread.sleep(reconnectDelay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void deliver(Listener listener, String payload) {
+        try {
+            listener.onMessage(payload);
+        } catch (RuntimeException e) {
+            log.warn("Failed to handle invalidation message", e);
+        }
+    }
+}
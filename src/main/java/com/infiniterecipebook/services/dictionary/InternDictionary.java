@@ -0,0 +1,169 @@
+package com.infiniterecipebook.services.dictionary;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only dictionary mapping low-cardinality strings to dense int ids and back.
+ *
+ * Each distinct value is stored once; {@link #intern(String)} hands out that canonical
+ * instance so equal strings loaded from different rows share memory. Lookups are lock-free,
+ * only the first sighting of a value takes the lock. The dictionary stops growing at its
+ * capacity, after which unseen values are passed through unencoded.
+ */
+public final class InternDictionary {
+
+    /** Returned by {@link #encode(String)} for null values and values that did not fit. */
+    public static final int NOT_ENCODED = -1;
+
+    private final String name;
+    private final int capacity;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[64];
+    private int size;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates an empty dictionary.
+     * @param name used in diagnostics only
+     * @param capacity the maximum number of distinct values
+     */
+    public InternDictionary(String name, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the id of a value, assigning the next free id on first sight.
+     * @param value the value, may be null
+     * @return the id, or {@link #NOT_ENCODED} when the value is null or the dictionary is full
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NOT_ENCODED;
+        }
+        Integer id = ids.get(value);
+        if (id != null) {
+            hits.increment();
+            return id;
+        }
+        misses.increment();
+        return add(value);
+    }
+
+    /**
+     * Returns the id of a value without adding it.
+     * @param value the value, may be null
+     * @return the id, or {@link #NOT_ENCODED} when the value has not been encoded
+     */
+    public int find(String value) {
+        if (value == null) {
+            return NOT_ENCODED;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : NOT_ENCODED;
+    }
+
+    /**
+     * Encodes every value of a list.
+     * @param values the values, may be null
+     * @return one id per value, empty when the list is null
+     */
+    public int[] encodeAll(List<String> values) {
+        if (values == null) {
+            return new int[0];
+        }
+        int[] encoded = new int[values.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encode(values.get(i));
+        }
+        return encoded;
+    }
+
+    /**
+     * Returns the canonical instance of a value.
+     * @param value the value, may be null
+     * @return the shared instance equal to {@code value}, or {@code value} itself when it could not be encoded
+     */
+    public String intern(String value) {
+        int id = encode(value);
+        return id == NOT_ENCODED ? value : values[id];
+    }
+
+    /**
+     * Returns the value of an id.
+     * @param id an id returned by {@link #encode(String)}
+     * @return the canonical value, null for {@link #NOT_ENCODED}
+     */
+    public String decode(int id) {
+        if (id == NOT_ENCODED) {
+            return null;
+        }
+        String[] current = values;
+        if (id < 0 || id >= current.length || current[id] == null) {
+            throw new IllegalArgumentException("Unknown " + name + " id: " + id);
+        }
+        return current[id];
+    }
+
+    /**
+     * Returns the number of distinct values encoded so far.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Returns the maximum number of distinct values.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the name given at construction.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns how many {@link #encode(String)} calls found their value already encoded.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many {@link #encode(String)} calls had to add their value, or could not.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == capacity) {
+            return NOT_ENCODED;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, Math.min(capacity, current.length * 2));
+        }
+        int id = size++;
+        current[id] = value;
+        // Publish the array before the id so any reader holding the id can decode it.
+        values = current;
+        ids.put(value, id);
+        return id;
+    }
+}
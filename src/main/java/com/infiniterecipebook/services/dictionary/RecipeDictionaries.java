@@ -0,0 +1,105 @@
+package com.infiniterecipebook.services.dictionary;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared dictionaries for the low-cardinality strings repeated across recipes: ingredient
+ * units and recipe tags.
+ *
+ * Loaded entities are interned so every occurrence of a unit or tag points at one canonical
+ * string, and caches and indexes can key on the int ids instead of the strings.
+ */
+@Component
+public class RecipeDictionaries implements MeterBinder {
+
+    private final InternDictionary units;
+    private final InternDictionary tags;
+
+    public RecipeDictionaries(RecipeBookProperties properties) {
+        RecipeBookProperties.Interning interning = properties.getInterning();
+        this.units = new InternDictionary("unit", interning.getMaxUnits());
+        this.tags = new InternDictionary("tag", interning.getMaxTags());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (InternDictionary dictionary : List.of(units, tags)) {
+            Gauge.builder("recipe.dictionary.size", dictionary, InternDictionary::size)
+                    .description("Distinct values interned")
+                    .tag("dictionary", dictionary.name())
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", dictionary, InternDictionary::hits)
+                    .tag("cache", dictionary.name() + "-dictionary")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", dictionary, InternDictionary::misses)
+                    .tag("cache", dictionary.name() + "-dictionary")
+                    .tag("result", "miss")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Returns the unit dictionary.
+     */
+    public InternDictionary units() {
+        return units;
+    }
+
+    /**
+     * Returns the tag dictionary.
+     */
+    public InternDictionary tags() {
+        return tags;
+    }
+
+    /**
+     * Replaces the tags of a recipe and the units of its ingredient lines with their canonical
+     * instances. Ingredient lines are only touched when already initialized.
+     * @param recipe the recipe
+     */
+    public void intern(Recipe recipe) {
+        internTags(recipe);
+        List<RecipeIngredient> ingredients = recipe.getIngredients();
+        if (ingredients != null && Hibernate.isInitialized(ingredients)) {
+            ingredients.forEach(this::intern);
+        }
+    }
+
+    /**
+     * Replaces the unit of an ingredient line with its canonical instance.
+     * @param recipeIngredient the ingredient line
+     */
+    public void intern(RecipeIngredient recipeIngredient) {
+        recipeIngredient.setUnit(units.intern(recipeIngredient.getUnit()));
+    }
+
+    /**
+     * Replaces the tags of a recipe with their canonical instances, without loading ingredients.
+     * @param recipe the recipe
+     */
+    public void internTags(Recipe recipe) {
+        List<String> recipeTags = recipe.getTags();
+        if (recipeTags == null || recipeTags.isEmpty()) {
+            return;
+        }
+        try {
+            recipeTags.replaceAll(tags::intern);
+        } catch (UnsupportedOperationException e) {
+            List<String> interned = new ArrayList<>(recipeTags.size());
+            recipeTags.forEach(tag -> interned.add(tags.intern(tag)));
+            recipe.setTags(interned);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.infiniterecipebook.services.dictionary;
+
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate event listener interning units and tags as recipes are loaded.
+ *
+ * Interned values are equal to the loaded ones, so dirty checking never sees a change.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeInterningListener implements PostLoadEventListener {
+
+    private final RecipeDictionaries recipeDictionaries;
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof RecipeIngredient recipeIngredient) {
+            recipeDictionaries.intern(recipeIngredient);
+        } else if (entity instanceof Recipe recipe) {
+            recipeDictionaries.internTags(recipe);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.infiniterecipebook.services.execution;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the blocking calls a generate request fans out to, such as generator backends.
+ *
+ * In virtual thread mode every task gets its own virtual thread, so fan-out is bounded only by
+ * the downstream limits. In platform mode tasks share a fixed pool of platform threads.
+ * Deliberately not an {@link java.util.concurrent.Executor} bean, so Spring Boot keeps its own
+ * application task executor.
+ */
+public final class FanOutExecutor implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+
+    private FanOutExecutor(ExecutorService executor, boolean virtual) {
+        this.executor = executor;
+        this.virtual = virtual;
+    }
+
+    /**
+     * Creates an executor starting one virtual thread per task.
+     */
+    public static FanOutExecutor virtualThreads() {
+        return new FanOutExecutor(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("fan-out-", 0).factory()), true);
+    }
+
+    /**
+     * Creates an executor backed by a fixed pool of platform threads.
+     * @param threads the pool size
+     */
+    public static FanOutExecutor platformThreads(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "fan-out-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new FanOutExecutor(Executors.newFixedThreadPool(threads, factory), false);
+    }
+
+    /**
+     * Starts a blocking task.
+     * @param task the task
+     * @return a future completed with the task's result or exception
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Whether tasks run on virtual threads.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,92 @@
+package com.infiniterecipebook.services.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, through JFR's
+ * {@code jdk.VirtualThreadPinned} event.
+ *
+ * A virtual thread pins when it blocks inside a {@code synchronized} block or a native frame;
+ * while pinned it holds a carrier thread and the other virtual threads get fewer carriers. Each
+ * event over the threshold is counted in {@code jvm.threads.virtual.pinned} and logged with the
+ * top of its stack, which names the monitor to replace with a {@code ReentrantLock}.
+ */
+@Slf4j
+public class PinnedThreadMonitor implements SmartLifecycle, MeterBinder {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private volatile RecordingStream stream;
+    private volatile Counter pinned;
+
+    public PinnedThreadMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than the reporting threshold")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        Counter counter = pinned;
+        if (counter != null) {
+            counter.increment();
+        }
+        if (log.isWarnEnabled()) {
+            log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), topFrames(event));
+        }
+    }
+
+    private static String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t<no stack trace>";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,214 @@
+package com.infiniterecipebook.services.generation;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.enums.RecipeSource;
+import com.infiniterecipebook.services.execution.FanOutExecutor;
+import com.infiniterecipebook.services.matching.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls the {@link RecipeGenerator} for several candidates of a request at once, hedging slow calls.
+ *
+ * Each candidate is one call on the {@link FanOutExecutor}. A call still running after the
+ * tracked p95 latency of successful calls gets a second, identical attempt, and the first
+ * attempt to succeed wins. Hedging at p95 adds about 5% more calls and removes most of the
+ * tail beyond it. A failed attempt triggers the hedge at once. Results are collected until the
+ * request deadline; candidates still running then are abandoned.
+ */
+@Component
+@Slf4j
+public class GenerationFanOut {
+
+    private final RecipeGenerator generator;
+    private final FanOutExecutor executor;
+    private final RecipeBookProperties.Generation settings;
+    private final LatencyTracker latencies;
+    private final Timer callTimer;
+    private final Counter hedges;
+    private final Counter hedgeWins;
+    private final Counter failures;
+
+    public GenerationFanOut(RecipeGenerator generator, FanOutExecutor executor, RecipeBookProperties properties,
+                            MeterRegistry registry) {
+        this.generator = generator;
+        this.executor = executor;
+        this.settings = properties.getGeneration();
+        this.latencies = new LatencyTracker(settings.getHedgePercentile(), settings.getInitialHedgeDelay().toNanos());
+        this.callTimer = Timer.builder("recipe.generator.call")
+                .description("Latency of successful generator calls, hedged attempts included")
+                .register(registry);
+        this.hedges = Counter.builder("recipe.generator.hedges")
+                .description("Hedged attempts started because a generator call was slow or failed")
+                .register(registry);
+        this.hedgeWins = Counter.builder("recipe.generator.hedges.won")
+                .description("Hedged attempts that finished before the original call")
+                .register(registry);
+        this.failures = Counter.builder("recipe.generator.failures")
+                .description("Candidates for which every attempt failed")
+                .register(registry);
+        Gauge.builder("recipe.generator.hedge.delay", latencies, tracker -> tracker.percentileNanos() / 1e6)
+                .description("Current hedge delay in milliseconds")
+                .register(registry);
+    }
+
+    /**
+     * Returns the source reported for generated recipes.
+     */
+    public RecipeSource source() {
+        return generator.source();
+    }
+
+    /**
+     * Starts the configured number of candidates for a request.
+     * @param prompt the request prompt; the variant is set per candidate
+     * @return the running candidates
+     */
+    public PendingGeneration start(GenerationPrompt prompt) {
+        List<CompletableFuture<RecipeDto>> candidates = new ArrayList<>(settings.getCandidates());
+        for (int variant = 0; variant < settings.getCandidates(); variant++) {
+            candidates.add(hedged(prompt.withVariant(variant)));
+        }
+        return new PendingGeneration(candidates);
+    }
+
+    /**
+     * Returns the delay after which a call is hedged.
+     */
+    long hedgeDelayNanos() {
+        return Math.max(settings.getMinHedgeDelay().toNanos(), latencies.percentileNanos());
+    }
+
+    private CompletableFuture<RecipeDto> hedged(GenerationPrompt prompt) {
+        CompletableFuture<RecipeDto> result = new CompletableFuture<>();
+        Attempts attempts = new Attempts(prompt, result);
+        attempts.start();
+        Executor delayed = CompletableFuture.delayedExecutor(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        delayed.execute(attempts::hedge);
+        return result;
+    }
+
+    /**
+     * The original call and the hedges of one candidate, racing to complete the same future.
+     */
+    private final class Attempts {
+        private final GenerationPrompt prompt;
+        private final CompletableFuture<RecipeDto> result;
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        Attempts(GenerationPrompt prompt, CompletableFuture<RecipeDto> result) {
+            this.prompt = prompt;
+            this.result = result;
+        }
+
+        void start() {
+            started.set(1);
+            launch(false);
+        }
+
+        /**
+         * Starts another attempt unless the candidate is done or out of hedges.
+         * @return whether an attempt was started
+         */
+        boolean hedge() {
+            int count;
+            do {
+                count = started.get();
+                if (settled.get() || result.isDone() || count > settings.getMaxHedges()) {
+                    return false;
+                }
+            } while (!started.compareAndSet(count, count + 1));
+            hedges.increment();
+            launch(true);
+            return true;
+        }
+
+        private void launch(boolean hedge) {
+            long start = System.nanoTime();
+            executor.submit(() -> generator.generate(prompt)).whenComplete((recipe, error) -> {
+                if (error == null) {
+                    long elapsed = System.nanoTime() - start;
+                    latencies.record(elapsed);
+                    callTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                    if (settled.compareAndSet(false, true)) {
+                        if (hedge) {
+                            hedgeWins.increment();
+                        }
+                        result.complete(recipe);
+                    }
+                    return;
+                }
+                log.debug("Generator call for variant {} failed", prompt.variant(), error);
+                // Give up only once no other attempt is running and none can be started
+                if (failed.incrementAndGet() == started.get() && !hedge() && failed.get() == started.get()
+                        && settled.compareAndSet(false, true)) {
+                    failures.increment();
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+    }
+
+    /**
+     * The candidates of one request.
+     */
+    public static final class PendingGeneration {
+
+        private final List<CompletableFuture<RecipeDto>> candidates;
+
+        PendingGeneration(List<CompletableFuture<RecipeDto>> candidates) {
+            this.candidates = candidates;
+        }
+
+        /**
+         * Waits for the candidates until the deadline, in fan-out order.
+         * @param deadline when to stop waiting
+         * @return the recipes generated in time, and whether every candidate finished
+         */
+        public Outcome await(Deadline deadline) {
+            List<RecipeDto> recipes = new ArrayList<>(candidates.size());
+            boolean complete = true;
+            for (CompletableFuture<RecipeDto> candidate : candidates) {
+                try {
+                    recipes.add(candidate.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    complete = false;
+                    candidate.cancel(false);
+                } catch (ExecutionException e) {
+                    // Every attempt failed; the request goes on with the other candidates
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    complete = false;
+                    break;
+                }
+            }
+            return new Outcome(recipes, complete);
+        }
+    }
+
+    /**
+     * Recipes collected from a fan-out.
+     *
+     * @param recipes the recipes generated before the deadline
+     * @param complete false when the deadline cut some candidates off
+     */
+    public record Outcome(List<RecipeDto> recipes, boolean complete) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.infiniterecipebook.services.generation;
+
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.RecipePreferencesDto;
+import com.infiniterecipebook.enums.MealType;
+
+import java.util.List;
+
+/**
+ * Input of one {@link RecipeGenerator} call.
+ *
+ * @param ingredients the ingredients the user has, as supplied
+ * @param mealType the requested meal type, may be null
+ * @param preferences the user's preferences, never null
+ * @param variant index of the candidate within the request's fan-out; backends should return
+ *                different recipes for different variants of the same request
+ */
+public record GenerationPrompt(List<IngredientInputDto> ingredients, MealType mealType,
+                               RecipePreferencesDto preferences, int variant) {
+
+    /**
+     * Returns the same prompt for another candidate variant.
+     */
+    public GenerationPrompt withVariant(int variant) {
+        return new GenerationPrompt(ingredients, mealType, preferences, variant);
+    }
+}
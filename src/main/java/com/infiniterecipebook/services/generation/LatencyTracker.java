@@ -0,0 +1,52 @@
+package com.infiniterecipebook.services.generation;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window of recent call latencies with a cached percentile.
+ *
+ * Samples go into a fixed ring buffer with one atomic write each. The percentile is recomputed
+ * from a copy of the window every {@value #RECOMPUTE_EVERY} samples, so readers only ever read
+ * a volatile field. Until the window holds {@value #MIN_SAMPLES} samples, the configured
+ * initial value is reported.
+ */
+final class LatencyTracker {
+
+    static final int WINDOW = 512;
+    static final int RECOMPUTE_EVERY = 32;
+    static final int MIN_SAMPLES = 20;
+
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private volatile long percentileNanos;
+
+    LatencyTracker(double percentile, long initialNanos) {
+        this.percentile = percentile;
+        this.percentileNanos = initialNanos;
+    }
+
+    void record(long nanos) {
+        long sequence = recorded.getAndIncrement();
+        samples.set((int) (sequence % WINDOW), nanos);
+        long count = sequence + 1;
+        if (count >= MIN_SAMPLES && (count < WINDOW ? count % 4 == 0 : count % RECOMPUTE_EVERY == 0)) {
+            recompute((int) Math.min(count, WINDOW));
+        }
+    }
+
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(int size) {
+        long[] window = new long[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = samples.get(i);
+        }
+        Arrays.sort(window);
+        percentileNanos = window[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+    }
+}
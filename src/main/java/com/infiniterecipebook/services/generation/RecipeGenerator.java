@@ -0,0 +1,28 @@
+package com.infiniterecipebook.services.generation;
+
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.enums.RecipeSource;
+
+/**
+ * Backend producing new recipes for a generate request, such as a language model.
+ *
+ * Implementations are called from fan-out threads, possibly several times at once for the same
+ * prompt when a slow call is hedged, so they must be thread safe. Calls may block; the caller
+ * bounds them with the request deadline. To plug in a backend, declare it as a bean; the local
+ * stub then backs off.
+ */
+public interface RecipeGenerator {
+
+    /**
+     * Returns the source reported in the response metadata for recipes from this backend.
+     */
+    RecipeSource source();
+
+    /**
+     * Generates one recipe.
+     * @param prompt the available ingredients, preferences and candidate variant
+     * @return the recipe, without id; its ingredients should be marked available or not
+     * @throws Exception when the backend fails; the call counts as a failed attempt
+     */
+    RecipeDto generate(GenerationPrompt prompt) throws Exception;
+}
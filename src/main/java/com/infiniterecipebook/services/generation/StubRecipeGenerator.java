@@ -0,0 +1,127 @@
+package com.infiniterecipebook.services.generation;
+
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipeIngredientDto;
+import com.infiniterecipebook.dto.RecipeInstructionDto;
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.enums.RecipeSource;
+import com.infiniterecipebook.services.matching.IngredientNameIndex;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for a generator backend.
+ *
+ * The recipe depends only on the prompt: the same ingredients, meal type and variant always give
+ * the same recipe, so tests and benchmarks are reproducible. Latency is not deterministic, on
+ * purpose: each call sleeps for the base latency, and a configurable share of calls sleeps for
+ * the slow latency instead, which gives the tail that hedging is meant to cut.
+ */
+public class StubRecipeGenerator implements RecipeGenerator {
+
+    private static final String[] STYLES = {"Rustic", "Quick", "Herbed", "Roasted", "Spiced", "Creamy", "Smoky", "Zesty"};
+    private static final String[][] DISHES = {
+            {"Scramble", "Hash", "Skillet"},
+            {"Bowl", "Salad", "Wrap"},
+            {"Skillet", "Stew", "Bake"},
+            {"Bites", "Toast", "Dip"},
+            {"Crumble", "Compote", "Parfait"}};
+    private static final int MAX_INGREDIENTS = 6;
+
+    private final Duration latency;
+    private final Duration slowLatency;
+    private final double slowCallRate;
+
+    public StubRecipeGenerator(Duration latency, Duration slowLatency, double slowCallRate) {
+        this.latency = latency;
+        this.slowLatency = slowLatency;
+        this.slowCallRate = slowCallRate;
+    }
+
+    @Override
+    public RecipeSource source() {
+        return RecipeSource.MOCK;
+    }
+
+    @Override
+    public RecipeDto generate(GenerationPrompt prompt) throws InterruptedException {
+        Duration delay = ThreadLocalRandom.current().nextDouble() < slowCallRate ? slowLatency : latency;
+        if (!delay.isZero()) {
+            Thread.sleep(delay);
+        }
+        return compose(prompt);
+    }
+
+    /**
+     * Builds the recipe for a prompt without any delay.
+     */
+    RecipeDto compose(GenerationPrompt prompt) {
+        List<IngredientInputDto> available = prompt.ingredients();
+        SplittableRandom random = new SplittableRandom(seed(prompt));
+        MealType mealType = prompt.mealType() != null ? prompt.mealType() : MealType.DINNER;
+
+        // Rotate by variant so each candidate leads with a different ingredient
+        int count = Math.min(MAX_INGREDIENTS, available.size());
+        List<RecipeIngredientDto> ingredients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            IngredientInputDto input = available.get((i + prompt.variant()) % available.size());
+            ingredients.add(RecipeIngredientDto.builder()
+                    .name(input.getName().trim().toLowerCase(Locale.ROOT))
+                    .quantity(input.getQuantity() != null ? input.getQuantity() : BigDecimal.ONE)
+                    .unit(input.getUnit())
+                    .isRequired(i == 0)
+                    .isAvailable(true)
+                    .build());
+        }
+        String lead = ingredients.isEmpty() ? "Pantry" : capitalize(ingredients.get(0).getName());
+        String[] dishes = DISHES[mealType.ordinal()];
+        String dish = dishes[random.nextInt(dishes.length)];
+        String name = STYLES[random.nextInt(STYLES.length)] + " " + lead + " " + dish;
+
+        Integer maxCookingTime = prompt.preferences().getMaxCookingTime();
+        int cookingTime = 10 + 5 * count + 5 * random.nextInt(4);
+        if (maxCookingTime != null) {
+            cookingTime = Math.min(cookingTime, maxCookingTime);
+        }
+        Integer servings = prompt.preferences().getServings();
+        List<String> restrictions = prompt.preferences().getDietaryRestrictions();
+
+        return RecipeDto.builder()
+                .name(name)
+                .description("A " + dish.toLowerCase(Locale.ROOT) + " built around what you already have.")
+                .mealType(mealType)
+                .cookingTime(cookingTime)
+                .difficulty(prompt.preferences().getDifficulty() != null ? prompt.preferences().getDifficulty()
+                        : Difficulty.EASY)
+                .servings(servings != null ? servings : 2)
+                .ingredients(ingredients)
+                .instructions(List.of(
+                        RecipeInstructionDto.builder().step(1).description("Prepare and measure the ingredients.").build(),
+                        RecipeInstructionDto.builder().step(2).description("Cook the " + lead.toLowerCase(Locale.ROOT)
+                                + " until done, then add the rest.").build(),
+                        RecipeInstructionDto.builder().step(3).description("Season to taste and serve.").build()))
+                .tags(restrictions != null ? List.copyOf(restrictions) : List.of())
+                .build();
+    }
+
+    private static long seed(GenerationPrompt prompt) {
+        long seed = 1125899906842597L;
+        for (IngredientInputDto ingredient : prompt.ingredients()) {
+            seed = 31 * seed + IngredientNameIndex.normalize(ingredient.getName()).hashCode();
+        }
+        seed = 31 * seed + (prompt.mealType() != null ? prompt.mealType().ordinal() + 1 : 0);
+        return 31 * seed + prompt.variant();
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
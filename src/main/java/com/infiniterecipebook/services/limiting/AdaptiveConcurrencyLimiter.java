@@ -0,0 +1,193 @@
+package com.infiniterecipebook.services.limiting;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of requests in flight with an AIMD limit driven by generate latency.
+ *
+ * Every completed generate request is a latency sample. A sample above {@code latency-target}
+ * shrinks the limit by {@code backoff-ratio}, at most once per target interval so that one
+ * burst of slow requests counts as a single congestion signal. Fast samples taken while at
+ * least half the limit was in use grow it by one per limit's worth of completions.
+ *
+ * The generate lane may only use the limit minus a {@code priority-reserve} share; the
+ * priority lane for cheap reads may use all of it, so ingredient lookups and recipe reads
+ * are still served while generate requests are being shed.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    /**
+     * Admission lane of a request.
+     */
+    public enum Lane {
+        /** Expensive generate requests; shed first. */
+        GENERATE,
+        /** Cheap reads that keep the reserved share of the limit. */
+        PRIORITY
+    }
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final double priorityReserve;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder[] rejections = new LongAdder[Lane.values().length];
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(RecipeBookProperties properties) {
+        RecipeBookProperties.ConcurrencyLimit settings = properties.getConcurrencyLimit();
+        this.enabled = settings.isEnabled();
+        this.minLimit = settings.getMinLimit();
+        this.maxLimit = settings.getMaxLimit();
+        this.latencyTargetNanos = settings.getLatencyTarget().toNanos();
+        this.backoffRatio = settings.getBackoffRatio();
+        this.priorityReserve = settings.getPriorityReserve();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, settings.getInitialLimit()));
+        this.lastDecreaseNanos = System.nanoTime() - latencyTargetNanos;
+        for (Lane lane : Lane.values()) {
+            rejections[lane.ordinal()] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recipe.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("recipe.limiter.inflight", inFlight, AtomicInteger::get)
+                .description("Limited requests in progress")
+                .register(registry);
+        for (Lane lane : Lane.values()) {
+            LongAdder rejected = rejections[lane.ordinal()];
+            // Function counter so the rejection path stays a single LongAdder increment
+            FunctionCounter.builder("recipe.limiter.rejected", rejected, LongAdder::sum)
+                    .description("Requests rejected with 503 because the concurrency limit was reached")
+                    .tag("lane", lane.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Tries to admit a request.
+     * @param lane the request's lane
+     * @return a permit to release when the request completes, or null when the request must be rejected
+     */
+    public Permit tryAcquire(Lane lane) {
+        if (!enabled) {
+            return Permit.NOOP;
+        }
+        int capacity = capacity(lane);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= capacity) {
+                rejections[lane.ordinal()].increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(this, lane, current + 1, System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Returns the current limit, rounded down.
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of admitted requests still in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of requests rejected in a lane since startup.
+     */
+    public long getRejections(Lane lane) {
+        return rejections[lane.ordinal()].sum();
+    }
+
+    int capacity(Lane lane) {
+        int current = (int) limit;
+        if (lane == Lane.PRIORITY) {
+            return current;
+        }
+        return Math.max(1, (int) (current * (1 - priorityReserve)));
+    }
+
+    /**
+     * Adjusts the limit from one generate latency sample.
+     * @param latencyNanos the request latency
+     * @param inFlightAtStart requests in flight when the sampled request was admitted
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    synchronized void onSample(long latencyNanos, int inFlightAtStart, long nowNanos) {
+        if (latencyNanos > latencyTargetNanos) {
+            if (nowNanos - lastDecreaseNanos >= latencyTargetNanos) {
+                double previous = limit;
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+                log.debug("Generate latency {} ms over target, concurrency limit {} -> {}",
+                        latencyNanos / 1_000_000, (int) previous, (int) limit);
+            }
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    private void release(Permit permit) {
+        inFlight.decrementAndGet();
+        if (permit.lane == Lane.GENERATE) {
+            long now = System.nanoTime();
+            onSample(now - permit.startNanos, permit.inFlightAtStart, now);
+        }
+    }
+
+    /**
+     * Admission of one request; release it exactly once when the request completes.
+     */
+    public static final class Permit {
+
+        static final Permit NOOP = new Permit(null, null, 0, 0);
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final Lane lane;
+        private final int inFlightAtStart;
+        private final long startNanos;
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, Lane lane, int inFlightAtStart, long startNanos) {
+            this.limiter = limiter;
+            this.lane = lane;
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Returns the request's slot to the limiter and, for generate requests, feeds its latency back.
+         */
+        public void release() {
+            if (limiter != null) {
+                limiter.release(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.infiniterecipebook.services.limiting;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client token buckets enforcing the request limits of the API specification.
+ *
+ * Each bucket is a single {@code long}, the theoretical arrival time of the next request
+ * (GCRA): a request is admitted when advancing it by one emission interval stays within one
+ * window of now. Refill is therefore implicit in the clock and a check is one map lookup and
+ * one compare-and-set per limit, without locks. Buckets live in a {@link ConcurrentHashMap},
+ * whose bins are the stripes, so clients never contend with each other.
+ *
+ * A bucket whose arrival times are all in the past is full and carries no state, so the
+ * periodic sweep drops it. Past {@code max-clients} tracked clients, new clients share one
+ * overflow bucket until the next sweep frees space.
+ */
+@Component
+@Slf4j
+public class ClientRateLimiter implements MeterBinder {
+
+    static final String OVERFLOW_CLIENT = "<overflow>";
+
+    private static final long MIN_SWEEP_SPACING_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final int[] capacities;
+    private final long[] intervalNanos;
+    private final long[] windowNanos;
+    private final int maxClients;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    public ClientRateLimiter(RecipeBookProperties properties) {
+        RecipeBookProperties.RateLimit settings = properties.getRateLimit();
+        List<RecipeBookProperties.RateLimit.Limit> limits = settings.getLimits();
+        this.enabled = settings.isEnabled() && !limits.isEmpty();
+        this.capacities = new int[limits.size()];
+        this.intervalNanos = new long[limits.size()];
+        this.windowNanos = new long[limits.size()];
+        for (int i = 0; i < limits.size(); i++) {
+            RecipeBookProperties.RateLimit.Limit limit = limits.get(i);
+            capacities[i] = limit.getRequests();
+            windowNanos[i] = limit.getWindow().toNanos();
+            intervalNanos[i] = windowNanos[i] / limit.getRequests();
+        }
+        this.maxClients = settings.getMaxClients();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recipe.ratelimit.clients", buckets, Map::size)
+                .description("Clients with a partially used rate limit bucket")
+                .register(registry);
+        FunctionCounter.builder("recipe.ratelimit.rejected", rejected, LongAdder::sum)
+                .description("Requests rejected with 429 because the client exceeded its rate limit")
+                .register(registry);
+    }
+
+    /**
+     * Whether requests are checked at all.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Consumes one request from a client's buckets.
+     * @param clientId the client identity
+     * @return the decision, with the state of the most restrictive limit
+     */
+    public Decision tryConsume(String clientId) {
+        return tryConsume(clientId, System.nanoTime());
+    }
+
+    Decision tryConsume(String clientId, long now) {
+        Bucket bucket = bucketOf(clientId, now);
+        int tightest = 0;
+        long tightestRemaining = Long.MAX_VALUE;
+        long tightestResetNanos = 0;
+        for (int i = 0; i < capacities.length; i++) {
+            long interval = intervalNanos[i];
+            long window = windowNanos[i];
+            long arrival;
+            long next;
+            do {
+                arrival = bucket.arrivals.get(i);
+                next = Math.max(arrival, now) + interval;
+                if (next - now > window) {
+                    refund(bucket, i);
+                    rejected.increment();
+                    long retryAfter = next - now - window;
+                    return new Decision(false, capacities[i], 0, seconds(Math.max(arrival, now) - now),
+                            seconds(retryAfter));
+                }
+            } while (!bucket.arrivals.compareAndSet(i, arrival, next));
+            long remaining = (window - (next - now)) / interval;
+            if (remaining < tightestRemaining) {
+                tightest = i;
+                tightestRemaining = remaining;
+                tightestResetNanos = next - now;
+            }
+        }
+        return new Decision(true, capacities[tightest], tightestRemaining, seconds(tightestResetNanos), 0);
+    }
+
+    /**
+     * Returns the number of clients currently tracked.
+     */
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    /**
+     * Scheduled entry point dropping the buckets of clients that have been idle long enough to refill.
+     */
+    @Scheduled(fixedDelayString = "${recipe-book.rate-limit.eviction-interval:PT1M}",
+            initialDelayString = "${recipe-book.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        int evicted = evictIdle(System.nanoTime());
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} remain", evicted, buckets.size());
+        }
+    }
+
+    /**
+     * Drops full buckets. A request racing with the removal may go uncounted once,
+     * which is acceptable for a limiter of this precision.
+     * @return the number of buckets dropped
+     */
+    int evictIdle(long now) {
+        lastSweepNanos.set(now);
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        return before - buckets.size();
+    }
+
+    private Bucket bucketOf(String clientId, long now) {
+        Bucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            long lastSweep = lastSweepNanos.get();
+            if (now - lastSweep >= MIN_SWEEP_SPACING_NANOS && lastSweepNanos.compareAndSet(lastSweep, now)) {
+                evictIdle(now);
+            }
+            if (buckets.size() >= maxClients) {
+                return buckets.computeIfAbsent(OVERFLOW_CLIENT, id -> new Bucket(capacities.length, now));
+            }
+        }
+        return buckets.computeIfAbsent(clientId, id -> new Bucket(capacities.length, now));
+    }
+
+    /**
+     * Gives back the requests already taken from the limits checked before the one that rejected.
+     */
+    private void refund(Bucket bucket, int rejectedLimit) {
+        for (int i = 0; i < rejectedLimit; i++) {
+            bucket.arrivals.addAndGet(i, -intervalNanos[i]);
+        }
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Outcome of a rate limit check.
+     *
+     * @param allowed whether the request may proceed
+     * @param limit capacity of the most restrictive limit
+     * @param remaining requests left in that limit
+     * @param resetSeconds seconds until that limit is full again
+     * @param retryAfterSeconds seconds until a rejected request may be retried, 0 when allowed
+     */
+    public record Decision(boolean allowed, int limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    private static final class Bucket {
+        private final AtomicLongArray arrivals;
+
+        Bucket(int limits, long now) {
+            arrivals = new AtomicLongArray(limits);
+            for (int i = 0; i < limits; i++) {
+                arrivals.set(i, now);
+            }
+        }
+
+        boolean isFull(long now) {
+            for (int i = 0; i < arrivals.length(); i++) {
+                if (arrivals.get(i) - now > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.infiniterecipebook.services.limiting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Admits requests through the {@link AdaptiveConcurrencyLimiter} and rejects the rest with
+ * 503 and {@code Retry-After} before they reach the controllers or the database.
+ *
+ * {@code POST /recipes/generate} and {@code POST /recipes/plan} use the generate lane; {@code /ingredients/*} and
+ * {@code GET /recipes/{id}} use the priority lane. Other endpoints are not limited.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern RECIPE_BY_ID = Pattern.compile("/recipes/\\d+");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper, Duration retryAfter) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Lane lane = laneOf(request);
+        if (lane == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(lane);
+        if (permit == null) {
+            reject(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permit.release();
+        }
+    }
+
+    static AdaptiveConcurrencyLimiter.Lane laneOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if (("/recipes/generate".equals(path) || "/recipes/plan".equals(path))
+                && HttpMethod.POST.matches(request.getMethod())) {
+            return AdaptiveConcurrencyLimiter.Lane.GENERATE;
+        }
+        if (path.startsWith("/ingredients/")
+                || (HttpMethod.GET.matches(request.getMethod()) && RECIPE_BY_ID.matcher(path).matches())) {
+            return AdaptiveConcurrencyLimiter.Lane.PRIORITY;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of("SERVICE_OVERLOADED",
+                "The service is at capacity, retry later", Map.of("retryAfterSeconds", retryAfterSeconds)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.infiniterecipebook.services.limiting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Applies the per-client {@link ClientRateLimiter} to API requests and reports the client's
+ * budget in {@code X-RateLimit-*} headers. Actuator and API documentation paths are exempt.
+ *
+ * The client is identified by the configured header when present, then by the first
+ * {@code X-Forwarded-For} entry when forwarded addresses are trusted, then by the remote address.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final String[] EXEMPT_PREFIXES = {"/actuator", "/swagger-ui", "/v3/api-docs"};
+
+    private final ClientRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String clientIdHeader;
+    private final boolean trustForwardedFor;
+
+    public RateLimitFilter(ClientRateLimiter rateLimiter, ObjectMapper objectMapper,
+                           RecipeBookProperties.RateLimit settings) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.clientIdHeader = StringUtils.hasText(settings.getClientIdHeader()) ? settings.getClientIdHeader() : null;
+        this.trustForwardedFor = settings.isTrustForwardedFor();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!rateLimiter.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : EXEMPT_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ClientRateLimiter.Decision decision = rateLimiter.tryConsume(clientIdOf(request));
+        response.setHeader(LIMIT_HEADER, Integer.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(decision.resetSeconds()));
+        if (decision.allowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of("RATE_LIMITED",
+                "Too many requests, retry later", Map.of("retryAfterSeconds", decision.retryAfterSeconds())));
+    }
+
+    String clientIdOf(HttpServletRequest request) {
+        if (clientIdHeader != null) {
+            String clientId = request.getHeader(clientIdHeader);
+            if (StringUtils.hasText(clientId)) {
+                return clientId.trim();
+            }
+        }
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwardedFor)) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,217 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.models.IngredientAlias;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable open-addressing table from normalized alias names to ingredient ids.
+ *
+ * Keys are stored as UTF-8 bytes, back to back in one array. The slots are a single
+ * {@code long[]} of at most {@value #LOAD_FACTOR_PERCENT}% load, each packing 32 bits of the
+ * key's hash with its index, so a probe reads consecutive longs and only compares bytes when the
+ * hashes agree. Lookups encode the query to UTF-8 on the fly while hashing and comparing, and
+ * allocate nothing.
+ */
+final class AliasTable {
+
+    /** Returned by {@link #get(CharSequence)} for a key not in the table. */
+    static final long NOT_FOUND = -1L;
+
+    private static final int LOAD_FACTOR_PERCENT = 50;
+    private static final AliasTable EMPTY = of(Map.of());
+
+    private final long[] slots;
+    private final int[] keyOffsets;
+    private final byte[] keyBytes;
+    private final long[] ids;
+    private final List<String> keys;
+
+    private AliasTable(long[] slots, int[] keyOffsets, byte[] keyBytes, long[] ids, List<String> keys) {
+        this.slots = slots;
+        this.keyOffsets = keyOffsets;
+        this.keyBytes = keyBytes;
+        this.ids = ids;
+        this.keys = keys;
+    }
+
+    /**
+     * Returns the table without aliases.
+     */
+    static AliasTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles aliases into a table keyed by their normalized form.
+     * When two aliases normalize to the same key, the first one wins.
+     * @param aliases the aliases, in priority order
+     * @return the table
+     */
+    static AliasTable ofAliases(Collection<IngredientAlias> aliases) {
+        Map<String, Long> idsByKey = new LinkedHashMap<>(aliases.size() * 2);
+        for (IngredientAlias alias : aliases) {
+            String key = IngredientNameIndex.normalize(alias.getAlias());
+            if (!key.isEmpty() && alias.getIngredientId() != null) {
+                idsByKey.putIfAbsent(key, alias.getIngredientId());
+            }
+        }
+        return of(idsByKey);
+    }
+
+    /**
+     * Builds a table over normalized keys.
+     * @param idsByKey the keys and their ids
+     * @return the table
+     */
+    static AliasTable of(Map<String, Long> idsByKey) {
+        int size = idsByKey.size();
+        int capacity = Integer.highestOneBit(Math.max(1, size * 100 / LOAD_FACTOR_PERCENT)) << 1;
+        int byteCount = 0;
+        for (String key : idsByKey.keySet()) {
+            byteCount += encodedLength(key);
+        }
+        long[] slots = new long[capacity];
+        int[] keyOffsets = new int[size + 1];
+        byte[] keyBytes = new byte[byteCount];
+        long[] ids = new long[size];
+        int keyIndex = 0;
+        int offset = 0;
+        for (Map.Entry<String, Long> entry : idsByKey.entrySet()) {
+            offset = write(entry.getKey(), keyBytes, offset);
+            keyOffsets[keyIndex + 1] = offset;
+            ids[keyIndex] = entry.getValue();
+            long hash = hash(entry.getKey());
+            int slot = (int) hash & (capacity - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = (hash & 0xFFFFFFFF00000000L) | (keyIndex + 1);
+            keyIndex++;
+        }
+        return new AliasTable(slots, keyOffsets, keyBytes, ids, List.copyOf(idsByKey.keySet()));
+    }
+
+    /**
+     * Returns the id of a normalized key, or {@link #NOT_FOUND}.
+     */
+    long get(CharSequence key) {
+        int mask = slots.length - 1;
+        long hash = hash(key);
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            long entry = slots[slot];
+            if (entry == 0) {
+                return NOT_FOUND;
+            }
+            if ((entry & 0xFFFFFFFF00000000L) == (hash & 0xFFFFFFFF00000000L)) {
+                int keyIndex = (int) entry - 1;
+                if (matches(key, keyOffsets[keyIndex], keyOffsets[keyIndex + 1])) {
+                    return ids[keyIndex];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys.
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns every key, for filters placed in front of the table.
+     */
+    List<String> keys() {
+        return keys;
+    }
+
+    private boolean matches(CharSequence key, int from, int to) {
+        int position = from;
+        for (int i = 0; i < key.length(); ) {
+            int codePoint = Character.codePointAt(key, i);
+            i += Character.charCount(codePoint);
+            long encoded = encode(codePoint);
+            int length = (int) (encoded >>> 32);
+            if (position + length > to) {
+                return false;
+            }
+            for (int b = 0; b < length; b++) {
+                if (keyBytes[position++] != (byte) (encoded >>> (8 * b))) {
+                    return false;
+                }
+            }
+        }
+        return position == to;
+    }
+
+    /**
+     * Returns a well-mixed 64-bit hash of the UTF-8 encoding of a key: FNV-1a over its bytes,
+     * then the MurmurHash3 finalizer.
+     */
+    static long hash(CharSequence key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); ) {
+            int codePoint = Character.codePointAt(key, i);
+            i += Character.charCount(codePoint);
+            long encoded = encode(codePoint);
+            int length = (int) (encoded >>> 32);
+            for (int b = 0; b < length; b++) {
+                hash ^= (encoded >>> (8 * b)) & 0xFF;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return PerfectHashTable.mix(hash);
+    }
+
+    private static int encodedLength(String key) {
+        int length = 0;
+        for (int i = 0; i < key.length(); ) {
+            int codePoint = key.codePointAt(i);
+            i += Character.charCount(codePoint);
+            length += (int) (encode(codePoint) >>> 32);
+        }
+        return length;
+    }
+
+    private static int write(String key, byte[] out, int offset) {
+        for (int i = 0; i < key.length(); ) {
+            int codePoint = key.codePointAt(i);
+            i += Character.charCount(codePoint);
+            long encoded = encode(codePoint);
+            int length = (int) (encoded >>> 32);
+            for (int b = 0; b < length; b++) {
+                out[offset++] = (byte) (encoded >>> (8 * b));
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Encodes a code point to UTF-8: the byte count in the high 32 bits, the bytes in order from the lowest.
+     * Unpaired surrogates are encoded as themselves, which is consistent for building and lookup.
+     */
+    private static long encode(int codePoint) {
+        long bytes;
+        long length;
+        if (codePoint < 0x80) {
+            bytes = codePoint;
+            length = 1;
+        } else if (codePoint < 0x800) {
+            bytes = (0xC0 | codePoint >>> 6) | (0x80 | codePoint & 0x3F) << 8;
+            length = 2;
+        } else if (codePoint < 0x10000) {
+            bytes = (0xE0 | codePoint >>> 12) | (0x80 | codePoint >>> 6 & 0x3F) << 8
+                    | (0x80 | codePoint & 0x3F) << 16;
+            length = 3;
+        } else {
+            bytes = (0xF0 | codePoint >>> 18) | (0x80 | codePoint >>> 12 & 0x3F) << 8
+                    | (0x80 | codePoint >>> 6 & 0x3F) << 16 | (long) (0x80 | codePoint & 0x3F) << 24;
+            length = 4;
+        }
+        return length << 32 | bytes;
+    }
+}
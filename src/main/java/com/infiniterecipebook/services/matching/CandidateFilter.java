@@ -0,0 +1,87 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.services.dictionary.InternDictionary;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Hard constraints a recipe must satisfy to be scored.
+ *
+ * @param mealType the required meal type, null for any
+ * @param maxCookingTime the maximum cooking time in minutes, null for any; recipes without a
+ *                       cooking time pass
+ * @param difficulty the required difficulty, null for any
+ * @param requiredTagIds sorted tag ids every recipe must carry; {@link InternDictionary#NOT_ENCODED}
+ *                       stands for a tag no recipe has
+ * @param nutrition ranges the nutrition per serving must lie in; recipes whose nutrition for a
+ *                  bounded nutrient is unknown fail
+ */
+public record CandidateFilter(MealType mealType, Integer maxCookingTime, Difficulty difficulty, int[] requiredTagIds,
+                              List<NutritionRange> nutrition) {
+
+    private static final CandidateFilter NONE = new CandidateFilter(null, null, null, new int[0]);
+
+    /**
+     * Creates a filter without nutrition ranges.
+     */
+    public CandidateFilter(MealType mealType, Integer maxCookingTime, Difficulty difficulty, int[] requiredTagIds) {
+        this(mealType, maxCookingTime, difficulty, requiredTagIds, List.of());
+    }
+
+    /**
+     * Returns a filter accepting every recipe.
+     */
+    public static CandidateFilter none() {
+        return NONE;
+    }
+
+    /**
+     * Encodes required tags for a filter, such as the dietary restrictions of a request.
+     * @param tags the tag values, may be null
+     * @param dictionary the tag dictionary
+     * @return the sorted tag ids, {@link InternDictionary#NOT_ENCODED} for unknown tags
+     */
+    public static int[] encodeTags(List<String> tags, InternDictionary dictionary) {
+        int[] tagIds = new int[tags != null ? tags.size() : 0];
+        for (int i = 0; i < tagIds.length; i++) {
+            String tag = tags.get(i);
+            tagIds[i] = tag != null ? dictionary.find(normalizeTag(tag)) : InternDictionary.NOT_ENCODED;
+        }
+        Arrays.sort(tagIds);
+        return tagIds;
+    }
+
+    /**
+     * Returns the form tags are indexed and matched in, trimmed and lower-cased, so a recipe
+     * tagged "Gluten-Free" matches a request for "gluten-free".
+     */
+    static String normalizeTag(String tag) {
+        return tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns whether the recipe in a slot satisfies every constraint.
+     */
+    boolean accepts(RecipeMatchIndex index, int slot) {
+        if (mealType != null && index.mealType(slot) != mealType.ordinal()) {
+            return false;
+        }
+        if (difficulty != null && index.difficulty(slot) != difficulty.ordinal()) {
+            return false;
+        }
+        if (maxCookingTime != null && index.cookingTime(slot) > maxCookingTime) {
+            return false;
+        }
+        int[] tags = index.tagIds(slot);
+        for (int tagId : requiredTagIds) {
+            if (tagId == InternDictionary.NOT_ENCODED || Arrays.binarySearch(tags, tagId) < 0) {
+                return false;
+            }
+        }
+        return nutrition.isEmpty() || index.inRanges(slot, nutrition);
+    }
+}
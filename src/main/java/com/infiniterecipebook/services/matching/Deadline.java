@@ -0,0 +1,54 @@
+package com.infiniterecipebook.services.matching;
+
+import java.time.Duration;
+
+/**
+ * Point in time after which nobody will read the result of a request.
+ *
+ * Stages poll {@link #isExpired()} at coarse intervals and return what they have so far
+ * instead of finishing their work. Based on {@link System#nanoTime()}, so immune to wall-clock
+ * adjustments; a check costs one clock read.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0);
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Returns a deadline the given time from now.
+     * @param timeout the time budget, zero or negative for an already expired deadline
+     * @return the deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + Math.max(0, timeout.toNanos()));
+    }
+
+    /**
+     * Returns a deadline that never expires.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Whether the time budget is used up.
+     */
+    public boolean isExpired() {
+        return this != NONE && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Returns the time left, {@link Duration#ZERO} once expired; a very long duration for {@link #none()}.
+     */
+    public Duration remaining() {
+        if (this == NONE) {
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+}
@@ -0,0 +1,178 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable run of recipe slots in ascending id order, with the inverted index over them.
+ *
+ * A {@link RecipeMatchIndex} is a large base segment plus a small delta segment; slots and
+ * posting lists here are local to the segment. Each line of a slot also records the position of
+ * its ingredient in the segment's ingredient ids, so match weights can be looked up per
+ * ingredient without a search.
+ */
+final class IndexSegment {
+
+    static final IndexSegment EMPTY = new IndexSegment(0, new long[0], new byte[0], new byte[0], new int[0],
+            new int[0], new int[0][], new RecipeQuantities[0]);
+
+    /** Stored in {@link #lineIngredients} for a line whose ingredient is not resolved. */
+    static final int UNRESOLVED = -1;
+
+    final long[] recipeIds;
+    final byte[] mealTypes;
+    final byte[] difficulties;
+    final int[] cookingTimes;
+    final int[] nutrition;
+    final int[][] tagIds;
+    final RecipeQuantities[] quantities;
+
+    final long[] ingredientIds;
+    final int[] postingOffsets;
+    final int[] postings;
+
+    /** Per slot, the position of each line's ingredient in {@link #ingredientIds}, or {@link #UNRESOLVED}. */
+    final int[][] lineIngredients;
+
+    /** Per nutrient, the value and slot of every recipe giving it, packed as {@code value << 32 | slot} and sorted. */
+    private final AtomicReferenceArray<long[]> nutrientOrders =
+            new AtomicReferenceArray<>(RecipeMatchIndex.NUTRIENTS);
+
+    IndexSegment(int size, long[] recipeIds, byte[] mealTypes, byte[] difficulties, int[] cookingTimes,
+                 int[] nutrition, int[][] tagIds, RecipeQuantities[] quantities) {
+        this.recipeIds = Arrays.copyOf(recipeIds, size);
+        this.mealTypes = Arrays.copyOf(mealTypes, size);
+        this.difficulties = Arrays.copyOf(difficulties, size);
+        this.cookingTimes = Arrays.copyOf(cookingTimes, size);
+        this.nutrition = Arrays.copyOf(nutrition, size * RecipeMatchIndex.NUTRIENTS);
+        this.tagIds = Arrays.copyOf(tagIds, size);
+        this.quantities = Arrays.copyOf(quantities, size);
+
+        long[][] distinct = new long[size][];
+        int postingCount = 0;
+        for (int slot = 0; slot < size; slot++) {
+            distinct[slot] = distinctIngredientIds(this.quantities[slot]);
+            postingCount += distinct[slot].length;
+        }
+        long[] allIds = new long[postingCount];
+        int next = 0;
+        for (long[] ids : distinct) {
+            System.arraycopy(ids, 0, allIds, next, ids.length);
+            next += ids.length;
+        }
+        Arrays.sort(allIds);
+        this.ingredientIds = Arrays.stream(allIds).distinct().toArray();
+
+        this.postingOffsets = new int[ingredientIds.length + 1];
+        for (long ingredientId : allIds) {
+            postingOffsets[Arrays.binarySearch(ingredientIds, ingredientId) + 1]++;
+        }
+        for (int i = 0; i < ingredientIds.length; i++) {
+            postingOffsets[i + 1] += postingOffsets[i];
+        }
+        this.postings = new int[allIds.length];
+        int[] fill = Arrays.copyOf(postingOffsets, ingredientIds.length);
+        this.lineIngredients = new int[size][];
+        for (int slot = 0; slot < size; slot++) {
+            for (long ingredientId : distinct[slot]) {
+                postings[fill[Arrays.binarySearch(ingredientIds, ingredientId)]++] = slot;
+            }
+            long[] lines = this.quantities[slot].ingredientIds();
+            int[] positions = new int[lines.length];
+            for (int i = 0; i < lines.length; i++) {
+                positions[i] = lines[i] >= 0 ? Arrays.binarySearch(ingredientIds, lines[i]) : UNRESOLVED;
+            }
+            lineIngredients[slot] = positions;
+        }
+    }
+
+    int size() {
+        return recipeIds.length;
+    }
+
+    /**
+     * Returns the slot of a recipe, or a negative value when the segment does not hold it.
+     */
+    int slotOf(long recipeId) {
+        return Arrays.binarySearch(recipeIds, recipeId);
+    }
+
+    /**
+     * Returns the position of an ingredient in the postings, or a negative value when no recipe uses it.
+     */
+    int ingredientSlot(long ingredientId) {
+        return Arrays.binarySearch(ingredientIds, ingredientId);
+    }
+
+    /**
+     * Returns the number of slots using the ingredient at a position.
+     */
+    int documentFrequency(int ingredientSlot) {
+        return postingOffsets[ingredientSlot + 1] - postingOffsets[ingredientSlot];
+    }
+
+    /**
+     * Returns the number of slots using an ingredient, 0 when none does.
+     */
+    int documentFrequency(long ingredientId) {
+        int ingredientSlot = ingredientSlot(ingredientId);
+        return ingredientSlot >= 0 ? documentFrequency(ingredientSlot) : 0;
+    }
+
+    int nutrient(int slot, int ordinal) {
+        return nutrition[slot * RecipeMatchIndex.NUTRIENTS + ordinal];
+    }
+
+    /**
+     * Returns the sorted order of a nutrient, building it on first use. Concurrent first uses
+     * may build it twice; both results are equal.
+     */
+    long[] nutrientOrder(Nutrient nutrient) {
+        long[] order = nutrientOrders.get(nutrient.ordinal());
+        if (order == null) {
+            order = new long[recipeIds.length];
+            int count = 0;
+            for (int slot = 0; slot < recipeIds.length; slot++) {
+                int value = nutrient(slot, nutrient.ordinal());
+                if (value != RecipeMatchIndex.UNKNOWN_NUTRIENT) {
+                    order[count++] = (long) value << 32 | slot;
+                }
+            }
+            order = Arrays.copyOf(order, count);
+            Arrays.sort(order);
+            nutrientOrders.set(nutrient.ordinal(), order);
+        }
+        return order;
+    }
+
+    /** Returns the first position in a nutrient order whose value is at least the range minimum. */
+    static int lowerBound(long[] order, NutritionRange range) {
+        return firstAtLeast(order, (long) range.min() << 32);
+    }
+
+    /** Returns the first position in a nutrient order whose value exceeds the range maximum. */
+    static int upperBound(long[] order, NutritionRange range) {
+        return range.max() == Integer.MAX_VALUE ? order.length : firstAtLeast(order, (long) (range.max() + 1) << 32);
+    }
+
+    private static int firstAtLeast(long[] order, long key) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (order[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    static long[] distinctIngredientIds(RecipeQuantities recipe) {
+        return Arrays.stream(recipe.ingredientIds()).filter(id -> id >= 0).sorted().distinct().toArray();
+    }
+}
@@ -0,0 +1,356 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.services.dictionary.InternDictionary;
+import com.infiniterecipebook.services.quantity.FixedPoint;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Versioned binary snapshot of the ingredient name index and the recipe match index.
+ *
+ * The file holds a header, the tag values the index refers to, the ingredient entries, the
+ * recipe slots as column arrays, and a CRC32 trailer. Reading maps the file into memory and
+ * copies the columns into the index arrays with bulk reads, so a restore costs about as much
+ * as reading the file once. Inverted postings are derived again on load rather than stored.
+ *
+ * The header carries a schema hash over the enums and units whose ordinals the file stores. A
+ * snapshot written by a build with different enums, units or fixed-point scale is rejected
+ * instead of being misread. Tag ids are process-local, so tags are stored by value and encoded
+ * again into the running dictionary.
+ */
+public final class IndexSnapshotFile {
+
+    /** Bumped whenever the layout changes. */
+    static final int FORMAT_VERSION = 2;
+
+    private static final int MAGIC = 0x49524253;
+    private static final byte NO_CATEGORY = -1;
+
+    private IndexSnapshotFile() {
+    }
+
+    /**
+     * Indexes read back from a snapshot.
+     *
+     * @param ingredients the ingredient name index
+     * @param recipes the recipe match index
+     * @param asOf when the older of the two was read; changes after it must be caught up
+     */
+    public record Contents(IngredientNameIndex ingredients, RecipeMatchIndex recipes, LocalDateTime asOf) {
+    }
+
+    /**
+     * Writes a snapshot, replacing the file atomically so readers never see a partial one.
+     * @param file the snapshot file
+     * @param ingredients the ingredient name index
+     * @param recipes the recipe match index
+     * @param tags the dictionary the index's tag ids come from
+     * @param units the unit dictionary the compiled quantities refer to
+     * @throws IOException when the file cannot be written
+     */
+    public static void write(Path file, IngredientNameIndex ingredients, RecipeMatchIndex recipes,
+                             InternDictionary tags, UnitDictionary units) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream stream = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(
+                         new CheckedOutputStream(new BufferedOutputStream(stream, 1 << 16), crc))) {
+                LocalDateTime asOf = ingredients.asOf().isBefore(recipes.asOf()) ? ingredients.asOf() : recipes.asOf();
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(schemaHash(units));
+                out.writeLong(asOf.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(asOf.getNano());
+
+                // The file holds one segment, in id order
+                RecipeMatchIndex compacted = recipes.compact();
+                writeTags(out, compacted, tags);
+                writeIngredients(out, ingredients.entries());
+                writeRecipes(out, compacted);
+                out.flush();
+                // The trailer is not part of the checksum it carries
+                stream.write(ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).array());
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads a snapshot.
+     * @param file the snapshot file
+     * @param tags the running tag dictionary; tags are encoded into it
+     * @param units the running unit dictionary, checked against the one the snapshot was written with
+     * @param quantityEngine the engine later recipes are compiled with
+     * @return the restored indexes
+     * @throws IOException when the file cannot be read, is corrupt or was written by an incompatible build
+     */
+    public static Contents read(Path file, InternDictionary tags, UnitDictionary units,
+                                QuantityEngine quantityEngine) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < 4 * Integer.BYTES + 2 * Long.BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot size " + length);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            ByteBuffer body = buffer.slice(0, (int) length - Long.BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != buffer.getLong((int) length - Long.BYTES)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            if (body.getInt() != MAGIC) {
+                throw new IOException("Not an index snapshot");
+            }
+            int version = body.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + version);
+            }
+            if (body.getLong() != schemaHash(units)) {
+                throw new IOException("Snapshot written with different enums or units");
+            }
+            LocalDateTime asOf = LocalDateTime.ofEpochSecond(body.getLong(), body.getInt(), ZoneOffset.UTC);
+
+            int[] tagIds = readTags(body, tags);
+            IngredientNameIndex ingredients = IngredientNameIndex.ofEntries(readIngredients(body), asOf);
+            RecipeMatchIndex recipes = readRecipes(body, tagIds,
+                    RecipeMatchIndex.builder(quantityEngine, tags).asOf(asOf));
+            return new Contents(ingredients, recipes, asOf);
+        } catch (RuntimeException e) {
+            // Buffer underflows and bad ordinals mean the file does not match its header
+            throw new IOException("Corrupt snapshot: " + e, e);
+        }
+    }
+
+    /**
+     * Hash of everything whose ordinals or scale the snapshot stores.
+     */
+    static long schemaHash(UnitDictionary units) {
+        StringBuilder schema = new StringBuilder();
+        schema.append(Arrays.toString(MealType.values()))
+                .append(Arrays.toString(Difficulty.values()))
+                .append(Arrays.toString(IngredientCategory.values()))
+                .append(Arrays.toString(Nutrient.values()))
+                .append(FixedPoint.ONE);
+        for (int unit = 0; unit < units.size(); unit++) {
+            schema.append('|').append(units.name(unit)).append(':').append(units.dimension(unit));
+        }
+        long hash = 1125899906842597L;
+        for (byte b : schema.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+
+    private static void writeTags(DataOutputStream out, RecipeMatchIndex recipes, InternDictionary tags)
+            throws IOException {
+        int[] used = IntStream.range(0, recipes.size()).mapToObj(recipes::tagIds).flatMapToInt(Arrays::stream)
+                .filter(id -> id != InternDictionary.NOT_ENCODED).sorted().distinct().toArray();
+        out.writeInt(used.length);
+        for (int id : used) {
+            out.writeInt(id);
+            writeString(out, tags.decode(id));
+        }
+    }
+
+    /**
+     * Encodes the stored tags into the running dictionary, normalized as a rebuild would index them.
+     * @return the running id of each stored id, indexed by stored id
+     */
+    private static int[] readTags(ByteBuffer in, InternDictionary tags) {
+        int count = in.getInt();
+        Map<Integer, Integer> remap = new HashMap<>(count * 2);
+        int maxId = -1;
+        for (int i = 0; i < count; i++) {
+            int storedId = in.getInt();
+            remap.put(storedId, tags.encode(CandidateFilter.normalizeTag(readString(in))));
+            maxId = Math.max(maxId, storedId);
+        }
+        int[] ids = new int[maxId + 1];
+        Arrays.fill(ids, InternDictionary.NOT_ENCODED);
+        remap.forEach((stored, running) -> ids[stored] = running);
+        return ids;
+    }
+
+    private static void writeIngredients(DataOutputStream out, List<IngredientNameIndex.Entry> entries)
+            throws IOException {
+        out.writeInt(entries.size());
+        for (IngredientNameIndex.Entry entry : entries) {
+            out.writeLong(entry.id());
+            writeString(out, entry.name());
+            writeString(out, entry.normalizedName());
+            out.writeByte(entry.category() != null ? entry.category().ordinal() : NO_CATEGORY);
+        }
+    }
+
+    private static List<IngredientNameIndex.Entry> readIngredients(ByteBuffer in) {
+        int count = in.getInt();
+        IngredientCategory[] categories = IngredientCategory.values();
+        List<IngredientNameIndex.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = in.getLong();
+            String name = readString(in);
+            String normalizedName = readString(in);
+            byte category = in.get();
+            entries.add(new IngredientNameIndex.Entry(id, name, normalizedName,
+                    category == NO_CATEGORY ? null : categories[category], null));
+        }
+        return entries;
+    }
+
+    private static void writeRecipes(DataOutputStream out, RecipeMatchIndex recipes) throws IOException {
+        int size = recipes.size();
+        out.writeInt(size);
+        for (int slot = 0; slot < size; slot++) {
+            out.writeLong(recipes.recipeId(slot));
+        }
+        for (int slot = 0; slot < size; slot++) {
+            out.writeByte(recipes.mealType(slot));
+        }
+        for (int slot = 0; slot < size; slot++) {
+            out.writeByte(recipes.difficulty(slot));
+        }
+        for (int slot = 0; slot < size; slot++) {
+            out.writeInt(recipes.cookingTime(slot));
+        }
+        Nutrient[] nutrients = Nutrient.values();
+        for (int slot = 0; slot < size; slot++) {
+            for (Nutrient nutrient : nutrients) {
+                out.writeInt(recipes.nutrient(slot, nutrient));
+            }
+        }
+        for (int slot = 0; slot < size; slot++) {
+            writeInts(out, recipes.tagIds(slot));
+            RecipeQuantities quantities = recipes.quantities(slot);
+            out.writeInt(quantities.size());
+            out.writeInt(quantities.servings());
+            writeLongs(out, quantities.ingredientIds());
+            writeLongs(out, quantities.amounts());
+            for (int unitId : quantities.unitIds()) {
+                out.writeInt(unitId);
+            }
+            writeLongs(out, quantities.baseAmounts());
+            for (boolean required : quantities.required()) {
+                out.writeBoolean(required);
+            }
+        }
+    }
+
+    private static RecipeMatchIndex readRecipes(ByteBuffer in, int[] tagIds, RecipeMatchIndex.Builder builder) {
+        int size = in.getInt();
+        long[] recipeIds = readLongs(in, size);
+        byte[] mealTypes = new byte[size];
+        in.get(mealTypes);
+        byte[] difficulties = new byte[size];
+        in.get(difficulties);
+        int[] cookingTimes = readInts(in, size);
+        int[] nutrition = readInts(in, size * RecipeMatchIndex.NUTRIENTS);
+        for (int slot = 0; slot < size; slot++) {
+            int[] tags = readInts(in, in.getInt());
+            for (int i = 0; i < tags.length; i++) {
+                tags[i] = tags[i] >= 0 && tags[i] < tagIds.length ? tagIds[tags[i]] : InternDictionary.NOT_ENCODED;
+            }
+            Arrays.sort(tags);
+            int lines = in.getInt();
+            int servings = in.getInt();
+            long[] ingredientIds = readLongs(in, lines);
+            long[] amounts = readLongs(in, lines);
+            int[] unitIds = readInts(in, lines);
+            long[] baseAmounts = readLongs(in, lines);
+            boolean[] required = new boolean[lines];
+            for (int i = 0; i < lines; i++) {
+                required[i] = in.get() != 0;
+            }
+            builder.add(recipeIds[slot], mealTypes[slot], difficulties[slot], cookingTimes[slot],
+                    Arrays.copyOfRange(nutrition, slot * RecipeMatchIndex.NUTRIENTS,
+                            (slot + 1) * RecipeMatchIndex.NUTRIENTS),
+                    tags, new RecipeQuantities(ingredientIds, amounts, unitIds, baseAmounts, required, servings));
+        }
+        return builder.build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer in, int count) {
+        int[] values = new int[count];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static long[] readLongs(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + count * Long.BYTES);
+        return values;
+    }
+}
@@ -0,0 +1,141 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.services.dictionary.RecipeDictionaries;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Restores the ingredient name index and the recipe match index from a snapshot file at startup,
+ * and writes the file periodically.
+ *
+ * Restoring runs before the web server starts, so the first requests are served from the
+ * snapshot instead of waiting for a rebuild from the database. The restored indexes are then
+ * caught up with the rows changed since the snapshot was written, starting a margin earlier to
+ * allow for clock skew between nodes. A missing, corrupt or incompatible file falls back to
+ * the usual build on first use.
+ */
+@Slf4j
+public class IndexSnapshotService implements SmartLifecycle {
+
+    private final IngredientResolver ingredientResolver;
+    private final RecipeIndexService recipeIndexService;
+    private final RecipeDictionaries recipeDictionaries;
+    private final UnitDictionary unitDictionary;
+    private final QuantityEngine quantityEngine;
+    private final RecipeBookProperties.Snapshot settings;
+
+    private volatile boolean running;
+    private volatile RecipeMatchIndex lastWritten;
+
+    public IndexSnapshotService(IngredientResolver ingredientResolver,
+                                RecipeIndexService recipeIndexService,
+                                RecipeDictionaries recipeDictionaries,
+                                UnitDictionary unitDictionary,
+                                QuantityEngine quantityEngine,
+                                RecipeBookProperties properties) {
+        this.ingredientResolver = ingredientResolver;
+        this.recipeIndexService = recipeIndexService;
+        this.recipeDictionaries = recipeDictionaries;
+        this.unitDictionary = unitDictionary;
+        this.quantityEngine = quantityEngine;
+        this.settings = properties.getSnapshot();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        restore();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Runs before the web server, which starts in a late phase.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Loads the snapshot file when present and catches the indexes up with the database.
+     * @return whether a snapshot was restored
+     */
+    public boolean restore() {
+        Path file = Path.of(settings.getPath());
+        if (!Files.isRegularFile(file)) {
+            log.info("No index snapshot at {}, building indexes from the database", file);
+            return false;
+        }
+        long start = System.nanoTime();
+        IndexSnapshotFile.Contents contents;
+        try {
+            contents = IndexSnapshotFile.read(file, recipeDictionaries.tags(), unitDictionary, quantityEngine);
+        } catch (IOException e) {
+            log.warn("Ignoring index snapshot {}: {}", file, e.getMessage());
+            return false;
+        }
+        ingredientResolver.install(contents.ingredients());
+        recipeIndexService.install(contents.recipes());
+        lastWritten = contents.recipes();
+        long loaded = System.nanoTime();
+
+        LocalDateTime since = contents.asOf().minus(settings.getCatchUpOverlap());
+        ingredientResolver.catchUp(since);
+        recipeIndexService.catchUp(since);
+        log.info("Restored {} recipes from index snapshot written {} in {} ms, caught up in {} ms",
+                contents.recipes().size(), contents.asOf(), (loaded - start) / 1_000_000,
+                (System.nanoTime() - loaded) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Scheduled entry point writing the snapshot.
+     */
+    @Scheduled(fixedDelayString = "${recipe-book.snapshot.interval:PT15M}",
+            initialDelayString = "${recipe-book.snapshot.interval:PT15M}")
+    public void scheduledWrite() {
+        write();
+    }
+
+    /**
+     * Writes the current indexes to the snapshot file, unless they have not changed since the last write.
+     * @return whether a snapshot was written
+     */
+    public boolean write() {
+        RecipeMatchIndex recipes = recipeIndexService.current();
+        if (recipes == lastWritten) {
+            return false;
+        }
+        Path file = Path.of(settings.getPath());
+        long start = System.nanoTime();
+        try {
+            IndexSnapshotFile.write(file, ingredientResolver.current(), recipes, recipeDictionaries.tags(),
+                    unitDictionary);
+        } catch (IOException e) {
+            log.warn("Could not write index snapshot {}", file, e);
+            return false;
+        }
+        lastWritten = recipes;
+        log.info("Wrote index snapshot of {} recipes to {} in {} ms", recipes.size(), file,
+                (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+}
@@ -0,0 +1,405 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.IngredientAlias;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable lookup from free-form ingredient names to ingredient ids.
+ *
+ * Names are compared in normalized form: Unicode NFKC, lower case, and runs of anything but
+ * letters and digits collapsed to one space. A name that does not match exactly is retried with
+ * its last word singularized, so "Cherry Tomatoes" finds "cherry tomato".
+ *
+ * Exact names are looked up in a {@link PerfectHashTable}, behind a {@link NameBloomFilter}
+ * holding every name and every word of every ingredient, and every alias key. A name the filter
+ * rejects is a definite miss for both names and aliases, and a name none of whose words pass it
+ * cannot share a word with any ingredient, so {@link #suggestAll} skips it without scanning the
+ * catalogue.
+ *
+ * A name that matches no ingredient name is then looked up in an {@link AliasTable} of
+ * translations and regional variants, so names always win over aliases. Aliases are attached
+ * with {@link #withAliases} and carried over by every copy of the index.
+ */
+public final class IngredientNameIndex {
+
+    /** Returned by {@link #resolve(String)} when no ingredient matches. */
+    public static final long NOT_FOUND = -1L;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final PerfectHashTable idsByName;
+    private final NameBloomFilter knownKeys;
+    private final Map<Long, Entry> entriesById;
+    private final AliasTable aliases;
+    private final LocalDateTime asOf;
+
+    private IngredientNameIndex(Map<String, Long> idsByName, Map<Long, Entry> entriesById, AliasTable aliases,
+                                LocalDateTime asOf) {
+        this.idsByName = PerfectHashTable.of(idsByName);
+        this.knownKeys = knownKeys(idsByName.keySet(), entriesById.values(), aliases);
+        this.entriesById = entriesById;
+        this.aliases = aliases;
+        this.asOf = asOf;
+    }
+
+    private IngredientNameIndex(IngredientNameIndex names, AliasTable aliases) {
+        this.idsByName = names.idsByName;
+        List<String> nameKeys = new ArrayList<>(names.entriesById.size() * 2);
+        for (Entry entry : names.entriesById.values()) {
+            nameKeys.add(entry.normalizedName());
+            nameKeys.add(normalize(entry.name()));
+        }
+        this.knownKeys = knownKeys(nameKeys, names.entriesById.values(), aliases);
+        this.entriesById = names.entriesById;
+        this.aliases = aliases;
+        this.asOf = names.asOf;
+    }
+
+    /**
+     * Builds an index over the given ingredients, keyed by normalized name and by name.
+     * When two ingredients share a key, the first one wins.
+     * @param ingredients persisted ingredients
+     * @return the index
+     */
+    public static IngredientNameIndex of(Collection<Ingredient> ingredients) {
+        return of(ingredients, LocalDateTime.now());
+    }
+
+    /**
+     * Builds an index over the given ingredients, read at the given time.
+     * @param ingredients persisted ingredients
+     * @param asOf a time no later than the read of the ingredients
+     * @return the index
+     */
+    public static IngredientNameIndex of(Collection<Ingredient> ingredients, LocalDateTime asOf) {
+        Map<String, Long> idsByName = new HashMap<>(ingredients.size() * 2);
+        Map<Long, Entry> entriesById = new HashMap<>(ingredients.size() * 2);
+        for (Ingredient ingredient : ingredients) {
+            if (ingredient.getId() != null) {
+                add(idsByName, entriesById, ingredient.getId(), ingredient.getName(),
+                        ingredient.getNormalizedName(), ingredient.getCategory());
+            }
+        }
+        return new IngredientNameIndex(idsByName, entriesById, AliasTable.empty(), asOf);
+    }
+
+    /**
+     * Rebuilds an index from the entries of another one, such as a restored snapshot.
+     * @param entries the entries, in the order their keys should be claimed
+     * @param asOf when the entries were read
+     * @return the index
+     */
+    public static IngredientNameIndex ofEntries(Collection<Entry> entries, LocalDateTime asOf) {
+        Map<String, Long> idsByName = new HashMap<>(entries.size() * 2);
+        Map<Long, Entry> entriesById = new HashMap<>(entries.size() * 2);
+        for (Entry entry : entries) {
+            add(idsByName, entriesById, entry.id(), entry.name(), entry.normalizedName(), entry.category());
+        }
+        return new IngredientNameIndex(idsByName, entriesById, AliasTable.empty(), asOf);
+    }
+
+    /**
+     * Returns a copy of this index with ingredients changed since it was built applied.
+     * @param changed ingredients inserted or updated since, replacing their current entries
+     * @param liveIds ids of every ingredient that still exists, sorted
+     * @param asOf when the changes were read
+     * @return the updated index
+     */
+    public IngredientNameIndex withChanges(Collection<Ingredient> changed, long[] liveIds, LocalDateTime asOf) {
+        return copy(changed, id -> Arrays.binarySearch(liveIds, id) < 0, asOf);
+    }
+
+    /**
+     * Returns a copy of this index with some ingredients reloaded.
+     * @param ids the ingredients to replace; those missing from {@code reloaded} are removed
+     * @param reloaded the current state of the ingredients that still exist
+     * @return the updated index, with the same {@link #asOf()}
+     */
+    public IngredientNameIndex withReplaced(Set<Long> ids, Collection<Ingredient> reloaded) {
+        return copy(reloaded, ids::contains, asOf);
+    }
+
+    /**
+     * Returns a copy of this index resolving the given aliases, sharing the names and entries with
+     * this one. The filter is rebuilt so that it also holds the new alias keys.
+     * @param aliases the ingredient aliases, in priority order
+     * @return the index with its aliases replaced
+     */
+    public IngredientNameIndex withAliases(Collection<IngredientAlias> aliases) {
+        return new IngredientNameIndex(this, AliasTable.ofAliases(aliases));
+    }
+
+    /**
+     * Builds the filter in front of every lookup, over the name keys, the words of every entry and the alias keys.
+     */
+    private static NameBloomFilter knownKeys(Collection<String> nameKeys, Collection<Entry> entries,
+                                             AliasTable aliases) {
+        List<String> keys = new ArrayList<>(nameKeys);
+        for (Entry entry : entries) {
+            keys.addAll(entry.words());
+        }
+        keys.addAll(aliases.keys());
+        return NameBloomFilter.of(keys);
+    }
+
+    private IngredientNameIndex copy(Collection<Ingredient> changed, LongPredicate removed, LocalDateTime asOf) {
+        Set<Long> changedIds = new HashSet<>(changed.size() * 2);
+        for (Ingredient ingredient : changed) {
+            changedIds.add(ingredient.getId());
+        }
+        Map<String, Long> ids = new HashMap<>(idsByName.size() * 2 + changed.size() * 2);
+        Map<Long, Entry> entries = new HashMap<>(entriesById.size() + changed.size() * 2);
+        for (Entry entry : entries()) {
+            if (!changedIds.contains(entry.id()) && !removed.test(entry.id())) {
+                add(ids, entries, entry.id(), entry.name(), entry.normalizedName(), entry.category());
+            }
+        }
+        for (Ingredient ingredient : changed) {
+            add(ids, entries, ingredient.getId(), ingredient.getName(), ingredient.getNormalizedName(),
+                    ingredient.getCategory());
+        }
+        return new IngredientNameIndex(ids, entries, aliases, asOf);
+    }
+
+    private static void add(Map<String, Long> idsByName, Map<Long, Entry> entriesById, long id, String displayName,
+                            String normalized, IngredientCategory category) {
+        String canonical = normalize(normalized != null ? normalized : displayName);
+        entriesById.put(id, new Entry(id, displayName, canonical, category, Set.of(canonical.split(" "))));
+        String normalizedName = normalize(normalized);
+        if (!normalizedName.isEmpty()) {
+            idsByName.putIfAbsent(normalizedName, id);
+        }
+        String name = normalize(displayName);
+        if (!name.isEmpty()) {
+            idsByName.putIfAbsent(name, id);
+        }
+    }
+
+    /**
+     * Normalizes an ingredient name for comparison.
+     * @param name the name, may be null
+     * @return the normalized name, empty for null or blank input
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    /**
+     * Resolves a free-form name to an ingredient id.
+     * @param name the name as entered
+     * @return the ingredient id, or {@link #NOT_FOUND}
+     */
+    public long resolve(String name) {
+        return resolveNormalized(normalize(name));
+    }
+
+    /**
+     * Resolves an already normalized name to an ingredient id.
+     * @param normalizedName the output of {@link #normalize(String)}
+     * @return the ingredient id, or {@link #NOT_FOUND}
+     */
+    public long resolveNormalized(String normalizedName) {
+        if (normalizedName.isEmpty()) {
+            return NOT_FOUND;
+        }
+        long id = lookup(normalizedName);
+        if (id != NOT_FOUND) {
+            return id;
+        }
+        int length = normalizedName.length();
+        if (normalizedName.endsWith("ies") && length > 4) {
+            id = lookup(normalizedName.substring(0, length - 3) + "y");
+        }
+        if (id == NOT_FOUND && normalizedName.endsWith("es") && length > 3) {
+            id = lookup(normalizedName.substring(0, length - 2));
+        }
+        if (id == NOT_FOUND && normalizedName.endsWith("s") && !normalizedName.endsWith("ss") && length > 2) {
+            id = lookup(normalizedName.substring(0, length - 1));
+        }
+        return id;
+    }
+
+    private long lookup(String key) {
+        if (!knownKeys.mightContain(key)) {
+            return NOT_FOUND;
+        }
+        long id = idsByName.get(key);
+        if (id == NOT_FOUND) {
+            // An alias may outlive its ingredient until the next reload
+            id = aliases.get(key);
+            if (id != NOT_FOUND && !entriesById.containsKey(id)) {
+                id = NOT_FOUND;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Returns the catalogue entry of an ingredient.
+     * @param ingredientId the ingredient id
+     * @return the entry, null when the id is not indexed
+     */
+    public Entry entry(long ingredientId) {
+        return entriesById.get(ingredientId);
+    }
+
+    /**
+     * Suggests known ingredients sharing words with a name that did not resolve.
+     * This scans every ingredient, so it is meant for the rare miss, not the common hit.
+     * @param name the name as entered
+     * @param limit the maximum number of suggestions
+     * @return suggestions, most shared words first, then shortest name
+     */
+    public List<Entry> suggest(String name, int limit) {
+        return suggestAll(List.of(normalize(name)), limit).get(0);
+    }
+
+    /**
+     * Suggests known ingredients for several names that did not resolve, in one scan of the catalogue.
+     * Names none of whose words can be known get no suggestions without being scanned for, and
+     * when no name is left the catalogue is not scanned at all.
+     * @param normalizedNames outputs of {@link #normalize(String)}
+     * @param limit the maximum number of suggestions per name
+     * @return per name, in input order, suggestions with most shared words first, then shortest name
+     */
+    public List<List<Entry>> suggestAll(List<String> normalizedNames, int limit) {
+        // Occurrences of each word across the scanned names, by name position
+        Map<String, List<Integer>> namesByWord = new HashMap<>();
+        for (int n = 0; n < normalizedNames.size(); n++) {
+            String normalized = normalizedNames.get(n);
+            if (normalized.isEmpty() || limit <= 0 || !mightShareWord(normalized)) {
+                continue;
+            }
+            for (String word : normalized.split(" ")) {
+                namesByWord.computeIfAbsent(word, w -> new ArrayList<>()).add(n);
+            }
+        }
+        List<List<Entry>> matches = new ArrayList<>(normalizedNames.size());
+        List<List<Integer>> overlaps = new ArrayList<>(normalizedNames.size());
+        for (int n = 0; n < normalizedNames.size(); n++) {
+            matches.add(new ArrayList<>());
+            overlaps.add(new ArrayList<>());
+        }
+        if (!namesByWord.isEmpty()) {
+            int[] overlap = new int[normalizedNames.size()];
+            List<Integer> touched = new ArrayList<>();
+            for (Entry entry : entriesById.values()) {
+                for (String word : entry.words()) {
+                    List<Integer> names = namesByWord.get(word);
+                    if (names == null) {
+                        continue;
+                    }
+                    for (int n : names) {
+                        if (overlap[n]++ == 0) {
+                            touched.add(n);
+                        }
+                    }
+                }
+                for (int n : touched) {
+                    matches.get(n).add(entry);
+                    overlaps.get(n).add(overlap[n]);
+                    overlap[n] = 0;
+                }
+                touched.clear();
+            }
+        }
+        List<List<Entry>> suggestions = new ArrayList<>(normalizedNames.size());
+        for (int n = 0; n < normalizedNames.size(); n++) {
+            suggestions.add(best(matches.get(n), overlaps.get(n), limit));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Returns whether any word of a normalized name may belong to a known ingredient.
+     * False means no ingredient shares a word with it.
+     */
+    public boolean mightShareWord(String normalizedName) {
+        for (String word : normalizedName.split(" ")) {
+            if (knownKeys.mightContain(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Entry> best(List<Entry> matches, List<Integer> overlaps, int limit) {
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Integer[] order = new Integer[matches.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> -overlaps.get(i))
+                .thenComparingInt(i -> matches.get(i).normalizedName().length())
+                .thenComparingLong(i -> matches.get(i).id()));
+        List<Entry> suggestions = new ArrayList<>(Math.min(limit, order.length));
+        for (int i = 0; i < order.length && suggestions.size() < limit; i++) {
+            suggestions.add(matches.get(order[i]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Returns every entry, in ascending id order.
+     */
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(entriesById.values());
+        entries.sort(Comparator.comparingLong(Entry::id));
+        return entries;
+    }
+
+    /**
+     * Returns when the ingredients were read; later changes may be missing from the index.
+     */
+    public LocalDateTime asOf() {
+        return asOf;
+    }
+
+    /**
+     * Returns the number of distinct keys in the index.
+     */
+    public int size() {
+        return idsByName.size();
+    }
+
+    /**
+     * Returns the number of distinct alias keys in the index.
+     */
+    public int aliasCount() {
+        return aliases.size();
+    }
+
+    /**
+     * The catalogue data of one ingredient needed to answer lookups without the database.
+     *
+     * @param id the ingredient id
+     * @param name the display name
+     * @param normalizedName the canonical normalized name
+     * @param category the category, may be null
+     * @param words the words of the normalized name
+     */
+    public record Entry(long id, String name, String normalizedName, IngredientCategory category, Set<String> words) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.repositories.IngredientAliasRepository;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.services.changes.ChangeConsumer;
+import com.infiniterecipebook.services.changes.ChangeEvent;
+import com.infiniterecipebook.services.changes.EntityChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolves free-form ingredient names against the ingredient catalogue.
+ *
+ * The catalogue is loaded into an {@link IngredientNameIndex} on first use and swapped
+ * atomically on {@link #refresh()}, so lookups never touch the database. Committed ingredient
+ * changes are applied from the change stream by reloading only the changed rows.
+ *
+ * Aliases, such as translations and regional variants, are compiled into the index on every
+ * load. A committed alias change recompiles them and swaps in a copy of the index sharing
+ * everything else, so lookups keep reading the previous index until the swap.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IngredientResolver implements ChangeConsumer {
+
+    private final IngredientRepository ingredientRepository;
+    private final IngredientAliasRepository ingredientAliasRepository;
+
+    private volatile IngredientNameIndex index;
+
+    /**
+     * Resolves a free-form name to an ingredient id.
+     * @param name the name as entered
+     * @return the ingredient id, or {@link IngredientNameIndex#NOT_FOUND}
+     */
+    public long resolve(String name) {
+        return current().resolve(name);
+    }
+
+    /**
+     * Returns the current name index, loading it when needed.
+     */
+    public IngredientNameIndex current() {
+        IngredientNameIndex current = index;
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Reloads the name index from the ingredient table.
+     * @return the new index
+     */
+    public synchronized IngredientNameIndex refresh() {
+        LocalDateTime asOf = LocalDateTime.now();
+        IngredientNameIndex refreshed = IngredientNameIndex.of(ingredientRepository.findAll(), asOf)
+                .withAliases(ingredientAliasRepository.findAllInOrder());
+        index = refreshed;
+        log.debug("Loaded {} ingredient names and {} aliases", refreshed.size(), refreshed.aliasCount());
+        return refreshed;
+    }
+
+    /**
+     * Recompiles the aliases of the current name index.
+     * @return the new index
+     */
+    public synchronized IngredientNameIndex refreshAliases() {
+        IngredientNameIndex current = index;
+        if (current == null) {
+            return refresh();
+        }
+        IngredientNameIndex refreshed = current.withAliases(ingredientAliasRepository.findAllInOrder());
+        index = refreshed;
+        log.debug("Loaded {} ingredient aliases", refreshed.aliasCount());
+        return refreshed;
+    }
+
+    /**
+     * Replaces the name index, such as with one restored from a snapshot.
+     * Snapshots do not hold aliases, so they are loaded from the database.
+     * @param restored the index to serve
+     */
+    public synchronized void install(IngredientNameIndex restored) {
+        index = restored.withAliases(ingredientAliasRepository.findAllInOrder());
+    }
+
+    /**
+     * Applies the ingredients inserted or updated since the given time, and drops deleted ones.
+     * @param since the time to read changes from, usually the current index's {@code asOf} minus a margin
+     * @return the new index
+     */
+    public synchronized IngredientNameIndex catchUp(LocalDateTime since) {
+        IngredientNameIndex current = index;
+        if (current == null) {
+            return refresh();
+        }
+        LocalDateTime asOf = LocalDateTime.now();
+        List<Ingredient> changed = ingredientRepository.findChangedSince(since);
+        long[] liveIds = ingredientRepository.findAllIds().stream().mapToLong(Long::longValue).toArray();
+        IngredientNameIndex caughtUp = current.withChanges(changed, liveIds, asOf);
+        index = caughtUp;
+        log.debug("Caught up {} changed ingredient names", changed.size());
+        return caughtUp;
+    }
+
+    @Override
+    public String name() {
+        return "ingredient-names";
+    }
+
+    @Override
+    public synchronized void apply(List<ChangeEvent> events) {
+        IngredientNameIndex current = index;
+        if (current == null) {
+            return;
+        }
+        Set<Long> changedIds = new HashSet<>();
+        boolean aliasesChanged = false;
+        for (ChangeEvent event : events) {
+            if (event.change().entity() == EntityChange.ChangedEntity.INGREDIENT) {
+                changedIds.add(event.change().id());
+            } else if (event.change().entity() == EntityChange.ChangedEntity.INGREDIENT_ALIAS) {
+                aliasesChanged = true;
+            }
+        }
+        if (!changedIds.isEmpty()) {
+            current = current.withReplaced(changedIds, ingredientRepository.findAllById(changedIds));
+        }
+        if (aliasesChanged) {
+            current = current.withAliases(ingredientAliasRepository.findAllInOrder());
+        }
+        index = current;
+    }
+
+    @Override
+    public void resync() {
+        refresh();
+    }
+}
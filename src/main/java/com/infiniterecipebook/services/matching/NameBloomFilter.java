@@ -0,0 +1,59 @@
+package com.infiniterecipebook.services.matching;
+
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over strings.
+ *
+ * A string that was added always tests positive; one that was not tests negative except with
+ * a false positive rate of about 1% at {@value #BITS_PER_KEY} bits per key and
+ * {@value #HASHES} hashes. The hashes are derived from one 64-bit hash by double hashing.
+ */
+final class NameBloomFilter {
+
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASHES = 7;
+
+    private final long[] bits;
+    private final int bitCount;
+
+    private NameBloomFilter(long[] bits) {
+        this.bits = bits;
+        this.bitCount = bits.length * Long.SIZE;
+    }
+
+    /**
+     * Builds a filter holding the given strings.
+     * @param keys the strings, duplicates allowed
+     * @return the filter
+     */
+    static NameBloomFilter of(Collection<String> keys) {
+        NameBloomFilter filter = new NameBloomFilter(new long[Math.max(1, (keys.size() * BITS_PER_KEY + 63) / 64)]);
+        for (String key : keys) {
+            long hash = PerfectHashTable.hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Integer.remainderUnsigned(h1 + i * h2, filter.bitCount);
+                filter.bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Returns false when the string was definitely not added.
+     */
+    boolean mightContain(String key) {
+        long hash = PerfectHashTable.hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Integer.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.enums.Nutrient;
+
+/**
+ * Inclusive bounds on a nutrient per serving, such as at most 500 kcal.
+ * Recipes whose value for the nutrient is unknown never lie in a range.
+ *
+ * @param nutrient the bounded nutrient
+ * @param min the smallest accepted value, 0 for no lower bound
+ * @param max the largest accepted value, {@link Integer#MAX_VALUE} for no upper bound
+ */
+public record NutritionRange(Nutrient nutrient, int min, int max) {
+
+    public NutritionRange {
+        min = Math.max(0, min);
+    }
+
+    /**
+     * Creates a range from optional bounds.
+     * @param nutrient the bounded nutrient
+     * @param min the smallest accepted value, null for no lower bound
+     * @param max the largest accepted value, null for no upper bound
+     * @return the range
+     */
+    public static NutritionRange of(Nutrient nutrient, Integer min, Integer max) {
+        return new NutritionRange(nutrient, min != null ? min : 0, max != null ? max : Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns whether a stored value lies in the range.
+     */
+    boolean contains(int value) {
+        return value >= min && value <= max && value != RecipeMatchIndex.UNKNOWN_NUTRIENT;
+    }
+}
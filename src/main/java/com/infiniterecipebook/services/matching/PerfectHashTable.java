@@ -0,0 +1,153 @@
+package com.infiniterecipebook.services.matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable map from strings to ids built with hash-and-displace perfect hashing.
+ *
+ * Keys are hashed into buckets of about {@value #KEYS_PER_BUCKET}; each bucket stores the
+ * displacement that sends all of its keys to distinct free slots. A lookup therefore costs one
+ * hash, one displacement read and one key comparison, with no probing and no collisions. The
+ * table holds {@value #LOAD_FACTOR_PERCENT}% of its slots so that displacements are found in a
+ * few tries; buckets are placed largest first, when free slots are most plentiful.
+ */
+final class PerfectHashTable {
+
+    /** Returned by {@link #get(String)} for a key not in the table. */
+    static final long NOT_FOUND = -1L;
+
+    private static final int KEYS_PER_BUCKET = 4;
+    private static final int LOAD_FACTOR_PERCENT = 80;
+    private static final int MAX_DISPLACEMENT = 1 << 24;
+
+    private final int[] displacements;
+    private final String[] keys;
+    private final long[] ids;
+    private final int size;
+
+    private PerfectHashTable(int[] displacements, String[] keys, long[] ids, int size) {
+        this.displacements = displacements;
+        this.keys = keys;
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * Builds a table over the given keys.
+     * @param idsByKey the keys and their ids
+     * @return the table
+     */
+    static PerfectHashTable of(Map<String, Long> idsByKey) {
+        int size = idsByKey.size();
+        int bucketCount = Math.max(1, size / KEYS_PER_BUCKET);
+        int slotCount = Math.max(1, (int) ((long) size * 100 / LOAD_FACTOR_PERCENT) + 1);
+
+        List<List<String>> buckets = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (String key : idsByKey.keySet()) {
+            buckets.get(bucket(hash(key), bucketCount)).add(key);
+        }
+        Integer[] order = new Integer[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[b] = b;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(buckets.get(b).size(), buckets.get(a).size()));
+
+        int[] displacements = new int[bucketCount];
+        String[] keys = new String[slotCount];
+        long[] ids = new long[slotCount];
+        int[] slots = new int[0];
+        for (int b : order) {
+            List<String> bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            if (slots.length < bucket.size()) {
+                slots = new int[bucket.size()];
+            }
+            int displacement = place(bucket, keys, slots);
+            displacements[b] = displacement;
+            for (int i = 0; i < bucket.size(); i++) {
+                keys[slots[i]] = bucket.get(i);
+                ids[slots[i]] = idsByKey.get(bucket.get(i));
+            }
+        }
+        return new PerfectHashTable(displacements, keys, ids, size);
+    }
+
+    /**
+     * Finds the first displacement sending every key of a bucket to a distinct free slot.
+     * @param slots receives the slot of each key
+     */
+    private static int place(List<String> bucket, String[] keys, int[] slots) {
+        long[] hashes = bucket.stream().mapToLong(PerfectHashTable::hash).toArray();
+        for (int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+            boolean placed = true;
+            for (int i = 0; i < hashes.length && placed; i++) {
+                int slot = slot(hashes[i], displacement, keys.length);
+                placed = keys[slot] == null;
+                for (int j = 0; j < i && placed; j++) {
+                    placed = slots[j] != slot;
+                }
+                slots[i] = slot;
+            }
+            if (placed) {
+                return displacement;
+            }
+        }
+        throw new IllegalStateException("No displacement found for a bucket of " + bucket.size() + " keys");
+    }
+
+    /**
+     * Returns the id of a key, or {@link #NOT_FOUND}.
+     */
+    long get(String key) {
+        long hash = hash(key);
+        int slot = slot(hash, displacements[bucket(hash, displacements.length)], keys.length);
+        return key.equals(keys[slot]) ? ids[slot] : NOT_FOUND;
+    }
+
+    /**
+     * Returns the number of keys.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a well-mixed 64-bit hash of a string: FNV-1a over its chars, then the MurmurHash3 finalizer.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Scrambles the bits of a 64-bit value (MurmurHash3 {@code fmix64}).
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return (int) Long.remainderUnsigned(hash >>> 32, bucketCount);
+    }
+
+    private static int slot(long hash, int displacement, int slotCount) {
+        return (int) Long.remainderUnsigned(mix(hash + displacement * 0x9e3779b97f4a7c15L), slotCount);
+    }
+}
@@ -0,0 +1,289 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.changes.ChangeConsumer;
+import com.infiniterecipebook.services.changes.ChangeEvent;
+import com.infiniterecipebook.services.changes.EntityChange;
+import com.infiniterecipebook.services.dictionary.RecipeDictionaries;
+import com.infiniterecipebook.services.nutrition.NutritionService;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Owns the current {@link RecipeMatchIndex}.
+ *
+ * The index is built on first use and rebuilt in the background once marked stale, so the
+ * request path always reads a complete snapshot and never waits for a rebuild after the first.
+ * An index restored from disk is brought up to date with {@link #catchUp(LocalDateTime)}, which
+ * reloads only the recipes changed since it was built. Committed writes arrive from the change
+ * stream and are applied the same way: the changed recipes are reloaded into a new delta
+ * segment sharing the current index's base, which then replaces the current one.
+ *
+ * Recipe nutrition is aggregated from the ingredients' nutrient vectors as recipes are loaded.
+ * A changed nutrient vector reloads the table and then the recipes using that ingredient, found
+ * from the index postings.
+ */
+@Service
+@Slf4j
+public class RecipeIndexService implements MeterBinder, ChangeConsumer {
+
+    private final RecipeRepository recipeRepository;
+    private final QuantityEngine quantityEngine;
+    private final RecipeDictionaries recipeDictionaries;
+    private final IngredientResolver ingredientResolver;
+    private final NutritionService nutritionService;
+    private final RecipeBookProperties properties;
+    private final TransactionTemplate readOnlyTemplate;
+
+    private volatile RecipeMatchIndex index;
+    private volatile boolean stale;
+
+    public RecipeIndexService(RecipeRepository recipeRepository,
+                              QuantityEngine quantityEngine,
+                              RecipeDictionaries recipeDictionaries,
+                              IngredientResolver ingredientResolver,
+                              NutritionService nutritionService,
+                              RecipeBookProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.quantityEngine = quantityEngine;
+        this.recipeDictionaries = recipeDictionaries;
+        this.ingredientResolver = ingredientResolver;
+        this.nutritionService = nutritionService;
+        this.properties = properties;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recipe.index.recipes", this, service -> service.index != null ? service.index.size() : 0)
+                .description("Recipes in the current match index")
+                .register(registry);
+        Gauge.builder("recipe.index.stale", this, service -> service.stale ? 1 : 0)
+                .description("Whether the match index is waiting for a rebuild")
+                .register(registry);
+    }
+
+    /**
+     * Returns the current index, building it when none exists yet.
+     */
+    public RecipeMatchIndex current() {
+        RecipeMatchIndex current = index;
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * Marks the index as out of date; the next scheduled refresh rebuilds it.
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    /**
+     * Scheduled entry point rebuilding the ingredient names, the nutrient table and the index when marked stale.
+     */
+    @Scheduled(fixedDelayString = "${recipe-book.matching.refresh-interval:PT1M}",
+            initialDelayString = "${recipe-book.matching.refresh-interval:PT1M}")
+    public void scheduledRefresh() {
+        if (stale) {
+            ingredientResolver.refresh();
+            nutritionService.refresh();
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the hot recipe tables, reading recipes in id order in batches.
+     * @return the new index
+     */
+    public synchronized RecipeMatchIndex rebuild() {
+        stale = false;
+        long start = System.nanoTime();
+        RecipeMatchIndex.Builder builder = RecipeMatchIndex.builder(quantityEngine, recipeDictionaries.tags())
+                .nutrients(nutritionService.current())
+                .asOf(LocalDateTime.now());
+        PageRequest batch = PageRequest.of(0, properties.getMatching().getRebuildBatchSize());
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = recipeRepository.findIdsAfter(afterId, batch);
+            if (ids.isEmpty()) {
+                break;
+            }
+            readOnlyTemplate.executeWithoutResult(status -> {
+                for (Recipe recipe : recipeRepository.findWithIngredientsByIdIn(ids)) {
+                    builder.add(recipe);
+                }
+            });
+            afterId = ids.get(ids.size() - 1);
+        }
+        RecipeMatchIndex rebuilt = builder.build();
+        index = rebuilt;
+        log.info("Built recipe match index with {} recipes over {} ingredients in {} ms",
+                rebuilt.size(), rebuilt.ingredientCount(), (System.nanoTime() - start) / 1_000_000);
+        return rebuilt;
+    }
+
+    /**
+     * Replaces the index, such as with one restored from a snapshot.
+     * @param restored the index to serve
+     */
+    public synchronized void install(RecipeMatchIndex restored) {
+        index = restored;
+    }
+
+    /**
+     * Brings the current index up to date without rebuilding it.
+     *
+     * Recipes created or updated since the given time are reloaded, recipes no longer in the hot
+     * tables, such as archived ones, are dropped and recipes missing from the index are added,
+     * whatever their timestamps. Recipes using an ingredient whose nutrient vector was
+     * written since are reloaded too. The other slots are copied as they are. Only ids are read for
+     * the whole table, so the cost grows with the number of changes, not the catalogue.
+     * @param since the time to read changes from, usually the index's {@code asOf} minus a margin
+     * @return the new index
+     */
+    public synchronized RecipeMatchIndex catchUp(LocalDateTime since) {
+        RecipeMatchIndex base = index;
+        if (base == null) {
+            return rebuild();
+        }
+        long start = System.nanoTime();
+        LocalDateTime asOf = LocalDateTime.now();
+        long[] liveIds = liveRecipeIds();
+        long[] changedIds = recipeRepository.findIdsChangedSince(since).stream().mapToLong(Long::longValue).toArray();
+        List<Long> affected = new ArrayList<>();
+        List<Long> nutritionChanged = nutritionService.changedSince(since);
+        if (!nutritionChanged.isEmpty()) {
+            nutritionService.refresh();
+            addRecipesUsing(base, nutritionChanged, affected);
+        }
+        for (long id : liveIds) {
+            if (Arrays.binarySearch(changedIds, id) >= 0 || base.slotOf(id) < 0) {
+                affected.add(id);
+            }
+        }
+        for (int slot = 0; slot < base.slotCount(); slot++) {
+            if (base.isLive(slot) && Arrays.binarySearch(liveIds, base.recipeId(slot)) < 0) {
+                affected.add(base.recipeId(slot));
+            }
+        }
+        RecipeMatchIndex caughtUp = replace(base, affected, asOf);
+        log.info("Caught up recipe match index to {} recipes, {} affected, in {} ms", caughtUp.size(),
+                affected.size(), (System.nanoTime() - start) / 1_000_000);
+        return caughtUp;
+    }
+
+    @Override
+    public String name() {
+        return "recipe-index";
+    }
+
+    /**
+     * Reloads the recipes named by a batch of committed changes and swaps in the updated index.
+     * The index keeps its {@code asOf}, since only the recipes in the batch were read again.
+     */
+    @Override
+    public synchronized void apply(List<ChangeEvent> events) {
+        RecipeMatchIndex base = index;
+        if (base == null) {
+            return;
+        }
+        Set<Long> affected = new HashSet<>();
+        List<Long> nutritionChanged = new ArrayList<>();
+        for (ChangeEvent event : events) {
+            if (event.change().entity() == EntityChange.ChangedEntity.RECIPE) {
+                affected.add(event.change().id());
+            } else if (event.change().entity() == EntityChange.ChangedEntity.INGREDIENT_NUTRITION) {
+                nutritionChanged.add(event.change().id());
+            }
+        }
+        if (!nutritionChanged.isEmpty()) {
+            nutritionService.refresh();
+            addRecipesUsing(base, nutritionChanged, affected);
+        }
+        if (!affected.isEmpty()) {
+            replace(base, affected, base.asOf());
+        }
+    }
+
+    @Override
+    public void resync() {
+        markStale();
+    }
+
+    /**
+     * Updates an index with some recipes reloaded from the database, and installs it.
+     * Only the reloaded recipes are compiled; affected recipes that no longer exist are dropped.
+     */
+    private RecipeMatchIndex replace(RecipeMatchIndex base, Collection<Long> affectedIds, LocalDateTime asOf) {
+        long[] ids = affectedIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        RecipeMatchIndex.Builder reloaded = RecipeMatchIndex.builder(quantityEngine, recipeDictionaries.tags())
+                .nutrients(nutritionService.current())
+                .asOf(asOf);
+        int batchSize = properties.getMatching().getRebuildBatchSize();
+        for (int from = 0; from < ids.length; from += batchSize) {
+            List<Long> batch = Arrays.stream(ids, from, Math.min(ids.length, from + batchSize)).boxed().toList();
+            readOnlyTemplate.executeWithoutResult(status -> {
+                for (Recipe recipe : recipeRepository.findWithIngredientsByIdIn(batch)) {
+                    reloaded.add(recipe);
+                }
+            });
+        }
+        RecipeMatchIndex replaced = base.update(ids, reloaded);
+        index = replaced;
+        return replaced;
+    }
+
+    /**
+     * Adds the ids of the indexed recipes using any of the given ingredients.
+     */
+    private static void addRecipesUsing(RecipeMatchIndex index, Collection<Long> ingredientIds, Collection<Long> out) {
+        for (long ingredientId : ingredientIds) {
+            int[] slots = new int[index.postingCount(ingredientId)];
+            int count = index.copyPostings(ingredientId, slots, 0);
+            for (int i = 0; i < count; i++) {
+                out.add(index.recipeId(slots[i]));
+            }
+        }
+    }
+
+    private long[] liveRecipeIds() {
+        PageRequest batch = PageRequest.of(0, properties.getMatching().getRebuildBatchSize() * 20);
+        long[] ids = new long[1024];
+        int count = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> page = recipeRepository.findIdsAfter(afterId, batch);
+            if (page.isEmpty()) {
+                break;
+            }
+            for (Long id : page) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = id;
+            }
+            afterId = page.get(page.size() - 1);
+        }
+        return Arrays.copyOf(ids, count);
+    }
+}
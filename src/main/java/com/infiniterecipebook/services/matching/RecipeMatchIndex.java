@@ -0,0 +1,663 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.services.dictionary.InternDictionary;
+import com.infiniterecipebook.services.nutrition.NutrientTable;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable, array-backed view of the recipe catalogue used to find candidate recipes.
+ *
+ * Each recipe occupies a slot holding its id, filter attributes, nutrition per serving and
+ * compiled quantities.
+ * An inverted index maps every ingredient id to the slots of the recipes using it, stored
+ * as one flat postings array with per-ingredient offsets.
+ *
+ * {@link #asOf()} records when the catalogue was read, so changes made after it can be caught
+ * up from {@code updated_at} instead of rebuilding from scratch.
+ *
+ * The slots live in two {@link IndexSegment}s: a large base, and a small delta holding the
+ * recipes changed since the base was built. {@link #update(long[], Builder)} shares the base
+ * with the new index, marks its replaced and removed slots in a bitset, and rebuilds only the
+ * delta, so applying a batch of changes costs in proportion to the changes rather than the
+ * catalogue. Once the changes since the last merge reach 1/{@value #MERGE_DIVISOR} of the
+ * catalogue, both segments are merged into a new base. Base slots come first, then delta slots;
+ * within each segment slots are in ascending recipe id order.
+ *
+ * Every ingredient line also carries a match weight: the inverse document frequency of its
+ * ingredient, {@code ln(1 + recipes / recipes using it)}, halved for optional lines. Document
+ * frequencies are the live posting list lengths and follow every update, but an update only
+ * recomputes the weights of the ingredients whose frequency changed; the catalogue size they
+ * are computed against is the one at the last merge.
+ *
+ * Nutrition is aggregated from the ingredients' nutrient vectors when a builder is given a
+ * {@link NutrientTable}; nutrients the ingredients do not give fall back to the recipe's stored
+ * columns. Range queries over nutrition read a per-nutrient order of each segment's slots, sorted
+ * by value, which is built on the first query for that nutrient and then answered by binary search.
+ */
+public final class RecipeMatchIndex {
+
+    /** Stored in the meal type and difficulty arrays when the recipe has none. */
+    static final byte UNSET = -1;
+
+    /** Stored in the nutrition array for a nutrient the recipe does not give. */
+    public static final int UNKNOWN_NUTRIENT = NutrientTable.UNKNOWN;
+
+    /** Nutrition values per slot in the nutrition array. */
+    static final int NUTRIENTS = Nutrient.values().length;
+
+    /** Weight of an optional line relative to a required line using the same ingredient. */
+    static final float OPTIONAL_WEIGHT = 0.5f;
+
+    /** The segments are merged once the delta and removed base slots exceed this fraction of the catalogue. */
+    static final int MERGE_DIVISOR = 8;
+
+    private final IndexSegment base;
+    private final IndexSegment delta;
+
+    /** One bit per base slot replaced or removed since the base was built. */
+    private final long[] removed;
+    private final int removedCount;
+
+    /** Per base ingredient, the number of base slots still using it. */
+    private final int[] baseFrequencies;
+    private final float[] baseWeights;
+    private final float[] deltaWeights;
+    private final float unresolvedWeight;
+
+    /** The catalogue size at the last merge, which weights are computed against. */
+    private final int weightCorpus;
+
+    private final int size;
+    private final LocalDateTime asOf;
+
+    private RecipeMatchIndex(IndexSegment base, LocalDateTime asOf) {
+        this(base, IndexSegment.EMPTY, new long[(base.size() + 63) >>> 6], 0, frequencies(base), null, null,
+                base.size(), asOf);
+    }
+
+    private RecipeMatchIndex(IndexSegment base, IndexSegment delta, long[] removed, int removedCount,
+                             int[] baseFrequencies, float[] baseWeights, float[] deltaWeights, int weightCorpus,
+                             LocalDateTime asOf) {
+        this.base = base;
+        this.delta = delta;
+        this.removed = removed;
+        this.removedCount = removedCount;
+        this.baseFrequencies = baseFrequencies;
+        this.weightCorpus = weightCorpus;
+        this.size = base.size() - removedCount + delta.size();
+        this.asOf = asOf;
+        if (baseWeights == null) {
+            baseWeights = new float[baseFrequencies.length];
+            for (int i = 0; i < baseWeights.length; i++) {
+                baseWeights[i] = inverseDocumentFrequency(weightCorpus, baseFrequencies[i]);
+            }
+        }
+        this.baseWeights = baseWeights;
+        if (deltaWeights == null) {
+            deltaWeights = new float[delta.ingredientIds.length];
+            for (int i = 0; i < deltaWeights.length; i++) {
+                deltaWeights[i] = inverseDocumentFrequency(weightCorpus, frequency(delta.ingredientIds[i]));
+            }
+        }
+        this.deltaWeights = deltaWeights;
+        // An unresolved ingredient can never be matched; weigh it like the rarest one
+        this.unresolvedWeight = inverseDocumentFrequency(weightCorpus, 1);
+    }
+
+    /**
+     * Returns an empty index.
+     */
+    public static RecipeMatchIndex empty() {
+        return new Builder(null, null).build();
+    }
+
+    /**
+     * Creates a builder compiling quantities with the given engine and encoding tags with the given dictionary.
+     */
+    public static Builder builder(QuantityEngine quantityEngine, InternDictionary tagDictionary) {
+        return new Builder(quantityEngine, tagDictionary);
+    }
+
+    /**
+     * Returns a copy of this index with some recipes dropped or replaced, sharing the base segment.
+     *
+     * Base slots of the affected recipes are marked removed, and the reloaded recipes are merged
+     * with the rest of the current delta into a new delta. Only the weights of ingredients used by
+     * a removed slot or by either delta are recomputed. When the changes since the last merge
+     * reach 1/{@value #MERGE_DIVISOR} of the catalogue, the segments are merged instead.
+     * @param affectedIds the ids of every recipe to drop or replace, sorted
+     * @param reloaded the current version of those affected recipes still in the catalogue; its
+     *                 {@code asOf} becomes the new index's
+     * @return the updated index
+     */
+    public RecipeMatchIndex update(long[] affectedIds, Builder reloaded) {
+        long[] removed = this.removed;
+        int removedCount = this.removedCount;
+        int[] frequencies = baseFrequencies;
+        BitSet changed = new BitSet(frequencies.length);
+        for (long recipeId : affectedIds) {
+            int slot = base.slotOf(recipeId);
+            if (slot < 0 || isRemoved(removed, slot)) {
+                continue;
+            }
+            if (removed == this.removed) {
+                removed = removed.clone();
+                frequencies = frequencies.clone();
+            }
+            removed[slot >>> 6] |= 1L << slot;
+            removedCount++;
+            for (long ingredientId : IndexSegment.distinctIngredientIds(base.quantities[slot])) {
+                int ingredientSlot = base.ingredientSlot(ingredientId);
+                frequencies[ingredientSlot]--;
+                changed.set(ingredientSlot);
+            }
+        }
+
+        IndexSegment changes = reloaded.segment();
+        Builder merged = new Builder(null, null);
+        int d = 0;
+        int c = 0;
+        while (d < delta.size() || c < changes.size()) {
+            long deltaId = d < delta.size() ? delta.recipeIds[d] : Long.MAX_VALUE;
+            long changedId = c < changes.size() ? changes.recipeIds[c] : Long.MAX_VALUE;
+            if (changedId <= deltaId) {
+                merged.copy(changes, c++);
+                if (changedId == deltaId) {
+                    d++;
+                }
+            } else {
+                if (Arrays.binarySearch(affectedIds, deltaId) < 0) {
+                    merged.copy(delta, d);
+                }
+                d++;
+            }
+        }
+        IndexSegment newDelta = merged.segment();
+        if ((long) (newDelta.size() + removedCount) * MERGE_DIVISOR > weightCorpus) {
+            return merge(base, removed, newDelta, reloaded.asOf);
+        }
+
+        for (IndexSegment segment : List.of(delta, newDelta)) {
+            for (long ingredientId : segment.ingredientIds) {
+                int ingredientSlot = base.ingredientSlot(ingredientId);
+                if (ingredientSlot >= 0) {
+                    changed.set(ingredientSlot);
+                }
+            }
+        }
+        float[] weights = baseWeights;
+        if (!changed.isEmpty()) {
+            weights = weights.clone();
+            for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+                weights[i] = inverseDocumentFrequency(weightCorpus,
+                        frequencies[i] + newDelta.documentFrequency(base.ingredientIds[i]));
+            }
+        }
+        return new RecipeMatchIndex(base, newDelta, removed, removedCount, frequencies, weights, null,
+                weightCorpus, reloaded.asOf);
+    }
+
+    /**
+     * Returns this index with both segments merged into one base, or this index when it has no delta.
+     */
+    public RecipeMatchIndex compact() {
+        return delta.size() == 0 && removedCount == 0 ? this : merge(base, removed, delta, asOf);
+    }
+
+    /**
+     * Builds an index from the live base slots and the delta, in id order, without recompiling them.
+     */
+    private static RecipeMatchIndex merge(IndexSegment base, long[] removed, IndexSegment delta, LocalDateTime asOf) {
+        Builder builder = new Builder(null, null).asOf(asOf);
+        int d = 0;
+        for (int slot = 0; slot < base.size(); slot++) {
+            if (isRemoved(removed, slot)) {
+                continue;
+            }
+            long recipeId = base.recipeIds[slot];
+            while (d < delta.size() && delta.recipeIds[d] < recipeId) {
+                builder.copy(delta, d++);
+            }
+            builder.copy(base, slot);
+        }
+        while (d < delta.size()) {
+            builder.copy(delta, d++);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns when the recipes were read; later changes may be missing from the index.
+     */
+    public LocalDateTime asOf() {
+        return asOf;
+    }
+
+    /**
+     * Returns the number of indexed recipes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots, including base slots replaced or removed since the last merge.
+     * Every slot below it can be read; use {@link #isLive(int)} to skip the removed ones.
+     */
+    public int slotCount() {
+        return base.size() + delta.size();
+    }
+
+    /**
+     * Returns whether a slot holds an indexed recipe rather than one replaced or removed since the last merge.
+     */
+    public boolean isLive(int slot) {
+        return slot >= base.size() || !isRemoved(removed, slot);
+    }
+
+    /**
+     * Returns the number of distinct ingredients used by indexed recipes.
+     */
+    public int ingredientCount() {
+        int count = delta.ingredientIds.length;
+        for (int i = 0; i < baseFrequencies.length; i++) {
+            if (baseFrequencies[i] > 0 && delta.ingredientSlot(base.ingredientIds[i]) < 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the recipe id stored in a slot.
+     */
+    public long recipeId(int slot) {
+        int baseSize = base.size();
+        return slot < baseSize ? base.recipeIds[slot] : delta.recipeIds[slot - baseSize];
+    }
+
+    /**
+     * Returns the compiled quantities stored in a slot.
+     */
+    public RecipeQuantities quantities(int slot) {
+        int baseSize = base.size();
+        return slot < baseSize ? base.quantities[slot] : delta.quantities[slot - baseSize];
+    }
+
+    /**
+     * Returns the meal type ordinal stored in a slot, {@link #UNSET} when the recipe has none.
+     */
+    byte mealType(int slot) {
+        int baseSize = base.size();
+        return slot < baseSize ? base.mealTypes[slot] : delta.mealTypes[slot - baseSize];
+    }
+
+    /**
+     * Returns the difficulty ordinal stored in a slot, {@link #UNSET} when the recipe has none.
+     */
+    byte difficulty(int slot) {
+        int baseSize = base.size();
+        return slot < baseSize ? base.difficulties[slot] : delta.difficulties[slot - baseSize];
+    }
+
+    /**
+     * Returns the cooking time in minutes stored in a slot, 0 when the recipe has none.
+     */
+    public int cookingTime(int slot) {
+        int baseSize = base.size();
+        return slot < baseSize ? base.cookingTimes[slot] : delta.cookingTimes[slot - baseSize];
+    }
+
+    /**
+     * Returns the sorted tag ids stored in a slot.
+     */
+    int[] tagIds(int slot) {
+        int baseSize = base.size();
+        return slot < baseSize ? base.tagIds[slot] : delta.tagIds[slot - baseSize];
+    }
+
+    /**
+     * Returns a nutrient per serving stored in a slot, or {@link #UNKNOWN_NUTRIENT} when the recipe does not give it.
+     */
+    public int nutrient(int slot, Nutrient nutrient) {
+        return nutrient(slot, nutrient.ordinal());
+    }
+
+    private int nutrient(int slot, int ordinal) {
+        int baseSize = base.size();
+        return slot < baseSize ? base.nutrient(slot, ordinal) : delta.nutrient(slot - baseSize, ordinal);
+    }
+
+    /**
+     * Writes the match weight of each line stored in a slot and returns their sum.
+     * @param slot the slot
+     * @param weights receives one weight per line; at least as long as the recipe's lines
+     * @return the total weight, 0 for a recipe without ingredients
+     */
+    float lineWeights(int slot, float[] weights) {
+        int baseSize = base.size();
+        boolean inBase = slot < baseSize;
+        IndexSegment segment = inBase ? base : delta;
+        int local = inBase ? slot : slot - baseSize;
+        float[] ingredientWeights = inBase ? baseWeights : deltaWeights;
+        int[] lines = segment.lineIngredients[local];
+        boolean[] required = segment.quantities[local].required();
+        float total = 0;
+        for (int i = 0; i < lines.length; i++) {
+            float weight = lines[i] != IndexSegment.UNRESOLVED ? ingredientWeights[lines[i]] : unresolvedWeight;
+            weights[i] = required[i] ? weight : weight * OPTIONAL_WEIGHT;
+            total += weights[i];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of posting entries of an ingredient: the recipes using it, plus base
+     * slots using it that were replaced or removed since the last merge.
+     */
+    int postingCount(long ingredientId) {
+        return base.documentFrequency(ingredientId) + delta.documentFrequency(ingredientId);
+    }
+
+    /**
+     * Writes the slots of the indexed recipes using an ingredient, base slots first.
+     * @param ingredientId the ingredient
+     * @param out receives the slots; needs room for {@link #postingCount(long)} of them from {@code offset}
+     * @param offset the position of the first slot written
+     * @return the position after the last slot written
+     */
+    int copyPostings(long ingredientId, int[] out, int offset) {
+        int ingredientSlot = base.ingredientSlot(ingredientId);
+        if (ingredientSlot >= 0) {
+            for (int i = base.postingOffsets[ingredientSlot]; i < base.postingOffsets[ingredientSlot + 1]; i++) {
+                int slot = base.postings[i];
+                if (removedCount == 0 || !isRemoved(removed, slot)) {
+                    out[offset++] = slot;
+                }
+            }
+        }
+        ingredientSlot = delta.ingredientSlot(ingredientId);
+        if (ingredientSlot >= 0) {
+            int baseSize = base.size();
+            for (int i = delta.postingOffsets[ingredientSlot]; i < delta.postingOffsets[ingredientSlot + 1]; i++) {
+                out[offset++] = baseSize + delta.postings[i];
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the number of slots whose nutrition per serving lies in a range. Until the next
+     * merge it also counts base slots replaced or removed since the last one.
+     */
+    public int countInRange(NutritionRange range) {
+        return countInRange(base, range) + countInRange(delta, range);
+    }
+
+    private static int countInRange(IndexSegment segment, NutritionRange range) {
+        long[] order = segment.nutrientOrder(range.nutrient());
+        return Math.max(0, IndexSegment.upperBound(order, range) - IndexSegment.lowerBound(order, range));
+    }
+
+    /**
+     * Returns the slots of the recipes whose nutrition per serving lies in every range, such as
+     * under 500 kcal and at least 30 g of protein. The narrowest range is read from its sorted
+     * order and the others are checked slot by slot, so the cost grows with the narrowest match.
+     * @param ranges the ranges, at least one
+     * @return the matching slots, ascending
+     */
+    public int[] slotsInRanges(List<NutritionRange> ranges) {
+        NutritionRange narrowest = ranges.get(0);
+        int narrowestCount = countInRange(narrowest);
+        for (int i = 1; i < ranges.size(); i++) {
+            int count = countInRange(ranges.get(i));
+            if (count < narrowestCount) {
+                narrowest = ranges.get(i);
+                narrowestCount = count;
+            }
+        }
+        int[] slots = new int[narrowestCount];
+        int found = 0;
+        long[] order = base.nutrientOrder(narrowest.nutrient());
+        for (int i = IndexSegment.lowerBound(order, narrowest), end = IndexSegment.upperBound(order, narrowest);
+             i < end; i++) {
+            int slot = (int) order[i];
+            if (!isRemoved(removed, slot) && inRanges(slot, ranges)) {
+                slots[found++] = slot;
+            }
+        }
+        order = delta.nutrientOrder(narrowest.nutrient());
+        for (int i = IndexSegment.lowerBound(order, narrowest), end = IndexSegment.upperBound(order, narrowest);
+             i < end; i++) {
+            int slot = base.size() + (int) order[i];
+            if (inRanges(slot, ranges)) {
+                slots[found++] = slot;
+            }
+        }
+        slots = Arrays.copyOf(slots, found);
+        Arrays.sort(slots);
+        return slots;
+    }
+
+    /**
+     * Returns whether the nutrition per serving stored in a slot lies in every range.
+     */
+    boolean inRanges(int slot, List<NutritionRange> ranges) {
+        for (NutritionRange range : ranges) {
+            if (!range.contains(nutrient(slot, range.nutrient().ordinal()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the slot of a recipe, or a negative value when it is not indexed.
+     */
+    public int slotOf(long recipeId) {
+        int slot = delta.slotOf(recipeId);
+        if (slot >= 0) {
+            return base.size() + slot;
+        }
+        slot = base.slotOf(recipeId);
+        return slot >= 0 && !isRemoved(removed, slot) ? slot : -1;
+    }
+
+    /**
+     * Returns the match weight of an ingredient, or 0 when no indexed recipe uses it.
+     * Rare ingredients weigh more than ones most recipes use.
+     */
+    public float ingredientWeight(long ingredientId) {
+        int ingredientSlot = delta.ingredientSlot(ingredientId);
+        if (ingredientSlot >= 0) {
+            return deltaWeights[ingredientSlot];
+        }
+        ingredientSlot = base.ingredientSlot(ingredientId);
+        return ingredientSlot >= 0 ? baseWeights[ingredientSlot] : 0f;
+    }
+
+    /**
+     * Returns the number of live slots using an ingredient, across both segments.
+     */
+    private int frequency(long ingredientId) {
+        int ingredientSlot = base.ingredientSlot(ingredientId);
+        return (ingredientSlot >= 0 ? baseFrequencies[ingredientSlot] : 0) + delta.documentFrequency(ingredientId);
+    }
+
+    private static int[] frequencies(IndexSegment segment) {
+        int[] frequencies = new int[segment.ingredientIds.length];
+        for (int i = 0; i < frequencies.length; i++) {
+            frequencies[i] = segment.documentFrequency(i);
+        }
+        return frequencies;
+    }
+
+    private static boolean isRemoved(long[] removed, int slot) {
+        return (removed[slot >>> 6] & 1L << slot) != 0;
+    }
+
+    private static int[] nutritionOf(NutritionalInfo info) {
+        int[] values = new int[NUTRIENTS];
+        Arrays.fill(values, UNKNOWN_NUTRIENT);
+        if (info != null) {
+            Integer[] given = {info.getCalories(), info.getProtein(), info.getCarbs(), info.getFat(),
+                    info.getFiber(), info.getSugar(), info.getSodium()};
+            for (int i = 0; i < NUTRIENTS; i++) {
+                if (given[i] != null && given[i] >= 0) {
+                    values[i] = given[i];
+                }
+            }
+        }
+        return values;
+    }
+
+    private static float inverseDocumentFrequency(int recipes, int recipesUsing) {
+        return recipesUsing > 0 ? (float) Math.log1p((double) recipes / recipesUsing) : 0f;
+    }
+
+    /**
+     * Accumulates recipes into a new index.
+     */
+    public static final class Builder {
+        private final QuantityEngine quantityEngine;
+        private final InternDictionary tagDictionary;
+
+        private long[] recipeIds = new long[64];
+        private byte[] mealTypes = new byte[64];
+        private byte[] difficulties = new byte[64];
+        private int[] cookingTimes = new int[64];
+        private int[] nutrition = new int[64 * NUTRIENTS];
+        private final List<int[]> tagIds = new ArrayList<>();
+        private final List<RecipeQuantities> quantities = new ArrayList<>();
+        private LocalDateTime asOf = LocalDateTime.now();
+        private NutrientTable nutrients;
+
+        private Builder(QuantityEngine quantityEngine, InternDictionary tagDictionary) {
+            this.quantityEngine = quantityEngine;
+            this.tagDictionary = tagDictionary;
+        }
+
+        /**
+         * Sets when the recipes added to this builder were read. Defaults to the builder's creation.
+         * @param asOf a time no later than the first read
+         * @return this builder
+         */
+        public Builder asOf(LocalDateTime asOf) {
+            this.asOf = asOf;
+            return this;
+        }
+
+        /**
+         * Sets the nutrient vectors recipes added to this builder are aggregated with.
+         * Without them, nutrition is read from the recipes' stored columns only.
+         * @param nutrients the current nutrient table
+         * @return this builder
+         */
+        public Builder nutrients(NutrientTable nutrients) {
+            this.nutrients = nutrients;
+            return this;
+        }
+
+        /**
+         * Adds a persisted recipe. Recipes must be added in ascending id order. Tags are encoded
+         * in the normalized form {@link CandidateFilter#encodeTags} matches them in.
+         * @param recipe the recipe, with ingredients loaded
+         * @return this builder
+         */
+        public Builder add(Recipe recipe) {
+            List<String> recipeTags = recipe.getTags() != null ? recipe.getTags() : List.of();
+            int[] tags = new int[recipeTags.size()];
+            for (int i = 0; i < tags.length; i++) {
+                String tag = recipeTags.get(i);
+                tags[i] = tag != null ? tagDictionary.encode(CandidateFilter.normalizeTag(tag))
+                        : InternDictionary.NOT_ENCODED;
+            }
+            Arrays.sort(tags);
+            RecipeQuantities compiled = quantityEngine.compile(recipe);
+            int[] nutrition = nutritionOf(recipe.getNutritionalInfo());
+            if (nutrients != null) {
+                int[] computed = new int[NUTRIENTS];
+                nutrients.perServing(compiled, computed);
+                for (int n = 0; n < NUTRIENTS; n++) {
+                    if (computed[n] != UNKNOWN_NUTRIENT) {
+                        nutrition[n] = computed[n];
+                    }
+                }
+            }
+            return add(recipe.getId(),
+                    recipe.getMealType() != null ? (byte) recipe.getMealType().ordinal() : UNSET,
+                    recipe.getDifficulty() != null ? (byte) recipe.getDifficulty().ordinal() : UNSET,
+                    recipe.getCookingTimeMinutes() != null ? recipe.getCookingTimeMinutes() : 0,
+                    nutrition, tags, compiled);
+        }
+
+        /**
+         * Copies a slot of another index, without recompiling it.
+         * @param source the index holding the slot
+         * @param slot the slot to copy
+         * @return this builder
+         */
+        public Builder copy(RecipeMatchIndex source, int slot) {
+            int baseSize = source.base.size();
+            return slot < baseSize ? copy(source.base, slot) : copy(source.delta, slot - baseSize);
+        }
+
+        private Builder copy(IndexSegment source, int slot) {
+            return add(source.recipeIds[slot], source.mealTypes[slot], source.difficulties[slot],
+                    source.cookingTimes[slot],
+                    Arrays.copyOfRange(source.nutrition, slot * NUTRIENTS, (slot + 1) * NUTRIENTS),
+                    source.tagIds[slot], source.quantities[slot]);
+        }
+
+        /**
+         * Adds an already compiled recipe.
+         * @param nutrition one value per {@link Nutrient}, {@link #UNKNOWN_NUTRIENT} when not given
+         * @param tags tag ids, sorted
+         */
+        Builder add(long recipeId, byte mealType, byte difficulty, int cookingTime, int[] nutrition,
+                    int[] tags, RecipeQuantities compiled) {
+            int slot = quantities.size();
+            if (slot > 0 && recipeIds[slot - 1] >= recipeId) {
+                throw new IllegalArgumentException("Recipes must be added in ascending id order: " + recipeId);
+            }
+            if (slot == recipeIds.length) {
+                int capacity = slot * 2;
+                recipeIds = Arrays.copyOf(recipeIds, capacity);
+                mealTypes = Arrays.copyOf(mealTypes, capacity);
+                difficulties = Arrays.copyOf(difficulties, capacity);
+                cookingTimes = Arrays.copyOf(cookingTimes, capacity);
+                this.nutrition = Arrays.copyOf(this.nutrition, capacity * NUTRIENTS);
+            }
+            recipeIds[slot] = recipeId;
+            mealTypes[slot] = mealType;
+            difficulties[slot] = difficulty;
+            cookingTimes[slot] = cookingTime;
+            System.arraycopy(nutrition, 0, this.nutrition, slot * NUTRIENTS, NUTRIENTS);
+            tagIds.add(tags);
+            quantities.add(compiled);
+            return this;
+        }
+
+        /**
+         * Builds the index.
+         */
+        public RecipeMatchIndex build() {
+            return new RecipeMatchIndex(segment(), asOf);
+        }
+
+        private IndexSegment segment() {
+            return new IndexSegment(quantities.size(), recipeIds, mealTypes, difficulties, cookingTimes, nutrition,
+                    tagIds.toArray(int[][]::new), quantities.toArray(RecipeQuantities[]::new));
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.services.quantity.Pantry;
+import com.infiniterecipebook.services.quantity.PantryMatcher;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the recipes that best match a pantry.
+ *
+ * Candidates are the recipes sharing at least one ingredient with the pantry, collected from
+ * the index postings. Each candidate passing the filter is matched quantity-aware and kept in a
+ * bounded min-heap, so selecting the top K costs O(candidates log K) and never sorts the rest.
+ *
+ * The score is the match confidence: the share of the recipe's line weights, held by the index,
+ * that the pantry covers. Rare ingredients weigh more than common ones, so a missing pinch of
+ * salt costs less than missing saffron, and a short line counts in proportion to the quantity
+ * at hand.
+ *
+ * Each phase polls the request deadline every {@value #DEADLINE_CHECK_INTERVAL} candidates; once
+ * it has expired the remaining candidates are skipped and the best ones seen so far are returned.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeScorer {
+
+    /** Candidates processed between two deadline checks; a power of two. */
+    static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    private final PantryMatcher pantryMatcher;
+
+    /**
+     * Returns the best matching recipes.
+     * @param index the recipe index
+     * @param pantry the available ingredients
+     * @param filter hard constraints on the candidates
+     * @param servings the servings the user wants to cook, 0 to match each recipe at its own servings
+     * @param limit the maximum number of recipes to return
+     * @return up to {@code limit} recipes, best first; ties go to the lower recipe id
+     */
+    public List<ScoredRecipe> topK(RecipeMatchIndex index, Pantry pantry, CandidateFilter filter,
+                                   int servings, int limit) {
+        return topK(index, pantry, filter, servings, limit, null, Deadline.none());
+    }
+
+    /**
+     * Returns the best matching recipes, reporting how long each phase took.
+     * Retrieval, filtering and scoring run as separate passes over the candidates, so timing
+     * them costs two clock reads per phase rather than per candidate.
+     * @param index the recipe index
+     * @param pantry the available ingredients
+     * @param filter hard constraints on the candidates
+     * @param servings the servings the user wants to cook, 0 to match each recipe at its own servings
+     * @param limit the maximum number of recipes to return
+     * @param stats receives the phase timings and candidate counts, may be null
+     * @param deadline when to stop and return the best candidates scored so far
+     * @return up to {@code limit} recipes, best first; ties go to the lower recipe id
+     */
+    public List<ScoredRecipe> topK(RecipeMatchIndex index, Pantry pantry, CandidateFilter filter,
+                                   int servings, int limit, ScoringStats stats, Deadline deadline) {
+        if (limit <= 0 || index.size() == 0 || pantry.size() == 0) {
+            return List.of();
+        }
+        long start = stats != null ? System.nanoTime() : 0;
+        int[] candidates = new int[postingCount(index, pantry)];
+        int candidateCount = retrieve(index, pantry, filter, candidates, deadline);
+        boolean partial = candidateCount < 0;
+        if (partial) {
+            candidateCount = ~candidateCount;
+        }
+        long retrieved = stats != null ? System.nanoTime() : 0;
+
+        int accepted = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (isCheckpoint(i) && deadline.isExpired()) {
+                partial = true;
+                break;
+            }
+            int slot = candidates[i];
+            if (filter.accepts(index, slot)) {
+                candidates[accepted++] = slot;
+            }
+        }
+        long filtered = stats != null ? System.nanoTime() : 0;
+
+        TopK topK = new TopK(limit);
+        float[] weights = new float[16];
+        for (int i = 0; i < accepted; i++) {
+            if (isCheckpoint(i) && deadline.isExpired()) {
+                partial = true;
+                break;
+            }
+            int slot = candidates[i];
+            int lines = index.quantities(slot).size();
+            if (lines > weights.length) {
+                weights = new float[Math.max(lines, weights.length * 2)];
+            }
+            topK.offer(slot, index.recipeId(slot), confidence(index, slot, pantry, servings, weights));
+        }
+        List<ScoredRecipe> result = topK.drain();
+        if (stats != null) {
+            stats.record(retrieved - start, filtered - retrieved, System.nanoTime() - filtered, candidateCount, accepted,
+                    partial);
+        }
+        return result;
+    }
+
+    /**
+     * Whether the deadline is due for a check before processing the candidate at {@code i}.
+     * Skips index 0 so a request always scores at least one batch of candidates.
+     */
+    private static boolean isCheckpoint(int i) {
+        return i != 0 && (i & (DEADLINE_CHECK_INTERVAL - 1)) == 0;
+    }
+
+    /**
+     * Collects the distinct slots of the recipes sharing at least one ingredient with the pantry.
+     * Pantry ingredients are visited in order and the deadline is checked between posting lists.
+     * The collected postings are then sorted and deduplicated in place, so retrieval costs in
+     * proportion to the postings read and allocates nothing sized by the catalogue.
+     *
+     * When the filter bounds nutrition, the recipes in its ranges are read from the index's
+     * sorted nutrient orders first. If they are fewer than the pantry's postings, they are
+     * walked instead of the postings; otherwise the postings are intersected with them.
+     * @param candidates receives the slots, ascending; room for every posting of the pantry
+     * @return the number of slots written to {@code candidates}, bitwise complemented when the
+     *         deadline cut retrieval short
+     */
+    private static int retrieve(RecipeMatchIndex index, Pantry pantry, CandidateFilter filter, int[] candidates,
+                                Deadline deadline) {
+        int[] inRange = null;
+        if (!filter.nutrition().isEmpty()) {
+            inRange = index.slotsInRanges(filter.nutrition());
+            if (inRange.length < candidates.length) {
+                return retrieveInRange(index, pantry, inRange, candidates, deadline);
+            }
+        }
+        int end = 0;
+        boolean partial = false;
+        for (int p = 0; p < pantry.size(); p++) {
+            if (p > 0 && deadline.isExpired()) {
+                partial = true;
+                break;
+            }
+            end = index.copyPostings(pantry.ingredientIdAt(p), candidates, end);
+        }
+        Arrays.sort(candidates, 0, end);
+        int count = 0;
+        int next = 0;
+        for (int i = 0; i < end; i++) {
+            int slot = candidates[i];
+            if (count > 0 && candidates[count - 1] == slot) {
+                continue;
+            }
+            if (inRange != null) {
+                while (next < inRange.length && inRange[next] < slot) {
+                    next++;
+                }
+                if (next == inRange.length || inRange[next] != slot) {
+                    continue;
+                }
+            }
+            candidates[count++] = slot;
+        }
+        return partial ? ~count : count;
+    }
+
+    /**
+     * Keeps the given slots whose recipe uses at least one pantry ingredient, checking the
+     * deadline every {@value #DEADLINE_CHECK_INTERVAL} slots.
+     */
+    private static int retrieveInRange(RecipeMatchIndex index, Pantry pantry, int[] slots, int[] candidates,
+                                       Deadline deadline) {
+        int count = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (isCheckpoint(i) && deadline.isExpired()) {
+                return ~count;
+            }
+            for (long ingredientId : index.quantities(slots[i]).ingredientIds()) {
+                if (ingredientId >= 0 && pantry.indexOf(ingredientId) >= 0) {
+                    candidates[count++] = slots[i];
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total length of the posting lists of the pantry's ingredients.
+     */
+    private static int postingCount(RecipeMatchIndex index, Pantry pantry) {
+        int count = 0;
+        for (int p = 0; p < pantry.size(); p++) {
+            count += index.postingCount(pantry.ingredientIdAt(p));
+        }
+        return count;
+    }
+
+    /**
+     * Returns the match confidence of an indexed recipe against a pantry, between 0 and 1.
+     * @param index the recipe index
+     * @param slot the recipe's slot
+     * @param pantry the available ingredients
+     * @param servings the servings the user wants to cook, 0 to match the recipe at its own servings
+     * @return the covered share of the recipe's line weights, 0 for a recipe without ingredients
+     */
+    public double confidence(RecipeMatchIndex index, int slot, Pantry pantry, int servings) {
+        return confidence(index, slot, pantry, servings, new float[index.quantities(slot).size()]);
+    }
+
+    /**
+     * Returns the match confidence of an indexed recipe, reading its line weights into a scratch array.
+     */
+    private double confidence(RecipeMatchIndex index, int slot, Pantry pantry, int servings, float[] weights) {
+        float total = index.lineWeights(slot, weights);
+        if (total == 0) {
+            return 0.0;
+        }
+        RecipeQuantities recipe = index.quantities(slot);
+        int target = servings > 0 ? servings : recipe.servings();
+        return Math.min(1.0, pantryMatcher.coveredWeight(recipe, pantry, target, weights) / total);
+    }
+
+    /**
+     * Bounded min-heap over parallel primitive arrays; the root is the worst retained entry.
+     */
+    private static final class TopK {
+        private final int[] slots;
+        private final long[] recipeIds;
+        private final double[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            slots = new int[capacity];
+            recipeIds = new long[capacity];
+            scores = new double[capacity];
+        }
+
+        void offer(int slot, long recipeId, double score) {
+            if (size < slots.length) {
+                set(size, slot, recipeId, score);
+                siftUp(size++);
+            } else if (worse(0, score, recipeId)) {
+                set(0, slot, recipeId, score);
+                siftDown(0);
+            }
+        }
+
+        List<ScoredRecipe> drain() {
+            ScoredRecipe[] ordered = new ScoredRecipe[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ordered[i] = new ScoredRecipe(slots[0], recipeIds[0], scores[0]);
+                size--;
+                if (size > 0) {
+                    set(0, slots[size], recipeIds[size], scores[size]);
+                    siftDown(0);
+                }
+            }
+            return new ArrayList<>(List.of(ordered));
+        }
+
+        /** Whether the entry at {@code i} ranks below the given score and id. */
+        private boolean worse(int i, double score, long recipeId) {
+            return scores[i] < score || (scores[i] == score && recipeIds[i] > recipeId);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(i, scores[parent], recipeIds[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int right = left + 1;
+                int worst = right < size && worse(right, scores[left], recipeIds[left]) ? right : left;
+                if (!worse(worst, scores[i], recipeIds[i])) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void set(int i, int slot, long recipeId, double score) {
+            slots[i] = slot;
+            recipeIds[i] = recipeId;
+            scores[i] = score;
+        }
+
+        private void swap(int a, int b) {
+            int slot = slots[a];
+            long recipeId = recipeIds[a];
+            double score = scores[a];
+            set(a, slots[b], recipeIds[b], scores[b]);
+            set(b, slot, recipeId, score);
+        }
+    }
+}
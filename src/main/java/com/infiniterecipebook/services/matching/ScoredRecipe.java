@@ -0,0 +1,11 @@
+package com.infiniterecipebook.services.matching;
+
+/**
+ * A candidate recipe and its match score.
+ *
+ * @param slot the recipe's slot in the {@link RecipeMatchIndex} it was scored against
+ * @param recipeId the recipe id
+ * @param score the match confidence, between 0 and 1
+ */
+public record ScoredRecipe(int slot, long recipeId, double score) {
+}
@@ -0,0 +1,55 @@
+package com.infiniterecipebook.services.matching;
+
+/**
+ * Phase timings and candidate counts of one {@link RecipeScorer#topK} call.
+ * Not thread safe; use one instance per call.
+ */
+public final class ScoringStats {
+
+    private long retrievalNanos;
+    private long filteringNanos;
+    private long scoringNanos;
+    private int candidates;
+    private int accepted;
+    private boolean partial;
+
+    void record(long retrievalNanos, long filteringNanos, long scoringNanos, int candidates, int accepted,
+                boolean partial) {
+        this.retrievalNanos = retrievalNanos;
+        this.filteringNanos = filteringNanos;
+        this.scoringNanos = scoringNanos;
+        this.candidates = candidates;
+        this.accepted = accepted;
+        this.partial = partial;
+    }
+
+    /** Time spent collecting candidates from the index postings. */
+    public long retrievalNanos() {
+        return retrievalNanos;
+    }
+
+    /** Time spent applying the candidate filter. */
+    public long filteringNanos() {
+        return filteringNanos;
+    }
+
+    /** Time spent matching the accepted candidates and selecting the top K. */
+    public long scoringNanos() {
+        return scoringNanos;
+    }
+
+    /** Number of recipes sharing at least one ingredient with the pantry. */
+    public int candidates() {
+        return candidates;
+    }
+
+    /** Number of candidates that passed the filter. */
+    public int accepted() {
+        return accepted;
+    }
+
+    /** Whether the deadline expired before every candidate was retrieved, filtered and scored. */
+    public boolean partial() {
+        return partial;
+    }
+}
@@ -0,0 +1,44 @@
+package com.infiniterecipebook.services.metrics;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output message collecting a body in memory, so that it can be sent with a Content-Length.
+ *
+ * Without a length the server compresses every body, however small, since it cannot tell the
+ * size in advance; with one, bodies under {@code server.compression.min-response-size} go out
+ * as they are. Headers are shared with the target message.
+ */
+class BufferedOutputMessage implements HttpOutputMessage {
+
+    private final HttpHeaders headers;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+    BufferedOutputMessage(HttpOutputMessage target) {
+        this.headers = target.getHeaders();
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Sets the Content-Length and writes the collected body to the target.
+     * @param target the message the body was collected for
+     */
+    void writeTo(HttpOutputMessage target) throws IOException {
+        target.getHeaders().setContentLength(body.size());
+        body.writeTo(target.getBody());
+    }
+}
@@ -0,0 +1,184 @@
+package com.infiniterecipebook.services.metrics;
+
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.services.matching.ScoringStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters of the recipe generation pipeline, tagged by stage and requested meal type.
+ *
+ * Every meter is registered once up front and looked up by array index on the request path,
+ * so recording costs a clock read and an atomic update, never a registry lookup. Histogram
+ * buckets are configured under {@code management.metrics.distribution}.
+ */
+@Component
+public class GenerationMetrics {
+
+    /** Timer of each pipeline stage, tagged {@code stage} and {@code meal.type}. */
+    public static final String STAGE_TIMER = "recipe.generation.stage";
+
+    /** Request attribute carrying the requested meal type to the serialization stage. */
+    public static final String MEAL_TYPE_ATTRIBUTE = GenerationMetrics.class.getName() + ".mealType";
+
+    static final String ANY_MEAL_TYPE = "any";
+
+    /**
+     * The stages of a generate request, in pipeline order.
+     */
+    public enum Stage {
+        /** Resolving ingredient names into a pantry and building the candidate filter. */
+        VALIDATION,
+        /** Collecting the recipes sharing an ingredient with the pantry from the index. */
+        RETRIEVAL,
+        /** Applying meal type, cooking time, difficulty and tag constraints. */
+        FILTERING,
+        /** Quantity-aware matching and top K selection. */
+        SCORING,
+        /** Loading the selected recipes and mapping them to DTOs. */
+        HYDRATION,
+        /** Waiting for generated recipes after hydration, when generation is enabled. */
+        GENERATION,
+        /** Writing the response body. */
+        SERIALIZATION;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Timer[][] stageTimers;
+    private final DistributionSummary[] candidates;
+    private final DistributionSummary[] acceptedCandidates;
+    private final Counter resolvedIngredients;
+    private final Counter unknownIngredients;
+    private final Counter[] partialResponses;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public GenerationMetrics(MeterRegistry registry) {
+        Stage[] stages = Stage.values();
+        int mealTypes = MealType.values().length + 1;
+        stageTimers = new Timer[stages.length][mealTypes];
+        candidates = new DistributionSummary[mealTypes];
+        acceptedCandidates = new DistributionSummary[mealTypes];
+        for (int m = 0; m < mealTypes; m++) {
+            String mealType = m == 0 ? ANY_MEAL_TYPE : MealType.values()[m - 1].name().toLowerCase(Locale.ROOT);
+            for (Stage stage : stages) {
+                stageTimers[stage.ordinal()][m] = Timer.builder(STAGE_TIMER)
+                        .description("Time spent in one stage of recipe generation")
+                        .tag("stage", stage.tag())
+                        .tag("meal.type", mealType)
+                        .register(registry);
+            }
+            candidates[m] = DistributionSummary.builder("recipe.generation.candidates")
+                    .description("Recipes sharing at least one ingredient with the request")
+                    .tag("meal.type", mealType)
+                    .register(registry);
+            acceptedCandidates[m] = DistributionSummary.builder("recipe.generation.candidates.accepted")
+                    .description("Candidates left after applying the request filters")
+                    .tag("meal.type", mealType)
+                    .register(registry);
+        }
+        resolvedIngredients = Counter.builder("recipe.generation.ingredients")
+                .description("Ingredient names in generate requests, by whether the catalogue knew them")
+                .tag("result", "resolved")
+                .register(registry);
+        unknownIngredients = Counter.builder("recipe.generation.ingredients")
+                .description("Ingredient names in generate requests, by whether the catalogue knew them")
+                .tag("result", "unknown")
+                .register(registry);
+        partialResponses = new Counter[stages.length];
+        for (Stage stage : stages) {
+            partialResponses[stage.ordinal()] = Counter.builder("recipe.generation.partial")
+                    .description("Generate responses cut short by the request deadline, by the stage it expired in")
+                    .tag("stage", stage.tag())
+                    .register(registry);
+        }
+        Gauge.builder("recipe.generation.active", inFlight, AtomicInteger::get)
+                .description("Generate requests currently being processed")
+                .register(registry);
+    }
+
+    /**
+     * Records the duration of a stage.
+     * @param stage the stage
+     * @param mealType the requested meal type, null when the request did not ask for one
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(Stage stage, MealType mealType, long nanos) {
+        stageTimers[stage.ordinal()][slot(mealType)].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the serialization stage of the current generate request, tagged with the meal type
+     * the controller left in {@link #MEAL_TYPE_ATTRIBUTE}.
+     * @param nanos the time spent writing the response body
+     */
+    public void recordSerialization(long nanos) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object mealType = attributes != null
+                ? attributes.getAttribute(MEAL_TYPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        record(Stage.SERIALIZATION, mealType instanceof MealType value ? value : null, nanos);
+    }
+
+    /**
+     * Records the retrieval, filtering and scoring stages of one scorer call.
+     * @param mealType the requested meal type, may be null
+     * @param stats the scorer statistics
+     */
+    public void record(MealType mealType, ScoringStats stats) {
+        int slot = slot(mealType);
+        stageTimers[Stage.RETRIEVAL.ordinal()][slot].record(stats.retrievalNanos(), TimeUnit.NANOSECONDS);
+        stageTimers[Stage.FILTERING.ordinal()][slot].record(stats.filteringNanos(), TimeUnit.NANOSECONDS);
+        stageTimers[Stage.SCORING.ordinal()][slot].record(stats.scoringNanos(), TimeUnit.NANOSECONDS);
+        candidates[slot].record(stats.candidates());
+        acceptedCandidates[slot].record(stats.accepted());
+    }
+
+    /**
+     * Records how many of the requested ingredient names resolved against the catalogue.
+     * @param resolved names that resolved
+     * @param unknown names that did not
+     */
+    public void recordIngredients(int resolved, int unknown) {
+        resolvedIngredients.increment(resolved);
+        unknownIngredients.increment(unknown);
+    }
+
+    /**
+     * Records a response returned early because the deadline expired.
+     * @param stage the stage that stopped short
+     */
+    public void recordPartial(Stage stage) {
+        partialResponses[stage.ordinal()].increment();
+    }
+
+    /**
+     * Marks a generate request as started; pair with {@link #finished()}.
+     */
+    public void started() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Marks a generate request as finished.
+     */
+    public void finished() {
+        inFlight.decrementAndGet();
+    }
+
+    private static int slot(MealType mealType) {
+        return mealType == null ? 0 : mealType.ordinal() + 1;
+    }
+}
@@ -0,0 +1,36 @@
+package com.infiniterecipebook.services.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.dto.RecipeResponse;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR (RFC 8949) converter for clients sending {@code Accept: application/cbor}. Generate
+ * responses are timed like {@link TimedJsonHttpMessageConverter}.
+ */
+public class TimedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final GenerationMetrics generationMetrics;
+
+    public TimedCborHttpMessageConverter(ObjectMapper objectMapper, GenerationMetrics generationMetrics) {
+        super(objectMapper);
+        this.generationMetrics = generationMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        BufferedOutputMessage buffer = new BufferedOutputMessage(outputMessage);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, buffer);
+        if (object instanceof RecipeResponse) {
+            generationMetrics.recordSerialization(System.nanoTime() - start);
+        }
+        buffer.writeTo(outputMessage);
+    }
+}
@@ -0,0 +1,40 @@
+package com.infiniterecipebook.services.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.dto.RecipeResponse;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that records the serialization stage of generate responses.
+ *
+ * Serialization runs after the controller returns, so it cannot be timed from the service;
+ * the requested meal type is handed over through {@link GenerationMetrics#MEAL_TYPE_ATTRIBUTE}.
+ * Every body is encoded into a {@link BufferedOutputMessage} first and sent with its length,
+ * so that small bodies are not compressed.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final GenerationMetrics generationMetrics;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, GenerationMetrics generationMetrics) {
+        super(objectMapper);
+        this.generationMetrics = generationMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        BufferedOutputMessage buffer = new BufferedOutputMessage(outputMessage);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, buffer);
+        if (object instanceof RecipeResponse) {
+            generationMetrics.recordSerialization(System.nanoTime() - start);
+        }
+        buffer.writeTo(outputMessage);
+    }
+}
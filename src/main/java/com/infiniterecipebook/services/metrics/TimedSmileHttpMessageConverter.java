@@ -0,0 +1,37 @@
+package com.infiniterecipebook.services.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.dto.RecipeResponse;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Smile converter, Jackson's binary form of JSON, for clients sending
+ * {@code Accept: application/x-jackson-smile}. Generate responses are timed like
+ * {@link TimedJsonHttpMessageConverter}.
+ */
+public class TimedSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    private final GenerationMetrics generationMetrics;
+
+    public TimedSmileHttpMessageConverter(ObjectMapper objectMapper, GenerationMetrics generationMetrics) {
+        super(objectMapper);
+        this.generationMetrics = generationMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        BufferedOutputMessage buffer = new BufferedOutputMessage(outputMessage);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, buffer);
+        if (object instanceof RecipeResponse) {
+            generationMetrics.recordSerialization(System.nanoTime() - start);
+        }
+        buffer.writeTo(outputMessage);
+    }
+}
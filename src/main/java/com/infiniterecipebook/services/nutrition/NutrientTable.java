@@ -0,0 +1,150 @@
+package com.infiniterecipebook.services.nutrition;
+
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.enums.UnitDimension;
+import com.infiniterecipebook.models.IngredientNutrition;
+import com.infiniterecipebook.services.quantity.FixedPoint;
+import com.infiniterecipebook.services.quantity.RecipeQuantities;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable nutrient vectors of the ingredient catalogue, in parallel primitive arrays sorted by
+ * ingredient id.
+ *
+ * {@link #perServing} aggregates a recipe's compiled quantities into its nutrition per serving
+ * without touching entities or BigDecimal: every line is weighed in grams from its base amount,
+ * through the ingredient's density for volumes and its weight per piece for counted units, and
+ * adds its share of the ingredient's values per 100 g. Unknown values are stored as NaN.
+ */
+public final class NutrientTable {
+
+    /** Written for a nutrient the recipe's ingredients do not give. */
+    public static final int UNKNOWN = -1;
+
+    /** Nutrition values per ingredient in the nutrient array. */
+    static final int NUTRIENTS = Nutrient.values().length;
+
+    private static final double GRAMS_PER_REFERENCE = 100.0;
+
+    private final UnitDictionary unitDictionary;
+    private final long[] ingredientIds;
+    private final double[] per100g;
+    private final double[] gramsPerMl;
+    private final double[] gramsPerPiece;
+
+    private NutrientTable(UnitDictionary unitDictionary, long[] ingredientIds, double[] per100g,
+                          double[] gramsPerMl, double[] gramsPerPiece) {
+        this.unitDictionary = unitDictionary;
+        this.ingredientIds = ingredientIds;
+        this.per100g = per100g;
+        this.gramsPerMl = gramsPerMl;
+        this.gramsPerPiece = gramsPerPiece;
+    }
+
+    /**
+     * Returns a table without any ingredient; every recipe's nutrition is unknown.
+     */
+    public static NutrientTable empty(UnitDictionary unitDictionary) {
+        return of(List.of(), unitDictionary);
+    }
+
+    /**
+     * Compiles nutrient rows into a table.
+     * @param rows one row per ingredient
+     * @param unitDictionary the dictionary the recipe quantities were compiled with
+     * @return the table
+     */
+    public static NutrientTable of(List<IngredientNutrition> rows, UnitDictionary unitDictionary) {
+        List<IngredientNutrition> sorted = rows.stream()
+                .filter(row -> row.getIngredientId() != null)
+                .sorted(Comparator.comparing(IngredientNutrition::getIngredientId))
+                .toList();
+        int size = sorted.size();
+        long[] ingredientIds = new long[size];
+        double[] per100g = new double[size * NUTRIENTS];
+        double[] gramsPerMl = new double[size];
+        double[] gramsPerPiece = new double[size];
+        for (int i = 0; i < size; i++) {
+            IngredientNutrition row = sorted.get(i);
+            ingredientIds[i] = row.getIngredientId();
+            BigDecimal[] values = {row.getCalories(), row.getProtein(), row.getCarbs(), row.getFat(),
+                    row.getFiber(), row.getSugar(), row.getSodium()};
+            for (int n = 0; n < NUTRIENTS; n++) {
+                per100g[i * NUTRIENTS + n] = valueOf(values[n]);
+            }
+            gramsPerMl[i] = valueOf(row.getGramsPerMl());
+            gramsPerPiece[i] = valueOf(row.getGramsPerPiece());
+        }
+        return new NutrientTable(unitDictionary, ingredientIds, per100g, gramsPerMl, gramsPerPiece);
+    }
+
+    /**
+     * Returns the number of ingredients with a nutrient vector.
+     */
+    public int size() {
+        return ingredientIds.length;
+    }
+
+    /**
+     * Computes a recipe's nutrition per serving, rounded to whole units.
+     *
+     * Lines without a quantity, such as salt to taste, add nothing. A nutrient is unknown when
+     * any other line cannot be weighed, or its ingredient does not give that nutrient.
+     * @param recipe the compiled quantities
+     * @param out receives one value per {@link Nutrient}, {@link #UNKNOWN} when not known;
+     *            must hold at least {@value #NUTRIENTS} elements
+     * @return whether every nutrient is known
+     */
+    public boolean perServing(RecipeQuantities recipe, int[] out) {
+        double[] totals = new double[NUTRIENTS];
+        long[] lineIngredientIds = recipe.ingredientIds();
+        long[] baseAmounts = recipe.baseAmounts();
+        int[] unitIds = recipe.unitIds();
+        for (int i = 0; i < lineIngredientIds.length; i++) {
+            if (baseAmounts[i] <= 0) {
+                continue;
+            }
+            int slot = lineIngredientIds[i] >= 0 ? Arrays.binarySearch(ingredientIds, lineIngredientIds[i]) : -1;
+            double grams = slot >= 0 ? grams(slot, baseAmounts[i], unitIds[i]) : Double.NaN;
+            for (int n = 0; n < NUTRIENTS; n++) {
+                // NaN propagates, so one unknown line leaves the nutrient unknown
+                totals[n] += slot >= 0 ? grams * per100g[slot * NUTRIENTS + n] / GRAMS_PER_REFERENCE : Double.NaN;
+            }
+        }
+        boolean complete = true;
+        for (int n = 0; n < NUTRIENTS; n++) {
+            if (Double.isNaN(totals[n])) {
+                out[n] = UNKNOWN;
+                complete = false;
+            } else {
+                out[n] = (int) Math.round(totals[n] / recipe.servings());
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Weighs a line in grams, NaN when its unit cannot be converted to a weight.
+     */
+    private double grams(int slot, long baseAmount, int unitId) {
+        double amount = (double) baseAmount / FixedPoint.ONE;
+        if (unitId == UnitDictionary.UNKNOWN) {
+            return Double.NaN;
+        }
+        UnitDimension dimension = unitDictionary.dimension(unitId);
+        return switch (dimension) {
+            case MASS -> amount;
+            case VOLUME -> amount * gramsPerMl[slot];
+            case COUNT, OTHER -> amount * gramsPerPiece[slot];
+        };
+    }
+
+    private static double valueOf(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+}
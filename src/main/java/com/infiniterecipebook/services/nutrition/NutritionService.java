@@ -0,0 +1,88 @@
+package com.infiniterecipebook.services.nutrition;
+
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.repositories.IngredientNutritionRepository;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Owns the current {@link NutrientTable} and computes recipe nutrition from it.
+ *
+ * The table is loaded on first use and swapped atomically on {@link #refresh()}. The recipe
+ * match index computes the nutrition of every recipe it loads from this table, so a full
+ * rebuild aggregates the whole corpus in one pass, and the change stream re-aggregates the
+ * recipes using an ingredient whose nutrient vector changed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NutritionService {
+
+    private final IngredientNutritionRepository ingredientNutritionRepository;
+    private final QuantityEngine quantityEngine;
+    private final UnitDictionary unitDictionary;
+
+    private volatile NutrientTable table;
+
+    /**
+     * Returns the current table, loading it when needed.
+     */
+    public NutrientTable current() {
+        NutrientTable current = table;
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Reloads the table from the ingredient nutrition rows.
+     * @return the new table
+     */
+    public synchronized NutrientTable refresh() {
+        NutrientTable refreshed = NutrientTable.of(ingredientNutritionRepository.findAll(), unitDictionary);
+        table = refreshed;
+        log.debug("Loaded nutrient vectors of {} ingredients", refreshed.size());
+        return refreshed;
+    }
+
+    /**
+     * Returns ids of the ingredients whose nutrient vector was written since the given time.
+     */
+    public List<Long> changedSince(LocalDateTime since) {
+        return ingredientNutritionRepository.findIngredientIdsChangedSince(since);
+    }
+
+    /**
+     * Recomputes the stored nutrition of a recipe from its ingredients.
+     * Nutrients the ingredients do not give keep their stored value.
+     * @param recipe the recipe, with ingredients attached
+     */
+    public void applyTo(Recipe recipe) {
+        int[] values = new int[NutrientTable.NUTRIENTS];
+        current().perServing(quantityEngine.compile(recipe), values);
+        if (Arrays.stream(values).allMatch(value -> value == NutrientTable.UNKNOWN)) {
+            return;
+        }
+        NutritionalInfo info = recipe.getNutritionalInfo() != null ? recipe.getNutritionalInfo() : new NutritionalInfo();
+        info.setCalories(known(values, Nutrient.CALORIES, info.getCalories()));
+        info.setProtein(known(values, Nutrient.PROTEIN, info.getProtein()));
+        info.setCarbs(known(values, Nutrient.CARBS, info.getCarbs()));
+        info.setFat(known(values, Nutrient.FAT, info.getFat()));
+        info.setFiber(known(values, Nutrient.FIBER, info.getFiber()));
+        info.setSugar(known(values, Nutrient.SUGAR, info.getSugar()));
+        info.setSodium(known(values, Nutrient.SODIUM, info.getSodium()));
+        recipe.setNutritionalInfo(info);
+    }
+
+    private static Integer known(int[] values, Nutrient nutrient, Integer stored) {
+        int computed = values[nutrient.ordinal()];
+        return computed != NutrientTable.UNKNOWN ? Integer.valueOf(computed) : stored;
+    }
+}
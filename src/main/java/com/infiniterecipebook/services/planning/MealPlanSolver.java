@@ -0,0 +1,228 @@
+package com.infiniterecipebook.services.planning;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.services.matching.Deadline;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Searches meal plans with parallel randomized local search on a dedicated fork-join pool.
+ *
+ * The restarts are split recursively into fork-join tasks. Each restart fills the meals with
+ * random distinct candidates, then hill-climbs: it replaces the candidate of one meal at a time
+ * with the unused candidate improving the score most, until no replacement helps. Moves are
+ * scored from running coverage and nutrition totals, so a move costs one pass over the
+ * nutrients and the search allocates nothing per move.
+ *
+ * Every restart draws from its own generator seeded by its number, and ties go to the lower
+ * restart, so a search that finishes within its time budget returns the same plan however the
+ * tasks were scheduled. Once the deadline expires the restarts stop between two moves and the
+ * best plan found so far is returned; the first restart always completes its initial fill.
+ */
+@Component
+public class MealPlanSolver implements DisposableBean {
+
+    /** Result of a range of restarts the deadline skipped entirely; never beats a real plan. */
+    private static final PlanSolution SKIPPED = new PlanSolution(new int[0], Double.NEGATIVE_INFINITY, 0, true);
+
+    private final ForkJoinPool pool;
+    private final int maxRestarts;
+    private final int restartsPerTask;
+
+    public MealPlanSolver(RecipeBookProperties properties) {
+        RecipeBookProperties.Planning settings = properties.getPlanning();
+        int parallelism = settings.getParallelism() > 0
+                ? settings.getParallelism() : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.maxRestarts = Math.max(1, settings.getMaxRestarts());
+        this.restartsPerTask = Math.max(1, maxRestarts / (parallelism * 4));
+    }
+
+    /**
+     * Returns the best plan found before the deadline.
+     * @param problem the plan to optimize
+     * @param deadline when to stop searching
+     * @return the best plan
+     */
+    public PlanSolution solve(PlanProblem problem, Deadline deadline) {
+        if (problem.meals() == 0) {
+            return new PlanSolution(new int[0], problem.score(0, new double[problem.nutrients]), 0, false);
+        }
+        return pool.invoke(new Search(problem, deadline, 0, maxRestarts));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Runs the restarts in {@code [from, to)}, forking halves until few enough are left.
+     */
+    private final class Search extends RecursiveTask<PlanSolution> {
+        private final PlanProblem problem;
+        private final Deadline deadline;
+        private final int from;
+        private final int to;
+
+        Search(PlanProblem problem, Deadline deadline, int from, int to) {
+            this.problem = problem;
+            this.deadline = deadline;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PlanSolution compute() {
+            if (to - from > restartsPerTask) {
+                int middle = (from + to) >>> 1;
+                Search upper = new Search(problem, deadline, middle, to);
+                upper.fork();
+                PlanSolution lower = new Search(problem, deadline, from, middle).compute();
+                return merge(lower, upper.join());
+            }
+            PlanSolution best = null;
+            for (int restart = from; restart < to; restart++) {
+                if (restart > 0 && deadline.isExpired()) {
+                    return best != null ? partial(best) : SKIPPED;
+                }
+                PlanSolution found = new LocalSearch(problem, deadline, restart).run();
+                best = merge(best, found);
+                if (found.partial()) {
+                    return best;
+                }
+            }
+            return best;
+        }
+
+        private PlanSolution partial(PlanSolution solution) {
+            return new PlanSolution(solution.choices(), solution.score(), solution.restarts(), true);
+        }
+    }
+
+    /**
+     * Combines the results of two disjoint ranges of restarts, the lower range first; ties go to the lower one.
+     */
+    private static PlanSolution merge(PlanSolution lower, PlanSolution upper) {
+        if (lower == null) {
+            return upper;
+        }
+        PlanSolution best = upper.score() > lower.score() ? upper : lower;
+        return new PlanSolution(best.choices(), best.score(), lower.restarts() + upper.restarts(),
+                lower.partial() || upper.partial());
+    }
+
+    /**
+     * One restart: a random fill followed by hill climbing.
+     */
+    private static final class LocalSearch {
+        private final PlanProblem problem;
+        private final Deadline deadline;
+        private final SplittableRandom random;
+        private final int[] choices;
+        private final boolean[] used;
+        private final double[] totals;
+        private final double[] scratch;
+        private double coverageSum;
+
+        LocalSearch(PlanProblem problem, Deadline deadline, int restart) {
+            this.problem = problem;
+            this.deadline = deadline;
+            this.random = new SplittableRandom(restart);
+            this.choices = new int[problem.meals()];
+            this.used = new boolean[problem.candidates()];
+            this.totals = new double[problem.nutrients];
+            this.scratch = new double[problem.nutrients];
+        }
+
+        PlanSolution run() {
+            fill();
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (int meal = 0; meal < choices.length; meal++) {
+                    if (deadline.isExpired()) {
+                        return new PlanSolution(choices, problem.score(coverageSum, totals), 1, true);
+                    }
+                    improved |= improve(meal);
+                }
+            }
+            return new PlanSolution(choices, problem.score(coverageSum, totals), 1, false);
+        }
+
+        /**
+         * Fills the meals in random order with random unused candidates.
+         */
+        private void fill() {
+            Arrays.fill(choices, -1);
+            int[] order = new int[choices.length];
+            for (int i = 0; i < order.length; i++) {
+                int j = random.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+            for (int meal : order) {
+                int[] options = problem.options[meal];
+                if (options.length == 0) {
+                    continue;
+                }
+                int start = random.nextInt(options.length);
+                for (int i = 0; i < options.length; i++) {
+                    int candidate = options[(start + i) % options.length];
+                    if (!used[candidate]) {
+                        choose(meal, candidate);
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Moves a meal to the unused candidate that improves the score most, if any.
+         */
+        private boolean improve(int meal) {
+            int current = choices[meal];
+            double best = problem.score(coverageSum, totals);
+            int bestCandidate = current;
+            for (int candidate : problem.options[meal]) {
+                if (used[candidate]) {
+                    continue;
+                }
+                System.arraycopy(totals, 0, scratch, 0, scratch.length);
+                double coverage = coverageSum + problem.coverage[candidate];
+                problem.add(scratch, candidate, 1);
+                if (current >= 0) {
+                    coverage -= problem.coverage[current];
+                    problem.add(scratch, current, -1);
+                }
+                double score = problem.score(coverage, scratch);
+                if (score > best + 1e-12) {
+                    best = score;
+                    bestCandidate = candidate;
+                }
+            }
+            if (bestCandidate == current) {
+                return false;
+            }
+            if (current >= 0) {
+                used[current] = false;
+                coverageSum -= problem.coverage[current];
+                problem.add(totals, current, -1);
+            }
+            choose(meal, bestCandidate);
+            return true;
+        }
+
+        private void choose(int meal, int candidate) {
+            choices[meal] = candidate;
+            used[candidate] = true;
+            coverageSum += problem.coverage[candidate];
+            problem.add(totals, candidate, 1);
+        }
+    }
+}
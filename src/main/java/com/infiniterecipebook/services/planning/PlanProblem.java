@@ -0,0 +1,100 @@
+package com.infiniterecipebook.services.planning;
+
+import java.util.Arrays;
+
+/**
+ * A meal plan to optimize, reduced to primitive arrays.
+ *
+ * Candidates are numbered from 0. Each meal lists the candidates it may be filled with, and
+ * each candidate carries its pantry coverage and its nutrition per serving. A plan fills every
+ * meal with a distinct candidate, or leaves it empty when none is left.
+ *
+ * The score of a plan is its mean pantry coverage over the meals minus the nutrition weight
+ * times the mean relative distance of the nutrition totals from their targets. Nutrients
+ * without a target do not count.
+ */
+public final class PlanProblem {
+
+    final int[][] options;
+    final double[] coverage;
+    final int[] nutrition;
+    final int nutrients;
+    final double[] targets;
+    final double nutritionWeight;
+    final int targetCount;
+
+    /**
+     * @param options per meal, the candidates it may be filled with
+     * @param coverage per candidate, its pantry coverage between 0 and 1
+     * @param nutrition per candidate, {@code targets.length} nutrient values in a row
+     * @param targets per nutrient, the total to aim for, 0 for none
+     * @param nutritionWeight weight of the nutrition distance against the coverage
+     */
+    public PlanProblem(int[][] options, double[] coverage, int[] nutrition, double[] targets, double nutritionWeight) {
+        if (nutrition.length != coverage.length * targets.length) {
+            throw new IllegalArgumentException("Expected " + targets.length + " nutrients per candidate");
+        }
+        this.options = options;
+        this.coverage = coverage;
+        this.nutrition = nutrition;
+        this.nutrients = targets.length;
+        this.targets = targets;
+        this.nutritionWeight = nutritionWeight;
+        this.targetCount = (int) Arrays.stream(targets).filter(target -> target > 0).count();
+    }
+
+    /**
+     * Returns the number of meals to fill.
+     */
+    public int meals() {
+        return options.length;
+    }
+
+    /**
+     * Returns the number of candidates.
+     */
+    public int candidates() {
+        return coverage.length;
+    }
+
+    /**
+     * Scores a plan from its coverage sum and nutrition totals.
+     */
+    double score(double coverageSum, double[] totals) {
+        double score = options.length == 0 ? 0.0 : coverageSum / options.length;
+        if (targetCount == 0) {
+            return score;
+        }
+        double distance = 0;
+        for (int n = 0; n < nutrients; n++) {
+            if (targets[n] > 0) {
+                distance += Math.abs(totals[n] - targets[n]) / targets[n];
+            }
+        }
+        return score - nutritionWeight * distance / targetCount;
+    }
+
+    /**
+     * Returns the nutrition totals of a plan.
+     * @param choices per meal, the chosen candidate or -1
+     */
+    public double[] totals(int[] choices) {
+        double[] totals = new double[nutrients];
+        for (int candidate : choices) {
+            if (candidate >= 0) {
+                add(totals, candidate, 1);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Adds a candidate's nutrition, times {@code sign}, to the totals.
+     */
+    void add(double[] totals, int candidate, int sign) {
+        int offset = candidate * nutrients;
+        for (int n = 0; n < nutrients; n++) {
+            totals[n] += sign * nutrition[offset + n];
+        }
+    }
+}
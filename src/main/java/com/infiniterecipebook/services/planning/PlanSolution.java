@@ -0,0 +1,12 @@
+package com.infiniterecipebook.services.planning;
+
+/**
+ * The best plan a solver found.
+ *
+ * @param choices per meal, the chosen candidate, or -1 when no candidate was left for it
+ * @param score the plan score, higher is better
+ * @param restarts local search restarts completed
+ * @param partial whether the time budget ran out before the search was complete
+ */
+public record PlanSolution(int[] choices, double score, int restarts, boolean partial) {
+}
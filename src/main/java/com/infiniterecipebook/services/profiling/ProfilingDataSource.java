@@ -0,0 +1,131 @@
+package com.infiniterecipebook.services.profiling;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource that times the statements of profiled requests.
+ *
+ * Connections are only wrapped while {@link SqlProfiler#isProfiling()} holds for the calling
+ * thread; everything else gets the pool's connection untouched. Wrapped statements record
+ * their execution time when the execute call returns, and count rows as results are read.
+ * Extending {@link DelegatingDataSource} keeps the pool reachable through
+ * {@link DataSource#unwrap(Class)} for health checks and pool metrics.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private final SqlProfiler sqlProfiler;
+
+    public ProfilingDataSource(DataSource target, SqlProfiler sqlProfiler) {
+        super(target);
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = obtainTargetDataSource().getConnection();
+        return sqlProfiler.isProfiling() ? wrap(connection) : connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        return sqlProfiler.isProfiling() ? wrap(connection) : connection;
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private Statement wrap(Statement statement, String preparedSql) {
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        String preparedShape = preparedSql != null ? SqlShapes.shapeOf(preparedSql) : null;
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet && preparedShape != null
+                        ? wrap(resultSet, preparedShape) : result;
+            }
+            String shape = args != null && args.length > 0 && args[0] instanceof String sql
+                    ? SqlShapes.shapeOf(sql) : preparedShape;
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (shape == null) {
+                return result;
+            }
+            sqlProfiler.recordExecution(shape, elapsed, updatedRows(result));
+            return result instanceof ResultSet resultSet ? wrap(resultSet, shape) : result;
+        });
+    }
+
+    private ResultSet wrap(ResultSet resultSet, String shape) {
+        LongAdder rows = sqlProfiler.rowCounter(shape);
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                rows.increment();
+            }
+            return result;
+        });
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Creates a proxy with identity equality, because Hibernate keys its resource registry
+     * on statements and result sets and must find the proxies it was handed.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<? extends T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> args != null && args.length == 1 && proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+}
@@ -0,0 +1,35 @@
+package com.infiniterecipebook.services.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+
+/**
+ * JMX-only actuator endpoint changing the SQL profiler at runtime.
+ *
+ * {@code configure} sets the sample rate until the next restart and {@code reset} discards the
+ * collected statistics. Being JMX-only, it is reachable only by operators with access to the
+ * JVM, never over the unauthenticated web actuator.
+ */
+@JmxEndpoint(id = "sqlprofilecontrol")
+public class SqlProfileControlEndpoint {
+
+    private final SqlProfileEndpoint sqlProfileEndpoint;
+    private final SqlProfiler sqlProfiler;
+
+    public SqlProfileControlEndpoint(SqlProfileEndpoint sqlProfileEndpoint, SqlProfiler sqlProfiler) {
+        this.sqlProfileEndpoint = sqlProfileEndpoint;
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @WriteOperation
+    public SqlProfileEndpoint.SqlProfileReport configure(double sampleRate) {
+        sqlProfiler.setSampleRate(sampleRate);
+        return sqlProfileEndpoint.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlProfiler.reset();
+    }
+}
@@ -0,0 +1,41 @@
+package com.infiniterecipebook.services.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/sqlprofile}) exposing the slowest SQL statement shapes.
+ *
+ * The endpoint is read-only, since the web actuator is not authenticated. The sample rate is
+ * set with {@code recipe-book.sql-profiling.sample-rate}, or changed at runtime over JMX
+ * through {@link SqlProfileControlEndpoint}.
+ */
+@Endpoint(id = "sqlprofile")
+public class SqlProfileEndpoint {
+
+    private final SqlProfiler sqlProfiler;
+    private final int reportSize;
+
+    public SqlProfileEndpoint(SqlProfiler sqlProfiler, int reportSize) {
+        this.sqlProfiler = sqlProfiler;
+        this.reportSize = reportSize;
+    }
+
+    @ReadOperation
+    public SqlProfileReport report() {
+        return new SqlProfileReport(sqlProfiler.getSampleRate(), sqlProfiler.getSampledRequests(),
+                sqlProfiler.slowestShapes(reportSize));
+    }
+
+    /**
+     * Body of the endpoint.
+     *
+     * @param sampleRate the share of requests currently profiled
+     * @param sampledRequests requests profiled since the last reset
+     * @param shapes the statement shapes with the highest total time, slowest first
+     */
+    public record SqlProfileReport(double sampleRate, long sampledRequests, List<SqlProfiler.ShapeSnapshot> shapes) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.infiniterecipebook.services.profiling;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates SQL statement statistics for a sample of HTTP requests.
+ *
+ * A request is picked for profiling with probability {@code sample-rate} when it starts; only
+ * then are its JDBC connections wrapped by {@link ProfilingDataSource}, so unsampled requests
+ * pay a single thread-local read per connection. Statistics are kept per statement shape
+ * (see {@link SqlShapes}): executions, latency, rows and how many sampled requests ran the
+ * same shape often enough to look like an N+1 query.
+ */
+@Component
+@Slf4j
+public class SqlProfiler {
+
+    /** Shape under which statements are counted once {@code max-shapes} distinct shapes are tracked. */
+    static final String OTHER_SHAPE = "<other>";
+
+    private final ThreadLocal<Map<String, int[]>> currentRequest = new ThreadLocal<>();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final LongAdder sampledRequests = new LongAdder();
+    private final int maxShapes;
+    private final int repeatThreshold;
+    private volatile double sampleRate;
+
+    public SqlProfiler(RecipeBookProperties properties) {
+        RecipeBookProperties.SqlProfiling settings = properties.getSqlProfiling();
+        this.sampleRate = settings.isEnabled() ? settings.getSampleRate() : 0.0;
+        this.maxShapes = settings.getMaxShapes();
+        this.repeatThreshold = settings.getRepeatThreshold();
+    }
+
+    /**
+     * Decides whether the request starting on this thread is profiled.
+     * @return true when the request was sampled; {@link #endRequest()} must then be called
+     */
+    public boolean beginRequest() {
+        double rate = sampleRate;
+        if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return false;
+        }
+        currentRequest.set(new HashMap<>());
+        sampledRequests.increment();
+        return true;
+    }
+
+    /**
+     * Ends the profiled request on this thread and flags shapes repeated past the N+1 threshold.
+     */
+    public void endRequest() {
+        Map<String, int[]> executions = currentRequest.get();
+        currentRequest.remove();
+        if (executions == null) {
+            return;
+        }
+        executions.forEach((shape, count) -> {
+            if (count[0] >= repeatThreshold) {
+                statsOf(shape).nPlusOneRequests.increment();
+                log.debug("Statement ran {} times in one request, possible N+1: {}", count[0], shape);
+            }
+        });
+    }
+
+    /**
+     * Whether the current thread is inside a profiled request.
+     */
+    public boolean isProfiling() {
+        return currentRequest.get() != null;
+    }
+
+    /**
+     * Records one statement execution of the current request.
+     * @param shape the statement shape
+     * @param nanos the execution time
+     * @param rows rows returned or updated, 0 when not known yet
+     */
+    void recordExecution(String shape, long nanos, long rows) {
+        ShapeStats stats = statsOf(shape);
+        stats.executions.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        Map<String, int[]> executions = currentRequest.get();
+        if (executions != null) {
+            executions.computeIfAbsent(stats.shape, s -> new int[1])[0]++;
+        }
+    }
+
+    /**
+     * Returns the counter of rows read for a shape, so result sets can count rows as they are read.
+     */
+    LongAdder rowCounter(String shape) {
+        return statsOf(shape).rows;
+    }
+
+    /**
+     * Returns the shapes with the highest total execution time.
+     * @param limit the maximum number of shapes
+     * @return a snapshot of the statistics, slowest first
+     */
+    public List<ShapeSnapshot> slowestShapes(int limit) {
+        List<ShapeSnapshot> snapshots = new ArrayList<>(shapes.size());
+        shapes.values().forEach(stats -> snapshots.add(stats.snapshot()));
+        snapshots.sort(Comparator.comparingDouble(ShapeSnapshot::totalMillis).reversed());
+        return snapshots.subList(0, Math.min(limit, snapshots.size()));
+    }
+
+    /**
+     * Returns the share of requests currently profiled.
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Changes the share of requests profiled from now on.
+     * @param sampleRate between 0 and 1
+     */
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Returns the number of requests profiled since the last reset.
+     */
+    public long getSampledRequests() {
+        return sampledRequests.sum();
+    }
+
+    /**
+     * Discards every collected statistic.
+     */
+    public void reset() {
+        shapes.clear();
+        sampledRequests.reset();
+    }
+
+    private ShapeStats statsOf(String shape) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        String key = shapes.size() < maxShapes ? shape : OTHER_SHAPE;
+        return shapes.computeIfAbsent(key, ShapeStats::new);
+    }
+
+    /**
+     * Point-in-time statistics of one statement shape.
+     */
+    public record ShapeSnapshot(String sql, long executions, double totalMillis, double meanMillis,
+                                double maxMillis, long rows, long nPlusOneRequests) {
+    }
+
+    private static final class ShapeStats {
+        private final String shape;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nPlusOneRequests = new LongAdder();
+
+        ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        ShapeSnapshot snapshot() {
+            long count = executions.sum();
+            long total = totalNanos.sum();
+            return new ShapeSnapshot(shape, count, total / 1e6, count == 0 ? 0 : total / 1e6 / count,
+                    maxNanos.get() / 1e6, rows.sum(), nPlusOneRequests.sum());
+        }
+    }
+}
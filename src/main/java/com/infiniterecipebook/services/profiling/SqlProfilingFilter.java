@@ -0,0 +1,35 @@
+package com.infiniterecipebook.services.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marks each HTTP request as profiled or not, according to the {@link SqlProfiler} sample rate.
+ */
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    private final SqlProfiler sqlProfiler;
+
+    public SqlProfilingFilter(SqlProfiler sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!sqlProfiler.beginRequest()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            sqlProfiler.endRequest();
+        }
+    }
+}
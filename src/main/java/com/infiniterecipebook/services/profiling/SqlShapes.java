@@ -0,0 +1,34 @@
+package com.infiniterecipebook.services.profiling;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL statements to their shape, so executions that differ only in literals or in
+ * the length of an IN list are aggregated together.
+ */
+public final class SqlShapes {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private SqlShapes() {
+    }
+
+    /**
+     * Returns the shape of a statement.
+     * @param sql the statement as sent to the driver
+     * @return the statement with literals replaced by {@code ?}, parameter lists collapsed to
+     *         {@code (?, ...)} and whitespace collapsed
+     */
+    public static String shapeOf(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        return PARAMETER_LIST.matcher(shape).replaceAll("(?, ...)");
+    }
+}
@@ -0,0 +1,84 @@
+package com.infiniterecipebook.services.quantity;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic on primitive longs with four decimal places.
+ *
+ * Quantities enter and leave as BigDecimal only at API and persistence boundaries; all
+ * scaling, conversion and comparison in between works on raw longs.
+ */
+public final class FixedPoint {
+
+    /** Number of decimal places kept. */
+    public static final int DECIMALS = 4;
+
+    /** Fixed-point representation of 1. */
+    public static final long ONE = 10_000L;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Converts a decimal into fixed-point, rounding half up beyond four decimals.
+     * @param value the decimal, null is treated as zero
+     * @return the fixed-point value
+     */
+    public static long of(BigDecimal value) {
+        if (value == null) {
+            return 0L;
+        }
+        return value.setScale(DECIMALS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a whole number into fixed-point.
+     */
+    public static long of(long wholeValue) {
+        return Math.multiplyExact(wholeValue, ONE);
+    }
+
+    /**
+     * Converts a fixed-point value back into a decimal without trailing zeros.
+     */
+    public static BigDecimal toBigDecimal(long value) {
+        return BigDecimal.valueOf(value, DECIMALS).stripTrailingZeros();
+    }
+
+    /**
+     * Multiplies two fixed-point values.
+     */
+    public static long multiply(long a, long b) {
+        return mulDiv(a, b, ONE);
+    }
+
+    /**
+     * Computes {@code value * numerator / denominator} with half-up rounding, e.g. to scale a
+     * quantity from one servings count to another.
+     */
+    public static long mulDiv(long value, long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long high = Math.multiplyHigh(value, numerator);
+        long low = value * numerator;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return roundedDivide(low, denominator);
+        }
+        // The product does not fit in 64 bits; only extreme inputs take this allocating path
+        BigInteger product = BigInteger.valueOf(value).multiply(BigInteger.valueOf(numerator));
+        return new BigDecimal(product).divide(BigDecimal.valueOf(denominator), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    private static long roundedDivide(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder != 0 && Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += ((dividend ^ divisor) >= 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+}
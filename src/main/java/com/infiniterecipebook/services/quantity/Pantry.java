@@ -0,0 +1,133 @@
+package com.infiniterecipebook.services.quantity;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Available ingredient quantities, sorted by ingredient id for allocation-free lookup.
+ *
+ * Amounts are kept in the base unit of their dimension so that lookups can compare them
+ * directly against a recipe's compiled base amounts.
+ */
+public final class Pantry {
+
+    private final long[] ingredientIds;
+    private final long[] baseAmounts;
+    private final int[] unitIds;
+
+    private Pantry(long[] ingredientIds, long[] baseAmounts, int[] unitIds) {
+        this.ingredientIds = ingredientIds;
+        this.baseAmounts = baseAmounts;
+        this.unitIds = unitIds;
+    }
+
+    /**
+     * Returns the index of an ingredient in this pantry, or a negative value when absent.
+     */
+    public int indexOf(long ingredientId) {
+        return Arrays.binarySearch(ingredientIds, ingredientId);
+    }
+
+    /**
+     * Returns the ingredient id at the given index.
+     */
+    public long ingredientIdAt(int index) {
+        return ingredientIds[index];
+    }
+
+    /**
+     * Returns the base amount available at the given index.
+     */
+    public long baseAmountAt(int index) {
+        return baseAmounts[index];
+    }
+
+    /**
+     * Returns the unit id the amount at the given index was declared in.
+     */
+    public int unitIdAt(int index) {
+        return unitIds[index];
+    }
+
+    /**
+     * Returns the number of distinct ingredients in the pantry.
+     */
+    public int size() {
+        return ingredientIds.length;
+    }
+
+    /**
+     * Creates a builder resolving units against the given dictionary.
+     */
+    public static Builder builder(UnitDictionary unitDictionary) {
+        return new Builder(unitDictionary);
+    }
+
+    /**
+     * Collects pantry entries; repeated ingredients in convertible units are summed.
+     */
+    public static final class Builder {
+        private final UnitDictionary unitDictionary;
+        private long[] ids = new long[16];
+        private long[] amounts = new long[16];
+        private int[] units = new int[16];
+        private int size;
+
+        private Builder(UnitDictionary unitDictionary) {
+            this.unitDictionary = unitDictionary;
+        }
+
+        /**
+         * Adds an available ingredient.
+         * @param ingredientId the ingredient id
+         * @param quantity the available quantity, null when only presence is known
+         * @param unit the unit of the quantity, may be null
+         * @return this builder
+         */
+        public Builder add(long ingredientId, BigDecimal quantity, String unit) {
+            int unitId = unitDictionary.resolve(unit);
+            long baseAmount = quantity == null ? Long.MAX_VALUE : unitDictionary.toBase(FixedPoint.of(quantity), unitId);
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == ingredientId) {
+                    if (unitDictionary.isConvertible(units[i], unitId) && amounts[i] != Long.MAX_VALUE
+                            && baseAmount != Long.MAX_VALUE) {
+                        amounts[i] += baseAmount;
+                    } else {
+                        amounts[i] = Math.max(amounts[i], baseAmount);
+                    }
+                    return this;
+                }
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+                units = Arrays.copyOf(units, size * 2);
+            }
+            ids[size] = ingredientId;
+            amounts[size] = baseAmount;
+            units[size] = unitId;
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the pantry.
+         */
+        public Pantry build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+            long[] sortedIds = new long[size];
+            long[] sortedAmounts = new long[size];
+            int[] sortedUnits = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedAmounts[i] = amounts[order[i]];
+                sortedUnits[i] = units[order[i]];
+            }
+            return new Pantry(sortedIds, sortedAmounts, sortedUnits);
+        }
+    }
+}
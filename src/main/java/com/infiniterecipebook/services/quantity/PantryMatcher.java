@@ -0,0 +1,144 @@
+package com.infiniterecipebook.services.quantity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Quantity-aware matching of a recipe against a pantry.
+ *
+ * Works purely on {@link RecipeQuantities} and {@link Pantry} arrays; the only allocation per
+ * call is the returned summary.
+ */
+@Component
+@RequiredArgsConstructor
+public class PantryMatcher {
+
+    /** The ingredient is not in the pantry. */
+    public static final byte MISSING = 0;
+
+    /** The ingredient is in the pantry, but not in the quantity needed. */
+    public static final byte INSUFFICIENT = 1;
+
+    /** The ingredient is in the pantry in at least the quantity needed. */
+    public static final byte AVAILABLE = 2;
+
+    /** The ingredient is in the pantry, but the quantities cannot be compared. */
+    public static final byte PRESENT_UNMEASURED = 3;
+
+    private final UnitDictionary unitDictionary;
+
+    /**
+     * Matches a recipe, scaled to the given servings, against a pantry.
+     * @param recipe the compiled recipe quantities
+     * @param pantry the available ingredients
+     * @param servings the servings the user wants to cook
+     * @param statusOut optional, receives a status per ingredient line; must hold at least
+     *                  {@code recipe.size()} elements when given
+     * @return the match summary
+     */
+    public MatchSummary match(RecipeQuantities recipe, Pantry pantry, int servings, byte[] statusOut) {
+        long[] ingredientIds = recipe.ingredientIds();
+        long[] baseAmounts = recipe.baseAmounts();
+        int[] unitIds = recipe.unitIds();
+        boolean[] required = recipe.required();
+
+        int available = 0;
+        int insufficient = 0;
+        int missing = 0;
+        int requiredTotal = 0;
+        int requiredMissing = 0;
+
+        for (int i = 0; i < ingredientIds.length; i++) {
+            byte status = status(pantry, ingredientIds[i], unitIds[i],
+                    FixedPoint.mulDiv(baseAmounts[i], servings, recipe.servings()));
+            if (statusOut != null) {
+                statusOut[i] = status;
+            }
+            switch (status) {
+                case MISSING -> missing++;
+                case INSUFFICIENT -> insufficient++;
+                default -> available++;
+            }
+            if (required[i]) {
+                requiredTotal++;
+                if (status == MISSING || status == INSUFFICIENT) {
+                    requiredMissing++;
+                }
+            }
+        }
+        return new MatchSummary(available, insufficient, missing, requiredTotal, requiredMissing);
+    }
+
+    /**
+     * Sums the weights of the recipe lines the pantry covers, with the recipe scaled to the given servings.
+     * An available or unmeasured line counts its full weight, a missing one nothing, and a short one
+     * the share of the needed quantity the pantry holds. Allocates nothing.
+     * @param recipe the compiled recipe quantities
+     * @param pantry the available ingredients
+     * @param servings the servings the user wants to cook
+     * @param weights a weight per ingredient line
+     * @return the covered weight, between 0 and the sum of {@code weights}
+     */
+    public double coveredWeight(RecipeQuantities recipe, Pantry pantry, int servings, float[] weights) {
+        long[] ingredientIds = recipe.ingredientIds();
+        long[] baseAmounts = recipe.baseAmounts();
+        int[] unitIds = recipe.unitIds();
+
+        double covered = 0;
+        for (int i = 0; i < ingredientIds.length; i++) {
+            int index = pantry.indexOf(ingredientIds[i]);
+            if (index < 0) {
+                continue;
+            }
+            long neededBase = FixedPoint.mulDiv(baseAmounts[i], servings, recipe.servings());
+            long availableBase = pantry.baseAmountAt(index);
+            if (availableBase == Long.MAX_VALUE || neededBase <= availableBase
+                    || !unitDictionary.isConvertible(unitIds[i], pantry.unitIdAt(index))) {
+                covered += weights[i];
+            } else {
+                covered += weights[i] * ((double) availableBase / neededBase);
+            }
+        }
+        return covered;
+    }
+
+    private byte status(Pantry pantry, long ingredientId, int unitId, long neededBase) {
+        int index = pantry.indexOf(ingredientId);
+        if (index < 0) {
+            return MISSING;
+        }
+        long availableBase = pantry.baseAmountAt(index);
+        if (availableBase == Long.MAX_VALUE || neededBase == 0
+                || !unitDictionary.isConvertible(unitId, pantry.unitIdAt(index))) {
+            return PRESENT_UNMEASURED;
+        }
+        return availableBase >= neededBase ? AVAILABLE : INSUFFICIENT;
+    }
+
+    /**
+     * Outcome of matching one recipe against a pantry.
+     *
+     * @param available lines present in sufficient or unmeasurable quantity
+     * @param insufficient lines present but short
+     * @param missing lines absent from the pantry
+     * @param requiredTotal number of required lines
+     * @param requiredMissing required lines that are missing or short
+     */
+    public record MatchSummary(int available, int insufficient, int missing, int requiredTotal, int requiredMissing) {
+
+        /**
+         * Returns whether every required ingredient is available in sufficient quantity.
+         */
+        public boolean isCookable() {
+            return requiredMissing == 0;
+        }
+
+        /**
+         * Returns the fraction of lines that are available, between 0 and 1.
+         */
+        public double coverage() {
+            int total = available + insufficient + missing;
+            return total == 0 ? 0.0 : (double) available / total;
+        }
+    }
+}
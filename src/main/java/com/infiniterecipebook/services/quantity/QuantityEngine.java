@@ -0,0 +1,60 @@
+package com.infiniterecipebook.services.quantity;
+
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Compiles recipe quantities into fixed-point arrays and scales them between servings.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuantityEngine {
+
+    private final UnitDictionary unitDictionary;
+
+    /**
+     * Compiles a recipe's ingredient quantities. Unit strings are resolved here, once.
+     * @param recipe the recipe with its ingredients loaded or loadable
+     * @return the compiled quantities, in the recipe's ingredient order
+     */
+    public RecipeQuantities compile(Recipe recipe) {
+        List<RecipeIngredient> lines = recipe.getIngredients();
+        int size = lines.size();
+        long[] ingredientIds = new long[size];
+        long[] amounts = new long[size];
+        int[] unitIds = new int[size];
+        long[] baseAmounts = new long[size];
+        boolean[] required = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            RecipeIngredient line = lines.get(i);
+            Long ingredientId = line.getIngredient() != null ? line.getIngredient().getId() : null;
+            ingredientIds[i] = ingredientId != null ? ingredientId : -1L;
+            amounts[i] = FixedPoint.of(line.getQuantity());
+            unitIds[i] = unitDictionary.resolve(line.getUnit());
+            baseAmounts[i] = unitDictionary.toBase(amounts[i], unitIds[i]);
+            required[i] = !Boolean.FALSE.equals(line.getIsRequired());
+        }
+        int servings = recipe.getServings() != null && recipe.getServings() > 0 ? recipe.getServings() : 1;
+        return new RecipeQuantities(ingredientIds, amounts, unitIds, baseAmounts, required, servings);
+    }
+
+    /**
+     * Scales every amount from the recipe's servings to the target servings.
+     * @param quantities the compiled quantities
+     * @param targetServings the servings to scale to
+     * @param out receives the scaled fixed-point amounts, in each line's own unit;
+     *            must hold at least {@code quantities.size()} elements
+     */
+    public void scale(RecipeQuantities quantities, int targetServings, long[] out) {
+        long[] amounts = quantities.amounts();
+        int servings = quantities.servings();
+        for (int i = 0; i < amounts.length; i++) {
+            out[i] = FixedPoint.mulDiv(amounts[i], targetServings, servings);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.infiniterecipebook.services.quantity;
+
+/**
+ * A recipe's ingredient quantities compiled into parallel primitive arrays.
+ *
+ * Built once per recipe by {@link QuantityEngine#compile}; scaling and pantry matching then
+ * read these arrays without touching entities, strings or BigDecimal.
+ *
+ * @param ingredientIds ingredient id per line
+ * @param amounts fixed-point amount per line, in the line's own unit
+ * @param unitIds resolved unit id per line
+ * @param baseAmounts fixed-point amount per line in the base unit of its dimension
+ * @param required whether each line is required
+ * @param servings servings the amounts are written for
+ */
+public record RecipeQuantities(long[] ingredientIds,
+                               long[] amounts,
+                               int[] unitIds,
+                               long[] baseAmounts,
+                               boolean[] required,
+                               int servings) {
+
+    /**
+     * Returns the number of ingredient lines.
+     */
+    public int size() {
+        return ingredientIds.length;
+    }
+}
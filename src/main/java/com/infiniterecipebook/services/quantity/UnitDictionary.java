@@ -0,0 +1,166 @@
+package com.infiniterecipebook.services.quantity;
+
+import com.infiniterecipebook.enums.UnitDimension;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compact dictionary of measurement units with precomputed conversion factors.
+ *
+ * Every unit gets a small int id; the dimension and the fixed-point factor to the dimension's
+ * base unit (grams, millilitres, pieces) live in parallel primitive arrays indexed by that id.
+ * Free-form unit strings are resolved once, when a recipe is compiled, and never again on the
+ * scaling or matching path.
+ */
+@Component
+public class UnitDictionary {
+
+    /** Id of the unit used for blank or unrecognised unit strings. */
+    public static final int UNKNOWN = 0;
+
+    private final Map<String, Integer> idsByAlias = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<UnitDimension> dimensionList = new ArrayList<>();
+    private final List<Long> factorList = new ArrayList<>();
+
+    private final UnitDimension[] dimensions;
+    private final long[] factors;
+
+    public UnitDictionary() {
+        register("unknown", UnitDimension.OTHER, "1");
+
+        register("gram", UnitDimension.MASS, "1", "g", "gr", "grams", "gramme", "grammes");
+        register("kilogram", UnitDimension.MASS, "1000", "kg", "kgs", "kilo", "kilos", "kilograms");
+        register("milligram", UnitDimension.MASS, "0.001", "mg", "milligrams");
+        register("ounce", UnitDimension.MASS, "28.3495", "oz", "ounces");
+        register("pound", UnitDimension.MASS, "453.5924", "lb", "lbs", "pounds");
+
+        register("millilitre", UnitDimension.VOLUME, "1", "ml", "milliliter", "milliliters", "millilitres");
+        register("centilitre", UnitDimension.VOLUME, "10", "cl", "centiliter", "centiliters", "centilitres");
+        register("decilitre", UnitDimension.VOLUME, "100", "dl", "deciliter", "deciliters", "decilitres");
+        register("litre", UnitDimension.VOLUME, "1000", "l", "liter", "liters", "litres");
+        register("teaspoon", UnitDimension.VOLUME, "4.9289", "tsp", "tsps", "teaspoons", "t");
+        register("tablespoon", UnitDimension.VOLUME, "14.7868", "tbsp", "tbsps", "tbs", "tablespoons", "T");
+        register("cup", UnitDimension.VOLUME, "236.5882", "cups", "c");
+        register("fluid ounce", UnitDimension.VOLUME, "29.5735", "fl oz", "floz", "fluid ounces");
+        register("pint", UnitDimension.VOLUME, "473.1765", "pints", "pt");
+        register("quart", UnitDimension.VOLUME, "946.3529", "quarts", "qt");
+        register("gallon", UnitDimension.VOLUME, "3785.4118", "gallons", "gal");
+        register("pinch", UnitDimension.VOLUME, "0.3081", "pinches");
+        register("dash", UnitDimension.VOLUME, "0.6161", "dashes");
+
+        register("piece", UnitDimension.COUNT, "1", "pieces", "pc", "pcs", "whole", "each", "ea",
+                "small", "medium", "large");
+
+        register("clove", UnitDimension.OTHER, "1", "cloves");
+        register("slice", UnitDimension.OTHER, "1", "slices");
+        register("can", UnitDimension.OTHER, "1", "cans", "tin", "tins");
+        register("bunch", UnitDimension.OTHER, "1", "bunches");
+        register("head", UnitDimension.OTHER, "1", "heads");
+        register("sprig", UnitDimension.OTHER, "1", "sprigs");
+        register("stick", UnitDimension.OTHER, "1", "sticks");
+        register("package", UnitDimension.OTHER, "1", "packages", "pack", "packs", "pkg");
+
+        this.dimensions = dimensionList.toArray(UnitDimension[]::new);
+        this.factors = factorList.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Resolves a free-form unit string to a unit id.
+     * @param unit the unit as entered, may be null
+     * @return the unit id, {@link #UNKNOWN} when the unit is blank or not recognised
+     */
+    public int resolve(String unit) {
+        if (unit == null || unit.isBlank()) {
+            return UNKNOWN;
+        }
+        String trimmed = unit.trim();
+        // Single letter "T" (tablespoon) and "t" (teaspoon) are case sensitive by convention
+        Integer id = idsByAlias.get(trimmed);
+        if (id == null) {
+            id = idsByAlias.get(normalize(trimmed));
+        }
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Returns the number of units in the dictionary.
+     */
+    public int size() {
+        return factors.length;
+    }
+
+    /**
+     * Returns the canonical name of a unit.
+     */
+    public String name(int unitId) {
+        return names.get(unitId);
+    }
+
+    /**
+     * Returns the dimension of a unit.
+     */
+    public UnitDimension dimension(int unitId) {
+        return dimensions[unitId];
+    }
+
+    /**
+     * Checks whether amounts in one unit can be converted to the other.
+     */
+    public boolean isConvertible(int fromUnitId, int toUnitId) {
+        if (fromUnitId == toUnitId) {
+            return fromUnitId != UNKNOWN;
+        }
+        UnitDimension dimension = dimensions[fromUnitId];
+        return dimension != UnitDimension.OTHER && dimension == dimensions[toUnitId];
+    }
+
+    /**
+     * Converts a fixed-point amount into the base unit of its dimension.
+     */
+    public long toBase(long amount, int unitId) {
+        return FixedPoint.multiply(amount, factors[unitId]);
+    }
+
+    /**
+     * Converts a fixed-point amount expressed in the base unit into the given unit.
+     */
+    public long fromBase(long baseAmount, int unitId) {
+        return FixedPoint.mulDiv(baseAmount, FixedPoint.ONE, factors[unitId]);
+    }
+
+    /**
+     * Converts a fixed-point amount between two convertible units.
+     */
+    public long convert(long amount, int fromUnitId, int toUnitId) {
+        if (fromUnitId == toUnitId) {
+            return amount;
+        }
+        if (!isConvertible(fromUnitId, toUnitId)) {
+            throw new IllegalArgumentException("Cannot convert " + name(fromUnitId) + " to " + name(toUnitId));
+        }
+        return FixedPoint.mulDiv(amount, factors[fromUnitId], factors[toUnitId]);
+    }
+
+    private void register(String name, UnitDimension dimension, String baseFactor, String... aliases) {
+        int id = names.size();
+        names.add(name);
+        dimensionList.add(dimension);
+        factorList.add(FixedPoint.of(new BigDecimal(baseFactor)));
+        idsByAlias.put(name, id);
+        for (String alias : aliases) {
+            // Case sensitive single letter aliases are stored verbatim, everything else normalized
+            idsByAlias.put(alias.length() == 1 ? alias : normalize(alias), id);
+        }
+    }
+
+    private static String normalize(String unit) {
+        return unit.trim().toLowerCase(Locale.ROOT).replace(".", "").replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,14 @@
+package com.infiniterecipebook.services.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One request replayed during warm-up, in the shape it is recorded: one JSON object per line,
+ * such as {@code {"method":"GET","path":"/recipes/42"}}.
+ *
+ * @param method the HTTP method
+ * @param path the path below the context path, with its query string
+ * @param body the JSON request body, or null
+ */
+public record WarmUpRequest(String method, String path, JsonNode body) {
+}
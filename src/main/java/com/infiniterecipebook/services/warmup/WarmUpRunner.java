@@ -0,0 +1,224 @@
+package com.infiniterecipebook.services.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.dto.IngredientValidationRequest;
+import com.infiniterecipebook.dto.RecipeRequest;
+import com.infiniterecipebook.services.IngredientService;
+import com.infiniterecipebook.services.RecipeAccessTracker;
+import com.infiniterecipebook.services.RecipeGenerationService;
+import com.infiniterecipebook.services.RecipeService;
+import com.infiniterecipebook.services.matching.IngredientNameIndex;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a workload against the services before the application reports itself ready.
+ *
+ * Spring Boot flips readiness to {@code ACCEPTING_TRAFFIC} only after every
+ * {@link ApplicationRunner} has returned, so the first real requests find the indexes built,
+ * the common ingredient list cached and the hot paths, JSON serialization included, already
+ * compiled. Requests are replayed in-process against the services the controllers call,
+ * bypassing rate and concurrency limits, until the workload has been cycled through
+ * {@code max-requests} times or the time budget runs out. Generate requests are answered from
+ * the catalogue only, so the warm-up never calls the recipe generator, and recipe reads made by
+ * the warm-up are not counted towards tiering.
+ */
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner, MeterBinder {
+
+    private static final Pattern RECIPE_PATH = Pattern.compile("/recipes/(\\d+)");
+    private static final Pattern SCALED_PATH = Pattern.compile("/recipes/(\\d+)/scaled\\?servings=(\\d+)");
+
+    private final RecipeGenerationService recipeGenerationService;
+    private final RecipeService recipeService;
+    private final IngredientService ingredientService;
+    private final IngredientResolver ingredientResolver;
+    private final RecipeIndexService recipeIndexService;
+    private final RecipeAccessTracker recipeAccessTracker;
+    private final ObjectMapper objectMapper;
+    private final RecipeBookProperties.WarmUp settings;
+
+    private final AtomicLong durationNanos = new AtomicLong();
+    private Counter replayed;
+    private Counter failed;
+
+    public WarmUpRunner(RecipeGenerationService recipeGenerationService,
+                        RecipeService recipeService,
+                        IngredientService ingredientService,
+                        IngredientResolver ingredientResolver,
+                        RecipeIndexService recipeIndexService,
+                        RecipeAccessTracker recipeAccessTracker,
+                        ObjectMapper objectMapper,
+                        RecipeBookProperties properties) {
+        this.recipeGenerationService = recipeGenerationService;
+        this.recipeService = recipeService;
+        this.ingredientService = ingredientService;
+        this.ingredientResolver = ingredientResolver;
+        this.recipeIndexService = recipeIndexService;
+        this.recipeAccessTracker = recipeAccessTracker;
+        this.objectMapper = objectMapper;
+        this.settings = properties.getWarmUp();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("recipe.warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Time spent warming up before the application reported ready")
+                .register(registry);
+        replayed = Counter.builder("recipe.warmup.requests")
+                .description("Requests replayed during warm-up")
+                .tag("result", "ok")
+                .register(registry);
+        failed = Counter.builder("recipe.warmup.requests")
+                .description("Requests replayed during warm-up")
+                .tag("result", "failed")
+                .register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Builds the caches and replays the workload within the time budget.
+     * @return what the warm-up did
+     */
+    public Report warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + settings.getTimeBudget().toNanos();
+
+        RecipeMatchIndex recipes = recipeIndexService.current();
+        IngredientNameIndex ingredients = ingredientResolver.current();
+        ingredientService.getCommonIngredients();
+
+        List<WarmUpRequest> workload = workload(ingredients, recipes);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        int total = workload.isEmpty() ? 0 : settings.getMaxRequests();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getConcurrency());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < settings.getConcurrency(); i++) {
+                workers.add(executor.submit(() -> recipeAccessTracker.untracked(() -> {
+                    int n;
+                    while ((n = next.getAndIncrement()) < total && System.nanoTime() < deadline) {
+                        if (replay(workload.get(n % workload.size()))) {
+                            succeeded.incrementAndGet();
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    }
+                })));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Warm-up stopped early", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        durationNanos.set(elapsed);
+        if (replayed != null) {
+            replayed.increment(succeeded.get());
+            failed.increment(failures.get());
+        }
+        Report report = new Report(succeeded.get(), failures.get(), elapsed / 1_000_000,
+                System.nanoTime() >= deadline);
+        log.info("Warm-up replayed {} requests ({} failed) in {} ms{}", report.requests(), report.failures(),
+                report.millis(), report.budgetExhausted() ? ", time budget exhausted" : "");
+        return report;
+    }
+
+    private List<WarmUpRequest> workload(IngredientNameIndex ingredients, RecipeMatchIndex recipes) {
+        String file = settings.getRequestsFile();
+        if (!file.isEmpty()) {
+            try {
+                return WarmUpWorkload.load(Path.of(file), objectMapper);
+            } catch (IOException e) {
+                log.warn("Cannot read warm-up requests from {}, using a synthetic workload: {}", file, e.getMessage());
+            }
+        }
+        return WarmUpWorkload.synthesize(ingredients, recipes, settings.getSyntheticRequests(), objectMapper);
+    }
+
+    private boolean replay(WarmUpRequest request) {
+        try {
+            Object response = dispatch(request);
+            if (response == null) {
+                return false;
+            }
+            objectMapper.writeValueAsBytes(response);
+            return true;
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.debug("Warm-up request {} {} failed: {}", request.method(), request.path(), e.toString());
+            return false;
+        }
+    }
+
+    private Object dispatch(WarmUpRequest request) throws JsonProcessingException {
+        String path = request.path();
+        if ("POST".equals(request.method())) {
+            return switch (path) {
+                case "/recipes/generate" ->
+                        recipeGenerationService.generateFromCatalog(
+                                objectMapper.treeToValue(request.body(), RecipeRequest.class));
+                case "/ingredients/validate" -> ingredientService.validateIngredients(
+                        objectMapper.treeToValue(request.body(), IngredientValidationRequest.class));
+                default -> null;
+            };
+        }
+        if ("/ingredients/common".equals(path)) {
+            return ingredientService.getCommonIngredients();
+        }
+        Matcher scaled = SCALED_PATH.matcher(path);
+        if (scaled.matches()) {
+            return recipeService.getScaledRecipe(Long.parseLong(scaled.group(1)), Integer.parseInt(scaled.group(2)));
+        }
+        Matcher recipe = RECIPE_PATH.matcher(path);
+        if (recipe.matches()) {
+            return recipeService.getRecipe(Long.parseLong(recipe.group(1)));
+        }
+        return null;
+    }
+
+    /**
+     * Outcome of a warm-up.
+     * @param requests requests replayed successfully
+     * @param failures requests that failed or were not recognised
+     * @param millis time spent, index builds included
+     * @param budgetExhausted whether the time budget cut the replay short
+     */
+    public record Report(int requests, int failures, long millis, boolean budgetExhausted) {
+    }
+}
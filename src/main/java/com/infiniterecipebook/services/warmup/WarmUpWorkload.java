@@ -0,0 +1,117 @@
+package com.infiniterecipebook.services.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.services.matching.IngredientNameIndex;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the list of requests replayed during warm-up.
+ *
+ * A recorded workload is read from a JSON lines file, one {@link WarmUpRequest} per line.
+ * Without one, a synthetic workload is drawn from the catalogue with the mix of a typical day:
+ * mostly generate calls over a few known ingredient names, then recipe reads and ingredient
+ * lookups, with some misspelt names so the suggestion path is compiled too.
+ */
+final class WarmUpWorkload {
+
+    private static final MealType[] MEAL_TYPES = MealType.values();
+
+    private WarmUpWorkload() {
+    }
+
+    /**
+     * Reads a recorded workload.
+     * @param file the JSON lines file
+     * @param objectMapper the mapper to parse lines with
+     * @return the requests, in file order
+     * @throws IOException if the file cannot be read or a line is not a request
+     */
+    static List<WarmUpRequest> load(Path file, ObjectMapper objectMapper) throws IOException {
+        List<WarmUpRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    requests.add(objectMapper.readValue(line, WarmUpRequest.class));
+                }
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * Draws a synthetic workload from the catalogue.
+     * @param ingredients the ingredient names to build requests from
+     * @param recipes the recipes to read
+     * @param size the number of requests
+     * @param objectMapper the mapper to build request bodies with
+     * @return the requests
+     */
+    static List<WarmUpRequest> synthesize(IngredientNameIndex ingredients, RecipeMatchIndex recipes, int size,
+                                          ObjectMapper objectMapper) {
+        List<String> names = ingredients.entries().stream().map(IngredientNameIndex.Entry::name).toList();
+        Random random = new Random(size);
+        List<WarmUpRequest> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int kind = random.nextInt(20);
+            if (kind < 10 && !names.isEmpty()) {
+                requests.add(generate(names, random, objectMapper));
+            } else if (kind < 15 && recipes.size() > 0) {
+                int slot = random.nextInt(recipes.slotCount());
+                while (!recipes.isLive(slot)) {
+                    slot = random.nextInt(recipes.slotCount());
+                }
+                long id = recipes.recipeId(slot);
+                String path = kind == 14 ? "/recipes/" + id + "/scaled?servings=" + (1 + random.nextInt(8))
+                        : "/recipes/" + id;
+                requests.add(new WarmUpRequest("GET", path, null));
+            } else if (kind < 18 && !names.isEmpty()) {
+                requests.add(validate(names, random, objectMapper));
+            } else {
+                requests.add(new WarmUpRequest("GET", "/ingredients/common", null));
+            }
+        }
+        return requests;
+    }
+
+    private static WarmUpRequest generate(List<String> names, Random random, ObjectMapper objectMapper) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.set("ingredients", ingredientList(names, 3 + random.nextInt(4), random, false, objectMapper));
+        if (random.nextBoolean()) {
+            body.put("mealType", MEAL_TYPES[random.nextInt(MEAL_TYPES.length)].name());
+        }
+        return new WarmUpRequest("POST", "/recipes/generate", body);
+    }
+
+    private static WarmUpRequest validate(List<String> names, Random random, ObjectMapper objectMapper) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.set("ingredients", ingredientList(names, 1 + random.nextInt(5), random, true, objectMapper));
+        return new WarmUpRequest("POST", "/ingredients/validate", body);
+    }
+
+    private static ArrayNode ingredientList(List<String> names, int count, Random random, boolean misspell,
+                                            ObjectMapper objectMapper) {
+        ArrayNode ingredients = objectMapper.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            String name = names.get(random.nextInt(names.size()));
+            if (misspell && name.length() > 3 && random.nextBoolean()) {
+                int drop = random.nextInt(name.length());
+                name = name.substring(0, drop) + name.substring(drop + 1);
+            }
+            ingredients.addObject().put("name", name);
+        }
+        return ingredients;
+    }
+}
@@ -0,0 +1,151 @@
+package com.infiniterecipebook;
+
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.services.changes.ChangeEventStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application with the startup-optimized profile in a fresh JVM and checks its time to ready.
+ *
+ * The application runs on its own, with only the {@code startup} profile, so neither the
+ * surefire JVM's warmed-up classes nor the test profile's settings hide a regression. The
+ * sandbox has no PostgreSQL, so the only overrides point the datasource at an in-memory H2
+ * database and create the schema, which the startup profile leaves to the database.
+ *
+ * Time to ready is the JVM uptime at {@link ApplicationReadyEvent}, warm-up included. It must
+ * stay within {@code startup.tolerance} (50% by default) of the value recorded in
+ * {@code startup-baseline.properties}; pass {@code -Dstartup.baseline.ms} to compare against
+ * a value recorded on another machine.
+ */
+class StartupTimeTest {
+
+    private static final String READY = "time-to-ready-ms=";
+    private static final String LISTENERS = "change-listeners=";
+    private static final long PROCESS_TIMEOUT_SECONDS = 300;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldBecomeReadyWithinRecordedBudget_withStartupProfileInFreshJvm() throws Exception {
+        // Given
+        long baseline = Long.getLong("startup.baseline.ms", recordedBaseline());
+        double tolerance = Double.parseDouble(System.getProperty("startup.tolerance", "0.5"));
+        long budget = Math.round(baseline * (1 + tolerance));
+        Path output = directory.resolve("startup.log");
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classPath(),
+                Probe.class.getName(),
+                "--spring.profiles.active=startup",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.sql.init.mode=embedded",
+                "--spring.sql.init.schema-locations=classpath:db/h2-array-columns.sql",
+                "--spring.flyway.enabled=false"));
+
+        // When
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        boolean exited = process.waitFor(PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (!exited) {
+            process.destroyForcibly();
+        }
+        List<String> lines = Files.readAllLines(output);
+
+        // Then
+        assertTrue(exited && process.exitValue() == 0, "Application did not start:\n" + tail(lines));
+        long timeToReady = Long.parseLong(value(lines, READY));
+        assertEquals("ok", value(lines, LISTENERS), "Lazy initialization dropped the Hibernate listeners");
+        assertTrue(timeToReady <= budget, "Ready after " + timeToReady + " ms, budget " + budget
+                + " ms (recorded " + baseline + " ms + " + Math.round(tolerance * 100) + "%)");
+    }
+
+    private static long recordedBaseline() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = StartupTimeTest.class.getResourceAsStream("/startup-baseline.properties")) {
+            assertNotNull(in, "startup-baseline.properties is missing");
+            properties.load(in);
+        }
+        return Long.parseLong(properties.getProperty("time-to-ready.ms"));
+    }
+
+    private static String classPath() {
+        // Surefire starts tests from a manifest-only jar and publishes the real class path here
+        return System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+    }
+
+    private static String value(List<String> lines, String key) {
+        return lines.stream()
+                .filter(line -> line.startsWith(key))
+                .map(line -> line.substring(key.length()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + key + " in output:\n" + tail(lines)));
+    }
+
+    private static String tail(List<String> lines) {
+        return String.join("\n", lines.subList(Math.max(0, lines.size() - 40), lines.size()));
+    }
+
+    /**
+     * Runs the application, prints its time to ready and whether the change listeners are registered, then exits.
+     */
+    public static final class Probe {
+
+        private Probe() {
+        }
+
+        public static void main(String[] args) {
+            AtomicLong timeToReady = new AtomicLong(-1);
+            SpringApplication application = new SpringApplication(InfiniteRecipeBookApplication.class);
+            application.addListeners(event -> {
+                if (event instanceof ApplicationReadyEvent) {
+                    timeToReady.set(ManagementFactory.getRuntimeMXBean().getUptime());
+                }
+            });
+            int status;
+            try (ConfigurableApplicationContext context = application.run(args)) {
+                boolean ready = context.getBean(ApplicationAvailability.class).getReadinessState()
+                        == ReadinessState.ACCEPTING_TRAFFIC;
+
+                ChangeEventStream changeEventStream = context.getBean(ChangeEventStream.class);
+                long before = changeEventStream.lastSequence();
+                context.getBean(IngredientRepository.class)
+                        .save(Ingredient.builder().name("Startup Check").normalizedName("startup check").build());
+                boolean listeners = changeEventStream.lastSequence() == before + 1;
+
+                System.out.println(READY + timeToReady.get());
+                System.out.println(LISTENERS + (listeners ? "ok" : "missing"));
+                status = ready ? 0 : 1;
+            }
+            System.exit(status);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.infiniterecipebook.controllers;
+
+import com.infiniterecipebook.dto.CommonIngredientDto;
+import com.infiniterecipebook.dto.CommonIngredientsResponse;
+import com.infiniterecipebook.dto.IngredientValidationRequest;
+import com.infiniterecipebook.dto.IngredientValidationResponse;
+import com.infiniterecipebook.dto.ValidatedIngredientDto;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.services.IngredientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Web layer tests for IngredientController.
+ */
+@WebMvcTest(IngredientController.class)
+class IngredientControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IngredientService ingredientService;
+
+    @Test
+    void shouldReturnCommonIngredients() throws Exception {
+        // Given
+        when(ingredientService.getCommonIngredients()).thenReturn(CommonIngredientsResponse.builder()
+                .ingredients(List.of(CommonIngredientDto.builder()
+                        .id(1L)
+                        .name("salt")
+                        .category(IngredientCategory.SEASONING)
+                        .commonUnits(List.of("teaspoon", "pinch"))
+                        .build()))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/ingredients/common"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingredients[0].name").value("salt"))
+                .andExpect(jsonPath("$.ingredients[0].category").value("SEASONING"))
+                .andExpect(jsonPath("$.ingredients[0].commonUnits[1]").value("pinch"));
+    }
+
+    @Test
+    void shouldReturnValidationResults_whenIngredientsAreGiven() throws Exception {
+        // Given
+        when(ingredientService.validateIngredients(any(IngredientValidationRequest.class)))
+                .thenReturn(IngredientValidationResponse.builder()
+                        .validatedIngredients(List.of(ValidatedIngredientDto.builder()
+                                .originalName("Chicken Breasts")
+                                .normalizedName("chicken breast")
+                                .isValid(true)
+                                .suggestions(List.of("chicken breast"))
+                                .category(IngredientCategory.PROTEIN)
+                                .build()))
+                        .build());
+
+        // When & Then
+        mockMvc.perform(post("/ingredients/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredients\": [{\"name\": \"Chicken Breasts\", \"quantity\": 2}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.validatedIngredients[0].normalizedName").value("chicken breast"))
+                .andExpect(jsonPath("$.validatedIngredients[0].isValid").value(true));
+    }
+
+    @Test
+    void shouldReturnValidationError_whenIngredientNameIsBlank() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/ingredients/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredients\": [{\"name\": \" \"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.infiniterecipebook.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.RecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end tests for binary content negotiation and response compression on recipe lookups.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class RecipeContentNegotiationTest {
+
+    private static final String BROWSER_ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Recipe small;
+    private Recipe large;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        small = recipeService.saveRecipe(recipe("Toast", 1));
+        large = recipeService.saveRecipe(recipe("Feast", 40));
+    }
+
+    @Test
+    void shouldReturnJson_whenClientAcceptsAnything() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("/recipes/" + small.getId(), BROWSER_ACCEPT, null);
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertTrue(contentType(response).startsWith("application/json"));
+    }
+
+    @Test
+    void shouldReturnCbor_whenRequested() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("/recipes/" + large.getId(), "application/cbor", null);
+
+        // Then
+        assertEquals("application/cbor", contentType(response));
+        JsonNode recipe = new CBORMapper().readTree(response.body());
+        assertEquals("Feast", recipe.get("name").asText());
+        assertEquals(40, recipe.get("ingredients").size());
+        HttpResponse<byte[]> json = get("/recipes/" + large.getId(), "application/json", null);
+        assertTrue(response.body().length < json.body().length);
+    }
+
+    @Test
+    void shouldReturnSmile_whenRequested() throws Exception {
+        // When
+        HttpResponse<byte[]> response = get("/recipes/" + small.getId(), "application/x-jackson-smile", null);
+
+        // Then
+        assertEquals("application/x-jackson-smile", contentType(response));
+        assertEquals("Toast", new SmileMapper().readTree(response.body()).get("name").asText());
+    }
+
+    @Test
+    void shouldCompressOnlyResponsesAboveThreshold() throws Exception {
+        // When
+        HttpResponse<byte[]> largeResponse = get("/recipes/" + large.getId(), "application/json", "gzip");
+        HttpResponse<byte[]> smallResponse = get("/recipes/" + small.getId(), "application/json", "gzip");
+
+        // Then
+        assertEquals("gzip", largeResponse.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(smallResponse.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1" + path))
+                .header("Accept", accept);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type").orElse("");
+    }
+
+    private Recipe recipe(String name, int ingredientCount) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(MealType.DINNER)
+                .servings(4)
+                .cookingTimeMinutes(30)
+                .tags(new ArrayList<>(List.of("party")))
+                .build();
+        for (int i = 0; i < ingredientCount; i++) {
+            Ingredient ingredient = ingredientRepository.save(Ingredient.builder()
+                    .name(name + " Ingredient " + i)
+                    .normalizedName((name + " ingredient " + i).toLowerCase())
+                    .category(IngredientCategory.OTHER)
+                    .build());
+            recipe.addIngredient(RecipeIngredient.builder()
+                    .ingredient(ingredient)
+                    .quantity(BigDecimal.valueOf(i + 1))
+                    .unit("gram")
+                    .isRequired(true)
+                    .build());
+        }
+        recipe.addInstruction(RecipeInstruction.builder().stepNumber(1).stepOrder(1).description("Combine everything").build());
+        return recipe;
+    }
+}
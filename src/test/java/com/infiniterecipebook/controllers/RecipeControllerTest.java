@@ -0,0 +1,229 @@
+package com.infiniterecipebook.controllers;
+
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipeIngredientDto;
+import com.infiniterecipebook.dto.RecipeInstructionDto;
+import com.infiniterecipebook.dto.RecipeRequest;
+import com.infiniterecipebook.dto.RecipeResponse;
+import com.infiniterecipebook.enums.RecipeSource;
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.exceptions.RecipeNotFoundException;
+import com.infiniterecipebook.services.MealPlanService;
+import com.infiniterecipebook.services.RecipeGenerationService;
+import com.infiniterecipebook.services.RecipeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Web layer tests for RecipeController.
+ */
+@WebMvcTest(RecipeController.class)
+class RecipeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecipeService recipeService;
+
+    @MockBean
+    private RecipeGenerationService recipeGenerationService;
+
+    @MockBean
+    private MealPlanService mealPlanService;
+
+    @Test
+    void shouldReturnRecipe_whenRecipeExists() throws Exception {
+        // Given
+        when(recipeService.getRecipe(1L)).thenReturn(RecipeDto.builder()
+                .id(1L)
+                .name("Simple Chicken and Rice")
+                .mealType(MealType.DINNER)
+                .cookingTime(25)
+                .difficulty(Difficulty.EASY)
+                .servings(2)
+                .ingredients(List.of(RecipeIngredientDto.builder()
+                        .name("rice")
+                        .quantity(BigDecimal.ONE)
+                        .unit("cup")
+                        .isRequired(true)
+                        .build()))
+                .instructions(List.of(RecipeInstructionDto.builder().step(1).description("Cook rice").build()))
+                .tags(List.of("quick"))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/recipes/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Simple Chicken and Rice"))
+                .andExpect(jsonPath("$.cookingTime").value(25))
+                .andExpect(jsonPath("$.ingredients[0].isRequired").value(true))
+                .andExpect(jsonPath("$.instructions[0].step").value(1));
+    }
+
+    @Test
+    void shouldReturnNotFoundError_whenRecipeDoesNotExist() throws Exception {
+        // Given
+        when(recipeService.getRecipe(99L)).thenThrow(new RecipeNotFoundException(99L));
+
+        // When & Then
+        mockMvc.perform(get("/recipes/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error.code").value("RECIPE_NOT_FOUND"))
+                .andExpect(jsonPath("$.error.details.id").value(99));
+    }
+
+    @Test
+    void shouldReturnValidationError_whenIdIsNotNumeric() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/recipes/abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void shouldReturnScaledRecipe_whenServingsAreValid() throws Exception {
+        // Given
+        when(recipeService.getScaledRecipe(1L, 4)).thenReturn(RecipeDto.builder()
+                .id(1L)
+                .name("Simple Chicken and Rice")
+                .servings(4)
+                .ingredients(List.of(RecipeIngredientDto.builder()
+                        .name("rice")
+                        .quantity(new BigDecimal("2.0000"))
+                        .unit("cup")
+                        .isRequired(true)
+                        .build()))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/recipes/1/scaled").param("servings", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.servings").value(4))
+                .andExpect(jsonPath("$.ingredients[0].quantity").value(2.0));
+    }
+
+    @Test
+    void shouldReturnValidationError_whenServingsAreOutOfRange() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/recipes/1/scaled").param("servings", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void shouldReturnGeneratedRecipes_whenRequestIsValid() throws Exception {
+        // Given
+        when(recipeGenerationService.generate(any(RecipeRequest.class), isNull())).thenReturn(RecipeResponse.builder()
+                .recipes(List.of(RecipeDto.builder()
+                        .id(1L)
+                        .name("Simple Chicken and Rice")
+                        .ingredients(List.of(RecipeIngredientDto.builder()
+                                .name("salt")
+                                .isRequired(true)
+                                .isAvailable(false)
+                                .build()))
+                        .confidence(0.67)
+                        .build()))
+                .metadata(RecipeResponse.Metadata.builder()
+                        .totalRecipes(1)
+                        .generationTime(0.004)
+                        .source(RecipeSource.CATALOG)
+                        .build())
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/recipes/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ingredients": [{"name": "chicken breast", "quantity": 2, "unit": "pieces"}],
+                                 "mealType": "DINNER", "preferences": {"servings": 2}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes[0].confidence").value(0.67))
+                .andExpect(jsonPath("$.recipes[0].ingredients[0].isAvailable").value(false))
+                .andExpect(jsonPath("$.metadata.source").value("CATALOG"));
+    }
+
+    @Test
+    void shouldPassTimeoutHeader_andFlagPartialResponse() throws Exception {
+        // Given
+        when(recipeGenerationService.generate(any(RecipeRequest.class), eq(Duration.ofMillis(1500))))
+                .thenReturn(RecipeResponse.builder()
+                        .recipes(List.of())
+                        .metadata(RecipeResponse.Metadata.builder().source(RecipeSource.CATALOG).partial(true).build())
+                        .build());
+
+        // When & Then
+        mockMvc.perform(post("/recipes/generate")
+                        .header(RecipeController.TIMEOUT_HEADER, "1500")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredients\": [{\"name\": \"rice\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.metadata.partial").value(true));
+    }
+
+    @Test
+    void shouldReturnValidationError_whenTimeoutHeaderIsNotPositive() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/recipes/generate")
+                        .header(RecipeController.TIMEOUT_HEADER, "0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredients\": [{\"name\": \"rice\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void shouldReturnValidationError_whenNoIngredientsAreGiven() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/recipes/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredients\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void shouldReturnValidationError_whenPlanHasNoMeals() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/recipes/plan")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredients\": [{\"name\": \"rice\"}], \"meals\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void shouldOmitGenerateOnlyFields_whenRecipeIsFetchedById() throws Exception {
+        // Given
+        when(recipeService.getRecipe(2L)).thenReturn(RecipeDto.builder()
+                .id(2L)
+                .ingredients(List.of(RecipeIngredientDto.builder().name("rice").build()))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/recipes/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.confidence").doesNotExist())
+                .andExpect(jsonPath("$.ingredients[0].isAvailable").doesNotExist());
+    }
+}
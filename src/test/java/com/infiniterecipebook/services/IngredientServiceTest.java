@@ -0,0 +1,162 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.dto.CommonIngredientDto;
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.IngredientValidationRequest;
+import com.infiniterecipebook.dto.ValidatedIngredientDto;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.models.CommonIngredient;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.repositories.CommonIngredientRepository;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.changes.ChangeEventStream;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for IngredientService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IngredientServiceTest {
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private IngredientResolver ingredientResolver;
+
+    @Autowired
+    private CommonIngredientRepository commonIngredientRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private ChangeEventStream changeEventStream;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        commonIngredientRepository.deleteAll();
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        Ingredient salt = ingredientRepository.save(Ingredient.builder()
+                .name("Salt").normalizedName("salt").category(IngredientCategory.SEASONING)
+                .commonUnits(List.of("teaspoon", "pinch")).build());
+        Ingredient oil = ingredientRepository.save(Ingredient.builder()
+                .name("Olive Oil").normalizedName("olive oil").category(IngredientCategory.COOKING_OIL).build());
+        ingredientRepository.save(Ingredient.builder()
+                .name("Chicken Breast").normalizedName("chicken breast").category(IngredientCategory.PROTEIN).build());
+        commonIngredientRepository.save(CommonIngredient.builder().ingredient(salt).popularityScore(10).build());
+        commonIngredientRepository.save(CommonIngredient.builder().ingredient(oil).popularityScore(20).build());
+        ingredientService.evictCommonIngredients();
+        ingredientResolver.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Other suites delete ingredients and must not trip over the foreign key
+        commonIngredientRepository.deleteAll();
+    }
+
+    @Test
+    void shouldReturnCommonIngredients_mostPopularFirst() {
+        // When
+        List<CommonIngredientDto> ingredients = ingredientService.getCommonIngredients().getIngredients();
+
+        // Then
+        assertEquals(List.of("Olive Oil", "Salt"), ingredients.stream().map(CommonIngredientDto::getName).toList());
+        assertEquals(List.of("teaspoon", "pinch"), ingredients.get(1).getCommonUnits());
+    }
+
+    @Test
+    void shouldServeCachedList_untilEvicted() {
+        // Given
+        changeEventStream.drain();
+        ingredientService.getCommonIngredients();
+        // Plain SQL bypasses the change events that would evict the list
+        jdbcTemplate.update("DELETE FROM common_ingredients");
+
+        // When & Then
+        assertEquals(2, ingredientService.getCommonIngredients().getIngredients().size());
+        ingredientService.evictCommonIngredients();
+        assertTrue(ingredientService.getCommonIngredients().getIngredients().isEmpty());
+    }
+
+    @Test
+    void shouldEvictCachedList_whenCommonIngredientsChange() {
+        // Given
+        changeEventStream.drain();
+        assertEquals(2, ingredientService.getCommonIngredients().getIngredients().size());
+
+        // When
+        commonIngredientRepository.deleteAll();
+        changeEventStream.drain();
+
+        // Then
+        assertTrue(ingredientService.getCommonIngredients().getIngredients().isEmpty());
+    }
+
+    @Test
+    void shouldNormalizeKnownNames_andSuggestForUnknownNames() {
+        // Given
+        IngredientValidationRequest request = IngredientValidationRequest.builder()
+                .ingredients(List.of(
+                        IngredientInputDto.builder().name("Chicken Breasts").build(),
+                        IngredientInputDto.builder().name("Chicken Thigh").build()))
+                .build();
+
+        // When
+        List<ValidatedIngredientDto> results = ingredientService.validateIngredients(request).getValidatedIngredients();
+
+        // Then
+        ValidatedIngredientDto known = results.get(0);
+        assertTrue(known.getIsValid());
+        assertEquals("chicken breast", known.getNormalizedName());
+        assertEquals(IngredientCategory.PROTEIN, known.getCategory());
+
+        ValidatedIngredientDto unknown = results.get(1);
+        assertFalse(unknown.getIsValid());
+        assertEquals("chicken thigh", unknown.getNormalizedName());
+        assertEquals(List.of("chicken breast"), unknown.getSuggestions());
+        assertNull(unknown.getCategory());
+    }
+
+    @Test
+    void shouldValidateBatchInInputOrder_whenNamesMixHitsAndMisses() {
+        // Given
+        List<String> names = List.of("Salt", "xqzv", "Chicken Thigh", "olive oils", "Chicken Thigh", "SALT");
+        IngredientValidationRequest request = IngredientValidationRequest.builder()
+                .ingredients(names.stream().map(name -> IngredientInputDto.builder().name(name).build()).toList())
+                .build();
+
+        // When
+        List<ValidatedIngredientDto> results = ingredientService.validateIngredients(request).getValidatedIngredients();
+
+        // Then
+        assertEquals(names, results.stream().map(ValidatedIngredientDto::getOriginalName).toList());
+        assertEquals(List.of(true, false, false, true, false, true),
+                results.stream().map(ValidatedIngredientDto::getIsValid).toList());
+        assertEquals("olive oil", results.get(3).getNormalizedName());
+        assertTrue(results.get(1).getSuggestions().isEmpty());
+        assertEquals(List.of("chicken breast"), results.get(2).getSuggestions());
+        assertEquals(results.get(2).getSuggestions(), results.get(4).getSuggestions());
+    }
+}
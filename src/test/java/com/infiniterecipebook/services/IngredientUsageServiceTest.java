@@ -0,0 +1,236 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.IngredientUsageStats;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.IngredientUsageStatsRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for incrementally maintained ingredient usage aggregates.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IngredientUsageServiceTest {
+
+    @Autowired
+    private IngredientUsageService ingredientUsageService;
+
+    @Autowired
+    private IngredientUsageStatsRepository usageStatsRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Ingredient rice;
+
+    private Ingredient salt;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        recipeRepository.deleteAll();
+        usageStatsRepository.deleteAll();
+        rice = ingredientRepository.save(ingredient("rice", IngredientCategory.GRAIN));
+        salt = ingredientRepository.save(ingredient("salt", IngredientCategory.SEASONING));
+    }
+
+    @Test
+    void shouldIncrementCounts_whenRecipeIngredientsAreInserted() {
+        // Given & When
+        recipeRepository.save(recipe("Rice Bowl", MealType.LUNCH, true));
+        recipeRepository.save(recipe("Rice Porridge", MealType.BREAKFAST, false));
+
+        // Then
+        IngredientUsageStats riceStats = ingredientUsageService.getStats(rice.getId()).orElseThrow();
+        assertEquals(2, riceStats.getRecipeCount());
+        assertEquals(2, riceStats.getRequiredCount());
+        assertEquals(1, riceStats.getMealTypeCount(MealType.LUNCH));
+        assertEquals(1, riceStats.getMealTypeCount(MealType.BREAKFAST));
+
+        IngredientUsageStats saltStats = ingredientUsageService.getStats(salt.getId()).orElseThrow();
+        assertEquals(2, saltStats.getRecipeCount());
+        assertEquals(1, saltStats.getRequiredCount());
+    }
+
+    @Test
+    void shouldDecrementCounts_whenRecipeIngredientIsRemoved() {
+        // Given
+        Long recipeId = recipeRepository.save(recipe("Rice Bowl", MealType.DINNER, true)).getId();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe recipe = recipeRepository.findById(recipeId).orElseThrow();
+            RecipeIngredient saltUsage = recipe.getIngredients().stream()
+                    .filter(ri -> ri.getIngredient().getId().equals(salt.getId()))
+                    .findFirst()
+                    .orElseThrow();
+            recipe.removeIngredient(saltUsage);
+        });
+
+        // Then
+        IngredientUsageStats saltStats = ingredientUsageService.getStats(salt.getId()).orElseThrow();
+        assertEquals(0, saltStats.getRecipeCount());
+        assertEquals(0, saltStats.getMealTypeCount(MealType.DINNER));
+        assertEquals(1, ingredientUsageService.getStats(rice.getId()).orElseThrow().getRecipeCount());
+    }
+
+    @Test
+    void shouldMoveMealTypeCounts_whenRecipeMealTypeChanges() {
+        // Given
+        Long recipeId = recipeRepository.save(recipe("Rice Bowl", MealType.LUNCH, false)).getId();
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+                recipeRepository.findById(recipeId).orElseThrow().setMealType(MealType.DINNER));
+
+        // Then
+        IngredientUsageStats riceStats = ingredientUsageService.getStats(rice.getId()).orElseThrow();
+        assertEquals(1, riceStats.getRecipeCount());
+        assertEquals(1, riceStats.getRequiredCount());
+        assertEquals(0, riceStats.getMealTypeCount(MealType.LUNCH));
+        assertEquals(1, riceStats.getMealTypeCount(MealType.DINNER));
+        IngredientUsageStats saltStats = ingredientUsageService.getStats(salt.getId()).orElseThrow();
+        assertEquals(0, saltStats.getRequiredCount());
+        assertEquals(1, saltStats.getMealTypeCount(MealType.DINNER));
+    }
+
+    @Test
+    void shouldCountLinesUnderNewMealType_whenIngredientsChangeInTheSameFlush() {
+        // Given
+        Long recipeId = recipeRepository.save(recipe("Rice Bowl", MealType.LUNCH, true)).getId();
+        Ingredient pepper = ingredientRepository.save(ingredient("pepper", IngredientCategory.SEASONING));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe recipe = recipeRepository.findById(recipeId).orElseThrow();
+            recipe.setMealType(MealType.DINNER);
+            recipe.removeIngredient(recipe.getIngredients().stream()
+                    .filter(ri -> ri.getIngredient().getId().equals(salt.getId()))
+                    .findFirst()
+                    .orElseThrow());
+            recipe.addIngredient(usage(pepper, true));
+        });
+
+        // Then
+        assertEquals(0, ingredientUsageService.getStats(salt.getId()).orElseThrow().getRecipeCount());
+        assertEquals(0, ingredientUsageService.getStats(salt.getId()).orElseThrow().getMealTypeCount(MealType.LUNCH));
+        assertEquals(0, ingredientUsageService.getStats(salt.getId()).orElseThrow().getMealTypeCount(MealType.DINNER));
+        assertEquals(1, ingredientUsageService.getStats(pepper.getId()).orElseThrow().getMealTypeCount(MealType.DINNER));
+        assertEquals(0, ingredientUsageService.getStats(pepper.getId()).orElseThrow().getMealTypeCount(MealType.LUNCH));
+        assertEquals(1, ingredientUsageService.getStats(rice.getId()).orElseThrow().getMealTypeCount(MealType.DINNER));
+        assertEquals(0, ingredientUsageService.getStats(rice.getId()).orElseThrow().getMealTypeCount(MealType.LUNCH));
+    }
+
+    @Test
+    void shouldDecrementCounts_whenRecipeIsDeleted() {
+        // Given
+        Recipe saved = recipeRepository.save(recipe("Rice Bowl", MealType.DINNER, true));
+
+        // When
+        recipeRepository.deleteById(saved.getId());
+
+        // Then
+        assertEquals(0, ingredientUsageService.getStats(rice.getId()).orElseThrow().getRecipeCount());
+        assertEquals(0, ingredientUsageService.getStats(salt.getId()).orElseThrow().getRecipeCount());
+    }
+
+    @Test
+    void shouldNotRecordUsage_whenTransactionRollsBack() {
+        // Given & When
+        transactionTemplate.executeWithoutResult(status -> {
+            recipeRepository.save(recipe("Rice Bowl", MealType.DINNER, true));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertTrue(ingredientUsageService.getStats(rice.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldMatchIncrementalCounts_whenRebuilt() {
+        // Given
+        recipeRepository.save(recipe("Rice Bowl", MealType.LUNCH, true));
+        recipeRepository.save(recipe("Fried Rice", MealType.DINNER, false));
+        IngredientUsageStats incremental = ingredientUsageService.getStats(salt.getId()).orElseThrow();
+
+        // When
+        int rebuilt = ingredientUsageService.rebuild();
+
+        // Then
+        IngredientUsageStats recomputed = ingredientUsageService.getStats(salt.getId()).orElseThrow();
+        assertEquals(2, rebuilt);
+        assertEquals(incremental.getRecipeCount(), recomputed.getRecipeCount());
+        assertEquals(incremental.getRequiredCount(), recomputed.getRequiredCount());
+        assertEquals(incremental.getLunchCount(), recomputed.getLunchCount());
+        assertEquals(incremental.getDinnerCount(), recomputed.getDinnerCount());
+    }
+
+    @Test
+    void shouldOrderMostUsedByRecipeCount() {
+        // Given
+        recipeRepository.save(recipe("Rice Bowl", MealType.LUNCH, true));
+        Recipe saltOnly = Recipe.builder().name("Salted Water").mealType(MealType.SNACK).build();
+        saltOnly.addIngredient(usage(salt, true));
+        recipeRepository.save(saltOnly);
+
+        // When
+        var mostUsed = ingredientUsageService.getMostUsed(1);
+
+        // Then
+        assertEquals(1, mostUsed.size());
+        assertEquals(salt.getId(), mostUsed.get(0).getIngredientId());
+    }
+
+    private Recipe recipe(String name, MealType mealType, boolean saltRequired) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(mealType)
+                .cookingTimeMinutes(20)
+                .servings(2)
+                .build();
+        recipe.addIngredient(usage(rice, true));
+        recipe.addIngredient(usage(salt, saltRequired));
+        return recipe;
+    }
+
+    private static RecipeIngredient usage(Ingredient ingredient, boolean required) {
+        return RecipeIngredient.builder()
+                .ingredient(ingredient)
+                .quantity(BigDecimal.ONE)
+                .unit("cup")
+                .isRequired(required)
+                .build();
+    }
+
+    private static Ingredient ingredient(String name, IngredientCategory category) {
+        return Ingredient.builder()
+                .name(name)
+                .normalizedName(name)
+                .category(category)
+                .build();
+    }
+}
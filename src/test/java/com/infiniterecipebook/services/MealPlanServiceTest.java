@@ -0,0 +1,203 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.MealPlanRequest;
+import com.infiniterecipebook.dto.MealPlanResponse;
+import com.infiniterecipebook.dto.NutritionalInfoDto;
+import com.infiniterecipebook.dto.RecipePreferencesDto;
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for meal planning.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MealPlanServiceTest {
+
+    @Autowired
+    private MealPlanService mealPlanService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
+    @Autowired
+    private IngredientResolver ingredientResolver;
+
+    @Autowired
+    private RecipeAccessTracker recipeAccessTracker;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        Ingredient oats = ingredient("Oats", IngredientCategory.GRAIN);
+        Ingredient eggs = ingredient("Eggs", IngredientCategory.PROTEIN);
+        Ingredient chicken = ingredient("Chicken Breast", IngredientCategory.PROTEIN);
+        Ingredient rice = ingredient("Rice", IngredientCategory.GRAIN);
+
+        recipeService.saveRecipe(recipe("Porridge", MealType.BREAKFAST, Difficulty.EASY, 10, 350, 12, oats));
+        recipeService.saveRecipe(recipe("Omelette", MealType.BREAKFAST, Difficulty.EASY, 10, 300, 25, eggs));
+        recipeService.saveRecipe(recipe("Egg Fried Rice", MealType.LUNCH, Difficulty.MEDIUM, 25, 600, 20, eggs, rice));
+        recipeService.saveRecipe(recipe("Chicken Rice", MealType.DINNER, Difficulty.EASY, 30, 700, 45, chicken, rice));
+        recipeService.saveRecipe(recipe("Roast Chicken", MealType.DINNER, Difficulty.HARD, 90, 900, 60, chicken));
+
+        ingredientResolver.refresh();
+        recipeIndexService.rebuild();
+    }
+
+    @Test
+    void shouldPlanOneRecipePerMeal_closestToTargets() {
+        // Given
+        MealPlanRequest request = request(List.of(MealType.BREAKFAST, MealType.LUNCH, MealType.DINNER),
+                NutritionalInfoDto.builder().calories(1600).protein(90).build(), null);
+
+        // When
+        MealPlanResponse plan = mealPlanService.plan(request);
+
+        // Then
+        assertEquals(List.of("Omelette", "Egg Fried Rice", "Chicken Rice"),
+                plan.getMeals().stream().map(meal -> meal.getRecipe().getName()).toList());
+        assertEquals(1600, plan.getTotals().getCalories());
+        assertEquals(90, plan.getTotals().getProtein());
+        assertFalse(plan.getMetadata().isPartial());
+        assertTrue(plan.getMeals().get(2).getRecipe().getIngredients().get(0).getIsAvailable());
+    }
+
+    @Test
+    void shouldRespectCookingTimeAndDifficulty_andLeaveUnfittableMealsEmpty() {
+        // Given
+        MealPlanRequest request = request(List.of(MealType.DINNER, MealType.DINNER),
+                NutritionalInfoDto.builder().calories(2000).build(),
+                RecipePreferencesDto.builder().maxCookingTime(45).difficulty(Difficulty.EASY).build());
+
+        // When
+        MealPlanResponse plan = mealPlanService.plan(request);
+
+        // Then
+        assertEquals(2, plan.getMeals().size());
+        assertEquals("Chicken Rice", plan.getMeals().stream()
+                .filter(meal -> meal.getRecipe() != null)
+                .map(meal -> meal.getRecipe().getName())
+                .reduce((a, b) -> a + "," + b).orElse(""));
+        assertEquals(700, plan.getTotals().getCalories());
+    }
+
+    @Test
+    void shouldScaleDailyTargets_whenPlanCoversSeveralDays() {
+        // Given: two breakfasts make a two-day plan, aiming at 1000 calories in total
+        Ingredient oats = ingredientRepository.findByNormalizedName("oats").orElseThrow();
+        Ingredient eggs = ingredientRepository.findByNormalizedName("eggs").orElseThrow();
+        Ingredient rice = ingredientRepository.findByNormalizedName("rice").orElseThrow();
+        recipeService.saveRecipe(recipe("Pancakes", MealType.BREAKFAST, Difficulty.EASY, 20, 900, 15, oats, eggs));
+        recipeService.saveRecipe(recipe("Rice Pudding", MealType.BREAKFAST, Difficulty.EASY, 5, 100, 2, oats, rice));
+        recipeIndexService.rebuild();
+        MealPlanRequest request = request(List.of(MealType.BREAKFAST, MealType.BREAKFAST),
+                NutritionalInfoDto.builder().calories(500).build(), null);
+
+        // When
+        MealPlanResponse twoDays = mealPlanService.plan(request);
+        request.setDays(1);
+        MealPlanResponse oneDay = mealPlanService.plan(request);
+
+        // Then
+        assertEquals(Set.of("Pancakes", "Rice Pudding"), names(twoDays));
+        assertEquals(1000, twoDays.getTotals().getCalories());
+        assertFalse(names(oneDay).contains("Pancakes"));
+    }
+
+    @Test
+    void shouldRecordAccess_forPlannedRecipes() {
+        // Given
+        recipeAccessTracker.flush();
+        MealPlanRequest request = request(List.of(MealType.LUNCH), null, null);
+
+        // When
+        mealPlanService.plan(request);
+        recipeAccessTracker.flush();
+
+        // Then
+        Recipe lunch = recipeRepository.findAll().stream()
+                .filter(recipe -> recipe.getName().equals("Egg Fried Rice")).findFirst().orElseThrow();
+        assertEquals(1, lunch.getAccessCount());
+        assertNotNull(lunch.getLastAccessedAt());
+    }
+
+    private static Set<String> names(MealPlanResponse plan) {
+        return plan.getMeals().stream().map(meal -> meal.getRecipe().getName()).collect(Collectors.toSet());
+    }
+
+    private Ingredient ingredient(String name, IngredientCategory category) {
+        return ingredientRepository.save(Ingredient.builder()
+                .name(name)
+                .normalizedName(name.toLowerCase())
+                .category(category)
+                .build());
+    }
+
+    private static Recipe recipe(String name, MealType mealType, Difficulty difficulty, int cookingTime,
+                                 int calories, int protein, Ingredient... ingredients) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(mealType)
+                .difficulty(difficulty)
+                .servings(1)
+                .cookingTimeMinutes(cookingTime)
+                .tags(new ArrayList<>())
+                .nutritionalInfo(NutritionalInfo.builder().calories(calories).protein(protein).build())
+                .build();
+        for (Ingredient ingredient : ingredients) {
+            recipe.addIngredient(RecipeIngredient.builder()
+                    .ingredient(ingredient)
+                    .quantity(BigDecimal.ONE)
+                    .unit("cup")
+                    .isRequired(true)
+                    .build());
+        }
+        return recipe;
+    }
+
+    private static MealPlanRequest request(List<MealType> meals, NutritionalInfoDto targets,
+                                           RecipePreferencesDto preferences) {
+        List<IngredientInputDto> pantry = List.of("oats", "eggs", "chicken breast", "rice").stream()
+                .map(name -> IngredientInputDto.builder().name(name).build())
+                .toList();
+        return MealPlanRequest.builder()
+                .ingredients(pantry)
+                .meals(meals)
+                .targets(targets)
+                .preferences(preferences)
+                .build();
+    }
+}
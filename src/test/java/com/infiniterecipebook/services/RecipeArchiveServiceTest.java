@@ -0,0 +1,197 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+import com.infiniterecipebook.repositories.ArchivedRecipeRepository;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for hot/cold recipe tiering.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RecipeArchiveServiceTest {
+
+    @Autowired
+    private RecipeArchiveService recipeArchiveService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeAccessTracker recipeAccessTracker;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private ArchivedRecipeRepository archivedRecipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Ingredient oats;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        archivedRecipeRepository.deleteAll();
+        oats = ingredientRepository.save(Ingredient.builder()
+                .name("Rolled Oats")
+                .normalizedName("rolled oats")
+                .category(IngredientCategory.GRAIN)
+                .build());
+    }
+
+    @Test
+    void shouldArchiveRecipe_whenNotReadWithinArchivePeriod() {
+        // Given
+        Recipe cold = recipeService.saveRecipe(recipe("Overnight Oats", "1"));
+        Recipe hot = recipeService.saveRecipe(recipe("Oat Porridge", "2"));
+        markLastAccessed(cold.getId(), LocalDateTime.now().minusDays(90));
+        markLastAccessed(hot.getId(), LocalDateTime.now());
+
+        // When
+        int archived = recipeArchiveService.archiveColdRecipes();
+
+        // Then
+        assertEquals(1, archived);
+        assertFalse(recipeRepository.existsById(cold.getId()));
+        assertTrue(archivedRecipeRepository.existsById(cold.getId()));
+        assertTrue(recipeRepository.existsById(hot.getId()));
+    }
+
+    @Test
+    void shouldRestoreArchivedRecipe_whenFetchedById() {
+        // Given
+        Recipe cold = recipeService.saveRecipe(recipe("Overnight Oats", "1"));
+        markLastAccessed(cold.getId(), LocalDateTime.now().minusDays(90));
+        recipeArchiveService.archiveColdRecipes();
+        LocalDateTime archivedAt = LocalDateTime.now();
+        assertTrue(recipeIndexService.rebuild().slotOf(cold.getId()) < 0);
+
+        // When
+        RecipeDto dto = recipeService.getRecipe(cold.getId());
+
+        // Then
+        assertEquals(cold.getId(), dto.getId());
+        assertEquals("Overnight Oats", dto.getName());
+        assertEquals(MealType.BREAKFAST, dto.getMealType());
+        assertEquals(List.of("make-ahead"), dto.getTags());
+        assertEquals(320, dto.getNutritionalInfo().getCalories());
+        assertEquals("Rolled Oats", dto.getIngredients().get(0).getName());
+        assertEquals(0, new BigDecimal("1").compareTo(dto.getIngredients().get(0).getQuantity()));
+        assertEquals("Soak the oats overnight", dto.getInstructions().get(0).getDescription());
+        assertFalse(archivedRecipeRepository.existsById(cold.getId()));
+        Recipe restored = recipeRepository.findWithIngredientsById(cold.getId()).orElseThrow();
+        assertEquals(List.of("make-ahead"), restored.getTags());
+        assertEquals(oats.getId(), restored.getIngredients().get(0).getIngredient().getId());
+        assertEquals(cold.getContentFingerprint(), restored.getContentFingerprint());
+        assertEquals(0, recipeArchiveService.archiveColdRecipes());
+        assertTrue(recipeIndexService.catchUp(archivedAt).slotOf(cold.getId()) >= 0);
+    }
+
+    @Test
+    void shouldServeArchivedRecipeWithoutRestoring_whenReadIsUntracked() {
+        // Given
+        Recipe cold = recipeService.saveRecipe(recipe("Overnight Oats", "1"));
+        markLastAccessed(cold.getId(), LocalDateTime.now().minusDays(90));
+        recipeArchiveService.archiveColdRecipes();
+        List<RecipeDto> read = new ArrayList<>();
+
+        // When
+        recipeAccessTracker.untracked(() -> read.add(recipeService.getRecipe(cold.getId())));
+
+        // Then
+        assertEquals("Overnight Oats", read.get(0).getName());
+        assertTrue(archivedRecipeRepository.existsById(cold.getId()));
+        assertFalse(recipeRepository.existsById(cold.getId()));
+    }
+
+    @Test
+    void shouldFlushAccessCounts_toRestoredRecipe() {
+        // Given
+        Recipe cold = recipeService.saveRecipe(recipe("Overnight Oats", "1"));
+        markLastAccessed(cold.getId(), LocalDateTime.now().minusDays(90));
+        recipeArchiveService.archiveColdRecipes();
+        recipeService.getRecipe(cold.getId());
+        recipeService.getRecipe(cold.getId());
+
+        // When
+        recipeAccessTracker.flush();
+
+        // Then (one read carried over from before archiving plus the two reads)
+        assertEquals(3, recipeRepository.findById(cold.getId()).orElseThrow().getAccessCount());
+    }
+
+    @Test
+    void shouldRestoreArchivedRecipe_whenSavingDuplicateContent() {
+        // Given
+        Recipe cold = recipeService.saveRecipe(recipe("Overnight Oats", "1"));
+        markLastAccessed(cold.getId(), LocalDateTime.now().minusDays(90));
+        recipeArchiveService.archiveColdRecipes();
+
+        // When
+        Recipe duplicate = recipeService.saveRecipe(recipe("Fridge Oats", "1"));
+
+        // Then
+        assertEquals(cold.getId(), duplicate.getId());
+        assertEquals("Overnight Oats", duplicate.getName());
+        assertEquals(1, recipeRepository.count());
+        assertFalse(archivedRecipeRepository.existsById(cold.getId()));
+    }
+
+    private void markLastAccessed(Long recipeId, LocalDateTime accessedAt) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> recipeRepository.recordAccess(recipeId, 1, accessedAt));
+    }
+
+    private Recipe recipe(String name, String oatCups) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(MealType.BREAKFAST)
+                .servings(1)
+                .tags(List.of("make-ahead"))
+                .nutritionalInfo(NutritionalInfo.builder().calories(320).protein(11).build())
+                .build();
+        recipe.addIngredient(RecipeIngredient.builder()
+                .ingredient(oats)
+                .quantity(new BigDecimal(oatCups))
+                .unit("cup")
+                .build());
+        recipe.addInstruction(RecipeInstruction.builder()
+                .stepNumber(1)
+                .stepOrder(1)
+                .description("Soak the oats overnight")
+                .build());
+        return recipe;
+    }
+}
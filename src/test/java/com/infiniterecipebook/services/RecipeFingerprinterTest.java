@@ -0,0 +1,93 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecipeFingerprinter.
+ */
+class RecipeFingerprinterTest {
+
+    private final RecipeFingerprinter fingerprinter = new RecipeFingerprinter();
+
+    @Test
+    void shouldProduceSameFingerprint_whenOnlyMetadataDiffers() {
+        // Given
+        Recipe original = recipe("Chicken and Rice", new BigDecimal("2"), "Cup", 1L, 2L);
+        Recipe renamed = recipe("Easy Chicken Rice", new BigDecimal("2.00"), " cup ", 2L, 1L);
+        renamed.setDescription("A different description");
+        renamed.setMealType(MealType.LUNCH);
+
+        // When & Then
+        assertEquals(fingerprinter.fingerprint(original), fingerprinter.fingerprint(renamed));
+    }
+
+    @Test
+    void shouldIgnoreInstructionCaseAndPunctuation() {
+        // Given
+        Recipe first = recipe("A", BigDecimal.ONE, "cup", 1L, 2L);
+        Recipe second = recipe("B", BigDecimal.ONE, "cup", 1L, 2L);
+        second.getInstructions().get(0).setDescription("  COOK the rice... ");
+
+        // When & Then
+        assertEquals(fingerprinter.fingerprint(first), fingerprinter.fingerprint(second));
+    }
+
+    @Test
+    void shouldProduceDifferentFingerprint_whenQuantityDiffers() {
+        // Given
+        Recipe first = recipe("A", BigDecimal.ONE, "cup", 1L, 2L);
+        Recipe second = recipe("A", new BigDecimal("1.5"), "cup", 1L, 2L);
+
+        // When & Then
+        assertNotEquals(fingerprinter.fingerprint(first), fingerprinter.fingerprint(second));
+    }
+
+    @Test
+    void shouldProduceDifferentFingerprint_whenStepsAreReordered() {
+        // Given
+        Recipe first = recipe("A", BigDecimal.ONE, "cup", 1L, 2L);
+        Recipe second = recipe("A", BigDecimal.ONE, "cup", 1L, 2L);
+        second.getInstructions().get(0).setStepOrder(2);
+        second.getInstructions().get(1).setStepOrder(1);
+
+        // When & Then
+        assertNotEquals(fingerprinter.fingerprint(first), fingerprinter.fingerprint(second));
+    }
+
+    @Test
+    void shouldReturnHexSha256() {
+        // Given
+        Recipe recipe = recipe("A", BigDecimal.ONE, "cup", 1L, 2L);
+
+        // When
+        String fingerprint = fingerprinter.fingerprint(recipe);
+
+        // Then
+        assertEquals(64, fingerprint.length());
+        assertTrue(fingerprint.matches("[0-9a-f]+"));
+    }
+
+    private static Recipe recipe(String name, BigDecimal riceQuantity, String riceUnit, Long... ingredientOrder) {
+        Recipe recipe = Recipe.builder().name(name).mealType(MealType.DINNER).build();
+        for (Long ingredientId : ingredientOrder) {
+            boolean isRice = ingredientId == 1L;
+            recipe.addIngredient(RecipeIngredient.builder()
+                    .ingredient(Ingredient.builder().id(ingredientId).name(isRice ? "rice" : "chicken").build())
+                    .quantity(isRice ? riceQuantity : new BigDecimal("2"))
+                    .unit(isRice ? riceUnit : "piece")
+                    .build());
+        }
+        recipe.addInstruction(RecipeInstruction.builder().stepNumber(1).stepOrder(1).description("Cook the rice").build());
+        recipe.addInstruction(RecipeInstruction.builder().stepNumber(2).stepOrder(2).description("Grill the chicken").build());
+        return recipe;
+    }
+}
@@ -0,0 +1,290 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipeIngredientDto;
+import com.infiniterecipebook.dto.RecipePreferencesDto;
+import com.infiniterecipebook.dto.RecipeRequest;
+import com.infiniterecipebook.dto.RecipeResponse;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.enums.RecipeSource;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.metrics.GenerationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the generate pipeline.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RecipeGenerationServiceTest {
+
+    @Autowired
+    private RecipeGenerationService recipeGenerationService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
+    @Autowired
+    private IngredientResolver ingredientResolver;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private RecipeAccessTracker recipeAccessTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RecipeBookProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        Ingredient chicken = ingredient("Chicken Breast", IngredientCategory.PROTEIN);
+        Ingredient rice = ingredient("Rice", IngredientCategory.GRAIN);
+        Ingredient salt = ingredient("Salt", IngredientCategory.SEASONING);
+        Ingredient flour = ingredient("Flour", IngredientCategory.BAKING_INGREDIENT);
+
+        recipeService.saveRecipe(recipe("Chicken and Rice", MealType.DINNER, List.of("quick"),
+                line(chicken, "2", "pieces"), line(rice, "1", "cup"), line(salt, "1", "tsp")));
+        recipeService.saveRecipe(recipe("Flatbread", MealType.DINNER, List.of("vegetarian"),
+                line(flour, "500", "g"), line(salt, "1", "tsp")));
+        recipeService.saveRecipe(recipe("Rice Bowl", MealType.LUNCH, List.of("quick"),
+                line(rice, "1", "cup")));
+
+        ingredientResolver.refresh();
+        recipeIndexService.rebuild();
+    }
+
+    @Test
+    void shouldReturnMatchingRecipes_withAvailabilityAndConfidence() {
+        // Given
+        RecipeRequest request = request(MealType.DINNER, null,
+                input("chicken breasts", "2", "pieces"), input("RICE", "250", "ml"));
+
+        // When
+        RecipeResponse response = recipeGenerationService.generate(request);
+
+        // Then
+        assertEquals(1, response.getRecipes().size());
+        RecipeDto recipe = response.getRecipes().get(0);
+        assertEquals("Chicken and Rice", recipe.getName());
+        assertEquals(List.of(true, true, false),
+                recipe.getIngredients().stream().map(RecipeIngredientDto::getIsAvailable).toList());
+        assertEquals(0.72, recipe.getConfidence());
+        assertEquals(1, response.getMetadata().getTotalRecipes());
+        assertEquals(RecipeSource.CATALOG, response.getMetadata().getSource());
+    }
+
+    @Test
+    void shouldScaleQuantities_whenServingsArePreferred() {
+        // Given
+        RecipeRequest request = request(MealType.DINNER,
+                RecipePreferencesDto.builder().servings(4).build(),
+                input("chicken breast", "4", "pieces"), input("rice", "1", "cup"));
+
+        // When
+        RecipeDto recipe = recipeGenerationService.generate(request).getRecipes().get(0);
+
+        // Then
+        assertEquals(4, recipe.getServings());
+        assertEquals(0, new BigDecimal("2").compareTo(recipe.getIngredients().get(1).getQuantity()));
+        assertFalse(recipe.getIngredients().get(1).getIsAvailable());
+        assertEquals(0.57, recipe.getConfidence());
+    }
+
+    @Test
+    void shouldFilterByDietaryRestrictions() {
+        // Given
+        RecipeRequest quick = request(null,
+                RecipePreferencesDto.builder().dietaryRestrictions(List.of("Quick")).build(),
+                input("salt", null, null), input("rice", null, null));
+        RecipeRequest unknown = request(null,
+                RecipePreferencesDto.builder().dietaryRestrictions(List.of("kosher")).build(),
+                input("salt", null, null));
+
+        // When & Then
+        assertEquals(List.of("Rice Bowl", "Chicken and Rice"), recipeGenerationService.generate(quick)
+                .getRecipes().stream().map(RecipeDto::getName).toList());
+        assertTrue(recipeGenerationService.generate(unknown).getRecipes().isEmpty());
+    }
+
+    @Test
+    void shouldRecordAccess_forReturnedRecipes() {
+        // Given
+        recipeAccessTracker.flush();
+        Recipe chickenAndRice = recipeRepository.findAll().stream()
+                .filter(recipe -> recipe.getName().equals("Chicken and Rice")).findFirst().orElseThrow();
+        RecipeRequest request = request(MealType.DINNER, null, input("chicken breast", "2", "pieces"));
+
+        // When
+        recipeGenerationService.generate(request);
+        recipeAccessTracker.flush();
+
+        // Then
+        Recipe read = recipeRepository.findById(chickenAndRice.getId()).orElseThrow();
+        assertEquals(1, read.getAccessCount());
+        assertNotNull(read.getLastAccessedAt());
+    }
+
+    @Test
+    void shouldRecordStageTimingsAndCandidates_taggedByMealType() {
+        // Given
+        long scoringBefore = stageCount("scoring", "lunch");
+        long hydrationBefore = stageCount("hydration", "lunch");
+        RecipeRequest request = request(MealType.LUNCH, null, input("rice", "1", "cup"), input("saffron", null, null));
+
+        // When
+        recipeGenerationService.generate(request);
+
+        // Then
+        assertEquals(scoringBefore + 1, stageCount("scoring", "lunch"));
+        assertEquals(hydrationBefore + 1, stageCount("hydration", "lunch"));
+        assertEquals(2.0, meterRegistry.get("recipe.generation.candidates").tag("meal.type", "lunch")
+                .summary().max());
+        assertTrue(meterRegistry.get("recipe.generation.ingredients").tag("result", "unknown")
+                .counter().count() >= 1);
+    }
+
+    @Test
+    void shouldReturnPartialResponse_whenDeadlineHasExpired() {
+        // Given
+        double partialBefore = meterRegistry.get("recipe.generation.partial").tag("stage", "validation")
+                .counter().count();
+        RecipeRequest request = request(MealType.DINNER, null, input("chicken breast", "2", "pieces"));
+
+        // When
+        RecipeResponse response = recipeGenerationService.generate(request, Duration.ZERO);
+
+        // Then
+        assertTrue(response.getMetadata().isPartial());
+        assertTrue(response.getRecipes().isEmpty());
+        assertEquals(partialBefore + 1, meterRegistry.get("recipe.generation.partial").tag("stage", "validation")
+                .counter().count());
+    }
+
+    @Test
+    void shouldReturnCompleteResponse_withinDefaultBudget() {
+        // Given
+        RecipeRequest request = request(MealType.DINNER, null, input("chicken breast", "2", "pieces"));
+
+        // When
+        RecipeResponse response = recipeGenerationService.generate(request, Duration.ofMinutes(1));
+
+        // Then
+        assertFalse(response.getMetadata().isPartial());
+        assertEquals(1, response.getRecipes().size());
+    }
+
+    @Test
+    void shouldRankGeneratedRecipesWithStoredOnes_whenGenerationIsEnabled() {
+        // Given
+        RecipeRequest request = request(MealType.DINNER, null,
+                input("chicken breast", "2", "pieces"), input("rice", "1", "cup"), input("salt", "1", "tsp"));
+        properties.getGeneration().setEnabled(true);
+
+        // When
+        RecipeResponse response;
+        try {
+            response = recipeGenerationService.generate(request, Duration.ofSeconds(5));
+        } finally {
+            properties.getGeneration().setEnabled(false);
+        }
+
+        // Then
+        List<RecipeDto> recipes = response.getRecipes();
+        assertEquals(5, recipes.size());
+        assertEquals("Chicken and Rice", recipes.get(0).getName());
+        assertEquals(List.of(0.9, 0.9, 0.9), recipes.subList(1, 4).stream().map(RecipeDto::getConfidence).toList());
+        assertEquals("Flatbread", recipes.get(4).getName());
+        assertEquals(5, recipes.stream().map(RecipeDto::getName).distinct().count());
+        assertEquals(RecipeSource.MOCK, response.getMetadata().getSource());
+        assertFalse(response.getMetadata().isPartial());
+    }
+
+    private long stageCount(String stage, String mealType) {
+        return meterRegistry.get(GenerationMetrics.STAGE_TIMER)
+                .tag("stage", stage)
+                .tag("meal.type", mealType)
+                .timer()
+                .count();
+    }
+
+    private Ingredient ingredient(String name, IngredientCategory category) {
+        return ingredientRepository.save(Ingredient.builder()
+                .name(name)
+                .normalizedName(name.toLowerCase())
+                .category(category)
+                .build());
+    }
+
+    private static Recipe recipe(String name, MealType mealType, List<String> tags, RecipeIngredient... lines) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(mealType)
+                .servings(2)
+                .cookingTimeMinutes(20)
+                .tags(new ArrayList<>(tags))
+                .build();
+        for (RecipeIngredient line : lines) {
+            recipe.addIngredient(line);
+        }
+        return recipe;
+    }
+
+    private static RecipeIngredient line(Ingredient ingredient, String quantity, String unit) {
+        return RecipeIngredient.builder()
+                .ingredient(ingredient)
+                .quantity(new BigDecimal(quantity))
+                .unit(unit)
+                .isRequired(true)
+                .build();
+    }
+
+    private static IngredientInputDto input(String name, String quantity, String unit) {
+        return IngredientInputDto.builder()
+                .name(name)
+                .quantity(quantity != null ? new BigDecimal(quantity) : null)
+                .unit(unit)
+                .build();
+    }
+
+    private static RecipeRequest request(MealType mealType, RecipePreferencesDto preferences,
+                                         IngredientInputDto... ingredients) {
+        return RecipeRequest.builder()
+                .ingredients(List.of(ingredients))
+                .mealType(mealType)
+                .preferences(preferences)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.infiniterecipebook.services;
+
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.models.RecipeInstruction;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for RecipeService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RecipeServiceTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeFingerprintBackfillJob backfillJob;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    private Ingredient rice;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        rice = ingredientRepository.save(Ingredient.builder()
+                .name("rice")
+                .normalizedName("rice")
+                .category(IngredientCategory.GRAIN)
+                .build());
+    }
+
+    @Test
+    void shouldStoreFingerprint_whenRecipeIsNew() {
+        // Given & When
+        Recipe saved = recipeService.saveRecipe(recipe("Plain Rice"));
+
+        // Then
+        assertNotNull(saved.getId());
+        assertNotNull(saved.getContentFingerprint());
+        assertEquals(1, recipeRepository.count());
+    }
+
+    @Test
+    void shouldReturnExistingRecipe_whenContentIsDuplicated() {
+        // Given
+        Recipe original = recipeService.saveRecipe(recipe("Plain Rice"));
+
+        // When
+        Recipe duplicate = recipeService.saveRecipe(recipe("Simple Steamed Rice"));
+
+        // Then
+        assertEquals(original.getId(), duplicate.getId());
+        assertEquals("Plain Rice", duplicate.getName());
+        assertEquals(1, recipeRepository.count());
+    }
+
+    @Test
+    void shouldFingerprintExistingRecipes_whenBackfillRuns() {
+        // Given
+        Recipe first = recipeRepository.save(recipe("Plain Rice"));
+        Recipe second = recipeRepository.save(recipe("Steamed Rice"));
+        Recipe different = recipe("Double Rice");
+        different.getIngredients().get(0).setQuantity(new BigDecimal("2"));
+        recipeRepository.save(different);
+
+        // When
+        RecipeFingerprintBackfillJob.BackfillResult result = backfillJob.backfill();
+
+        // Then
+        assertEquals(2, result.fingerprinted());
+        assertEquals(1, result.duplicates());
+        assertNotNull(recipeRepository.findById(first.getId()).orElseThrow().getContentFingerprint());
+        assertNull(recipeRepository.findById(second.getId()).orElseThrow().getContentFingerprint());
+    }
+
+    private Recipe recipe(String name) {
+        Recipe recipe = Recipe.builder().name(name).mealType(MealType.LUNCH).servings(2).build();
+        recipe.addIngredient(RecipeIngredient.builder()
+                .ingredient(rice)
+                .quantity(BigDecimal.ONE)
+                .unit("cup")
+                .build());
+        recipe.addInstruction(RecipeInstruction.builder()
+                .stepNumber(1)
+                .stepOrder(1)
+                .description("Boil the rice")
+                .build());
+        return recipe;
+    }
+}
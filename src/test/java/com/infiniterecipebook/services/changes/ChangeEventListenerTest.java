@@ -0,0 +1,171 @@
+package com.infiniterecipebook.services.changes;
+
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.IngredientAlias;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.repositories.IngredientAliasRepository;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.RecipeService;
+import com.infiniterecipebook.services.matching.IngredientNameIndex;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for publishing committed writes and applying them to the in-memory indexes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeEventListenerTest {
+
+    @Autowired
+    private ChangeEventStream changeEventStream;
+
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
+    @Autowired
+    private IngredientResolver ingredientResolver;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private IngredientAliasRepository ingredientAliasRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        ingredientAliasRepository.deleteAll();
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        ingredientResolver.refresh();
+        recipeIndexService.rebuild();
+    }
+
+    @Test
+    void shouldApplyCommittedRecipeWrites_withoutRebuildingTheIndex() {
+        // Given
+        Ingredient rice = ingredient("Rice");
+        Recipe bowl = recipeService.saveRecipe(recipe("Rice Bowl", rice));
+        Recipe pilaf = recipeService.saveRecipe(recipe("Pilaf", rice));
+        changeEventStream.drain();
+        RecipeMatchIndex before = recipeIndexService.current();
+
+        // When
+        recipeRepository.deleteById(pilaf.getId());
+        changeEventStream.drain();
+
+        // Then
+        assertEquals(2, before.size());
+        RecipeMatchIndex after = recipeIndexService.current();
+        assertNotSame(before, after);
+        assertEquals(1, after.size());
+        assertTrue(after.slotOf(bowl.getId()) >= 0);
+        assertEquals(before.asOf(), after.asOf());
+    }
+
+    @Test
+    void shouldApplyIngredientRenames_toNameIndex() {
+        // Given
+        Ingredient scallion = ingredient("Scallion");
+        changeEventStream.drain();
+        assertEquals(scallion.getId(), ingredientResolver.resolve("scallions"));
+
+        // When
+        scallion.setName("Green Onion");
+        scallion.setNormalizedName("green onion");
+        ingredientRepository.save(scallion);
+        changeEventStream.drain();
+
+        // Then
+        assertEquals(scallion.getId(), ingredientResolver.resolve("green onions"));
+        assertEquals(IngredientNameIndex.NOT_FOUND, ingredientResolver.resolve("scallion"));
+    }
+
+    @Test
+    void shouldNotPublishChanges_whenTransactionRollsBack() {
+        // Given
+        long before = changeEventStream.lastSequence();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        // When
+        template.executeWithoutResult(status -> {
+            ingredientRepository.saveAndFlush(Ingredient.builder().name("Saffron").normalizedName("saffron").build());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(before, changeEventStream.lastSequence());
+    }
+
+    @Test
+    void shouldSwapInRecompiledAliases_whenAliasesChange() {
+        // Given
+        Ingredient cilantro = ingredient("Cilantro");
+        changeEventStream.drain();
+        IngredientNameIndex before = ingredientResolver.current();
+
+        // When
+        IngredientAlias coriander = ingredientAliasRepository.save(IngredientAlias.builder()
+                .ingredientId(cilantro.getId()).alias("Coriandre").language("fr").build());
+        changeEventStream.drain();
+
+        // Then
+        assertEquals(IngredientNameIndex.NOT_FOUND, before.resolve("coriandre"));
+        assertEquals(cilantro.getId(), ingredientResolver.resolve("Coriandre"));
+        ingredientAliasRepository.delete(coriander);
+        changeEventStream.drain();
+        assertEquals(IngredientNameIndex.NOT_FOUND, ingredientResolver.resolve("coriandre"));
+    }
+
+    private Ingredient ingredient(String name) {
+        return ingredientRepository.save(Ingredient.builder()
+                .name(name)
+                .normalizedName(name.toLowerCase())
+                .category(IngredientCategory.OTHER)
+                .build());
+    }
+
+    private static Recipe recipe(String name, Ingredient ingredient) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(MealType.DINNER)
+                .servings(2)
+                .cookingTimeMinutes(20)
+                .tags(new ArrayList<>(List.of("quick")))
+                .build();
+        recipe.addIngredient(RecipeIngredient.builder()
+                .ingredient(ingredient)
+                .quantity(BigDecimal.valueOf(name.length()))
+                .unit("cup")
+                .isRequired(true)
+                .build());
+        return recipe;
+    }
+}
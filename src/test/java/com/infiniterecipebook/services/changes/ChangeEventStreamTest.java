@@ -0,0 +1,129 @@
+package com.infiniterecipebook.services.changes;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ChangeEventStream}.
+ */
+class ChangeEventStreamTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecordingConsumer consumer = new RecordingConsumer();
+
+    @Test
+    void shouldDeliverChangesInPublicationOrder_asOneBatch() {
+        // Given
+        ChangeEventStream stream = stream(100);
+        stream.publish(List.of(recipe(1), recipe(2)));
+        stream.publish(List.of(ingredient(7)));
+
+        // When
+        stream.drain();
+
+        // Then
+        assertEquals(1, consumer.batches.size());
+        List<ChangeEvent> batch = consumer.batches.get(0);
+        assertEquals(List.of(1L, 2L, 3L), batch.stream().map(ChangeEvent::sequence).toList());
+        assertEquals(List.of(recipe(1), recipe(2), ingredient(7)), batch.stream().map(ChangeEvent::change).toList());
+        assertEquals(0.0, lag());
+    }
+
+    @Test
+    void shouldReportLag_untilChangesAreApplied() {
+        // Given
+        ChangeEventStream stream = stream(100);
+
+        // When
+        stream.publish(List.of(recipe(1), recipe(2)));
+
+        // Then
+        assertEquals(2.0, lag());
+        stream.drain();
+        assertEquals(0.0, lag());
+        assertEquals(1, registry.get("recipe.changes.apply.delay").timer().count());
+    }
+
+    @Test
+    void shouldResyncConsumers_whenPendingChangesOverflow() {
+        // Given
+        ChangeEventStream stream = stream(2);
+        stream.publish(List.of(recipe(1), recipe(2)));
+
+        // When
+        stream.publish(List.of(recipe(3)));
+        stream.drain();
+
+        // Then
+        assertTrue(consumer.batches.isEmpty());
+        assertEquals(1, consumer.resyncs);
+        assertEquals(3, stream.lastSequence());
+        assertEquals(0.0, lag());
+    }
+
+    @Test
+    void shouldResyncConsumer_whenApplyFails() {
+        // Given
+        ChangeEventStream stream = stream(100);
+        consumer.failNext = true;
+        stream.publish(List.of(recipe(1)));
+
+        // When
+        stream.drain();
+
+        // Then
+        assertEquals(1, consumer.resyncs);
+        assertEquals(1.0, registry.get("recipe.changes.resyncs").counter().count());
+    }
+
+    private ChangeEventStream stream(int maxPending) {
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getChanges().setMaxPending(maxPending);
+        ChangeEventStream stream = new ChangeEventStream(List.of(consumer), properties);
+        stream.bindTo(registry);
+        return stream;
+    }
+
+    private double lag() {
+        return registry.get("recipe.changes.lag").tag("consumer", "recording").gauge().value();
+    }
+
+    private static EntityChange recipe(long id) {
+        return new EntityChange(EntityChange.ChangedEntity.RECIPE, id, EntityChange.Operation.UPSERT);
+    }
+
+    private static EntityChange ingredient(long id) {
+        return new EntityChange(EntityChange.ChangedEntity.INGREDIENT, id, EntityChange.Operation.DELETE);
+    }
+
+    private static final class RecordingConsumer implements ChangeConsumer {
+        private final List<List<ChangeEvent>> batches = new ArrayList<>();
+        private int resyncs;
+        private boolean failNext;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void apply(List<ChangeEvent> events) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("apply failed");
+            }
+            batches.add(events);
+        }
+
+        @Override
+        public void resync() {
+            resyncs++;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.infiniterecipebook.services.changes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link InvalidationMessages}.
+ */
+class InvalidationMessagesTest {
+
+    @Test
+    void shouldDecodeEncodedChanges() {
+        // Given
+        List<EntityChange> changes = List.of(
+                new EntityChange(EntityChange.ChangedEntity.RECIPE, 12, EntityChange.Operation.UPSERT),
+                new EntityChange(EntityChange.ChangedEntity.RECIPE, 40, EntityChange.Operation.DELETE),
+                new EntityChange(EntityChange.ChangedEntity.INGREDIENT, 7, EntityChange.Operation.UPSERT),
+                new EntityChange(EntityChange.ChangedEntity.COMMON_INGREDIENT, 3, EntityChange.Operation.DELETE));
+
+        // When
+        List<String> messages = InvalidationMessages.encode("node-1", changes, 100);
+
+        // Then
+        assertEquals(List.of("node-1|R+12,R-40,I+7,C-3"), messages);
+        InvalidationMessages.Message message = InvalidationMessages.decode(messages.get(0));
+        assertEquals("node-1", message.nodeId());
+        assertFalse(message.resync());
+        assertEquals(changes, message.changes());
+    }
+
+    @Test
+    void shouldSplitBatch_whenLongerThanTransportLimit() {
+        // Given
+        List<EntityChange> changes = List.of(
+                new EntityChange(EntityChange.ChangedEntity.RECIPE, 100, EntityChange.Operation.UPSERT),
+                new EntityChange(EntityChange.ChangedEntity.RECIPE, 200, EntityChange.Operation.UPSERT),
+                new EntityChange(EntityChange.ChangedEntity.RECIPE, 300, EntityChange.Operation.UPSERT));
+
+        // When
+        List<String> messages = InvalidationMessages.encode("n", changes, 13);
+
+        // Then
+        assertEquals(List.of("n|R+100,R+200", "n|R+300"), messages);
+        assertTrue(messages.stream().allMatch(message -> message.length() <= 13));
+    }
+
+    @Test
+    void shouldDecodeResyncRequest() {
+        // When
+        InvalidationMessages.Message message = InvalidationMessages.decode(InvalidationMessages.encodeResync("node-2"));
+
+        // Then
+        assertEquals("node-2", message.nodeId());
+        assertTrue(message.resync());
+        assertTrue(message.changes().isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedMessages() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessages.decode("no separator"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessages.decode("node|X+1"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessages.decode("node|R+abc"));
+    }
+}
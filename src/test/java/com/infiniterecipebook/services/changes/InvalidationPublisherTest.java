@@ -0,0 +1,126 @@
+package com.infiniterecipebook.services.changes;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for sending changes between nodes over an {@link InProcessInvalidationBus}.
+ */
+class InvalidationPublisherTest {
+
+    private final InProcessInvalidationBus.Network network = new InProcessInvalidationBus.Network();
+
+    @Test
+    void shouldDeliverCoalescedChanges_toOtherNodesOnly() {
+        // Given
+        Node first = new Node("first", 100, Integer.MAX_VALUE);
+        Node second = new Node("second", 100, Integer.MAX_VALUE);
+        first.publisher.send(List.of(recipe(1, EntityChange.Operation.UPSERT), recipe(2, EntityChange.Operation.UPSERT)));
+        first.publisher.send(List.of(recipe(1, EntityChange.Operation.DELETE)));
+
+        // When
+        first.publisher.flush();
+        first.stream.drain();
+        second.stream.drain();
+
+        // Then
+        assertTrue(first.consumer.changes.isEmpty());
+        assertEquals(List.of(recipe(1, EntityChange.Operation.DELETE), recipe(2, EntityChange.Operation.UPSERT)),
+                second.consumer.changes);
+    }
+
+    @Test
+    void shouldSplitBatch_whenLongerThanTransportLimit() {
+        // Given
+        Node first = new Node("first", 100, 20);
+        Node second = new Node("second", 100, 20);
+        List<EntityChange> changes = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            changes.add(recipe(id, EntityChange.Operation.UPSERT));
+        }
+        first.publisher.send(changes);
+
+        // When
+        first.publisher.flush();
+        second.stream.drain();
+
+        // Then
+        assertEquals(changes, second.consumer.changes);
+    }
+
+    @Test
+    void shouldAskOtherNodesToResync_whenPendingChangesOverflow() {
+        // Given
+        Node first = new Node("first", 2, Integer.MAX_VALUE);
+        Node second = new Node("second", 2, Integer.MAX_VALUE);
+        first.publisher.send(List.of(recipe(1, EntityChange.Operation.UPSERT), recipe(2, EntityChange.Operation.UPSERT),
+                recipe(3, EntityChange.Operation.UPSERT)));
+
+        // When
+        first.publisher.flush();
+        first.stream.drain();
+        second.stream.drain();
+
+        // Then
+        assertEquals(0, first.consumer.resyncs);
+        assertEquals(1, second.consumer.resyncs);
+        assertTrue(second.consumer.changes.isEmpty());
+    }
+
+    @Test
+    void shouldResyncOnGap() {
+        // Given
+        Node node = new Node("node", 100, Integer.MAX_VALUE);
+
+        // When
+        node.subscriber.onGap();
+        node.stream.drain();
+
+        // Then
+        assertEquals(1, node.consumer.resyncs);
+    }
+
+    private static EntityChange recipe(long id, EntityChange.Operation operation) {
+        return new EntityChange(EntityChange.ChangedEntity.RECIPE, id, operation);
+    }
+
+    private final class Node {
+        private final RecordingConsumer consumer = new RecordingConsumer();
+        private final ChangeEventStream stream;
+        private final InvalidationPublisher publisher;
+        private final InvalidationSubscriber subscriber;
+
+        Node(String nodeId, int maxPending, int maxPayloadLength) {
+            InProcessInvalidationBus bus = new InProcessInvalidationBus(network, maxPayloadLength);
+            stream = new ChangeEventStream(List.of(consumer), new RecipeBookProperties());
+            publisher = new InvalidationPublisher(bus, nodeId, maxPending);
+            subscriber = new InvalidationSubscriber(bus, stream, nodeId);
+            subscriber.start();
+        }
+    }
+
+    private static final class RecordingConsumer implements ChangeConsumer {
+        private final List<EntityChange> changes = new ArrayList<>();
+        private int resyncs;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void apply(List<ChangeEvent> events) {
+            events.forEach(event -> changes.add(event.change()));
+        }
+
+        @Override
+        public void resync() {
+            resyncs++;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.infiniterecipebook.services.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InternDictionary.
+ */
+class InternDictionaryTest {
+
+    @Test
+    void shouldReturnCanonicalInstance_whenEqualStringsAreInterned() {
+        // Given
+        InternDictionary dictionary = new InternDictionary("unit", 16);
+        String first = new String("cup");
+        String second = new String("cup");
+
+        // When
+        String internedFirst = dictionary.intern(first);
+        String internedSecond = dictionary.intern(second);
+
+        // Then
+        assertSame(first, internedFirst);
+        assertSame(first, internedSecond);
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void shouldAssignDenseIds_andDecodeThemBack() {
+        // Given
+        InternDictionary dictionary = new InternDictionary("tag", 16);
+
+        // When
+        int[] ids = dictionary.encodeAll(List.of("quick", "vegan", "quick"));
+
+        // Then
+        assertArrayEquals(new int[]{0, 1, 0}, ids);
+        assertEquals("vegan", dictionary.decode(1));
+    }
+
+    @Test
+    void shouldPassValuesThrough_whenCapacityIsReached() {
+        // Given
+        InternDictionary dictionary = new InternDictionary("tag", 1);
+        dictionary.encode("quick");
+        String overflow = new String("vegan");
+
+        // When & Then
+        assertEquals(InternDictionary.NOT_ENCODED, dictionary.encode(overflow));
+        assertSame(overflow, dictionary.intern(overflow));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void shouldHandleNullValues() {
+        // Given
+        InternDictionary dictionary = new InternDictionary("unit", 4);
+
+        // When & Then
+        assertEquals(InternDictionary.NOT_ENCODED, dictionary.encode(null));
+        assertNull(dictionary.intern(null));
+        assertNull(dictionary.decode(InternDictionary.NOT_ENCODED));
+        assertEquals(0, dictionary.encodeAll(null).length);
+    }
+
+    @Test
+    void shouldGrowBeyondInitialArray_whenManyValuesAreEncoded() {
+        // Given
+        InternDictionary dictionary = new InternDictionary("tag", 1000);
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            dictionary.encode("tag-" + i);
+        }
+
+        // Then
+        assertEquals(500, dictionary.size());
+        assertEquals("tag-499", dictionary.decode(499));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.decode(500));
+    }
+}
@@ -0,0 +1,78 @@
+package com.infiniterecipebook.services.dictionary;
+
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests checking that loaded recipes share interned units and tags.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RecipeInterningListenerTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    private Ingredient flour;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        flour = ingredientRepository.save(Ingredient.builder()
+                .name("Flour")
+                .normalizedName("flour " + System.nanoTime())
+                .category(IngredientCategory.GRAIN)
+                .build());
+    }
+
+    @Test
+    void shouldShareUnitAndTagInstances_whenRecipesAreLoaded() {
+        // Given
+        Long pancakesId = recipeRepository.save(recipe("Pancakes", "1")).getId();
+        Long crepesId = recipeRepository.save(recipe("Crepes", "2")).getId();
+
+        // When
+        Recipe pancakes = recipeRepository.findWithIngredientsById(pancakesId).orElseThrow();
+        Recipe crepes = recipeRepository.findWithIngredientsById(crepesId).orElseThrow();
+
+        // Then
+        assertSame(pancakes.getIngredients().get(0).getUnit(), crepes.getIngredients().get(0).getUnit());
+        assertSame(pancakes.getTags().get(0), crepes.getTags().get(0));
+        assertEquals("cup", crepes.getIngredients().get(0).getUnit());
+    }
+
+    private Recipe recipe(String name, String quantity) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(MealType.BREAKFAST)
+                .servings(2)
+                .tags(new ArrayList<>(List.of(new String("quick"), new String("sweet"))))
+                .build();
+        recipe.addIngredient(RecipeIngredient.builder()
+                .ingredient(flour)
+                .quantity(new BigDecimal(quantity))
+                .unit(new String("cup"))
+                .isRequired(true)
+                .build());
+        return recipe;
+    }
+}
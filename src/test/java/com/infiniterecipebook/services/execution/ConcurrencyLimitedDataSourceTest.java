@@ -0,0 +1,64 @@
+package com.infiniterecipebook.services.execution;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConcurrencyLimitedDataSource.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    void shouldFailFast_whenNoPermitBecomesAvailable() throws SQLException {
+        // Given
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(10));
+        dataSource.getConnection();
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.getAvailable());
+    }
+
+    @Test
+    void shouldReturnPermitOnce_whenConnectionIsClosed() throws SQLException {
+        // Given
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(10));
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertEquals(1, dataSource.getAvailable());
+        verify(physical, times(2)).close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void shouldReturnPermit_whenTargetFails() throws SQLException {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(10));
+
+        // When & Then
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailable());
+    }
+}
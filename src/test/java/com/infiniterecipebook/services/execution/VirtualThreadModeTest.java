@@ -0,0 +1,59 @@
+package com.infiniterecipebook.services.execution;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the virtual thread execution mode.
+ */
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VirtualThreadModeTest {
+
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PinnedThreadMonitor pinnedThreadMonitor;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRunFanOutTasksOnVirtualThreads() {
+        // When
+        boolean virtual = fanOutExecutor.submit(() -> Thread.currentThread().isVirtual()).join();
+
+        // Then
+        assertTrue(fanOutExecutor.isVirtual());
+        assertTrue(virtual);
+    }
+
+    @Test
+    void shouldBoundDatabaseConcurrency_andReportPinning() throws Exception {
+        // Then
+        assertTrue(dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class));
+        assertTrue(pinnedThreadMonitor.isRunning());
+
+        // When & Then
+        mockMvc.perform(post("/recipes/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredients\": [{\"name\": \"rice\"}]}"))
+                .andExpect(status().isOk());
+    }
+}
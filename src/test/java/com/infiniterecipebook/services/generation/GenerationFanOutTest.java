@@ -0,0 +1,144 @@
+package com.infiniterecipebook.services.generation;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipePreferencesDto;
+import com.infiniterecipebook.enums.RecipeSource;
+import com.infiniterecipebook.services.execution.FanOutExecutor;
+import com.infiniterecipebook.services.matching.Deadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link GenerationFanOut}.
+ */
+class GenerationFanOutTest {
+
+    private final FanOutExecutor executor = FanOutExecutor.platformThreads(8);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecipeBookProperties properties = new RecipeBookProperties();
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void shouldReturnOneRecipePerCandidate() {
+        // Given
+        properties.getGeneration().setCandidates(3);
+        GenerationFanOut fanOut = fanOut(new StubRecipeGenerator(Duration.ZERO, Duration.ZERO, 0));
+
+        // When
+        GenerationFanOut.Outcome outcome = fanOut.start(prompt()).await(Deadline.after(Duration.ofSeconds(5)));
+
+        // Then
+        assertTrue(outcome.complete());
+        assertEquals(3, outcome.recipes().size());
+        assertEquals(3, registry.get("recipe.generator.call").timer().count());
+    }
+
+    @Test
+    void shouldHedgeSlowCall_andTakeTheFasterAttempt() {
+        // Given
+        properties.getGeneration().setCandidates(1);
+        properties.getGeneration().setInitialHedgeDelay(Duration.ofMillis(20));
+        CountDownLatch stuck = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        GenerationFanOut fanOut = fanOut(generator(prompt -> {
+            if (calls.getAndIncrement() == 0) {
+                stuck.await();
+            }
+            return RecipeDto.builder().name("Hedged").build();
+        }));
+
+        // When
+        GenerationFanOut.Outcome outcome = fanOut.start(prompt()).await(Deadline.after(Duration.ofSeconds(5)));
+        stuck.countDown();
+
+        // Then
+        assertEquals(List.of("Hedged"), outcome.recipes().stream().map(RecipeDto::getName).toList());
+        assertEquals(2, calls.get());
+        assertEquals(1.0, registry.get("recipe.generator.hedges").counter().count());
+        assertEquals(1.0, registry.get("recipe.generator.hedges.won").counter().count());
+    }
+
+    @Test
+    void shouldRetryOnce_whenCallFails() {
+        // Given
+        properties.getGeneration().setCandidates(2);
+        AtomicInteger calls = new AtomicInteger();
+        GenerationFanOut fanOut = fanOut(generator(prompt -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("backend unavailable");
+        }));
+
+        // When
+        GenerationFanOut.Outcome outcome = fanOut.start(prompt()).await(Deadline.after(Duration.ofSeconds(5)));
+
+        // Then
+        assertTrue(outcome.recipes().isEmpty());
+        assertEquals(4, calls.get());
+        assertEquals(2.0, registry.get("recipe.generator.failures").counter().count());
+    }
+
+    @Test
+    void shouldReturnIncompleteOutcome_whenDeadlineExpires() {
+        // Given
+        properties.getGeneration().setCandidates(2);
+        properties.getGeneration().setMaxHedges(0);
+        CountDownLatch stuck = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        GenerationFanOut fanOut = fanOut(generator(prompt -> {
+            if (prompt.variant() == 1) {
+                stuck.await();
+            }
+            calls.incrementAndGet();
+            return RecipeDto.builder().name("Variant " + prompt.variant()).build();
+        }));
+
+        // When
+        GenerationFanOut.Outcome outcome = fanOut.start(prompt()).await(Deadline.after(Duration.ofMillis(200)));
+        stuck.countDown();
+
+        // Then
+        assertFalse(outcome.complete());
+        assertEquals(List.of("Variant 0"), outcome.recipes().stream().map(RecipeDto::getName).toList());
+    }
+
+    private GenerationFanOut fanOut(RecipeGenerator generator) {
+        return new GenerationFanOut(generator, executor, properties, registry);
+    }
+
+    private static GenerationPrompt prompt() {
+        return new GenerationPrompt(List.of(IngredientInputDto.builder().name("rice").build()), null,
+                new RecipePreferencesDto(), 0);
+    }
+
+    private static RecipeGenerator generator(Call call) {
+        return new RecipeGenerator() {
+            @Override
+            public RecipeSource source() {
+                return RecipeSource.MOCK;
+            }
+
+            @Override
+            public RecipeDto generate(GenerationPrompt prompt) throws Exception {
+                return call.generate(prompt);
+            }
+        };
+    }
+
+    private interface Call {
+        RecipeDto generate(GenerationPrompt prompt) throws Exception;
+    }
+}
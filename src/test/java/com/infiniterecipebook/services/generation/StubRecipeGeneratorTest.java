@@ -0,0 +1,62 @@
+package com.infiniterecipebook.services.generation;
+
+import com.infiniterecipebook.dto.IngredientInputDto;
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.dto.RecipeIngredientDto;
+import com.infiniterecipebook.dto.RecipePreferencesDto;
+import com.infiniterecipebook.enums.MealType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StubRecipeGenerator}.
+ */
+class StubRecipeGeneratorTest {
+
+    private final StubRecipeGenerator generator = new StubRecipeGenerator(Duration.ZERO, Duration.ZERO, 0);
+
+    @Test
+    void shouldReturnSameRecipe_whenPromptIsRepeated() throws Exception {
+        // Given
+        GenerationPrompt prompt = prompt(0, "Chicken Breast", "rice", "Garlic");
+
+        // When
+        RecipeDto first = generator.generate(prompt);
+        RecipeDto second = generator.generate(prompt(0, "chicken breast", "Rice", "garlic"));
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(MealType.DINNER, first.getMealType());
+        assertEquals(List.of("chicken breast", "rice", "garlic"),
+                first.getIngredients().stream().map(RecipeIngredientDto::getName).toList());
+        assertTrue(first.getName().contains("Chicken breast"));
+    }
+
+    @Test
+    void shouldLeadWithAnotherIngredient_whenVariantDiffers() throws Exception {
+        // Given
+        GenerationPrompt prompt = prompt(0, "chicken breast", "rice", "garlic");
+
+        // When
+        RecipeDto first = generator.generate(prompt);
+        RecipeDto second = generator.generate(prompt.withVariant(1));
+
+        // Then
+        assertNotEquals(first.getName(), second.getName());
+        assertEquals("rice", second.getIngredients().get(0).getName());
+        assertEquals(List.of("vegan"), second.getTags());
+    }
+
+    private static GenerationPrompt prompt(int variant, String... names) {
+        List<IngredientInputDto> ingredients = Arrays.stream(names)
+                .map(name -> IngredientInputDto.builder().name(name).build())
+                .toList();
+        return new GenerationPrompt(ingredients, MealType.DINNER,
+                RecipePreferencesDto.builder().dietaryRestrictions(List.of("vegan")).build(), variant);
+    }
+}
@@ -0,0 +1,132 @@
+package com.infiniterecipebook.services.limiting;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.infiniterecipebook.services.limiting.AdaptiveConcurrencyLimiter.Lane.GENERATE;
+import static com.infiniterecipebook.services.limiting.AdaptiveConcurrencyLimiter.Lane.PRIORITY;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET_NANOS = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void shouldRejectGenerate_butAdmitPriority_whenGenerateShareIsUsed() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        for (int i = 0; i < 8; i++) {
+            assertNotNull(limiter.tryAcquire(GENERATE));
+        }
+
+        // When
+        AdaptiveConcurrencyLimiter.Permit generate = limiter.tryAcquire(GENERATE);
+        AdaptiveConcurrencyLimiter.Permit priority = limiter.tryAcquire(PRIORITY);
+
+        // Then
+        assertNull(generate);
+        assertNotNull(priority);
+        assertEquals(1, limiter.getRejections(GENERATE));
+        assertEquals(9, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldRejectPriority_whenWholeLimitIsUsed() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(limiter.tryAcquire(PRIORITY));
+        }
+
+        // When & Then
+        assertNull(limiter.tryAcquire(PRIORITY));
+        assertEquals(1, limiter.getRejections(PRIORITY));
+    }
+
+    @Test
+    void shouldFreeSlot_whenPermitIsReleased() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(PRIORITY);
+
+        // When
+        permit.release();
+
+        // Then
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldDecreaseLimitOncePerInterval_whenLatencyExceedsTarget() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        long now = System.nanoTime();
+
+        // When
+        limiter.onSample(2 * TARGET_NANOS, 10, now);
+        limiter.onSample(2 * TARGET_NANOS, 10, now + TARGET_NANOS / 2);
+
+        // Then
+        assertEquals(18, limiter.getLimit());
+
+        // When
+        limiter.onSample(2 * TARGET_NANOS, 10, now + TARGET_NANOS);
+
+        // Then
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    void shouldIncreaseLimit_whenFastAndSaturated() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // When
+        for (int i = 0; i < 12; i++) {
+            limiter.onSample(TARGET_NANOS / 10, 8, System.nanoTime());
+        }
+
+        // Then
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void shouldKeepLimit_whenFastButMostlyIdle() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(TARGET_NANOS / 10, 1, System.nanoTime());
+        }
+
+        // Then
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void shouldAdmitEverything_whenDisabled() {
+        // Given
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getConcurrencyLimit().setEnabled(false);
+        properties.getConcurrencyLimit().setInitialLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.tryAcquire(GENERATE));
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getConcurrencyLimit().setInitialLimit(initialLimit);
+        properties.getConcurrencyLimit().setLatencyTarget(Duration.ofNanos(TARGET_NANOS));
+        return new AdaptiveConcurrencyLimiter(properties);
+    }
+}
@@ -0,0 +1,131 @@
+package com.infiniterecipebook.services.limiting;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ClientRateLimiter.
+ */
+class ClientRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstUpToCapacity_thenReject() {
+        // Given
+        ClientRateLimiter limiter = limiter(List.of(limit(10, Duration.ofMinutes(1))), 100);
+        long now = System.nanoTime();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryConsume("10.0.0.1", now).allowed());
+        }
+        ClientRateLimiter.Decision rejected = limiter.tryConsume("10.0.0.1", now);
+
+        // Then
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(6, rejected.retryAfterSeconds());
+        assertEquals(60, rejected.resetSeconds());
+    }
+
+    @Test
+    void shouldRefillLazily_asTimePasses() {
+        // Given
+        ClientRateLimiter limiter = limiter(List.of(limit(10, Duration.ofMinutes(1))), 100);
+        long now = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            limiter.tryConsume("10.0.0.1", now);
+        }
+
+        // When
+        ClientRateLimiter.Decision afterOneToken = limiter.tryConsume("10.0.0.1", now + 6 * SECOND);
+
+        // Then
+        assertTrue(afterOneToken.allowed());
+        assertEquals(0, afterOneToken.remaining());
+        assertFalse(limiter.tryConsume("10.0.0.1", now + 6 * SECOND).allowed());
+    }
+
+    @Test
+    void shouldKeepClientsIndependent() {
+        // Given
+        ClientRateLimiter limiter = limiter(List.of(limit(1, Duration.ofMinutes(1))), 100);
+        long now = System.nanoTime();
+
+        // When & Then
+        assertTrue(limiter.tryConsume("10.0.0.1", now).allowed());
+        assertFalse(limiter.tryConsume("10.0.0.1", now).allowed());
+        assertTrue(limiter.tryConsume("10.0.0.2", now).allowed());
+    }
+
+    @Test
+    void shouldReportTightestLimit_whenSeveralLimitsApply() {
+        // Given
+        ClientRateLimiter limiter = limiter(List.of(limit(10, Duration.ofMinutes(1)), limit(2, Duration.ofHours(1))), 100);
+        long now = System.nanoTime();
+
+        // When
+        ClientRateLimiter.Decision first = limiter.tryConsume("10.0.0.1", now);
+        limiter.tryConsume("10.0.0.1", now);
+        ClientRateLimiter.Decision rejected = limiter.tryConsume("10.0.0.1", now);
+
+        // Then
+        assertEquals(2, first.limit());
+        assertEquals(1, first.remaining());
+        assertFalse(rejected.allowed());
+        assertEquals(2, rejected.limit());
+        assertEquals(1800, rejected.retryAfterSeconds());
+    }
+
+    @Test
+    void shouldEvictOnlyRefilledBuckets() {
+        // Given
+        ClientRateLimiter limiter = limiter(List.of(limit(10, Duration.ofMinutes(1))), 100);
+        long now = System.nanoTime();
+        limiter.tryConsume("10.0.0.1", now);
+        limiter.tryConsume("10.0.0.2", now + 30 * SECOND);
+
+        // When
+        int evicted = limiter.evictIdle(now + 32 * SECOND);
+
+        // Then
+        assertEquals(1, evicted);
+        assertEquals(1, limiter.getTrackedClients());
+    }
+
+    @Test
+    void shouldShareOverflowBucket_whenMaxClientsIsReached() {
+        // Given
+        ClientRateLimiter limiter = limiter(List.of(limit(1, Duration.ofMinutes(1))), 2);
+        long now = System.nanoTime();
+        limiter.tryConsume("10.0.0.1", now);
+        limiter.tryConsume("10.0.0.2", now);
+
+        // When
+        boolean third = limiter.tryConsume("10.0.0.3", now).allowed();
+        boolean fourth = limiter.tryConsume("10.0.0.4", now).allowed();
+
+        // Then
+        assertTrue(third);
+        assertFalse(fourth);
+        assertEquals(3, limiter.getTrackedClients());
+    }
+
+    private static RecipeBookProperties.RateLimit.Limit limit(int requests, Duration window) {
+        return new RecipeBookProperties.RateLimit.Limit(requests, window);
+    }
+
+    private static ClientRateLimiter limiter(List<RecipeBookProperties.RateLimit.Limit> limits, int maxClients) {
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getRateLimit().setLimits(limits);
+        properties.getRateLimit().setMaxClients(maxClients);
+        return new ClientRateLimiter(properties);
+    }
+}
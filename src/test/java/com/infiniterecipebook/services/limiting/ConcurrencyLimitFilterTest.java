@@ -0,0 +1,83 @@
+package com.infiniterecipebook.services.limiting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.config.RecipeBookProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static com.infiniterecipebook.services.limiting.AdaptiveConcurrencyLimiter.Lane.GENERATE;
+import static com.infiniterecipebook.services.limiting.AdaptiveConcurrencyLimiter.Lane.PRIORITY;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConcurrencyLimitFilter.
+ */
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void shouldClassifyRequestsIntoLanes() {
+        // When & Then
+        assertEquals(GENERATE, ConcurrencyLimitFilter.laneOf(request("POST", "/recipes/generate")));
+        assertEquals(GENERATE, ConcurrencyLimitFilter.laneOf(request("POST", "/recipes/plan")));
+        assertEquals(PRIORITY, ConcurrencyLimitFilter.laneOf(request("GET", "/recipes/42")));
+        assertEquals(PRIORITY, ConcurrencyLimitFilter.laneOf(request("POST", "/ingredients/validate")));
+        assertEquals(PRIORITY, ConcurrencyLimitFilter.laneOf(request("GET", "/ingredients/common")));
+        assertNull(ConcurrencyLimitFilter.laneOf(request("GET", "/recipes/42/scaled")));
+        assertNull(ConcurrencyLimitFilter.laneOf(request("GET", "/actuator/health")));
+    }
+
+    @Test
+    void shouldReject503WithRetryAfter_whenLimitIsReached() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper(), Duration.ofSeconds(2));
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(limiter.tryAcquire(GENERATE));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("POST", "/recipes/generate"), response, chain);
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("SERVICE_OVERLOADED"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void shouldPassThroughAndReleasePermit_whenAdmitted() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper(), Duration.ofSeconds(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("GET", "/recipes/7"), response, chain);
+
+        // Then
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1" + path);
+        request.setContextPath("/api/v1");
+        return request;
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getConcurrencyLimit().setInitialLimit(initialLimit);
+        properties.getConcurrencyLimit().setMinLimit(1);
+        return new AdaptiveConcurrencyLimiter(properties);
+    }
+}
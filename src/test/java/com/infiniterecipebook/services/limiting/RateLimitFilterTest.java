@@ -0,0 +1,99 @@
+package com.infiniterecipebook.services.limiting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.config.RecipeBookProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitFilter.
+ */
+class RateLimitFilterTest {
+
+    @Test
+    void shouldAddRateLimitHeaders_whenRequestIsAllowed() throws Exception {
+        // Given
+        RateLimitFilter filter = filter(new RecipeBookProperties());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("/recipes/1"), response, chain);
+
+        // Then
+        assertNotNull(chain.getRequest());
+        assertEquals("10", response.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("9", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("6", response.getHeader(RateLimitFilter.RESET_HEADER));
+    }
+
+    @Test
+    void shouldReject429WithRetryAfter_whenClientExceedsLimit() throws Exception {
+        // Given
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getRateLimit().setLimits(List.of(new RecipeBookProperties.RateLimit.Limit(1, Duration.ofMinutes(1))));
+        RateLimitFilter filter = filter(properties);
+        filter.doFilter(request("/recipes/1"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("/recipes/1"), response, chain);
+
+        // Then
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("60", response.getHeader("Retry-After"));
+        assertEquals("0", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertTrue(response.getContentAsString().contains("RATE_LIMITED"));
+    }
+
+    @Test
+    void shouldNotLimitActuatorRequests() throws Exception {
+        // Given
+        RateLimitFilter filter = filter(new RecipeBookProperties());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("/actuator/health"), response, new MockFilterChain());
+
+        // Then
+        assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    void shouldIdentifyClients_byHeaderThenForwardedForThenAddress() {
+        // Given
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getRateLimit().setClientIdHeader("X-Api-Key");
+        properties.getRateLimit().setTrustForwardedFor(true);
+        RateLimitFilter filter = filter(properties);
+        MockHttpServletRequest withKey = request("/recipes/1");
+        withKey.addHeader("X-Api-Key", "key-1");
+        withKey.addHeader("X-Forwarded-For", "203.0.113.9");
+        MockHttpServletRequest forwarded = request("/recipes/1");
+        forwarded.addHeader("X-Forwarded-For", "203.0.113.9, 10.0.0.1");
+
+        // When & Then
+        assertEquals("key-1", filter.clientIdOf(withKey));
+        assertEquals("203.0.113.9", filter.clientIdOf(forwarded));
+        assertEquals("127.0.0.1", filter.clientIdOf(request("/recipes/1")));
+    }
+
+    private static RateLimitFilter filter(RecipeBookProperties properties) {
+        return new RateLimitFilter(new ClientRateLimiter(properties), new ObjectMapper(), properties.getRateLimit());
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1" + path);
+        request.setContextPath("/api/v1");
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.models.IngredientAlias;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AliasTable.
+ */
+class AliasTableTest {
+
+    @Test
+    void shouldResolveAliasesInEveryScript_byTheirNormalizedForm() {
+        // Given
+        AliasTable table = AliasTable.ofAliases(List.of(
+                alias(1L, "Pomodoro", "it"),
+                alias(1L, "Jitomate", "es-MX"),
+                alias(2L, "Crème fraîche", "fr"),
+                alias(3L, "Мука", "ru"),
+                alias(4L, "白米", "ja"),
+                alias(5L, "𠮷 sauce", null)));
+
+        // When & Then
+        assertEquals(6, table.size());
+        assertEquals(1L, table.get("pomodoro"));
+        assertEquals(1L, table.get(IngredientNameIndex.normalize("JITOMATE")));
+        assertEquals(2L, table.get(IngredientNameIndex.normalize("crème-fraîche")));
+        assertEquals(3L, table.get("мука"));
+        assertEquals(4L, table.get("白米"));
+        assertEquals(5L, table.get("𠮷 sauce"));
+        assertEquals(AliasTable.NOT_FOUND, table.get("creme fraiche"));
+        assertEquals(AliasTable.NOT_FOUND, table.get("白"));
+        assertEquals(AliasTable.NOT_FOUND, table.get(""));
+    }
+
+    @Test
+    void shouldKeepFirstAlias_whenTwoNormalizeToTheSameKey() {
+        // Given
+        AliasTable table = AliasTable.ofAliases(List.of(
+                alias(1L, "Aubergine", "fr"),
+                alias(2L, "aubergine", "en-GB"),
+                alias(3L, "  ", "en")));
+
+        // When & Then
+        assertEquals(1, table.size());
+        assertEquals(1L, table.get("aubergine"));
+    }
+
+    @Test
+    void shouldMapEveryKeyToItsId_whenTableIsLarge() {
+        // Given
+        Map<String, Long> idsByKey = new HashMap<>();
+        for (long id = 0; id < 20_000; id++) {
+            idsByKey.put("alias " + Long.toString(id, 36) + (id % 3 == 0 ? " é" : ""), id);
+        }
+
+        // When
+        AliasTable table = AliasTable.of(idsByKey);
+
+        // Then
+        idsByKey.forEach((key, id) -> assertEquals(id, table.get(key)));
+        assertEquals(AliasTable.NOT_FOUND, table.get("alias"));
+        assertEquals(AliasTable.NOT_FOUND, AliasTable.empty().get("alias"));
+    }
+
+    private static IngredientAlias alias(Long ingredientId, String alias, String language) {
+        return IngredientAlias.builder().ingredientId(ingredientId).alias(alias).language(language).build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.services.dictionary.InternDictionary;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IndexSnapshotFile}.
+ */
+class IndexSnapshotFileTest {
+
+    private final UnitDictionary unitDictionary = new UnitDictionary();
+    private final QuantityEngine quantityEngine = new QuantityEngine(unitDictionary);
+    private final InternDictionary tags = new InternDictionary("tag", 64);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldRestoreSameIndexes_withTagsEncodedIntoRunningDictionary() throws IOException {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+        RecipeMatchIndex recipes = RecipeMatchIndex.builder(quantityEngine, tags).asOf(asOf)
+                .add(recipe(10L, MealType.DINNER, List.of("quick", "gluten-free"), 1L, 2L))
+                .add(recipe(11L, MealType.LUNCH, List.of("vegan"), 2L))
+                .build();
+        IngredientNameIndex ingredients = IngredientNameIndex.of(List.of(
+                ingredient(1L, "Cherry Tomato", IngredientCategory.VEGETABLE),
+                ingredient(2L, "Rice", null)), asOf.plusSeconds(5));
+        Path file = directory.resolve("index.snapshot");
+        IndexSnapshotFile.write(file, ingredients, recipes, tags, unitDictionary);
+
+        InternDictionary runningTags = new InternDictionary("tag", 64);
+        runningTags.encode("seasonal");
+
+        // When
+        IndexSnapshotFile.Contents restored = IndexSnapshotFile.read(file, runningTags, unitDictionary, quantityEngine);
+
+        // Then
+        assertEquals(asOf, restored.asOf());
+        RecipeMatchIndex index = restored.recipes();
+        assertEquals(2, index.size());
+        assertEquals(2, index.ingredientCount());
+        assertEquals(11L, index.recipeId(1));
+        assertArrayEquals(recipes.quantities(0).amounts(), index.quantities(0).amounts());
+        assertArrayEquals(recipes.quantities(0).unitIds(), index.quantities(0).unitIds());
+        assertEquals(MealType.LUNCH.ordinal(), index.mealType(1));
+        assertEquals(411, index.nutrient(1, Nutrient.CALORIES));
+        assertEquals(RecipeMatchIndex.UNKNOWN_NUTRIENT, index.nutrient(1, Nutrient.FAT));
+        int[] expectedTags = {runningTags.find("quick"), runningTags.find("gluten-free")};
+        Arrays.sort(expectedTags);
+        assertArrayEquals(expectedTags, index.tagIds(0));
+        assertNotEquals(InternDictionary.NOT_ENCODED, runningTags.find("vegan"));
+
+        assertEquals(1L, restored.ingredients().resolve("cherry tomatoes"));
+        assertEquals(IngredientCategory.VEGETABLE, restored.ingredients().entry(1L).category());
+        assertNull(restored.ingredients().entry(2L).category());
+    }
+
+    @Test
+    void shouldRejectSnapshot_whenFileIsCorrupt() throws IOException {
+        // Given
+        RecipeMatchIndex recipes = RecipeMatchIndex.builder(quantityEngine, tags)
+                .add(recipe(10L, MealType.DINNER, List.of("quick"), 1L))
+                .build();
+        Path file = directory.resolve("index.snapshot");
+        IndexSnapshotFile.write(file, IngredientNameIndex.of(List.of()), recipes, tags, unitDictionary);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        // When & Then
+        IOException error = assertThrows(IOException.class,
+                () -> IndexSnapshotFile.read(file, tags, unitDictionary, quantityEngine));
+        assertTrue(error.getMessage().contains("checksum"));
+    }
+
+    private static Ingredient ingredient(Long id, String name, IngredientCategory category) {
+        return Ingredient.builder().id(id).name(name).normalizedName(name.toLowerCase()).category(category).build();
+    }
+
+    private static Recipe recipe(Long id, MealType mealType, List<String> tags, Long... ingredientIds) {
+        Recipe recipe = Recipe.builder()
+                .id(id)
+                .name("Recipe " + id)
+                .mealType(mealType)
+                .difficulty(Difficulty.EASY)
+                .cookingTimeMinutes(30)
+                .servings(2)
+                .tags(tags)
+                .nutritionalInfo(NutritionalInfo.builder().calories(400 + id.intValue()).protein(20).build())
+                .build();
+        for (Long ingredientId : ingredientIds) {
+            recipe.addIngredient(RecipeIngredient.builder()
+                    .ingredient(Ingredient.builder().id(ingredientId).name("ingredient-" + ingredientId).build())
+                    .quantity(new BigDecimal("1.5"))
+                    .unit("cup")
+                    .isRequired(true)
+                    .build());
+        }
+        return recipe;
+    }
+}
@@ -0,0 +1,143 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.RecipeService;
+import com.infiniterecipebook.services.dictionary.RecipeDictionaries;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for restoring indexes from a snapshot and catching them up.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IndexSnapshotServiceTest {
+
+    @Autowired
+    private IngredientResolver ingredientResolver;
+
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
+    @Autowired
+    private RecipeDictionaries recipeDictionaries;
+
+    @Autowired
+    private UnitDictionary unitDictionary;
+
+    @Autowired
+    private QuantityEngine quantityEngine;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @TempDir
+    private Path directory;
+
+    private IndexSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getSnapshot().setPath(directory.resolve("index.snapshot").toString());
+        properties.getSnapshot().setCatchUpOverlap(Duration.ZERO);
+        snapshotService = new IndexSnapshotService(ingredientResolver, recipeIndexService, recipeDictionaries,
+                unitDictionary, quantityEngine, properties);
+    }
+
+    @Test
+    void shouldServeSnapshotCaughtUpWithChangesSinceItWasWritten() {
+        // Given
+        Ingredient rice = ingredient("Rice");
+        Ingredient beans = ingredient("Black Beans");
+        Recipe kept = recipeService.saveRecipe(recipe("Rice Bowl", line(rice, "1")));
+        Recipe removed = recipeService.saveRecipe(recipe("Beans", line(beans, "2")));
+        ingredientResolver.refresh();
+        recipeIndexService.rebuild();
+        assertTrue(snapshotService.write());
+
+        Ingredient lentils = ingredient("Lentils");
+        Recipe added = recipeService.saveRecipe(recipe("Lentil Stew", line(lentils, "1"), line(rice, "1")));
+        recipeRepository.deleteById(removed.getId());
+        recipeIndexService.install(RecipeMatchIndex.empty());
+
+        // When
+        boolean restored = snapshotService.restore();
+
+        // Then
+        assertTrue(restored);
+        RecipeMatchIndex index = recipeIndexService.current();
+        assertEquals(2, index.size());
+        assertTrue(index.slotOf(kept.getId()) >= 0);
+        assertTrue(index.slotOf(added.getId()) >= 0);
+        assertTrue(index.slotOf(removed.getId()) < 0);
+        assertEquals(lentils.getId(), ingredientResolver.resolve("lentils"));
+        assertEquals(rice.getId(), ingredientResolver.resolve("rice"));
+    }
+
+    @Test
+    void shouldFallBackToDatabase_whenNoSnapshotExists() {
+        // When & Then
+        assertFalse(snapshotService.restore());
+    }
+
+    private Ingredient ingredient(String name) {
+        return ingredientRepository.save(Ingredient.builder()
+                .name(name)
+                .normalizedName(name.toLowerCase())
+                .category(IngredientCategory.OTHER)
+                .build());
+    }
+
+    private static Recipe recipe(String name, RecipeIngredient... lines) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(MealType.DINNER)
+                .servings(2)
+                .cookingTimeMinutes(20)
+                .tags(new ArrayList<>(List.of("quick")))
+                .build();
+        for (RecipeIngredient line : lines) {
+            recipe.addIngredient(line);
+        }
+        return recipe;
+    }
+
+    private static RecipeIngredient line(Ingredient ingredient, String quantity) {
+        return RecipeIngredient.builder()
+                .ingredient(ingredient)
+                .quantity(new BigDecimal(quantity))
+                .unit("cup")
+                .isRequired(true)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.IngredientAlias;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IngredientNameIndex.
+ */
+class IngredientNameIndexTest {
+
+    private final IngredientNameIndex index = IngredientNameIndex.of(List.of(
+            Ingredient.builder().id(1L).name("Cherry Tomato").normalizedName("cherry tomato").build(),
+            Ingredient.builder().id(2L).name("Egg").build(),
+            Ingredient.builder().id(3L).name("Blueberry").normalizedName("blueberry").build(),
+            Ingredient.builder().id(4L).name("Couscous").build(),
+            Ingredient.builder().id(5L).name("Tomato").build()));
+
+    @Test
+    void shouldResolveNames_ignoringCaseWhitespaceAndPunctuation() {
+        // When & Then
+        assertEquals(1L, index.resolve("  CHERRY-tomato "));
+        assertEquals(2L, index.resolve("egg"));
+    }
+
+    @Test
+    void shouldResolvePluralForms_whenExactNameIsUnknown() {
+        // When & Then
+        assertEquals(1L, index.resolve("Cherry Tomatoes"));
+        assertEquals(2L, index.resolve("eggs"));
+        assertEquals(3L, index.resolve("blueberries"));
+        assertEquals(4L, index.resolve("couscous"));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenNameIsUnknownOrBlank() {
+        // When & Then
+        assertEquals(IngredientNameIndex.NOT_FOUND, index.resolve("saffron"));
+        assertEquals(IngredientNameIndex.NOT_FOUND, index.resolve("   "));
+        assertEquals(IngredientNameIndex.NOT_FOUND, index.resolve(null));
+    }
+
+    @Test
+    void shouldSuggestIngredientsSharingWords_whenNameIsUnknown() {
+        // When
+        List<IngredientNameIndex.Entry> suggestions = index.suggest("roma tomato", 5);
+
+        // Then
+        assertEquals(List.of(5L, 1L), suggestions.stream().map(IngredientNameIndex.Entry::id).toList());
+        assertTrue(index.suggest("saffron", 5).isEmpty());
+    }
+
+    @Test
+    void shouldSuggestInInputOrder_whenSuggestingForSeveralNames() {
+        // Given
+        List<String> names = List.of("roma tomato", "saffron", "wild blueberry", "roma tomato");
+
+        // When
+        List<List<IngredientNameIndex.Entry>> suggestions = index.suggestAll(names, 5);
+
+        // Then
+        assertEquals(names.size(), suggestions.size());
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(index.suggest(names.get(i), 5), suggestions.get(i));
+        }
+    }
+
+    @Test
+    void shouldRuleOutNames_whenNoWordIsKnown() {
+        // When & Then
+        assertTrue(index.mightShareWord("tomato"));
+        assertTrue(index.mightShareWord("green tomato"));
+        assertFalse(index.mightShareWord("xqzv"));
+    }
+
+    @Test
+    void shouldResolveEveryName_whenCatalogueIsLarge() {
+        // Given
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            ingredients.add(Ingredient.builder().id(id).name("Ingredient " + Long.toString(id, 36)).build());
+        }
+        IngredientNameIndex large = IngredientNameIndex.of(ingredients);
+
+        // When & Then
+        for (Ingredient ingredient : ingredients) {
+            assertEquals(ingredient.getId(), large.resolve(ingredient.getName()));
+        }
+        assertEquals(IngredientNameIndex.NOT_FOUND, large.resolve("ingredient zzzz"));
+    }
+
+    @Test
+    void shouldMapEveryKeyToItsId_whenPerfectHashIsBuilt() {
+        // Given
+        Map<String, Long> idsByKey = new HashMap<>();
+        for (long id = 0; id < 10_000; id++) {
+            idsByKey.put("key-" + id, id);
+        }
+
+        // When
+        PerfectHashTable table = PerfectHashTable.of(idsByKey);
+
+        // Then
+        assertEquals(idsByKey.size(), table.size());
+        idsByKey.forEach((key, id) -> assertEquals(id, table.get(key)));
+        assertEquals(PerfectHashTable.NOT_FOUND, table.get("key-10000"));
+        assertEquals(PerfectHashTable.NOT_FOUND, PerfectHashTable.of(Map.of()).get("key"));
+    }
+
+    @Test
+    void shouldResolveAliases_afterNamesAndOnlyForLiveIngredients() {
+        // Given
+        IngredientNameIndex aliased = index.withAliases(List.of(
+                IngredientAlias.builder().ingredientId(5L).alias("Tomate").language("fr").build(),
+                IngredientAlias.builder().ingredientId(3L).alias("Egg").language("en").build(),
+                IngredientAlias.builder().ingredientId(99L).alias("Safran").language("fr").build()));
+
+        // When & Then
+        assertEquals(5L, aliased.resolve("Tomates"));
+        assertEquals(2L, aliased.resolve("egg"));
+        assertEquals(IngredientNameIndex.NOT_FOUND, aliased.resolve("safran"));
+        assertEquals(IngredientNameIndex.NOT_FOUND, index.resolve("tomate"));
+        assertEquals(5L, aliased.withReplaced(Set.of(1L), List.of()).resolve("tomate"));
+    }
+
+    @Test
+    void shouldKeepAliasKeysInFrontFilter_whenIndexIsCopied() {
+        // Given
+        IngredientNameIndex aliased = index.withAliases(List.of(
+                IngredientAlias.builder().ingredientId(4L).alias("Cuscus").language("es").build()));
+
+        // When
+        IngredientNameIndex changed = aliased.withChanges(
+                List.of(Ingredient.builder().id(6L).name("Saffron").build()),
+                new long[]{1L, 2L, 3L, 4L, 5L, 6L}, aliased.asOf());
+
+        // Then
+        assertEquals(4L, aliased.resolve("cuscus"));
+        assertEquals(4L, changed.resolve("Cuscus"));
+        assertEquals(6L, changed.resolve("saffron"));
+        assertTrue(changed.mightShareWord("cuscus"));
+        assertEquals(IngredientNameIndex.NOT_FOUND, changed.resolve("kuskus"));
+    }
+}
@@ -0,0 +1,352 @@
+package com.infiniterecipebook.services.matching;
+
+import com.infiniterecipebook.enums.Difficulty;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.NutritionalInfo;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.services.dictionary.InternDictionary;
+import com.infiniterecipebook.services.quantity.Pantry;
+import com.infiniterecipebook.services.quantity.PantryMatcher;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecipeScorer and RecipeMatchIndex.
+ */
+class RecipeScorerTest {
+
+    private final UnitDictionary unitDictionary = new UnitDictionary();
+    private final InternDictionary tags = new InternDictionary("tag", 64);
+    private final RecipeScorer recipeScorer = new RecipeScorer(new PantryMatcher(unitDictionary));
+
+    private final RecipeMatchIndex index = RecipeMatchIndex.builder(new QuantityEngine(unitDictionary), tags)
+            .add(recipe(10L, MealType.DINNER, 30, List.of("quick"), 1L, 2L, 3L, 4L))
+            .add(recipe(11L, MealType.DINNER, 60, List.of("gluten-free"), 1L, 2L))
+            .add(recipe(12L, MealType.LUNCH, 15, List.of("quick", "gluten-free"), 1L, 2L))
+            .add(recipe(13L, MealType.DINNER, 20, List.of(), 5L))
+            .build();
+
+    @Test
+    void shouldRankByCoverage_andBreakTiesByRecipeId() {
+        // Given
+        Pantry pantry = pantry(1L, 2L);
+
+        // When
+        List<ScoredRecipe> top = recipeScorer.topK(index, pantry, CandidateFilter.none(), 0, 10);
+
+        // Then
+        assertEquals(List.of(11L, 12L, 10L), top.stream().map(ScoredRecipe::recipeId).toList());
+        assertEquals(1.0, top.get(0).score());
+        assertTrue(top.get(2).score() < 0.5);
+    }
+
+    @Test
+    void shouldWeighRareIngredientsMore_whenComputingConfidence() {
+        // Given
+        int slot = index.slotOf(10L);
+
+        // When
+        double common = recipeScorer.confidence(index, slot, pantry(1L, 2L), 0);
+        double rare = recipeScorer.confidence(index, slot, pantry(3L, 4L), 0);
+
+        // Then
+        float commonWeight = (float) Math.log1p(4.0 / 3);
+        float rareWeight = (float) Math.log1p(4.0);
+        assertEquals(commonWeight, index.ingredientWeight(1L));
+        assertEquals(rareWeight, index.ingredientWeight(3L));
+        assertEquals(commonWeight / (commonWeight + rareWeight), common, 1e-6);
+        assertEquals(rareWeight / (commonWeight + rareWeight), rare, 1e-6);
+        assertEquals(1.0, common + rare, 1e-6);
+    }
+
+    @Test
+    void shouldRecomputeWeights_whenRecipesAreAdded() {
+        // Given
+        RecipeMatchIndex.Builder builder = RecipeMatchIndex.builder(new QuantityEngine(unitDictionary), tags);
+        for (int slot = 0; slot < index.size(); slot++) {
+            builder.copy(index, slot);
+        }
+        builder.add(recipe(14L, MealType.DINNER, 20, List.of(), 3L));
+        builder.add(recipe(15L, MealType.DINNER, 20, List.of(), 3L));
+
+        // When
+        RecipeMatchIndex grown = builder.build();
+
+        // Then
+        float shared = (float) Math.log1p(6.0 / 3);
+        float rare = (float) Math.log1p(6.0);
+        assertEquals(shared, grown.ingredientWeight(1L));
+        assertEquals(shared, grown.ingredientWeight(3L));
+        assertEquals(rare, grown.ingredientWeight(4L));
+        assertEquals(2 * shared / (3 * shared + rare),
+                recipeScorer.confidence(grown, grown.slotOf(10L), pantry(1L, 2L), 0), 1e-6);
+    }
+
+    @Test
+    void shouldShareTheBase_whenUpdatingFewRecipes() {
+        // Given
+        RecipeMatchIndex large = largeIndex();
+
+        // When
+        RecipeMatchIndex updated = large.update(new long[]{105L}, reloaded105());
+
+        // Then
+        assertEquals(20, updated.size());
+        assertEquals(21, updated.slotCount());
+        assertSame(large.quantities(0), updated.quantities(0));
+        assertFalse(updated.isLive(large.slotOf(105L)));
+        assertEquals(20, updated.slotOf(105L));
+        assertEquals((float) Math.log1p(1.0), updated.ingredientWeight(1L));
+        assertEquals((float) Math.log1p(20.0), updated.ingredientWeight(9L));
+        assertEquals(0f, updated.ingredientWeight(105L));
+        assertEquals(List.of(105L), recipeScorer.topK(updated, pantry(9L), CandidateFilter.none(), 0, 10)
+                .stream().map(ScoredRecipe::recipeId).toList());
+        assertEquals(20, recipeScorer.topK(updated, pantry(1L), CandidateFilter.none(), 0, 50).size());
+    }
+
+    @Test
+    void shouldMergeSegments_whenChangesReachAnEighthOfTheCatalogue() {
+        // Given
+        RecipeMatchIndex updated = largeIndex().update(new long[]{105L}, reloaded105());
+
+        // When
+        RecipeMatchIndex merged = updated.update(new long[]{106L},
+                RecipeMatchIndex.builder(new QuantityEngine(unitDictionary), tags));
+
+        // Then
+        assertEquals(19, merged.size());
+        assertEquals(19, merged.slotCount());
+        assertEquals(5, merged.slotOf(105L));
+        assertTrue(merged.slotOf(106L) < 0);
+        assertEquals((float) Math.log1p(19.0), merged.ingredientWeight(9L));
+    }
+
+    @Test
+    void shouldKeepOnlyTheBestRecipes_whenLimitIsSmallerThanCandidates() {
+        // Given
+        Pantry pantry = pantry(1L, 2L);
+
+        // When
+        List<ScoredRecipe> top = recipeScorer.topK(index, pantry, CandidateFilter.none(), 0, 1);
+
+        // Then
+        assertEquals(List.of(11L), top.stream().map(ScoredRecipe::recipeId).toList());
+    }
+
+    @Test
+    void shouldApplyMealTypeCookingTimeAndTagFilters() {
+        // Given
+        Pantry pantry = pantry(1L, 2L);
+        CandidateFilter filter = new CandidateFilter(MealType.DINNER, 45, null, new int[]{tags.find("quick")});
+
+        // When
+        List<ScoredRecipe> top = recipeScorer.topK(index, pantry, filter, 0, 10);
+
+        // Then
+        assertEquals(List.of(10L), top.stream().map(ScoredRecipe::recipeId).toList());
+    }
+
+    @Test
+    void shouldMatchTagsIgnoringCaseAndSpaces_whenFilteringByTag() {
+        // Given
+        RecipeMatchIndex tagged = RecipeMatchIndex.builder(new QuantityEngine(unitDictionary), tags)
+                .add(recipe(30L, MealType.DINNER, 30, List.of("Vegan", " Gluten-Free"), 1L))
+                .add(recipe(31L, MealType.DINNER, 30, List.of("vegan"), 1L))
+                .build();
+        CandidateFilter filter = new CandidateFilter(null, null, null,
+                CandidateFilter.encodeTags(List.of("VEGAN ", "gluten-free"), tags));
+
+        // When
+        List<ScoredRecipe> top = recipeScorer.topK(tagged, pantry(1L), filter, 0, 10);
+
+        // Then
+        assertEquals(List.of(30L), top.stream().map(ScoredRecipe::recipeId).toList());
+    }
+
+    @Test
+    void shouldReportCandidateCounts_whenStatsAreRequested() {
+        // Given
+        ScoringStats stats = new ScoringStats();
+        CandidateFilter filter = new CandidateFilter(MealType.DINNER, null, null, new int[0]);
+
+        // When
+        recipeScorer.topK(index, pantry(1L, 5L), filter, 0, 10, stats, Deadline.none());
+
+        // Then
+        assertEquals(4, stats.candidates());
+        assertEquals(3, stats.accepted());
+        assertTrue(stats.retrievalNanos() >= 0 && stats.filteringNanos() >= 0 && stats.scoringNanos() >= 0);
+        assertFalse(stats.partial());
+    }
+
+    @Test
+    void shouldReturnBestOfFirstBatch_whenDeadlineHasExpired() {
+        // Given
+        RecipeMatchIndex.Builder builder = RecipeMatchIndex.builder(new QuantityEngine(unitDictionary), tags);
+        int recipes = 2 * RecipeScorer.DEADLINE_CHECK_INTERVAL;
+        for (long id = 1; id <= recipes; id++) {
+            builder.add(recipe(id, MealType.DINNER, 30, List.of(), 1L));
+        }
+        ScoringStats stats = new ScoringStats();
+
+        // When
+        List<ScoredRecipe> top = recipeScorer.topK(builder.build(), pantry(1L), CandidateFilter.none(), 0, 3,
+                stats, Deadline.after(Duration.ZERO));
+
+        // Then
+        assertTrue(stats.partial());
+        assertEquals(recipes, stats.candidates());
+        assertEquals(RecipeScorer.DEADLINE_CHECK_INTERVAL, stats.accepted());
+        assertEquals(List.of(1L, 2L, 3L), top.stream().map(ScoredRecipe::recipeId).toList());
+    }
+
+    @Test
+    void shouldRejectEveryRecipe_whenRequiredTagIsUnknown() {
+        // Given
+        CandidateFilter filter = new CandidateFilter(null, null, null, new int[]{InternDictionary.NOT_ENCODED});
+
+        // When & Then
+        assertTrue(recipeScorer.topK(index, pantry(1L, 2L), filter, 0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldOnlyScoreRecipesSharingAnIngredient() {
+        // When
+        List<ScoredRecipe> top = recipeScorer.topK(index, pantry(5L), CandidateFilter.none(), 0, 10);
+
+        // Then
+        assertEquals(List.of(13L), top.stream().map(ScoredRecipe::recipeId).toList());
+        assertEquals(4, index.size());
+        assertEquals(5, index.ingredientCount());
+    }
+
+    @Test
+    void shouldFindRecipesInEveryRange_whenQueryingNutrition() {
+        // Given
+        RecipeMatchIndex nutritionIndex = nutritionIndex();
+        List<NutritionRange> ranges = List.of(NutritionRange.of(Nutrient.CALORIES, null, 500),
+                NutritionRange.of(Nutrient.PROTEIN, 30, null));
+
+        // When
+        int[] slots = nutritionIndex.slotsInRanges(ranges);
+
+        // Then
+        assertEquals(3, nutritionIndex.countInRange(ranges.get(0)));
+        assertEquals(3, nutritionIndex.countInRange(ranges.get(1)));
+        assertEquals(1, slots.length);
+        assertEquals(20L, nutritionIndex.recipeId(slots[0]));
+        assertEquals(0, nutritionIndex.countInRange(NutritionRange.of(Nutrient.FIBER, null, null)));
+    }
+
+    @Test
+    void shouldOnlyScoreRecipesInRange_whenFilterBoundsNutrition() {
+        // Given
+        RecipeMatchIndex nutritionIndex = nutritionIndex();
+        CandidateFilter narrow = new CandidateFilter(null, null, null, new int[0],
+                List.of(NutritionRange.of(Nutrient.CALORIES, null, 500), NutritionRange.of(Nutrient.PROTEIN, 30, null)));
+        CandidateFilter wide = new CandidateFilter(null, null, null, new int[0],
+                List.of(NutritionRange.of(Nutrient.CALORIES, 300, null)));
+
+        // When
+        List<ScoredRecipe> fromRange = recipeScorer.topK(nutritionIndex, pantry(1L), narrow, 0, 10);
+        List<ScoredRecipe> fromPostings = recipeScorer.topK(nutritionIndex, pantry(1L), wide, 0, 10);
+
+        // Then
+        assertEquals(List.of(20L), fromRange.stream().map(ScoredRecipe::recipeId).toList());
+        assertEquals(List.of(20L, 21L, 22L, 24L), fromPostings.stream().map(ScoredRecipe::recipeId).toList());
+    }
+
+    @Test
+    void shouldCountEachCandidateOnce_whenPantryIngredientsShareRecipes() {
+        // Given
+        RecipeMatchIndex nutritionIndex = nutritionIndex();
+        CandidateFilter wide = new CandidateFilter(null, null, null, new int[0],
+                List.of(NutritionRange.of(Nutrient.CALORIES, 300, null)));
+        ScoringStats stats = new ScoringStats();
+
+        // When
+        List<ScoredRecipe> top = recipeScorer.topK(nutritionIndex, pantry(1L, 2L, 3L), wide, 0, 10, stats,
+                Deadline.none());
+
+        // Then
+        assertEquals(List.of(20L, 21L, 22L, 23L, 24L), top.stream().map(ScoredRecipe::recipeId).toList());
+        assertEquals(5, stats.candidates());
+    }
+
+    /**
+     * Recipes with calories and protein per serving; 23 uses another ingredient and 25 gives no nutrition.
+     */
+    private RecipeMatchIndex nutritionIndex() {
+        return RecipeMatchIndex.builder(new QuantityEngine(unitDictionary), tags)
+                .add(withNutrition(recipe(20L, MealType.DINNER, 30, List.of(), 1L, 2L), 450, 35))
+                .add(withNutrition(recipe(21L, MealType.DINNER, 30, List.of(), 1L, 2L), 480, 20))
+                .add(withNutrition(recipe(22L, MealType.DINNER, 30, List.of(), 1L, 2L), 700, 40))
+                .add(withNutrition(recipe(23L, MealType.DINNER, 30, List.of(), 3L), 300, null))
+                .add(withNutrition(recipe(24L, MealType.DINNER, 30, List.of(), 1L, 2L), 520, 31))
+                .add(recipe(25L, MealType.DINNER, 30, List.of(), 1L, 2L))
+                .build();
+    }
+
+    /**
+     * Twenty recipes sharing ingredient 1, each with an ingredient of its own.
+     */
+    private RecipeMatchIndex largeIndex() {
+        RecipeMatchIndex.Builder builder = RecipeMatchIndex.builder(new QuantityEngine(unitDictionary), tags);
+        for (long id = 100; id < 120; id++) {
+            builder.add(recipe(id, MealType.DINNER, 20, List.of(), 1L, id));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Recipe 105 of the large index, now using ingredient 9 instead of its own.
+     */
+    private RecipeMatchIndex.Builder reloaded105() {
+        return RecipeMatchIndex.builder(new QuantityEngine(unitDictionary), tags)
+                .add(recipe(105L, MealType.DINNER, 20, List.of(), 1L, 9L));
+    }
+
+    private static Recipe withNutrition(Recipe recipe, Integer calories, Integer protein) {
+        recipe.setNutritionalInfo(NutritionalInfo.builder().calories(calories).protein(protein).build());
+        return recipe;
+    }
+
+    private Pantry pantry(Long... ingredientIds) {
+        Pantry.Builder pantry = Pantry.builder(unitDictionary);
+        for (Long ingredientId : ingredientIds) {
+            pantry.add(ingredientId, null, null);
+        }
+        return pantry.build();
+    }
+
+    private static Recipe recipe(Long id, MealType mealType, int cookingTime, List<String> tags, Long... ingredientIds) {
+        Recipe recipe = Recipe.builder()
+                .id(id)
+                .name("Recipe " + id)
+                .mealType(mealType)
+                .difficulty(Difficulty.EASY)
+                .cookingTimeMinutes(cookingTime)
+                .servings(2)
+                .tags(tags)
+                .build();
+        for (Long ingredientId : ingredientIds) {
+            recipe.addIngredient(RecipeIngredient.builder()
+                    .ingredient(Ingredient.builder().id(ingredientId).name("ingredient-" + ingredientId).build())
+                    .quantity(BigDecimal.ONE)
+                    .unit("cup")
+                    .isRequired(true)
+                    .build());
+        }
+        return recipe;
+    }
+}
@@ -0,0 +1,68 @@
+package com.infiniterecipebook.services.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the generate pipeline metrics, through the web layer.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GenerationMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeValidationAndSerialization_whenRecipesAreGenerated() throws Exception {
+        // Given
+        long validationBefore = stageCount("validation", "breakfast");
+        long serializationBefore = stageCount("serialization", "breakfast");
+
+        // When
+        mockMvc.perform(post("/recipes/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredients\": [{\"name\": \"egg\"}], \"mealType\": \"BREAKFAST\"}"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(validationBefore + 1, stageCount("validation", "breakfast"));
+        assertEquals(serializationBefore + 1, stageCount("serialization", "breakfast"));
+        assertEquals(0.0, meterRegistry.get("recipe.generation.active").gauge().value());
+    }
+
+    @Test
+    void shouldNotTimeSerialization_forOtherResponses() throws Exception {
+        // Given
+        long before = stageCount("serialization", "any");
+
+        // When
+        mockMvc.perform(get("/ingredients/common")).andExpect(status().isOk());
+
+        // Then
+        assertEquals(before, stageCount("serialization", "any"));
+    }
+
+    private long stageCount(String stage, String mealType) {
+        return meterRegistry.get(GenerationMetrics.STAGE_TIMER)
+                .tag("stage", stage)
+                .tag("meal.type", mealType)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,129 @@
+package com.infiniterecipebook.services.nutrition;
+
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.IngredientNutrition;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.services.quantity.QuantityEngine;
+import com.infiniterecipebook.services.quantity.UnitDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NutrientTable.
+ */
+class NutrientTableTest {
+
+    private final UnitDictionary unitDictionary = new UnitDictionary();
+    private final QuantityEngine quantityEngine = new QuantityEngine(unitDictionary);
+
+    private final NutrientTable table = NutrientTable.of(List.of(
+            nutrition(1L, "130", "2.7", "28", "0.3", "0.4", "0.1", "1", null, null),
+            nutrition(2L, "42", "3.4", "5", "1", "0", "5", "44", "1.03", null),
+            nutrition(3L, "155", "13", "1.1", "11", "0", "1.1", "124", null, "50"),
+            nutrition(4L, "884", "0", "0", "100", null, "0", "0", "0.92", null)), unitDictionary);
+
+    @Test
+    void shouldAggregatePerServing_whenEveryLineCanBeWeighed() {
+        // Given: 200 g rice, 250 ml milk and 2 eggs for 2 servings
+        Recipe recipe = recipe(2, line(1L, "200", "g"), line(2L, "250", "ml"), line(3L, "2", "pieces"));
+        int[] nutrition = new int[Nutrient.values().length];
+
+        // When
+        boolean complete = table.perServing(quantityEngine.compile(recipe), nutrition);
+
+        // Then: (260 + 257.5 * 0.42 + 100 * 1.55) / 2 calories
+        assertTrue(complete);
+        assertEquals(262, nutrition[Nutrient.CALORIES.ordinal()]);
+        assertEquals(14, nutrition[Nutrient.PROTEIN.ordinal()]);
+        assertEquals(120, nutrition[Nutrient.SODIUM.ordinal()]);
+    }
+
+    @Test
+    void shouldLeaveNutrientUnknown_whenAnIngredientDoesNotGiveIt() {
+        // Given
+        Recipe recipe = recipe(1, line(1L, "100", "g"), line(4L, "1", "tbsp"));
+        int[] nutrition = new int[Nutrient.values().length];
+
+        // When
+        boolean complete = table.perServing(quantityEngine.compile(recipe), nutrition);
+
+        // Then
+        assertFalse(complete);
+        assertEquals(NutrientTable.UNKNOWN, nutrition[Nutrient.FIBER.ordinal()]);
+        assertEquals(Math.round(130 + 14.7868 * 0.92 * 8.84), nutrition[Nutrient.CALORIES.ordinal()]);
+    }
+
+    @Test
+    void shouldLeaveEveryNutrientUnknown_whenALineCannotBeWeighed() {
+        // Given: rice has no density, so a cup of it has no weight
+        Recipe recipe = recipe(1, line(1L, "1", "cup"), line(2L, "250", "ml"));
+        int[] nutrition = new int[Nutrient.values().length];
+
+        // When
+        boolean complete = table.perServing(quantityEngine.compile(recipe), nutrition);
+
+        // Then
+        assertFalse(complete);
+        for (int value : nutrition) {
+            assertEquals(NutrientTable.UNKNOWN, value);
+        }
+    }
+
+    @Test
+    void shouldIgnoreLinesWithoutQuantity() {
+        // Given: salt to taste has no nutrient vector
+        Recipe recipe = recipe(1, line(1L, "100", "g"), line(9L, null, null));
+        int[] nutrition = new int[Nutrient.values().length];
+
+        // When
+        boolean complete = table.perServing(quantityEngine.compile(recipe), nutrition);
+
+        // Then
+        assertTrue(complete);
+        assertEquals(130, nutrition[Nutrient.CALORIES.ordinal()]);
+    }
+
+    private static IngredientNutrition nutrition(Long ingredientId, String calories, String protein, String carbs,
+                                                 String fat, String fiber, String sugar, String sodium,
+                                                 String gramsPerMl, String gramsPerPiece) {
+        return IngredientNutrition.builder()
+                .ingredientId(ingredientId)
+                .calories(decimal(calories))
+                .protein(decimal(protein))
+                .carbs(decimal(carbs))
+                .fat(decimal(fat))
+                .fiber(decimal(fiber))
+                .sugar(decimal(sugar))
+                .sodium(decimal(sodium))
+                .gramsPerMl(decimal(gramsPerMl))
+                .gramsPerPiece(decimal(gramsPerPiece))
+                .build();
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private static Recipe recipe(Integer servings, RecipeIngredient... lines) {
+        Recipe recipe = Recipe.builder().name("Test").servings(servings).build();
+        for (RecipeIngredient line : lines) {
+            recipe.addIngredient(line);
+        }
+        return recipe;
+    }
+
+    private static RecipeIngredient line(Long ingredientId, String quantity, String unit) {
+        return RecipeIngredient.builder()
+                .ingredient(Ingredient.builder().id(ingredientId).name("ingredient-" + ingredientId).build())
+                .quantity(quantity != null ? new BigDecimal(quantity) : null)
+                .unit(unit)
+                .isRequired(true)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.infiniterecipebook.services.nutrition;
+
+import com.infiniterecipebook.dto.RecipeDto;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.enums.Nutrient;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.IngredientNutrition;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.repositories.IngredientNutritionRepository;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.RecipeService;
+import com.infiniterecipebook.services.changes.ChangeEvent;
+import com.infiniterecipebook.services.changes.EntityChange;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import com.infiniterecipebook.services.matching.RecipeMatchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for recipe nutrition aggregated from ingredient nutrient vectors.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NutritionServiceTest {
+
+    @Autowired
+    private NutritionService nutritionService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private IngredientNutritionRepository ingredientNutritionRepository;
+
+    private Ingredient rice;
+    private Ingredient eggs;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        ingredientNutritionRepository.deleteAll();
+        rice = ingredient("Rice", IngredientCategory.GRAIN);
+        eggs = ingredient("Eggs", IngredientCategory.PROTEIN);
+        ingredientNutritionRepository.save(nutrition(rice, "130", "2.7", null));
+        ingredientNutritionRepository.save(nutrition(eggs, "155", "13", "50"));
+        nutritionService.refresh();
+    }
+
+    @Test
+    void shouldStoreComputedNutrition_whenRecipeIsSaved() {
+        // Given: 200 g rice and 2 eggs for 2 servings
+        Recipe recipe = recipe("Egg Rice");
+
+        // When
+        Recipe saved = recipeService.saveRecipe(recipe);
+
+        // Then
+        assertEquals(208, saved.getNutritionalInfo().getCalories());
+        assertEquals(9, saved.getNutritionalInfo().getProtein());
+        assertNull(saved.getNutritionalInfo().getFiber());
+    }
+
+    @Test
+    void shouldReaggregateRecipes_whenNutrientVectorChanges() {
+        // Given
+        Recipe saved = recipeService.saveRecipe(recipe("Egg Rice"));
+        recipeIndexService.rebuild();
+        IngredientNutrition updated = ingredientNutritionRepository.findById(rice.getId()).orElseThrow();
+        updated.setCalories(new BigDecimal("360"));
+        ingredientNutritionRepository.save(updated);
+
+        // When
+        recipeIndexService.apply(List.of(new ChangeEvent(1L, System.nanoTime(), new EntityChange(
+                EntityChange.ChangedEntity.INGREDIENT_NUTRITION, rice.getId(), EntityChange.Operation.UPSERT))));
+
+        // Then
+        RecipeMatchIndex index = recipeIndexService.current();
+        assertEquals(438, index.nutrient(index.slotOf(saved.getId()), Nutrient.CALORIES));
+        assertEquals(9, index.nutrient(index.slotOf(saved.getId()), Nutrient.PROTEIN));
+    }
+
+    @Test
+    void shouldServeIndexedNutrition_whenStoredColumnsAreStale() {
+        // Given
+        Recipe saved = recipeService.saveRecipe(recipe("Egg Rice"));
+        IngredientNutrition updated = ingredientNutritionRepository.findById(rice.getId()).orElseThrow();
+        updated.setCalories(new BigDecimal("360"));
+        ingredientNutritionRepository.save(updated);
+        nutritionService.refresh();
+        recipeIndexService.rebuild();
+
+        // When
+        RecipeDto dto = recipeService.getRecipe(saved.getId());
+
+        // Then
+        assertEquals(208, recipeRepository.findById(saved.getId()).orElseThrow().getNutritionalInfo().getCalories());
+        assertEquals(438, dto.getNutritionalInfo().getCalories());
+        assertEquals(9, dto.getNutritionalInfo().getProtein());
+    }
+
+    private Ingredient ingredient(String name, IngredientCategory category) {
+        return ingredientRepository.save(Ingredient.builder()
+                .name(name)
+                .normalizedName(name.toLowerCase())
+                .category(category)
+                .build());
+    }
+
+    private static IngredientNutrition nutrition(Ingredient ingredient, String calories, String protein,
+                                                 String gramsPerPiece) {
+        return IngredientNutrition.builder()
+                .ingredientId(ingredient.getId())
+                .calories(new BigDecimal(calories))
+                .protein(new BigDecimal(protein))
+                .gramsPerPiece(gramsPerPiece != null ? new BigDecimal(gramsPerPiece) : null)
+                .build();
+    }
+
+    private Recipe recipe(String name) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(MealType.LUNCH)
+                .servings(2)
+                .tags(new ArrayList<>())
+                .build();
+        recipe.addIngredient(line(rice, "200", "g"));
+        recipe.addIngredient(line(eggs, "2", "pieces"));
+        return recipe;
+    }
+
+    private static RecipeIngredient line(Ingredient ingredient, String quantity, String unit) {
+        return RecipeIngredient.builder()
+                .ingredient(ingredient)
+                .quantity(new BigDecimal(quantity))
+                .unit(unit)
+                .isRequired(true)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.infiniterecipebook.services.planning;
+
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.services.matching.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MealPlanSolver.
+ */
+class MealPlanSolverTest {
+
+    private final MealPlanSolver solver = new MealPlanSolver(properties());
+
+    @AfterEach
+    void tearDown() {
+        solver.destroy();
+    }
+
+    @Test
+    void shouldPickCandidatesClosestToTargets_whenCoverageIsEqual() {
+        // Given
+        int[] calories = {300, 700, 500, 200, 900};
+        PlanProblem problem = problem(new int[][]{{0, 1, 2, 3, 4}, {0, 1, 2, 3, 4}},
+                new double[]{1, 1, 1, 1, 1}, calories, 1000);
+
+        // When
+        PlanSolution solution = solver.solve(problem, Deadline.none());
+
+        // Then
+        assertFalse(solution.partial());
+        assertEquals(1000, problem.totals(solution.choices())[0]);
+        assertEquals(1.0, solution.score(), 1e-9);
+    }
+
+    @Test
+    void shouldTradeCoverageAgainstTargets() {
+        // Given
+        PlanProblem problem = problem(new int[][]{{0, 1}, {2, 3}},
+                new double[]{1.0, 0.5, 0.9, 0.8}, new int[]{800, 400, 900, 600}, 1000);
+
+        // When
+        PlanSolution solution = solver.solve(problem, Deadline.none());
+
+        // Then
+        assertArrayEquals(new int[]{1, 3}, solution.choices());
+    }
+
+    @Test
+    void shouldLeaveMealEmpty_whenEveryCandidateIsTaken() {
+        // Given
+        PlanProblem problem = problem(new int[][]{{0}, {0}}, new double[]{0.5}, new int[]{500}, 0);
+
+        // When
+        PlanSolution solution = solver.solve(problem, Deadline.none());
+
+        // Then
+        assertEquals(1, Arrays.stream(solution.choices()).filter(choice -> choice == 0).count());
+        assertEquals(1, Arrays.stream(solution.choices()).filter(choice -> choice == -1).count());
+        assertEquals(0.25, solution.score(), 1e-9);
+    }
+
+    @Test
+    void shouldReturnFirstFill_whenDeadlineHasExpired() {
+        // Given
+        PlanProblem problem = problem(new int[][]{{0, 1}, {2, 3}, {4}},
+                new double[]{1, 1, 1, 1, 1}, new int[]{100, 200, 300, 400, 500}, 800);
+
+        // When
+        PlanSolution solution = solver.solve(problem, Deadline.after(Duration.ZERO));
+
+        // Then
+        assertTrue(solution.partial());
+        assertEquals(1, solution.restarts());
+        assertTrue(Arrays.stream(solution.choices()).allMatch(choice -> choice >= 0));
+    }
+
+    @Test
+    void shouldReturnSamePlan_acrossRuns() {
+        // Given
+        int candidates = 60;
+        double[] coverage = new double[candidates];
+        int[] calories = new int[candidates];
+        for (int i = 0; i < candidates; i++) {
+            coverage[i] = (i * 37 % 100) / 100.0;
+            calories[i] = 150 + i * 53 % 700;
+        }
+        int[] all = IntStream.range(0, candidates).toArray();
+        PlanProblem problem = problem(new int[][]{all, all, all, all}, coverage, calories, 2000);
+
+        // When
+        PlanSolution first = solver.solve(problem, Deadline.none());
+        PlanSolution second = solver.solve(problem, Deadline.none());
+
+        // Then
+        assertArrayEquals(first.choices(), second.choices());
+        assertEquals(64, first.restarts());
+    }
+
+    /**
+     * Builds a problem tracking calories only, targeting {@code calorieTarget} when positive.
+     */
+    private static PlanProblem problem(int[][] options, double[] coverage, int[] calories, int calorieTarget) {
+        return new PlanProblem(options, coverage, calories, new double[]{calorieTarget}, 1.0);
+    }
+
+    private static RecipeBookProperties properties() {
+        RecipeBookProperties properties = new RecipeBookProperties();
+        properties.getPlanning().setParallelism(2);
+        return properties;
+    }
+}
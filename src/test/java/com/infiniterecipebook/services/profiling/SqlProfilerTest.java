@@ -0,0 +1,153 @@
+package com.infiniterecipebook.services.profiling;
+
+import com.infiniterecipebook.services.IngredientService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the sampled SQL profiler.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlProfilerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SqlProfileControlEndpoint sqlProfileControlEndpoint;
+
+    private double originalSampleRate;
+
+    @BeforeEach
+    void setUp() {
+        originalSampleRate = sqlProfiler.getSampleRate();
+        sqlProfiler.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlProfiler.setSampleRate(originalSampleRate);
+        sqlProfiler.reset();
+    }
+
+    @Test
+    void shouldRecordStatementShapes_whenRequestIsSampled() throws Exception {
+        // Given
+        sqlProfiler.setSampleRate(1.0);
+        ingredientService.evictCommonIngredients();
+
+        // When
+        mockMvc.perform(get("/ingredients/common")).andExpect(status().isOk());
+
+        // Then
+        assertInstanceOf(ProfilingDataSource.class, dataSource);
+        assertEquals(1, sqlProfiler.getSampledRequests());
+        List<SqlProfiler.ShapeSnapshot> shapes = sqlProfiler.slowestShapes(10);
+        assertTrue(shapes.stream().anyMatch(shape -> shape.sql().contains("common_ingredients")
+                && shape.executions() == 1));
+        assertFalse(sqlProfiler.isProfiling());
+    }
+
+    @Test
+    void shouldNotRecordStatements_whenSampleRateIsZero() throws Exception {
+        // Given
+        sqlProfiler.setSampleRate(0.0);
+        ingredientService.evictCommonIngredients();
+
+        // When
+        mockMvc.perform(get("/ingredients/common")).andExpect(status().isOk());
+
+        // Then
+        assertEquals(0, sqlProfiler.getSampledRequests());
+        assertTrue(sqlProfiler.slowestShapes(10).isEmpty());
+    }
+
+    @Test
+    void shouldFlagShape_whenRepeatedPastThresholdWithinOneRequest() {
+        // Given
+        sqlProfiler.setSampleRate(1.0);
+        String shape = SqlShapes.shapeOf("select * from ingredients where id = 1");
+
+        // When
+        sqlProfiler.beginRequest();
+        for (int i = 0; i < 5; i++) {
+            sqlProfiler.recordExecution(shape, 1_000_000, 1);
+        }
+        sqlProfiler.endRequest();
+
+        // Then
+        SqlProfiler.ShapeSnapshot snapshot = sqlProfiler.slowestShapes(1).get(0);
+        assertEquals(shape, snapshot.sql());
+        assertEquals(5, snapshot.executions());
+        assertEquals(5, snapshot.rows());
+        assertEquals(1, snapshot.nPlusOneRequests());
+    }
+
+    @Test
+    void shouldReportShapes_throughActuatorEndpoint() throws Exception {
+        // Given
+        sqlProfiler.setSampleRate(1.0);
+        ingredientService.evictCommonIngredients();
+        mockMvc.perform(get("/ingredients/common")).andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/sqlprofile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleRate").value(1.0))
+                .andExpect(jsonPath("$.shapes").isNotEmpty());
+    }
+
+    @Test
+    void shouldRejectWritesAndDeletes_throughWebEndpoint() throws Exception {
+        // Given
+        sqlProfiler.setSampleRate(0.0);
+
+        // When & Then
+        mockMvc.perform(post("/actuator/sqlprofile")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sampleRate\": 1.0}"))
+                .andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(delete("/actuator/sqlprofile"))
+                .andExpect(status().isMethodNotAllowed());
+        assertEquals(0.0, sqlProfiler.getSampleRate());
+    }
+
+    @Test
+    void shouldChangeSampleRate_throughJmxEndpoint() {
+        // When
+        SqlProfileEndpoint.SqlProfileReport report = sqlProfileControlEndpoint.configure(0.5);
+
+        // Then
+        assertEquals(0.5, report.sampleRate());
+        assertEquals(0.5, sqlProfiler.getSampleRate());
+        assertThrows(IllegalArgumentException.class, () -> sqlProfileControlEndpoint.configure(2.0));
+    }
+}
@@ -0,0 +1,34 @@
+package com.infiniterecipebook.services.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SqlShapes.
+ */
+class SqlShapesTest {
+
+    @Test
+    void shouldReplaceLiterals_andCollapseWhitespace() {
+        // Given
+        String sql = "select r1_0.id\n  from recipes r1_0 where r1_0.name = 'it''s' and r1_0.prep_time > 15";
+
+        // When
+        String shape = SqlShapes.shapeOf(sql);
+
+        // Then
+        assertEquals("select r1_0.id from recipes r1_0 where r1_0.name = ? and r1_0.prep_time > ?", shape);
+    }
+
+    @Test
+    void shouldProduceSameShape_whenInListLengthsDiffer() {
+        // Given
+        String two = "select * from ingredients where id in (?, ?)";
+        String five = "select * from ingredients where id in (?,?,?,?,?)";
+
+        // When & Then
+        assertEquals(SqlShapes.shapeOf(two), SqlShapes.shapeOf(five));
+        assertEquals("select * from ingredients where id in (?, ...)", SqlShapes.shapeOf(two));
+    }
+}
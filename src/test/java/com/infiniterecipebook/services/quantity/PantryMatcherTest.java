@@ -0,0 +1,108 @@
+package com.infiniterecipebook.services.quantity;
+
+import com.infiniterecipebook.models.Recipe;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.infiniterecipebook.services.quantity.QuantityEngineTest.line;
+import static com.infiniterecipebook.services.quantity.QuantityEngineTest.recipe;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PantryMatcher.
+ */
+class PantryMatcherTest {
+
+    private final UnitDictionary unitDictionary = new UnitDictionary();
+    private final QuantityEngine quantityEngine = new QuantityEngine(unitDictionary);
+    private final PantryMatcher pantryMatcher = new PantryMatcher(unitDictionary);
+
+    @Test
+    void shouldMarkAvailable_whenPantryHasEnoughInAnotherUnit() {
+        // Given
+        Recipe recipe = recipe(2, line(1L, "500", "g"));
+        Pantry pantry = Pantry.builder(unitDictionary).add(1L, new BigDecimal("1"), "kg").build();
+        byte[] statuses = new byte[1];
+
+        // When
+        PantryMatcher.MatchSummary summary = pantryMatcher.match(quantityEngine.compile(recipe), pantry, 2, statuses);
+
+        // Then
+        assertEquals(PantryMatcher.AVAILABLE, statuses[0]);
+        assertTrue(summary.isCookable());
+        assertEquals(1.0, summary.coverage());
+    }
+
+    @Test
+    void shouldMarkInsufficient_whenScaledNeedExceedsPantry() {
+        // Given
+        Recipe recipe = recipe(2, line(1L, "500", "g"));
+        Pantry pantry = Pantry.builder(unitDictionary).add(1L, new BigDecimal("1"), "kg").build();
+        byte[] statuses = new byte[1];
+
+        // When
+        PantryMatcher.MatchSummary summary = pantryMatcher.match(quantityEngine.compile(recipe), pantry, 6, statuses);
+
+        // Then
+        assertEquals(PantryMatcher.INSUFFICIENT, statuses[0]);
+        assertFalse(summary.isCookable());
+        assertEquals(1, summary.requiredMissing());
+    }
+
+    @Test
+    void shouldCoverShortLinesInProportion_whenWeighingLines() {
+        // Given
+        Recipe recipe = recipe(2, line(1L, "500", "g"), line(2L, "1", "cup"), line(3L, "1", "tsp"));
+        Pantry pantry = Pantry.builder(unitDictionary)
+                .add(1L, new BigDecimal("1"), "kg")
+                .add(2L, null, null)
+                .build();
+        float[] weights = {2f, 1f, 4f};
+
+        // When
+        double covered = pantryMatcher.coveredWeight(quantityEngine.compile(recipe), pantry, 8, weights);
+
+        // Then
+        assertEquals(2 * 0.5 + 1, covered, 1e-9);
+    }
+
+    @Test
+    void shouldMarkPresentUnmeasured_whenUnitsAreNotComparable() {
+        // Given
+        Recipe recipe = recipe(2, line(1L, "2", "cup"), line(2L, "1", "g"));
+        Pantry pantry = Pantry.builder(unitDictionary)
+                .add(1L, new BigDecimal("100"), "g")
+                .add(2L, null, null)
+                .build();
+        byte[] statuses = new byte[2];
+
+        // When
+        PantryMatcher.MatchSummary summary = pantryMatcher.match(quantityEngine.compile(recipe), pantry, 2, statuses);
+
+        // Then
+        assertEquals(PantryMatcher.PRESENT_UNMEASURED, statuses[0]);
+        assertEquals(PantryMatcher.PRESENT_UNMEASURED, statuses[1]);
+        assertTrue(summary.isCookable());
+    }
+
+    @Test
+    void shouldSumRepeatedPantryEntries_andReportMissingIngredients() {
+        // Given
+        Recipe recipe = recipe(1, line(1L, "1", "cup"), line(3L, "1", "piece"));
+        Pantry pantry = Pantry.builder(unitDictionary)
+                .add(1L, new BigDecimal("120"), "ml")
+                .add(1L, new BigDecimal("120"), "ml")
+                .build();
+        byte[] statuses = new byte[2];
+
+        // When
+        PantryMatcher.MatchSummary summary = pantryMatcher.match(quantityEngine.compile(recipe), pantry, 1, statuses);
+
+        // Then
+        assertEquals(PantryMatcher.AVAILABLE, statuses[0]);
+        assertEquals(PantryMatcher.MISSING, statuses[1]);
+        assertEquals(1, summary.missing());
+        assertEquals(0.5, summary.coverage());
+    }
+}
@@ -0,0 +1,109 @@
+package com.infiniterecipebook.services.quantity;
+
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QuantityEngine, FixedPoint and UnitDictionary.
+ */
+class QuantityEngineTest {
+
+    private final UnitDictionary unitDictionary = new UnitDictionary();
+    private final QuantityEngine quantityEngine = new QuantityEngine(unitDictionary);
+
+    @Test
+    void shouldScaleQuantities_whenServingsChange() {
+        // Given
+        Recipe recipe = recipe(4, line(1L, "2", "cup"), line(2L, "0.75", "tsp"));
+        RecipeQuantities quantities = quantityEngine.compile(recipe);
+        long[] scaled = new long[quantities.size()];
+
+        // When
+        quantityEngine.scale(quantities, 6, scaled);
+
+        // Then
+        assertEquals(0, new BigDecimal("3").compareTo(FixedPoint.toBigDecimal(scaled[0])));
+        assertEquals(0, new BigDecimal("1.125").compareTo(FixedPoint.toBigDecimal(scaled[1])));
+    }
+
+    @Test
+    void shouldRoundHalfUp_whenScaledAmountHasMoreThanFourDecimals() {
+        // Given
+        Recipe recipe = recipe(3, line(1L, "1", "cup"));
+        RecipeQuantities quantities = quantityEngine.compile(recipe);
+        long[] scaled = new long[1];
+
+        // When
+        quantityEngine.scale(quantities, 2, scaled);
+
+        // Then
+        assertEquals(0, new BigDecimal("0.6667").compareTo(FixedPoint.toBigDecimal(scaled[0])));
+    }
+
+    @Test
+    void shouldResolveUnitAliases_caseSensitivelyForSingleLetters() {
+        // When & Then
+        assertEquals(unitDictionary.resolve("tablespoons"), unitDictionary.resolve("T"));
+        assertEquals(unitDictionary.resolve("teaspoon"), unitDictionary.resolve("t"));
+        assertEquals(unitDictionary.resolve("kg"), unitDictionary.resolve(" KG "));
+        assertEquals(UnitDictionary.UNKNOWN, unitDictionary.resolve("handful"));
+    }
+
+    @Test
+    void shouldConvertBetweenUnits_whenDimensionsMatch() {
+        // Given
+        int kilogram = unitDictionary.resolve("kg");
+        int gram = unitDictionary.resolve("g");
+        int cup = unitDictionary.resolve("cup");
+
+        // When & Then
+        assertEquals(FixedPoint.of(1500), unitDictionary.convert(FixedPoint.of(new BigDecimal("1.5")), kilogram, gram));
+        assertTrue(unitDictionary.isConvertible(kilogram, gram));
+        assertFalse(unitDictionary.isConvertible(kilogram, cup));
+    }
+
+    @Test
+    void shouldFallBackToBigInteger_whenProductOverflowsLong() {
+        // When
+        long result = FixedPoint.mulDiv(Long.MAX_VALUE / 2, 4, 8);
+
+        // Then
+        assertEquals(Long.MAX_VALUE / 4 + 1, result);
+    }
+
+    @Test
+    void shouldDefaultToOneServing_whenRecipeHasNoServings() {
+        // Given
+        Recipe recipe = recipe(null, line(1L, "2", "g"));
+
+        // When
+        RecipeQuantities quantities = quantityEngine.compile(recipe);
+
+        // Then
+        assertEquals(1, quantities.servings());
+        assertEquals(FixedPoint.of(2), quantities.baseAmounts()[0]);
+    }
+
+    static Recipe recipe(Integer servings, RecipeIngredient... lines) {
+        Recipe recipe = Recipe.builder().name("Test").servings(servings).build();
+        for (RecipeIngredient line : lines) {
+            recipe.addIngredient(line);
+        }
+        return recipe;
+    }
+
+    static RecipeIngredient line(Long ingredientId, String quantity, String unit) {
+        return RecipeIngredient.builder()
+                .ingredient(Ingredient.builder().id(ingredientId).name("ingredient-" + ingredientId).build())
+                .quantity(quantity != null ? new BigDecimal(quantity) : null)
+                .unit(unit)
+                .isRequired(true)
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.infiniterecipebook.services.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infiniterecipebook.config.RecipeBookProperties;
+import com.infiniterecipebook.enums.IngredientCategory;
+import com.infiniterecipebook.enums.MealType;
+import com.infiniterecipebook.models.Ingredient;
+import com.infiniterecipebook.models.Recipe;
+import com.infiniterecipebook.models.RecipeIngredient;
+import com.infiniterecipebook.repositories.CommonIngredientRepository;
+import com.infiniterecipebook.repositories.IngredientRepository;
+import com.infiniterecipebook.repositories.RecipeRepository;
+import com.infiniterecipebook.services.IngredientService;
+import com.infiniterecipebook.services.RecipeAccessTracker;
+import com.infiniterecipebook.services.RecipeGenerationService;
+import com.infiniterecipebook.services.RecipeService;
+import com.infiniterecipebook.services.generation.RecipeGenerator;
+import com.infiniterecipebook.services.matching.IngredientResolver;
+import com.infiniterecipebook.services.matching.RecipeIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration tests for the warm-up replay.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WarmUpRunnerTest {
+
+    @Autowired
+    private RecipeGenerationService recipeGenerationService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private IngredientResolver ingredientResolver;
+
+    @Autowired
+    private RecipeIndexService recipeIndexService;
+
+    @Autowired
+    private RecipeAccessTracker recipeAccessTracker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CommonIngredientRepository commonIngredientRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private RecipeBookProperties applicationProperties;
+
+    @MockBean
+    private RecipeGenerator recipeGenerator;
+
+    @TempDir
+    private Path directory;
+
+    private final RecipeBookProperties properties = new RecipeBookProperties();
+
+    private Recipe omelette;
+
+    @BeforeEach
+    void setUp() {
+        commonIngredientRepository.deleteAll();
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAll();
+        Ingredient egg = ingredient("Egg");
+        Ingredient cheese = ingredient("Cheese");
+        omelette = recipeService.saveRecipe(recipe("Omelette", egg, cheese));
+        recipeService.saveRecipe(recipe("Cheese Toast", cheese));
+        ingredientResolver.refresh();
+        recipeIndexService.rebuild();
+        recipeAccessTracker.flush();
+
+        properties.getWarmUp().setMaxRequests(200);
+        properties.getWarmUp().setSyntheticRequests(50);
+    }
+
+    @Test
+    void shouldReplaySyntheticWorkload_withoutCountingRecipeReads() {
+        // When
+        WarmUpRunner.Report report = runner().warmUp();
+
+        // Then
+        assertEquals(200, report.requests());
+        assertEquals(0, report.failures());
+        assertFalse(report.budgetExhausted());
+        assertEquals(0, recipeAccessTracker.flush());
+        recipeService.getRecipe(omelette.getId());
+        assertEquals(1, recipeAccessTracker.flush());
+    }
+
+    @Test
+    void shouldNeverCallGenerator_whenGenerationIsEnabled() throws Exception {
+        // Given
+        applicationProperties.getGeneration().setEnabled(true);
+        try {
+            // When
+            WarmUpRunner.Report report = runner().warmUp();
+
+            // Then
+            assertEquals(200, report.requests());
+            verify(recipeGenerator, never()).generate(any());
+        } finally {
+            applicationProperties.getGeneration().setEnabled(false);
+        }
+    }
+
+    @Test
+    void shouldReplayRecordedWorkload() throws IOException {
+        // Given
+        Path file = directory.resolve("requests.jsonl");
+        Files.write(file, List.of(
+                "{\"method\":\"POST\",\"path\":\"/recipes/generate\",\"body\":{\"ingredients\":[{\"name\":\"eggs\"}],\"mealType\":\"BREAKFAST\"}}",
+                "{\"method\":\"GET\",\"path\":\"/recipes/" + omelette.getId() + "\"}",
+                "{\"method\":\"GET\",\"path\":\"/recipes/" + omelette.getId() + "/scaled?servings=4\"}",
+                "{\"method\":\"GET\",\"path\":\"/ingredients/common\"}",
+                "",
+                "{\"method\":\"POST\",\"path\":\"/ingredients/validate\",\"body\":{\"ingredients\":[{\"name\":\"chese\"}]}}",
+                "{\"method\":\"GET\",\"path\":\"/unknown\"}"));
+        properties.getWarmUp().setRequestsFile(file.toString());
+        properties.getWarmUp().setMaxRequests(6);
+
+        // When
+        WarmUpRunner.Report report = runner().warmUp();
+
+        // Then
+        assertEquals(5, report.requests());
+        assertEquals(1, report.failures());
+    }
+
+    @Test
+    void shouldStopReplaying_whenTimeBudgetRunsOut() {
+        // Given
+        properties.getWarmUp().setTimeBudget(Duration.ZERO);
+
+        // When
+        WarmUpRunner.Report report = runner().warmUp();
+
+        // Then
+        assertEquals(0, report.requests());
+        assertTrue(report.budgetExhausted());
+    }
+
+    private WarmUpRunner runner() {
+        return new WarmUpRunner(recipeGenerationService, recipeService, ingredientService, ingredientResolver,
+                recipeIndexService, recipeAccessTracker, objectMapper, properties);
+    }
+
+    private Ingredient ingredient(String name) {
+        return ingredientRepository.save(Ingredient.builder()
+                .name(name)
+                .normalizedName(name.toLowerCase())
+                .category(IngredientCategory.OTHER)
+                .build());
+    }
+
+    private static Recipe recipe(String name, Ingredient... ingredients) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .mealType(MealType.BREAKFAST)
+                .servings(2)
+                .cookingTimeMinutes(10)
+                .tags(new ArrayList<>(List.of("quick")))
+                .build();
+        for (Ingredient ingredient : ingredients) {
+            recipe.addIngredient(RecipeIngredient.builder()
+                    .ingredient(ingredient)
+                    .quantity(BigDecimal.ONE)
+                    .unit("cup")
+                    .isRequired(true)
+                    .build());
+        }
+        return recipe;
+    }
+}
@@ -0,0 +1,12 @@
+-- H2 cannot parse the PostgreSQL TEXT[]/VARCHAR[] column definitions used by the entities,
+-- so the tables owning array columns are pre-created here with H2's ARRAY syntax.
+-- Hibernate (ddl-auto: update) adds every remaining column from the entity mappings.
+CREATE TABLE IF NOT EXISTS ingredients (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    common_units VARCHAR ARRAY
+);
+
+CREATE TABLE IF NOT EXISTS recipes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tags VARCHAR ARRAY
+);